@@ -0,0 +1,273 @@
+package net.sf.jabref.shared;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.jabref.model.bibtexkeypattern.AbstractBibtexKeyPattern;
+import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.shared.exception.DatabaseNotSupportedException;
+import net.sf.jabref.shared.exception.OfflineLockException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the synchronization based on the change log of the shared database using an embedded database.
+ * Two clients are simulated: one changing the shared database directly and one pulling the changes.
+ */
+public class DBMSDeltaSynchronizationTest {
+
+    private DBMSConnection dbmsConnection;
+    private DBMSProcessor dbmsProcessor;
+    private DBMSSynchronizer dbmsSynchronizer;
+    private BibDatabase bibDatabase;
+
+
+    @Before
+    public void setUp() throws SQLException, DatabaseNotSupportedException {
+        dbmsConnection = TestConnector.getEmbeddedDBMSConnection();
+        dbmsProcessor = DBMSProcessor.getProcessorInstance(dbmsConnection);
+
+        bibDatabase = new BibDatabase();
+        GlobalBibtexKeyPattern pattern = new GlobalBibtexKeyPattern(AbstractBibtexKeyPattern.split("[auth][year]"));
+        dbmsSynchronizer = new DBMSSynchronizer(new BibDatabaseContext(bibDatabase), ',', pattern);
+        bibDatabase.registerListener(dbmsSynchronizer);
+
+        dbmsSynchronizer.openSharedDatabase(dbmsConnection);
+    }
+
+    @Test
+    public void testGetLatestRevision() {
+        Assert.assertEquals(0, dbmsProcessor.getLatestRevision());
+
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+        dbmsProcessor.insertEntry(getBibEntryExample(2));
+
+        Assert.assertEquals(2, dbmsProcessor.getLatestRevision());
+    }
+
+    @Test
+    public void testGetChangedSharedIDs() throws Exception {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        int revision = dbmsProcessor.getLatestRevision();
+
+        secondEntry.setField("year", "2016");
+        dbmsProcessor.updateEntry(secondEntry);
+
+        Map<Integer, Integer> changedSharedIDs = dbmsProcessor.getChangedSharedIDs(revision);
+
+        Assert.assertEquals(Collections.singleton(secondEntry.getSharedBibEntryData().getSharedID()),
+                changedSharedIDs.keySet());
+        Assert.assertEquals(Integer.valueOf(dbmsProcessor.getLatestRevision()),
+                changedSharedIDs.get(secondEntry.getSharedBibEntryData().getSharedID()));
+    }
+
+    @Test
+    public void testGetSharedEntriesByIDsFetchesFields() {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+        BibEntry entryWithoutFields = new BibEntry();
+        entryWithoutFields.setType("misc");
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsProcessor.insertEntry(entryWithoutFields);
+
+        List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries(Arrays.asList(
+                entryWithoutFields.getSharedBibEntryData().getSharedID(), firstEntry.getSharedBibEntryData().getSharedID()));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, entryWithoutFields), actualEntries);
+        Assert.assertEquals(firstEntry.getFieldMap(), actualEntries.get(0).getFieldMap());
+        Assert.assertTrue(actualEntries.get(1).getFieldNames().isEmpty());
+    }
+
+    @Test
+    public void testGetSharedEntriesByNoIDs() {
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+
+        Assert.assertEquals(Collections.emptyList(), dbmsProcessor.getSharedEntries(Collections.emptyList()));
+    }
+
+    @Test
+    public void testInsertEntries() {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry), dbmsProcessor.getSharedEntries());
+        Assert.assertEquals(2, dbmsProcessor.getChangedSharedIDs(0).size());
+    }
+
+    @Test
+    public void testEntriesAddedAtOnceArePushed() {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+
+        bibDatabase.insertEntries(Arrays.asList(firstEntry, secondEntry));
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry), dbmsProcessor.getSharedEntries());
+        Assert.assertEquals(bibDatabase.getEntries(), dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabasePullsInsertedEntries() {
+        BibEntry sharedEntry = getBibEntryExample(1);
+        dbmsProcessor.insertEntry(sharedEntry);
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Collections.singletonList(sharedEntry), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabasePullsUpdatedEntries() throws Exception {
+        BibEntry sharedEntry = getBibEntryExample(1);
+        dbmsProcessor.insertEntry(sharedEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        sharedEntry.setType("article");
+        sharedEntry.setField("journal", "Journal of Applied Testing");
+        sharedEntry.clearField("title");
+        dbmsProcessor.updateEntry(sharedEntry);
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(dbmsProcessor.getSharedEntries(), bibDatabase.getEntries());
+        Assert.assertEquals("article", bibDatabase.getEntries().get(0).getType());
+        Assert.assertFalse(bibDatabase.getEntries().get(0).hasField("title"));
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabasePullsRemovedEntries() {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsProcessor.insertEntry(secondEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        dbmsProcessor.removeEntry(firstEntry);
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Collections.singletonList(secondEntry), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabaseKeepsLocallyInsertedEntries() {
+        BibEntry localEntry = getBibEntryExample(1);
+        bibDatabase.insertEntry(localEntry); // pushed by the synchronizer
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Collections.singletonList(localEntry), bibDatabase.getEntries());
+        Assert.assertEquals(dbmsProcessor.getSharedEntries(), bibDatabase.getEntries());
+    }
+
+    @Test
+    public void testChangesCommittedOutOfOrderAreNotSkipped() throws Exception {
+        BibEntry firstEntry = getBibEntryExample(1);
+        BibEntry secondEntry = getBibEntryExample(2);
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, secondEntry));
+        int revision = dbmsProcessor.getLatestRevision();
+
+        // the first client records a change, but does not commit yet
+        DBMSConnection firstConnection = TestConnector.getEmbeddedDBMSConnection();
+        DBMSProcessor firstProcessor = DBMSProcessor.getProcessorInstance(firstConnection);
+        firstConnection.getConnection().setAutoCommit(false);
+        firstProcessor.insertIntoChangeTable(Collections.singletonList(firstEntry));
+
+        // the second client changes another entry meanwhile
+        DBMSProcessor secondProcessor = DBMSProcessor.getProcessorInstance(TestConnector.getEmbeddedDBMSConnection());
+        secondEntry.setField("year", "2016");
+        Thread secondClient = new Thread(() -> {
+            try {
+                secondProcessor.updateEntry(secondEntry);
+            } catch (OfflineLockException | SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        secondClient.start();
+        secondClient.join(500);
+
+        // the second change must not become visible before the first one
+        Assert.assertTrue(secondClient.isAlive());
+        Assert.assertEquals(Collections.emptyMap(), dbmsProcessor.getChangedSharedIDs(revision));
+
+        firstConnection.getConnection().commit();
+        firstConnection.getConnection().setAutoCommit(true);
+        secondClient.join();
+
+        Map<Integer, Integer> changedSharedIDs = dbmsProcessor.getChangedSharedIDs(revision);
+        Assert.assertEquals(Arrays.asList(firstEntry.getSharedBibEntryData().getSharedID(),
+                secondEntry.getSharedBibEntryData().getSharedID()), new ArrayList<>(changedSharedIDs.keySet()));
+        Assert.assertEquals(Arrays.asList(revision + 1, revision + 2), new ArrayList<>(changedSharedIDs.values()));
+    }
+
+    @Test
+    public void testSetupSharedDatabaseAgainKeepsChangeCounter() throws SQLException {
+        dbmsProcessor.insertEntry(getBibEntryExample(1));
+
+        dbmsProcessor.setupSharedDatabase();
+        dbmsProcessor.insertEntry(getBibEntryExample(2));
+
+        Assert.assertEquals(2, dbmsProcessor.getLatestRevision());
+        try (ResultSet countResultSet = dbmsConnection.getConnection().createStatement()
+                .executeQuery("SELECT COUNT(*) FROM " + dbmsProcessor.escape("ENTRY_CHANGE_COUNTER"))) {
+            Assert.assertTrue(countResultSet.next());
+            Assert.assertEquals(1, countResultSet.getInt(1));
+        }
+    }
+
+    @Test
+    public void testInsertIntoChangeTableRemovesOldRevisions() throws SQLException {
+        BibEntry sharedEntry = getBibEntryExample(1);
+        dbmsProcessor.insertEntry(sharedEntry);
+
+        dbmsProcessor.insertIntoChangeTable(Collections.nCopies(DBMSProcessor.CHANGE_LOG_RETENTION, sharedEntry));
+
+        Assert.assertEquals(DBMSProcessor.CHANGE_LOG_RETENTION + 1, dbmsProcessor.getLatestRevision());
+        Assert.assertEquals(2, dbmsProcessor.getOldestRevision());
+    }
+
+    @Test
+    public void testSynchronizeLocalDatabasePullsAllEntriesAfterRemovedRevisions() throws SQLException {
+        BibEntry firstEntry = getBibEntryExample(1);
+        dbmsProcessor.insertEntry(firstEntry);
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        BibEntry secondEntry = getBibEntryExample(2);
+        dbmsProcessor.insertEntry(secondEntry);
+        // the insertion of the second entry is removed from the change log
+        dbmsProcessor.insertIntoChangeTable(Collections.nCopies(DBMSProcessor.CHANGE_LOG_RETENTION, firstEntry));
+
+        dbmsSynchronizer.synchronizeLocalDatabase();
+
+        Assert.assertEquals(Arrays.asList(firstEntry, secondEntry), bibDatabase.getEntries());
+    }
+
+    private BibEntry getBibEntryExample(int index) {
+        BibEntry bibEntry = new BibEntry();
+        bibEntry.setType("book");
+        bibEntry.setField("author", "Wirthlin, Michael J" + index);
+        bibEntry.setField("title", "The nano processor" + index);
+        return bibEntry;
+    }
+
+    @After
+    public void clear() throws SQLException {
+        TestManager.clearTables(dbmsConnection);
+    }
+}
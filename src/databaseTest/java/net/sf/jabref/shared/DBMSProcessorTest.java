@@ -88,6 +88,24 @@ public class DBMSProcessorTest {
         Assert.assertEquals(expectedFieldMap, actualFieldMap);
     }
 
+    @Test
+    public void testInsertEntriesSetsGeneratedSharedIDs() {
+        BibEntry existingEntry = getBibEntryExample();
+        dbmsProcessor.insertEntry(existingEntry);
+
+        BibEntry firstEntry = new BibEntry();
+        firstEntry.setType("article");
+        BibEntry secondEntry = new BibEntry();
+        secondEntry.setType("book");
+        dbmsProcessor.insertEntries(Arrays.asList(firstEntry, existingEntry, secondEntry));
+
+        Assert.assertEquals(3, dbmsProcessor.getSharedEntries().size());
+        Assert.assertEquals("article", dbmsProcessor.getSharedEntry(firstEntry.getSharedBibEntryData().getSharedID())
+                .get().getType());
+        Assert.assertEquals("book", dbmsProcessor.getSharedEntry(secondEntry.getSharedBibEntryData().getSharedID())
+                .get().getType());
+    }
+
     @Test
     public void testUpdateEntry() throws OfflineLockException, SQLException {
         BibEntry expectedEntry = getBibEntryExample();
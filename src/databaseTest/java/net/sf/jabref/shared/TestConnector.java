@@ -1,5 +1,6 @@
 package net.sf.jabref.shared;
 
+import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class TestConnector {
@@ -15,6 +16,18 @@ public class TestConnector {
         return new DBMSConnection(properties);
     }
 
+    /**
+     * Returns a connection to an embedded in-memory H2 database emulating MySQL.
+     * Thus, tests using it do not depend on a running database server. Each call opens another connection to the same
+     * database, so that concurrent clients can be simulated.
+     */
+    public static DBMSConnection getEmbeddedDBMSConnection() throws SQLException {
+        DBMSConnectionProperties properties = new DBMSConnectionProperties(DBMSType.MYSQL, "localhost", 0, "jabref",
+                "sa", "");
+        return new DBMSConnection(properties,
+                DriverManager.getConnection("jdbc:h2:mem:jabref;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", ""));
+    }
+
     public static DBMSConnectionProperties getTestConnectionProperties(DBMSType dbmsType) {
 
         if (dbmsType == DBMSType.MYSQL) {
@@ -1,19 +1,30 @@
 package net.sf.jabref.benchmarks;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.Globals;
+import net.sf.jabref.logic.bst.VM;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
+import net.sf.jabref.logic.exporter.ExportFormats;
+import net.sf.jabref.logic.exporter.IExportFormat;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.StringSaveSession;
 import net.sf.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
+import net.sf.jabref.logic.formatter.bibtexfields.HtmlToUnicodeFormatter;
+import net.sf.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
 import net.sf.jabref.logic.importer.ParseException;
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
 import net.sf.jabref.logic.layout.format.HTMLChars;
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import net.sf.jabref.logic.search.SearchQuery;
@@ -39,9 +50,18 @@ import org.openjdk.jmh.runner.RunnerException;
 public class Benchmarks {
 
     private String bibtexString;
+    private String largeBibtexString;
     private final BibDatabase database = new BibDatabase();
+    private BibDatabaseContext parsedDatabaseContext;
+    private int modificationCount;
+    private String crossrefBibtexString;
     private String latexConversionString;
     private String htmlConversionString;
+    private String latexAbstractString;
+    private String htmlAbstractString;
+    private String unicodeAbstractString;
+    private String exportFile;
+    private VM abbrvStyle;
 
     @Setup
     public void init() throws Exception {
@@ -65,9 +85,69 @@ public class Benchmarks {
                 new SavePreferences());
         bibtexString = saveSession.getStringValue();
 
+        StringBuilder largeBibtex = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            // keep the cite keys unique
+            largeBibtex.append(bibtexString.replace("{id", "{part" + i + "id"));
+        }
+        largeBibtexString = largeBibtex.toString();
+
+        BibDatabase parsedDatabase = new BibtexParser(Globals.prefs.getImportFormatPreferences())
+                .parse(new StringReader(bibtexString)).getDatabase();
+        parsedDatabaseContext = new BibDatabaseContext(parsedDatabase, new MetaData(), new Defaults());
+
+        // every proceedings is referenced by ten inproceedings, which inherit their booktitle from it
+        BibDatabase crossrefDatabase = new BibDatabase();
+        for (int i = 0; i < 1000; i++) {
+            BibEntry entry = new BibEntry();
+            if ((i % 10) == 0) {
+                entry.setType("proceedings");
+                entry.setCiteKey("proc" + i);
+                entry.setField("booktitle", "Proceedings of the conference " + i);
+            } else {
+                entry.setType("inproceedings");
+                entry.setCiteKey("paper" + i);
+                entry.setField("crossref", "proc" + ((i / 10) * 10));
+            }
+            entry.setField("title", "This is my title " + i);
+            crossrefDatabase.insertEntry(entry);
+        }
+        crossrefBibtexString = databaseWriter.savePartOfDatabase(
+                new BibDatabaseContext(crossrefDatabase, new MetaData(), new Defaults()), crossrefDatabase.getEntries(),
+                new SavePreferences()).getStringValue();
+
         latexConversionString = "{A} \\textbf{bold} approach {\\it to} ${{\\Sigma}}{\\Delta}$ modulator \\textsuperscript{2} \\$";
 
         htmlConversionString = "<b>&Ouml;sterreich</b> &#8211; &amp; characters &#x2aa2; <i>italic</i>";
+
+        StringBuilder latexAbstract = new StringBuilder();
+        StringBuilder htmlAbstract = new StringBuilder();
+        StringBuilder unicodeAbstract = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            latexAbstract.append("We study the {\\em convergence} of the M{\\\"o}bius--Schr{\\\"o}dinger iteration for "
+                    + "$\\alpha \\leq \\beta$ on {Hilbert} spaces, following Erd{\\H{o}}s and Tur{\\'a}n. "
+                    + "The results extend the work of Poincar{\\'e} \\cite{poincare} to the na{\\\"\\i}ve case with "
+                    + "$\\sum_{i=1}^{n} x_i^2 < \\epsilon$, which improves the bound by 15~\\% \\& more. ");
+            htmlAbstract.append("<p>We study the <i>convergence</i> of the M&ouml;bius&ndash;Schr&ouml;dinger iteration "
+                    + "for &alpha; &le; &beta; on <b>Hilbert</b> spaces, following Erd&#337;s and Tur&aacute;n. "
+                    + "The results extend the work of Poincar&#xe9; to the nai&#776;ve case with "
+                    + "x<sub>i</sub><sup>2</sup> &lt; &epsilon;, which improves the bound by 15&nbsp;% &amp; more.</p>");
+            unicodeAbstract.append("We study the convergence of the Möbius–Schrödinger iteration for α ≤ β on Hilbert "
+                    + "spaces, following Erdős and Turán. The results extend the work of Poincaré to the naïve case "
+                    + "with x² < ε, which improves the bound by 15 % & more. ");
+        }
+        latexAbstractString = latexAbstract.toString();
+        htmlAbstractString = htmlAbstract.toString();
+        unicodeAbstractString = unicodeAbstract.toString();
+
+        ExportFormats.initAllExports(Collections.emptyMap(),
+                Globals.prefs.getLayoutFormatterPreferences(new JournalAbbreviationLoader()),
+                SavePreferences.loadForExportFromPreferences(Globals.prefs));
+        Path exportPath = Files.createTempFile("jabref-benchmark", ".export");
+        exportPath.toFile().deleteOnExit();
+        exportFile = exportPath.toString();
+
+        abbrvStyle = new VM(new File("src/test/resources/net/sf/jabref/logic/bst/abbrv.bst"));
     }
 
     @Benchmark
@@ -76,6 +156,69 @@ public class Benchmarks {
         return parser.parse(new StringReader(bibtexString));
     }
 
+    /**
+     * Parses 20000 entries, so that the parallel creation of the entries pays off. Compare with the results of the
+     * same benchmark before the parser read its input into a buffer.
+     */
+    @Benchmark
+    public ParserResult parseLargeDatabase() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences());
+        return parser.parse(new StringReader(largeBibtexString));
+    }
+
+    @Benchmark
+    public List<String> parseAndResolveCrossrefs() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences());
+        BibDatabase parsedDatabase = parser.parse(new StringReader(crossrefBibtexString)).getDatabase();
+        return parsedDatabase.getEntries().stream()
+                .map(entry -> entry.getResolvedFieldOrAlias("booktitle", parsedDatabase).orElse(""))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Baseline for {@link #parseAndResolveCrossrefs()}: resolves the crossrefs by scanning all entries, as done before
+     * the cite keys of a database were indexed.
+     */
+    @Benchmark
+    public List<String> parseAndResolveCrossrefsByLinearScan() throws IOException {
+        BibtexParser parser = new BibtexParser(Globals.prefs.getImportFormatPreferences());
+        BibDatabase parsedDatabase = parser.parse(new StringReader(crossrefBibtexString)).getDatabase();
+        return parsedDatabase.getEntries().stream()
+                .map(entry -> entry.getField("booktitle").orElseGet(() -> entry.getField("crossref")
+                        .flatMap(crossref -> parsedDatabase.getEntries().stream()
+                                .filter(referred -> crossref.equals(referred.getCiteKeyOptional().orElse(null)))
+                                .findFirst())
+                        .flatMap(referred -> referred.getField("booktitle")).orElse("")))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a database of 1000 entries with seven fields each and fills the LaTeX-free field cache. Run with
+     * {@code -prof gc} to see how much memory creating them allocates. How much of it the entries keep is measured by
+     * {@link RetainedEntrySize}.
+     */
+    @Benchmark
+    public BibDatabase createEntries() {
+        return createDatabase(1000);
+    }
+
+    static BibDatabase createDatabase(int entryCount) {
+        BibDatabase createdDatabase = new BibDatabase();
+        for (int i = 0; i < entryCount; i++) {
+            BibEntry entry = new BibEntry();
+            entry.setCiteKey("id" + i);
+            entry.setField("title", "This is my title " + i);
+            entry.setField("author", "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField("journal", "Journal Title " + i);
+            entry.setField("keyword", "testkeyword");
+            entry.setField("year", "1" + i);
+            entry.setField("rnd", "2" + i);
+            entry.getLatexFreeField("title");
+            createdDatabase.insertEntry(entry);
+        }
+        return createdDatabase;
+    }
+
     @Benchmark
     public String write() throws Exception {
         BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
@@ -85,6 +228,49 @@ public class Benchmarks {
         return saveSession.getStringValue();
     }
 
+    /**
+     * Saves a parsed database after one entry has been changed. Only this entry is serialized again.
+     */
+    @Benchmark
+    public String writeIncremental() throws Exception {
+        parsedDatabaseContext.getDatabase().getEntries().get(0).setField("rnd", String.valueOf(modificationCount++));
+        BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
+        StringSaveSession saveSession = databaseWriter.saveDatabase(parsedDatabaseContext,
+                new SavePreferences().withIncremental(true));
+        return saveSession.getStringValue();
+    }
+
+    /**
+     * Baseline for {@link #writeIncremental()}: serializes all entries of the parsed database again.
+     */
+    @Benchmark
+    public String writeReformatted() throws Exception {
+        BibtexDatabaseWriter<StringSaveSession> databaseWriter = new BibtexDatabaseWriter<>(StringSaveSession::new);
+        StringSaveSession saveSession = databaseWriter.saveDatabase(parsedDatabaseContext,
+                new SavePreferences().withReformatFile(true));
+        return saveSession.getStringValue();
+    }
+
+    /**
+     * Exports the database with every built-in layout based export format. The layouts are only parsed in the first
+     * iteration, later ones reuse them.
+     */
+    @Benchmark
+    public void exportBuiltInFormats() throws Exception {
+        for (IExportFormat format : ExportFormats.getExportFormats().values()) {
+            format.performExport(new BibDatabaseContext(database, new MetaData(), new Defaults()), exportFile,
+                    StandardCharsets.UTF_8, database.getEntries());
+        }
+    }
+
+    /**
+     * Runs the abbrv BibTeX style over all entries of the database.
+     */
+    @Benchmark
+    public String bstAbbrv() {
+        return abbrvStyle.run(database);
+    }
+
     @Benchmark
     public List<BibEntry> search() {
         // FIXME: Reuse SearchWorker here
@@ -110,6 +296,12 @@ public class Benchmarks {
         return f.format(latexConversionString);
     }
 
+    @Benchmark
+    public String latexToUnicodeConversionOfAbstract() {
+        LatexToUnicodeFormatter f = new LatexToUnicodeFormatter();
+        return f.format(latexAbstractString);
+    }
+
     @Benchmark
     public String latexToHTMLConversion() {
         HTMLChars f = new HTMLChars();
@@ -122,6 +314,24 @@ public class Benchmarks {
         return f.format(htmlConversionString);
     }
 
+    @Benchmark
+    public String htmlToLatexConversionOfAbstract() {
+        HtmlToLatexFormatter f = new HtmlToLatexFormatter();
+        return f.format(htmlAbstractString);
+    }
+
+    @Benchmark
+    public String htmlToUnicodeConversionOfAbstract() {
+        HtmlToUnicodeFormatter f = new HtmlToUnicodeFormatter();
+        return f.format(htmlAbstractString);
+    }
+
+    @Benchmark
+    public String unicodeToLatexConversionOfAbstract() {
+        UnicodeToLatexFormatter f = new UnicodeToLatexFormatter();
+        return f.format(unicodeAbstractString);
+    }
+
     @Benchmark
     public boolean keywordGroupContains() throws ParseException {
         KeywordGroup group = new KeywordGroup("testGroup", "keyword", "testkeyword", false, false,
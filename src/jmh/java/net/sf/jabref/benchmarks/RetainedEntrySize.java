@@ -0,0 +1,41 @@
+package net.sf.jabref.benchmarks;
+
+import net.sf.jabref.model.database.BibDatabase;
+
+/**
+ * Measures how much heap the entries created by {@link Benchmarks#createEntries()} retain, which the allocation rate
+ * reported by JMH does not tell. The used heap is compared after full garbage collections before and after creating
+ * the entries, so the figure includes the field values and the share of the database structures.
+ */
+public class RetainedEntrySize {
+
+    private static final int ENTRY_COUNT = 200000;
+
+
+    public static void main(String[] args) {
+        // the first run loads and initializes the classes involved
+        Benchmarks.createDatabase(1000);
+
+        long usedBefore = getUsedHeapAfterGarbageCollection();
+        BibDatabase database = Benchmarks.createDatabase(ENTRY_COUNT);
+        long usedAfter = getUsedHeapAfterGarbageCollection();
+
+        System.out.println("Entries: " + database.getEntryCount());
+        System.out.println("Retained bytes per entry: " + ((usedAfter - usedBefore) / ENTRY_COUNT));
+    }
+
+    private static long getUsedHeapAfterGarbageCollection() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // repeat until collecting does not free anything anymore, as one call may not collect everything
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used) {
+                break;
+            }
+            used = current;
+        }
+        return used;
+    }
+}
@@ -22,6 +22,8 @@ import net.sf.jabref.logic.protectedterms.ProtectedTermsLoader;
 import net.sf.jabref.logic.remote.RemotePreferences;
 import net.sf.jabref.logic.remote.client.RemoteListenerClient;
 import net.sf.jabref.logic.util.OS;
+import net.sf.jabref.logic.util.io.FileDirectoryIndex;
+import net.sf.jabref.logic.xmp.PdfContentCache;
 import net.sf.jabref.migrations.PreferencesMigrations;
 import net.sf.jabref.model.entry.InternalBibtexFields;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -85,6 +87,11 @@ public class JabRefMain {
         Globals.protectedTermsLoader = new ProtectedTermsLoader(Globals.prefs.getProtectedTermsPreferences());
         ProtectTermsFormatter.setProtectedTermsLoader(Globals.protectedTermsLoader);
 
+        // Keep the data read from PDF files between sessions
+        PdfContentCache.setCacheDirectory(JabRefPreferences.getCacheDirectory().resolve("pdf"));
+        // Keep the file indexes of the file directories between sessions
+        FileDirectoryIndex.setCacheDirectory(JabRefPreferences.getCacheDirectory().resolve("files"));
+
         // Check for running JabRef
         RemotePreferences remotePreferences = Globals.prefs.getRemotePreferences();
         if (remotePreferences.useRemoteServer()) {
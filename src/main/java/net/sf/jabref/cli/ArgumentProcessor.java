@@ -5,8 +5,10 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -24,6 +26,7 @@ import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
 import net.sf.jabref.logic.exporter.ExportFormat;
 import net.sf.jabref.logic.exporter.ExportFormats;
+import net.sf.jabref.logic.exporter.ExportPipeline;
 import net.sf.jabref.logic.exporter.FileSaveSession;
 import net.sf.jabref.logic.exporter.IExportFormat;
 import net.sf.jabref.logic.exporter.SaveException;
@@ -361,9 +364,9 @@ public class ArgumentProcessor {
             } else {
                 System.err.println(Localization.lang("The output option depends on a valid import option."));
             }
-        } else if (data.length == 2) {
+        } else if (data.length >= 2) {
             // This signals that the latest import should be stored in the given
-            // format to the given file.
+            // format(s) to the given file(s).
             ParserResult pr = loaded.get(loaded.size() - 1);
 
             // Set the global variable for this database's file directory before exporting,
@@ -377,24 +380,61 @@ public class ArgumentProcessor {
             databaseContext.setDatabaseFile(theFile);
             Globals.prefs.fileDirForDatabase = databaseContext
                     .getFileDirectory(Globals.prefs.getFileDirectoryPreferences());
-            System.out.println(Localization.lang("Exporting") + ": " + data[0]);
-            IExportFormat format = ExportFormats.getExportFormat(data[1]);
+
+            Map<String, IExportFormat> formatsByFile = getExportFiles(data[0],
+                    Arrays.asList(data).subList(1, data.length));
+            if (formatsByFile.isEmpty()) {
+                return;
+            }
+            for (String file : formatsByFile.keySet()) {
+                System.out.println(Localization.lang("Exporting") + ": " + file);
+            }
+
+            ExportPipeline pipeline = new ExportPipeline(databaseContext,
+                    databaseContext.getMetaData().getEncoding().orElse(Globals.prefs.getDefaultEncoding()),
+                    SavePreferences.loadForExportFromPreferences(Globals.prefs));
+            try {
+                pipeline.export(formatsByFile).forEach((file, ex) -> System.err.println(
+                        Localization.lang("Could not export file") + " '" + file + "': " + ex.getMessage()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Determines the file to write for each of the given export formats. A single format is written to the given file.
+     * For several formats, the extension of each format is appended to the given file name. If several formats have the
+     * same extension, their console names are inserted before it.
+     *
+     * This method is package private, because of ArgumentProcessorTest
+     */
+    static Map<String, IExportFormat> getExportFiles(String file, List<String> formatNames) {
+        List<IExportFormat> formats = new ArrayList<>();
+        for (String formatName : formatNames) {
+            IExportFormat format = ExportFormats.getExportFormat(formatName.trim());
             if (format == null) {
-                System.err.println(Localization.lang("Unknown export format") + ": " + data[1]);
+                System.err.println(Localization.lang("Unknown export format") + ": " + formatName);
             } else {
-                // We have an ExportFormat instance:
-                try {
-                    format.performExport(pr.getDatabaseContext(), data[0],
-                            pr.getDatabaseContext().getMetaData().getEncoding()
-                                    .orElse(Globals.prefs.getDefaultEncoding()),
-                            null);
-                } catch (Exception ex) {
-                    System.err.println(Localization.lang("Could not export file") + " '" + data[0] + "': "
-                            + ex.getMessage());
-                }
+                formats.add(format);
             }
+        }
 
+        Map<String, IExportFormat> formatsByFile = new LinkedHashMap<>();
+        if (formatNames.size() == 1) {
+            formats.forEach(format -> formatsByFile.put(file, format));
+            return formatsByFile;
+        }
+        for (IExportFormat format : formats) {
+            long sameExtension = formats.stream()
+                    .filter(other -> other.getExtension().equals(format.getExtension())).count();
+            if (sameExtension > 1) {
+                formatsByFile.put(file + '.' + format.getConsoleName() + format.getExtension(), format);
+            } else {
+                formatsByFile.put(file + format.getExtension(), format);
+            }
         }
+        return formatsByFile;
     }
 
     private void importPreferences() {
@@ -158,8 +158,8 @@ public class JabRefCLI {
 
         options.addOption(Option.builder("o").
                 longOpt("output").
-                desc(String.format("%s: %s[,export format]", Localization.lang("Output or export file"),
-                        Localization.lang("filename"))).
+                desc(String.format("%s: %s[,export format[,export format...]]",
+                        Localization.lang("Output or export file"), Localization.lang("filename"))).
                 hasArg().
                 argName("FILE").
                 build());
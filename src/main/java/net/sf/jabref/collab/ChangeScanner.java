@@ -3,11 +3,20 @@ package net.sf.jabref.collab;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -17,7 +26,6 @@ import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.JabRefFrame;
-import net.sf.jabref.logic.bibtex.comparator.EntryComparator;
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
 import net.sf.jabref.logic.exporter.FileSaveSession;
@@ -29,14 +37,11 @@ import net.sf.jabref.logic.importer.OpenDatabase;
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.Defaults;
-import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
-import net.sf.jabref.model.database.EntrySorter;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexString;
-import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.metadata.MetaData;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -47,8 +52,6 @@ import org.apache.commons.logging.LogFactory;
 public class ChangeScanner implements Runnable {
     private static final Log LOGGER = LogFactory.getLog(ChangeScanner.class);
 
-    private static final String[] SORT_BY = new String[] {FieldName.YEAR, FieldName.AUTHOR, FieldName.TITLE};
-
     private final File file;
     private final BibDatabase databaseInMemory;
     private final MetaData metadataInMemory;
@@ -93,29 +96,21 @@ public class ChangeScanner implements Runnable {
             BibDatabase databaseOnDisk = result.getDatabase();
             MetaData metadataOnDisk = result.getMetaData();
 
-            // Sort both databases according to a common sort key.
-            EntryComparator comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInTemp = databaseInTemp.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterOnDisk = databaseOnDisk.getSorter(comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[2]);
-            comparator = new EntryComparator(false, true, SORT_BY[1], comparator);
-            comparator = new EntryComparator(false, true, SORT_BY[0], comparator);
-            EntrySorter sorterInMem = databaseInMemory.getSorter(comparator);
-
             // Start looking at changes.
+            long start = System.currentTimeMillis();
             scanMetaData(metadataInMemory, metadataInTemp, metadataOnDisk);
             scanPreamble(databaseInMemory, databaseInTemp, databaseOnDisk);
             scanStrings(databaseInMemory, databaseInTemp, databaseOnDisk);
+            long stringsScanned = System.currentTimeMillis();
 
-            scanEntries(sorterInMem, sorterInTemp, sorterOnDisk);
+            scanEntries(databaseInMemory, databaseInTemp, databaseOnDisk);
+            long entriesScanned = System.currentTimeMillis();
 
             scanGroups(metadataInTemp, metadataOnDisk);
 
+            LOGGER.debug("Scanned " + databaseOnDisk.getEntryCount() + " entries for external changes: strings took "
+                    + (stringsScanned - start) + " ms, entries took " + (entriesScanned - stringsScanned)
+                    + " ms, found " + changes.getChildCount() + " changes");
         } catch (IOException ex) {
             LOGGER.warn("Problem running", ex);
         }
@@ -175,149 +170,39 @@ public class ChangeScanner implements Runnable {
         }
     }
 
-    private void scanEntries(EntrySorter memorySorter, EntrySorter tmpSorter, EntrySorter diskSorter) {
-
-        // Create pointers that are incremented as the entries of each base are used in
-        // successive order from the beginning. Entries "further down" in the "disk" base
-        // can also be matched.
-        int piv1;
-        int piv2 = 0;
-
-        // Create a HashSet where we can put references to entry numbers in the "disk"
-        // database that we have matched. This is to avoid matching them twice.
-        Set<String> used = new HashSet<>(diskSorter.getEntryCount());
-        Set<Integer> notMatched = new HashSet<>(tmpSorter.getEntryCount());
-
-        // Loop through the entries of the "tmp" database, looking for exact matches in the "disk" one.
-        // We must finish scanning for exact matches before looking for near matches, to avoid an exact
-        // match being "stolen" from another entry.
-        mainLoop:
-        for (piv1 = 0; piv1 < tmpSorter.getEntryCount(); piv1++) {
-
-            // First check if the similarly placed entry in the other base matches exactly.
-            double comp = -1;
-            // (if there are not any entries left in the "disk" database, comp will stay at -1,
-            // and this entry will be marked as nonmatched).
-            if (!used.contains(String.valueOf(piv2)) && (piv2 < diskSorter.getEntryCount())) {
-                comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(piv2));
-            }
-            if (comp > 1) {
-                used.add(String.valueOf(piv2));
-                piv2++;
-                continue;
-            }
+    private void scanEntries(BibDatabase inMemory, BibDatabase onTmp, BibDatabase onDisk) {
+        EntryMatcher diskMatcher = new EntryMatcher(onDisk.getEntries());
+        EntryMatcher memoryMatcher = new EntryMatcher(inMemory.getEntries());
 
-            // No? Then check if another entry matches exactly.
-            if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                for (int i = piv2 + 1; i < diskSorter.getEntryCount(); i++) {
-                    if (used.contains(String.valueOf(i))) {
-                        comp = -1;
-                    } else {
-                        comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                    }
-
-                    if (comp > 1) {
-                        used.add(String.valueOf(i));
-                        continue mainLoop;
-                    }
-                }
+        // Look for exact matches in the "disk" database first. We must finish scanning for exact matches before
+        // looking for near matches, to avoid an exact match being "stolen" from another entry.
+        List<BibEntry> notMatched = new ArrayList<>();
+        for (BibEntry tmpEntry : onTmp.getEntries()) {
+            if (!diskMatcher.takeIdentical(tmpEntry).isPresent()) {
+                notMatched.add(tmpEntry);
             }
-
-            // No? Add this entry to the list of nonmatched entries.
-            notMatched.add(piv1);
         }
 
-        // Now we've found all exact matches, look through the remaining entries, looking
-        // for close matches.
-        if (!notMatched.isEmpty()) {
-
-            for (Iterator<Integer> it = notMatched.iterator(); it.hasNext(); ) {
-
-                piv1 = it.next();
-
-                // These two variables will keep track of which entry most closely matches the
-                // one we're looking at, in case none matches completely.
-                int bestMatchI = -1;
-                double bestMatch = 0;
-                double comp;
-
-                if (piv2 < (diskSorter.getEntryCount() - 1)) {
-                    for (int i = piv2; i < diskSorter.getEntryCount(); i++) {
-                        if (used.contains(String.valueOf(i))) {
-                            comp = -1;
-                        } else {
-                            comp = DuplicateCheck.compareEntriesStrictly(tmpSorter.getEntryAt(piv1), diskSorter.getEntryAt(i));
-                        }
-
-                        if (comp > bestMatch) {
-                            bestMatch = comp;
-                            bestMatchI = i;
-                        }
-                    }
-                }
-
-                if (bestMatch > MATCH_THRESHOLD) {
-                    used.add(String.valueOf(bestMatchI));
-                    it.remove();
-
-                    changes.add(new EntryChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1),
-                            diskSorter.getEntryAt(bestMatchI)));
-                } else {
-                    changes.add(
-                            new EntryDeleteChange(bestFit(tmpSorter, memorySorter, piv1), tmpSorter.getEntryAt(piv1)));
-                }
-
+        // Now we've found all exact matches, look through the remaining entries, looking for close matches.
+        for (BibEntry tmpEntry : notMatched) {
+            BibEntry memEntry = memoryMatcher.findBestFit(tmpEntry).orElse(tmpEntry);
+            Optional<BibEntry> diskEntry = diskMatcher.takeBestMatch(tmpEntry, MATCH_THRESHOLD);
+            if (diskEntry.isPresent()) {
+                changes.add(new EntryChange(memEntry, tmpEntry, diskEntry.get()));
+            } else {
+                changes.add(new EntryDeleteChange(memEntry, tmpEntry));
             }
-
         }
 
-        // Finally, look if there are still untouched entries in the disk database. These
-        // may have been added.
-        if (used.size() < diskSorter.getEntryCount()) {
-            for (int i = 0; i < diskSorter.getEntryCount(); i++) {
-                if (!used.contains(String.valueOf(i))) {
-
-                    // See if there is an identical dupe in the mem database:
-                    boolean hasAlready = false;
-                    for (int j = 0; j < memorySorter.getEntryCount(); j++) {
-                        if (DuplicateCheck.compareEntriesStrictly(memorySorter.getEntryAt(j), diskSorter.getEntryAt(i)) >= 1) {
-                            hasAlready = true;
-                            break;
-                        }
-                    }
-                    if (!hasAlready) {
-                        changes.add(new EntryAddChange(diskSorter.getEntryAt(i)));
-                    }
-                }
+        // Finally, look if there are still untouched entries in the disk database. These may have been added.
+        for (BibEntry diskEntry : diskMatcher.getRemaining()) {
+            // See if there is an identical dupe in the mem database
+            if (!memoryMatcher.findIdentical(diskEntry).isPresent()) {
+                changes.add(new EntryAddChange(diskEntry));
             }
         }
     }
 
-    /**
-     * Finds the entry in neu best fitting the specified entry in old. If no entries get a score
-     * above zero, an entry is still returned.
-     *
-     * @param oldSorter   EntrySorter
-     * @param newSorter   EntrySorter
-     * @param index int
-     * @return BibEntry
-     */
-    private static BibEntry bestFit(EntrySorter oldSorter, EntrySorter newSorter, int index) {
-        double comp = -1;
-        int found = 0;
-        for (int i = 0; i < newSorter.getEntryCount(); i++) {
-            double res = DuplicateCheck.compareEntriesStrictly(oldSorter.getEntryAt(index), newSorter.getEntryAt(i));
-            if (res > comp) {
-                comp = res;
-                found = i;
-            }
-            if (comp > 1) {
-                break;
-            }
-        }
-        return newSorter.getEntryAt(found);
-    }
-
     private void scanPreamble(BibDatabase inMemory, BibDatabase onTmp, BibDatabase onDisk) {
         String mem = inMemory.getPreamble().orElse(null);
         Optional<String> tmp = onTmp.getPreamble();
@@ -336,115 +221,106 @@ public class ChangeScanner implements Runnable {
             return;
         }
 
-        Set<Object> used = new HashSet<>();
-        Set<Object> usedInMem = new HashSet<>();
-        Set<String> notMatched = new HashSet<>(inTmp.getStringCount());
+        Map<String, BibtexString> diskByName = new HashMap<>();
+        Map<String, Deque<BibtexString>> diskByContent = new HashMap<>();
+        for (String diskId : onDisk.getStringKeySet()) {
+            BibtexString disk = onDisk.getString(diskId);
+            diskByName.put(disk.getName(), disk);
+            diskByContent.computeIfAbsent(disk.getContent(), content -> new ArrayDeque<>()).add(disk);
+        }
+        Map<String, BibtexString> memByName = new HashMap<>();
+        Map<String, Deque<BibtexString>> memByContent = new HashMap<>();
+        for (String memId : inMem1.getStringKeySet()) {
+            BibtexString mem = inMem1.getString(memId);
+            memByName.put(mem.getName(), mem);
+            memByContent.computeIfAbsent(mem.getContent(), content -> new ArrayDeque<>()).add(mem);
+        }
+
+        Set<BibtexString> used = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> usedInMem = new HashSet<>();
+        List<BibtexString> notMatched = new ArrayList<>(inTmp.getStringCount());
 
         // First try to match by string names.
-        mainLoop:
         for (String key : inTmp.getStringKeySet()) {
             BibtexString tmp = inTmp.getString(key);
+            BibtexString disk = diskByName.get(tmp.getName());
+            if ((disk == null) || used.contains(disk)) {
+                // There was no match for this string.
+                notMatched.add(tmp);
+                continue;
+            }
 
-            for (String diskId : onDisk.getStringKeySet()) {
-                if (!used.contains(diskId)) {
-                    BibtexString disk = onDisk.getString(diskId);
-                    if (disk.getName().equals(tmp.getName())) {
-                        // We have found a string with a matching name.
-                        if (!Objects.equals(tmp.getContent(), disk.getContent())) {
-                            // But they have nonmatching contents, so we've found a change.
-                            Optional<BibtexString> mem = findString(inMem1, tmp.getName(), usedInMem);
-                            if (mem.isPresent()) {
-                                changes.add(new StringChange(mem.get(), tmp, tmp.getName(), mem.get().getContent(),
-                                        disk.getContent()));
-                            } else {
-                                changes.add(new StringChange(null, tmp, tmp.getName(), null, disk.getContent()));
-                            }
-                        }
-                        used.add(diskId);
-                        continue mainLoop;
-                    }
-
+            // We have found a string with a matching name.
+            if (!Objects.equals(tmp.getContent(), disk.getContent())) {
+                // But they have nonmatching contents, so we've found a change.
+                Optional<BibtexString> mem = findString(memByName, tmp.getName(), usedInMem);
+                if (mem.isPresent()) {
+                    changes.add(new StringChange(mem.get(), tmp, tmp.getName(), mem.get().getContent(),
+                            disk.getContent()));
+                } else {
+                    changes.add(new StringChange(null, tmp, tmp.getName(), null, disk.getContent()));
                 }
             }
-            // If we get here, there was no match for this string.
-            notMatched.add(tmp.getId());
+            used.add(disk);
         }
 
         // See if we can detect a name change for those entries that we couldn't match.
-        if (!notMatched.isEmpty()) {
-            for (Iterator<String> i = notMatched.iterator(); i.hasNext(); ) {
-                BibtexString tmp = inTmp.getString(i.next());
-
-                // If we get to this point, we found no string with matching name. See if we
-                // can find one with matching content.
-                for (String diskId : onDisk.getStringKeySet()) {
-
-                    if (!used.contains(diskId)) {
-                        BibtexString disk = onDisk.getString(diskId);
-
-                        if (disk.getContent().equals(tmp.getContent())) {
-                            // We have found a string with the same content. It cannot have the same
-                            // name, or we would have found it above.
-
-                            // Try to find the matching one in memory:
-                            BibtexString bsMem = null;
-
-                            for (String memId : inMem1.getStringKeySet()) {
-                                BibtexString bsMemCandidate = inMem1.getString(memId);
-                                if (bsMemCandidate.getContent().equals(disk.getContent())
-                                        && !usedInMem.contains(memId)) {
-                                    usedInMem.add(memId);
-                                    bsMem = bsMemCandidate;
-                                    break;
-                                }
-                            }
-
-                            if (bsMem != null) {
-                                changes.add(new StringNameChange(bsMem, tmp, bsMem.getName(), tmp.getName(),
-                                        disk.getName(), tmp.getContent()));
-                                i.remove();
-                                used.add(diskId);
-                            }
-
-                        }
-                    }
-                }
+        for (Iterator<BibtexString> i = notMatched.iterator(); i.hasNext(); ) {
+            BibtexString tmp = i.next();
+
+            // If we get to this point, we found no string with matching name. See if we can find one with matching
+            // content. It cannot have the same name, or we would have found it above.
+            Optional<BibtexString> disk = takeUnused(diskByContent.get(tmp.getContent()), used::contains);
+            if (!disk.isPresent()) {
+                continue;
             }
-        }
 
-        if (!notMatched.isEmpty()) {
-            // Still one or more non-matched strings. So they must have been removed.
-            for (String notMatchedId : notMatched) {
-                BibtexString tmp = inTmp.getString(notMatchedId);
-                // The removed string is not removed from the mem version.
-                findString(inMem1, tmp.getName(), usedInMem).ifPresent(
-                        x -> changes.add(new StringRemoveChange(tmp, tmp, x)));
+            // Try to find the matching one in memory
+            Optional<BibtexString> bsMem = takeUnused(memByContent.get(tmp.getContent()),
+                    mem -> usedInMem.contains(mem.getId()));
+            if (bsMem.isPresent()) {
+                usedInMem.add(bsMem.get().getId());
+                changes.add(new StringNameChange(bsMem.get(), tmp, bsMem.get().getName(), tmp.getName(),
+                        disk.get().getName(), tmp.getContent()));
+                i.remove();
+                used.add(disk.get());
             }
         }
 
+        // Still non-matched strings must have been removed.
+        for (BibtexString tmp : notMatched) {
+            // The removed string is not removed from the mem version.
+            findString(memByName, tmp.getName(), usedInMem).ifPresent(
+                    x -> changes.add(new StringRemoveChange(tmp, tmp, x)));
+        }
+
         // Finally, see if there are remaining strings in the disk database. They
         // must have been added.
         for (String diskId : onDisk.getStringKeySet()) {
-            if (!used.contains(diskId)) {
-                BibtexString disk = onDisk.getString(diskId);
-                used.add(diskId);
+            BibtexString disk = onDisk.getString(diskId);
+            if (used.add(disk)) {
                 changes.add(new StringAddChange(disk));
             }
         }
     }
 
-    private static Optional<BibtexString> findString(BibDatabase base, String name, Set<Object> used) {
-        if (!base.hasStringLabel(name)) {
+    /**
+     * Returns the first string of the given candidates which is not used yet. Used candidates are removed from the
+     * queue on the way.
+     */
+    private static Optional<BibtexString> takeUnused(Deque<BibtexString> candidates, Predicate<BibtexString> isUsed) {
+        if (candidates == null) {
             return Optional.empty();
         }
-        for (String key : base.getStringKeySet()) {
-            BibtexString bs = base.getString(key);
-            if (bs.getName().equals(name) && !used.contains(key)) {
-                used.add(key);
-                return Optional.of(bs);
-            }
+        while (!candidates.isEmpty() && isUsed.test(candidates.peek())) {
+            candidates.poll();
         }
-        return Optional.empty();
+        return Optional.ofNullable(candidates.peek());
+    }
+
+    private static Optional<BibtexString> findString(Map<String, BibtexString> stringsByName, String name,
+            Set<String> used) {
+        return Optional.ofNullable(stringsByName.get(name)).filter(string -> used.add(string.getId()));
     }
 
     /**
@@ -0,0 +1,143 @@
+package net.sf.jabref.collab;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Finds the counterparts of entries in another version of a database.
+ * <p>
+ * The entries are indexed by their content (all fields, as compared by
+ * {@link DuplicateCheck#compareEntriesStrictly(BibEntry, BibEntry)}) and by their BibTeX key, so identical entries
+ * and entries with the same key are found in constant time. Only entries without such a counterpart are compared
+ * with the similarity score against all remaining entries.
+ * <p>
+ * Entries can be "taken", i.e. each entry is matched at most once. The entries are indexed when the matcher is
+ * created, so they should not be modified while the matcher is in use.
+ */
+class EntryMatcher {
+
+    private final List<BibEntry> entries;
+    private final Map<Map<String, String>, Deque<BibEntry>> entriesByContent;
+    private final Map<String, List<BibEntry>> entriesByKey = new HashMap<>();
+    private final Set<BibEntry> taken = Collections.newSetFromMap(new IdentityHashMap<>());
+
+
+    public EntryMatcher(Collection<BibEntry> entries) {
+        this.entries = new ArrayList<>(entries);
+        this.entriesByContent = new HashMap<>(2 * entries.size());
+        for (BibEntry entry : this.entries) {
+            entriesByContent.computeIfAbsent(getContent(entry), content -> new ArrayDeque<>()).add(entry);
+            entry.getCiteKeyOptional()
+                    .ifPresent(key -> entriesByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry));
+        }
+    }
+
+    private static Map<String, String> getContent(BibEntry entry) {
+        // a copy, so that the index stays consistent if the entry is changed in the meantime
+        return new HashMap<>(entry.getFieldMap());
+    }
+
+    /**
+     * Returns an entry with exactly the same fields as the given entry, without taking it.
+     */
+    public Optional<BibEntry> findIdentical(BibEntry entry) {
+        Deque<BibEntry> identical = entriesByContent.get(getContent(entry));
+        if (identical == null) {
+            return Optional.empty();
+        }
+        return identical.stream().filter(candidate -> !taken.contains(candidate)).findFirst();
+    }
+
+    /**
+     * Takes an entry with exactly the same fields as the given entry.
+     */
+    public Optional<BibEntry> takeIdentical(BibEntry entry) {
+        Deque<BibEntry> identical = entriesByContent.get(getContent(entry));
+        if (identical == null) {
+            return Optional.empty();
+        }
+        while (!identical.isEmpty()) {
+            BibEntry candidate = identical.poll();
+            if (taken.add(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Takes the entry most similar to the given entry. An entry with the same BibTeX key is preferred; if there is
+     * none, the most similar entry is taken if its similarity score exceeds the given threshold.
+     */
+    public Optional<BibEntry> takeBestMatch(BibEntry entry, double threshold) {
+        Optional<BibEntry> match = findBestMatch(entry, threshold);
+        match.ifPresent(taken::add);
+        return match;
+    }
+
+    /**
+     * Returns the entry fitting best to the given entry, without taking it. In contrast to
+     * {@link #takeBestMatch(BibEntry, double)}, an entry is returned even if it is not similar at all, as long as
+     * there are entries left.
+     */
+    public Optional<BibEntry> findBestFit(BibEntry entry) {
+        Optional<BibEntry> identical = findIdentical(entry);
+        if (identical.isPresent()) {
+            return identical;
+        }
+        return findBestMatch(entry, -1);
+    }
+
+    private Optional<BibEntry> findBestMatch(BibEntry entry, double threshold) {
+        List<BibEntry> sameKey = entry.getCiteKeyOptional().map(entriesByKey::get).orElse(Collections.emptyList());
+        Optional<BibEntry> match = findMostSimilar(entry, sameKey, -1);
+        if (match.isPresent()) {
+            return match;
+        }
+        return findMostSimilar(entry, entries, threshold);
+    }
+
+    private Optional<BibEntry> findMostSimilar(BibEntry entry, List<BibEntry> candidates, double threshold) {
+        BibEntry bestMatch = null;
+        double bestScore = threshold;
+        for (BibEntry candidate : candidates) {
+            if (taken.contains(candidate)) {
+                continue;
+            }
+            double score = DuplicateCheck.compareEntriesStrictly(entry, candidate);
+            if (score > bestScore) {
+                bestScore = score;
+                bestMatch = candidate;
+                if (score > 1) {
+                    break;
+                }
+            }
+        }
+        return Optional.ofNullable(bestMatch);
+    }
+
+    /**
+     * Returns the entries which have not been taken, in their original order.
+     */
+    public List<BibEntry> getRemaining() {
+        List<BibEntry> remaining = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            if (!taken.contains(entry)) {
+                remaining.add(entry);
+            }
+        }
+        return remaining;
+    }
+}
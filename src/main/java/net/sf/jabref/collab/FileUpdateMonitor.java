@@ -2,49 +2,271 @@ package net.sf.jabref.collab;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import net.sf.jabref.logic.util.OS;
 import net.sf.jabref.logic.util.io.FileUtil;
 
+import com.sun.nio.file.SensitivityWatchEventModifier;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 /**
  * This thread monitors a set of files, each associated with a FileUpdateListener, for changes
- * in the file's last modification time stamp. The
+ * in the file's last modification time stamp.
+ * <p>
+ * The directories containing the files are registered at a {@link WatchService}, each directory only once. Events
+ * for a file are collected until no further event arrived for {@link #DEBOUNCE} milliseconds, so that a burst of
+ * writes (e.g., an editor writing a temporary file and renaming it) results in a single notification. Files whose
+ * directory cannot be watched (e.g., on some network file systems) are polled every {@link #WAIT} milliseconds.
+ * A file whose change could not be handled is checked again after {@link #WAIT} milliseconds, see
+ * {@link #perturbTimestamp(String)}.
+ * <p>
+ * If a watched directory becomes inaccessible (e.g., it is deleted), its files are polled until the directory exists
+ * again and can be watched once more.
  */
 public class FileUpdateMonitor implements Runnable {
     private static final Log LOGGER = LogFactory.getLog(FileUpdateMonitor.class);
 
     private static final int WAIT = 4000;
+    private static final int DEBOUNCE = 100;
+    // OS X has no native watch service, the default one polls every ten seconds only
+    private static final WatchEvent.Modifier[] WATCH_MODIFIERS = OS.OS_X ? new WatchEvent.Modifier[] {
+            SensitivityWatchEventModifier.HIGH} : new WatchEvent.Modifier[0];
 
     private int numberOfUpdateListener;
-    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final WatchService watchService;
+    // guarded by itself
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+    // directories which were watched, but became inaccessible, guarded by watchedDirectories
+    private final Set<Path> lostDirectories = new HashSet<>();
+    // entries to be checked, mapped to the time of their check
+    private final Map<Entry, Long> pendingEntries = new ConcurrentHashMap<>();
+
+
+    public FileUpdateMonitor() {
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.info("File system cannot be watched, falling back to polling", e);
+        }
+        watchService = service;
+    }
 
     @Override
     public void run() {
-        // The running variable is used to make the thread stop when needed.
-        while (true) {
-            for(Entry e : entries.values()) {
-                try {
-                    if (e.hasBeenUpdated()) {
-                        e.notifyListener();
+        long lastPolling = System.currentTimeMillis();
+        try {
+            while (true) {
+                long timeout = WAIT - (System.currentTimeMillis() - lastPolling);
+                for (long checkTime : pendingEntries.values()) {
+                    timeout = Math.min(timeout, checkTime - System.currentTimeMillis());
+                }
+                timeout = Math.max(timeout, 1);
+
+                if (watchService == null) {
+                    Thread.sleep(timeout);
+                } else {
+                    WatchKey key = watchService.poll(timeout, TimeUnit.MILLISECONDS);
+                    while (key != null) {
+                        processEvents(key);
+                        key = watchService.poll();
+                    }
+                }
+
+                notifyPendingEntries();
+
+                if ((System.currentTimeMillis() - lastPolling) >= WAIT) {
+                    watchLostDirectories();
+                    pollUnwatchedEntries();
+                    lastPolling = System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+        } catch (ClosedWatchServiceException ex) {
+            LOGGER.debug("FileUpdateMonitor has been closed. Terminating...", ex);
+        } finally {
+            closeWatchService();
+        }
+    }
+
+    private void processEvents(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        long checkTime = System.currentTimeMillis() + DEBOUNCE;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events got lost, so every file in the directory may have changed
+                for (Entry entry : entries.values()) {
+                    if (directory.equals(entry.getDirectory())) {
+                        pendingEntries.put(entry, checkTime);
+                    }
+                }
+            } else {
+                Path changedFile = directory.resolve((Path) event.context());
+                for (Entry entry : entries.values()) {
+                    if (changedFile.equals(entry.getFile())) {
+                        pendingEntries.put(entry, checkTime);
                     }
-                } catch (IOException ex) {
-                    e.notifyFileRemoved();
                 }
             }
+        }
+        if (!key.reset()) {
+            loseDirectory(directory, key);
+        }
+    }
 
-            // Sleep for a while before starting a new polling round.
-            try {
-                Thread.sleep(WAIT);
-            } catch (InterruptedException ex) {
-                LOGGER.debug("FileUpdateMonitor has been interrupted. Terminating...", ex);
+    /**
+     * Polls the files of the given directory, as it can no longer be watched.
+     */
+    private void loseDirectory(Path directory, WatchKey key) {
+        synchronized (watchedDirectories) {
+            if (!watchedDirectories.remove(directory, key)) {
+                // the directory was unwatched in the meantime
                 return;
             }
+            lostDirectories.add(directory);
+            for (Entry entry : entries.values()) {
+                if (directory.equals(entry.getDirectory())) {
+                    entry.setWatched(false);
+                    pendingEntries.put(entry, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+
+    /**
+     * Watches the lost directories again, which exist once more. Their files are checked, as they could have changed
+     * while the directory was not watched.
+     */
+    private void watchLostDirectories() {
+        synchronized (watchedDirectories) {
+            Iterator<Path> iterator = lostDirectories.iterator();
+            while (iterator.hasNext()) {
+                Path directory = iterator.next();
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                iterator.remove();
+                if (registerDirectory(directory)) {
+                    for (Entry entry : entries.values()) {
+                        if (directory.equals(entry.getDirectory())) {
+                            entry.setWatched(true);
+                            pendingEntries.put(entry, System.currentTimeMillis());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void notifyPendingEntries() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Entry, Long> pending : pendingEntries.entrySet()) {
+            // the check may have been postponed by another event in the meantime
+            if ((pending.getValue() <= now) && pendingEntries.remove(pending.getKey(), pending.getValue())) {
+                // the listener might have been removed in the meantime
+                if (entries.containsValue(pending.getKey())) {
+                    checkForUpdate(pending.getKey());
+                }
+            }
+        }
+    }
+
+    private void pollUnwatchedEntries() {
+        for (Entry entry : entries.values()) {
+            if (!entry.isWatched()) {
+                checkForUpdate(entry);
+            }
+        }
+    }
+
+    private static void checkForUpdate(Entry entry) {
+        try {
+            if (entry.hasBeenUpdated()) {
+                entry.notifyListener();
+            }
+        } catch (IOException ex) {
+            entry.notifyFileRemoved();
+        }
+    }
+
+    /**
+     * Registers the directory of the given entry at the watch service, unless it is already watched.
+     *
+     * @return true if the directory is watched
+     */
+    private boolean watchDirectory(Entry entry) {
+        if (watchService == null) {
+            return false;
+        }
+
+        synchronized (watchedDirectories) {
+            if (watchedDirectories.containsKey(entry.getDirectory())) {
+                return true;
+            }
+            if (lostDirectories.contains(entry.getDirectory())) {
+                // polled until the directory exists again
+                return false;
+            }
+            return registerDirectory(entry.getDirectory());
+        }
+    }
+
+    private boolean registerDirectory(Path directory) {
+        try {
+            WatchKey key = directory.register(watchService, new WatchEvent.Kind<?>[] {
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE}, WATCH_MODIFIERS);
+            watchedDirectories.put(directory, key);
+            return true;
+        } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+            LOGGER.info("Cannot watch " + directory + ", falling back to polling", e);
+            return false;
+        }
+    }
+
+    /**
+     * Stops watching the directory of the given entry, unless another entry is located in the same directory.
+     */
+    private void unwatchDirectory(Entry entry) {
+        synchronized (watchedDirectories) {
+            for (Entry other : entries.values()) {
+                if (entry.getDirectory().equals(other.getDirectory())) {
+                    return;
+                }
+            }
+            lostDirectories.remove(entry.getDirectory());
+            WatchKey key = watchedDirectories.remove(entry.getDirectory());
+            if (key != null) {
+                key.cancel();
+            }
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close watch service", e);
+            }
         }
     }
 
@@ -54,13 +276,15 @@ public class FileUpdateMonitor implements Runnable {
      * @param file File The file to monitor.
      * @throws IOException if the file does not exist.
      */
-    public String addUpdateListener(FileUpdateListener ul, File file) throws IOException {
+    public synchronized String addUpdateListener(FileUpdateListener ul, File file) throws IOException {
         if (!file.exists()) {
             throw new IOException("File not found");
         }
         numberOfUpdateListener++;
         String key = String.valueOf(numberOfUpdateListener);
-        entries.put(key, new Entry(ul, file.toPath()));
+        Entry entry = new Entry(ul, file.toPath().toAbsolutePath().normalize());
+        entries.put(key, entry);
+        entry.setWatched(watchDirectory(entry));
         return key;
     }
 
@@ -86,12 +310,16 @@ public class FileUpdateMonitor implements Runnable {
      * the file's timestamp on disk, after this call the file will appear to
      * have been modified. Used if a file has been modified, and the change
      * scan fails, in order to ensure successive checks.
+     * <p>
+     * A watched file is not reported again by the watch service unless it changes once more, so the file is
+     * scheduled to be checked again after {@link #WAIT} milliseconds.
      * @param handle the handle to the correct file.
      */
     public void perturbTimestamp(String handle) {
         Entry entry = entries.get(handle);
         if (entry != null) {
             entry.decreaseTimeStamp();
+            pendingEntries.merge(entry, System.currentTimeMillis() + WAIT, Math::min);
         }
     }
 
@@ -100,7 +328,10 @@ public class FileUpdateMonitor implements Runnable {
      * @param handle String The handle for the listener to remove.
      */
     public void removeUpdateListener(String handle) {
-        entries.remove(handle);
+        Entry entry = entries.remove(handle);
+        if (entry != null) {
+            unwatchDirectory(entry);
+        }
     }
 
     public void updateTimeStamp(String key) {
@@ -140,6 +371,7 @@ public class FileUpdateMonitor implements Runnable {
         private final Path tmpFile;
         private long timeStamp;
         private long fileSize;
+        private volatile boolean watched;
 
 
         public Entry(FileUpdateListener ul, Path f) throws IOException {
@@ -159,7 +391,7 @@ public class FileUpdateMonitor implements Runnable {
          * @throws IOException if the file does no longer exist.
          * @return boolean true if the file has changed.
          */
-        public boolean hasBeenUpdated() throws IOException {
+        public synchronized boolean hasBeenUpdated() throws IOException {
             long modified = Files.getLastModifiedTime(file).toMillis();
             if (modified == 0L) {
                 throw new IOException("File deleted");
@@ -168,7 +400,7 @@ public class FileUpdateMonitor implements Runnable {
             return (timeStamp != modified) || (fileSize != fileSizeNow);
         }
 
-        public void updateTimeStamp() throws IOException {
+        public synchronized void updateTimeStamp() throws IOException {
             timeStamp = Files.getLastModifiedTime(file).toMillis();
             if (timeStamp == 0L) {
                 notifyFileRemoved();
@@ -189,8 +421,10 @@ public class FileUpdateMonitor implements Runnable {
          */
         public void notifyListener() throws IOException {
             // Update time stamp.
-            timeStamp = Files.getLastModifiedTime(file).toMillis();
-            fileSize = Files.size(file);
+            synchronized (this) {
+                timeStamp = Files.getLastModifiedTime(file).toMillis();
+                fileSize = Files.size(file);
+            }
             listener.fileUpdated();
         }
 
@@ -205,9 +439,25 @@ public class FileUpdateMonitor implements Runnable {
             return tmpFile;
         }
 
-        public void decreaseTimeStamp() {
+        public synchronized void decreaseTimeStamp() {
             timeStamp--;
         }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public Path getDirectory() {
+            return file.getParent();
+        }
+
+        public boolean isWatched() {
+            return watched;
+        }
+
+        public void setWatched(boolean watched) {
+            this.watched = watched;
+        }
     }
 
 
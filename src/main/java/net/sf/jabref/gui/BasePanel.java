@@ -91,9 +91,8 @@ import net.sf.jabref.gui.worker.MarkEntriesAction;
 import net.sf.jabref.gui.worker.SendAsEMailAction;
 import net.sf.jabref.gui.worker.Worker;
 import net.sf.jabref.logic.autocompleter.AutoCompletePreferences;
-import net.sf.jabref.logic.autocompleter.AutoCompleter;
-import net.sf.jabref.logic.autocompleter.AutoCompleterFactory;
 import net.sf.jabref.logic.autocompleter.ContentAutoCompleters;
+import net.sf.jabref.logic.autocompleter.SearchAutoCompleters;
 import net.sf.jabref.logic.bibtexkeypattern.BibtexKeyPatternUtil;
 import net.sf.jabref.logic.citationstyle.CitationStyleCache;
 import net.sf.jabref.logic.exporter.BibtexDatabaseWriter;
@@ -101,6 +100,7 @@ import net.sf.jabref.logic.exporter.FileSaveSession;
 import net.sf.jabref.logic.exporter.SaveException;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.exporter.SaveSession;
+import net.sf.jabref.logic.integrity.IntegrityCheck;
 import net.sf.jabref.logic.l10n.Encodings;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.layout.Layout;
@@ -125,6 +125,8 @@ import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.entry.event.EntryChangedEvent;
 import net.sf.jabref.model.entry.event.EntryEventSource;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.groups.GroupMembershipIndex;
 import net.sf.jabref.preferences.HighlightMatchingGroupPreferences;
 import net.sf.jabref.preferences.JabRefPreferences;
 import net.sf.jabref.preferences.PreviewPreferences;
@@ -156,6 +158,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
     private final MainTableDataModel tableModel;
 
     private final CitationStyleCache citationStyleCache;
+    private final GroupMembershipIndex groupMembershipIndex;
+    // kept between the checks of this panel, so that only changed entries are checked again
+    private IntegrityCheck integrityCheck;
 
     // To contain instantiated entry editors. This is to save time
     // As most enums, this must not be null
@@ -173,8 +178,8 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
     private boolean saving;
     private boolean updatedExternally;
 
-    // AutoCompleter used in the search bar
-    private AutoCompleter<String> searchAutoCompleter;
+    // AutoCompleters used in the search bar
+    private SearchAutoCompleters searchAutoCompleters;
     // The undo manager.
     private final UndoAction undoAction = new UndoAction();
     private final RedoAction redoAction = new RedoAction();
@@ -224,6 +229,7 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         this.tableModel = new MainTableDataModel(getBibDatabaseContext());
 
         citationStyleCache = new CitationStyleCache(bibDatabaseContext);
+        groupMembershipIndex = new GroupMembershipIndex(bibDatabaseContext.getDatabase());
 
         setupMainPanel();
 
@@ -801,6 +807,7 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
             // This entry is used to open up an entry editor
             // for the first inserted entry.
             BibEntry firstBE = null;
+            List<BibEntry> pastedEntries = new ArrayList<>(bes.size());
 
             for (BibEntry be1 : bes) {
 
@@ -816,11 +823,12 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
                 // independently of the copied
                 // ones.
                 be.setId(IdGenerator.next());
-                bibDatabaseContext.getDatabase().insertEntry(be);
+                pastedEntries.add(be);
 
                 ce.addEdit(new UndoableInsertEntry(bibDatabaseContext.getDatabase(), be, BasePanel.this));
 
             }
+            bibDatabaseContext.getDatabase().insertEntries(pastedEntries);
             ce.end();
             getUndoManager().addEdit(ce);
             output(formatOutputMessage(Localization.lang("Pasted"), bes.size()));
@@ -1235,12 +1243,23 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
         @Subscribe
         public void listen(EntryAddedEvent addedEntryEvent) {
-            searchAutoCompleter.addBibtexEntry(addedEntryEvent.getBibEntry());
+            searchAutoCompleters.addEntry(addedEntryEvent.getBibEntry());
         }
 
         @Subscribe
         public void listen(EntryChangedEvent entryChangedEvent) {
-            searchAutoCompleter.addBibtexEntry(entryChangedEvent.getBibEntry());
+            if (entryChangedEvent instanceof FieldChangedEvent) {
+                FieldChangedEvent fieldChangedEvent = (FieldChangedEvent) entryChangedEvent;
+                searchAutoCompleters.updateField(fieldChangedEvent.getBibEntry(), fieldChangedEvent.getFieldName(),
+                        fieldChangedEvent.getOldValue());
+            } else {
+                searchAutoCompleters.addEntry(entryChangedEvent.getBibEntry());
+            }
+        }
+
+        @Subscribe
+        public void listen(EntryRemovedEvent removedEntryEvent) {
+            searchAutoCompleters.removeEntry(removedEntryEvent.getBibEntry());
         }
     }
 
@@ -1257,7 +1276,18 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
 
         @Subscribe
         public void listen(EntryChangedEvent entryChangedEvent) {
-            BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
+            if (entryChangedEvent instanceof FieldChangedEvent) {
+                FieldChangedEvent fieldChangedEvent = (FieldChangedEvent) entryChangedEvent;
+                BasePanel.this.autoCompleters.updateField(fieldChangedEvent.getBibEntry(),
+                        fieldChangedEvent.getFieldName(), fieldChangedEvent.getOldValue());
+            } else {
+                BasePanel.this.autoCompleters.addEntry(entryChangedEvent.getBibEntry());
+            }
+        }
+
+        @Subscribe
+        public void listen(EntryRemovedEvent removedEntryEvent) {
+            BasePanel.this.autoCompleters.removeEntry(removedEntryEvent.getBibEntry());
         }
     }
 
@@ -1517,8 +1547,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         AutoCompletePreferences autoCompletePreferences = new AutoCompletePreferences(Globals.prefs);
         // Set up AutoCompleters for this panel:
         if (Globals.prefs.getBoolean(JabRefPreferences.AUTO_COMPLETE)) {
-            autoCompleters = new ContentAutoCompleters(getDatabase(), autoCompletePreferences, Globals.journalAbbreviationLoader);
-            // ensure that the autocompleters are in sync with entries
+            autoCompleters = new ContentAutoCompleters(autoCompletePreferences, Globals.journalAbbreviationLoader);
+            autoCompleters.addDatabaseInBackground(getDatabase());
+            // ensure that the autocompleters are in sync with entries added or changed after they were taken above
             this.getDatabase().registerListener(new AutoCompleteListener());
         } else {
             // create empty ContentAutoCompleters() if autoCompletion is deactivated
@@ -1540,17 +1571,13 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
     }
 
     public void updateSearchManager() {
-        frame.getGlobalSearchBar().setAutoCompleter(searchAutoCompleter);
+        frame.getGlobalSearchBar().setAutoCompleter(searchAutoCompleters.getPersonAutoCompleter());
     }
 
     private void instantiateSearchAutoCompleter() {
         AutoCompletePreferences autoCompletePreferences = new AutoCompletePreferences(Globals.prefs);
-        AutoCompleterFactory autoCompleterFactory = new AutoCompleterFactory(autoCompletePreferences,
-                Globals.journalAbbreviationLoader);
-        searchAutoCompleter = autoCompleterFactory.getPersonAutoCompleter();
-        for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-            searchAutoCompleter.addBibtexEntry(entry);
-        }
+        searchAutoCompleters = new SearchAutoCompleters(autoCompletePreferences, Globals.journalAbbreviationLoader);
+        searchAutoCompleters.addDatabaseInBackground(bibDatabaseContext.getDatabase());
     }
 
     public void updatePreamble() {
@@ -2147,6 +2174,9 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         if (fileMonitorHandle != null) {
             Globals.getFileUpdateMonitor().removeUpdateListener(fileMonitorHandle);
         }
+        if (integrityCheck != null) {
+            integrityCheck.disableIncrementalMode();
+        }
         // Check if there is a FileUpdatePanel for this BasePanel being shown. If so,
         // remove it:
         if (sidePaneManager.hasComponent(FileUpdatePanel.class)) {
@@ -2414,6 +2444,31 @@ public class BasePanel extends JPanel implements ClipboardOwner, FileUpdateListe
         return citationStyleCache;
     }
 
+    public GroupMembershipIndex getGroupMembershipIndex() {
+        return groupMembershipIndex;
+    }
+
+    /**
+     * Returns the integrity check of this database, which keeps the results of unchanged entries between the checks.
+     */
+    public IntegrityCheck getIntegrityCheck() {
+        if (integrityCheck == null) {
+            integrityCheck = new IntegrityCheck(bibDatabaseContext, Globals.prefs.getFileDirectoryPreferences());
+            integrityCheck.enableIncrementalMode();
+        }
+        return integrityCheck;
+    }
+
+    /**
+     * Discards the integrity check including its kept results, so that the next check uses the current preferences.
+     */
+    public void resetIntegrityCheck() {
+        if (integrityCheck != null) {
+            integrityCheck.disableIncrementalMode();
+            integrityCheck = null;
+        }
+    }
+
     public PreviewPanel getPreviewPanel() {
         if (selectionListener == null) {
             // only occurs if this is called while instantiating this BasePanel
@@ -16,12 +16,16 @@ import net.sf.jabref.gui.undo.UndoableRemoveEntry;
 import net.sf.jabref.gui.worker.CallBack;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.DuplicateCheck;
+import net.sf.jabref.model.DuplicateSearchListener;
 import net.sf.jabref.model.entry.BibEntry;
 
 import spin.Spin;
 
 public class DuplicateSearch implements Runnable {
 
+    // Number of compared candidate pairs after which the progress is shown
+    private static final int PROGRESS_STEP = 1000;
+
     private final BasePanel panel;
     private List<BibEntry> bes;
     private final List<List<BibEntry>> duplicates = new ArrayList<>();
@@ -144,27 +148,13 @@ public class DuplicateSearch implements Runnable {
     }
 
 
-    class SearcherRunnable implements Runnable {
+    class SearcherRunnable implements Runnable, DuplicateSearchListener {
 
         private volatile boolean finished;
 
         @Override
         public void run() {
-            for (int i = 0; (i < (bes.size() - 1)) && !finished; i++) {
-                for (int j = i + 1; (j < bes.size()) && !finished; j++) {
-                    BibEntry first = bes.get(i);
-                    BibEntry second = bes.get(j);
-                    boolean eq = DuplicateCheck.isDuplicate(first, second, panel.getBibDatabaseContext().getMode());
-
-                    // If (suspected) duplicates, add them to the duplicates vector.
-                    if (eq) {
-                        synchronized (duplicates) {
-                            duplicates.add(Arrays.asList(first, second));
-                            duplicates.notifyAll(); // send wake up all
-                        }
-                    }
-                }
-            }
+            DuplicateCheck.findDuplicates(bes, panel.getBibDatabaseContext().getMode(), this);
             finished = true;
             // if no duplicates found, the graphical thread will never wake up
             synchronized (duplicates) {
@@ -172,6 +162,27 @@ public class DuplicateSearch implements Runnable {
             }
         }
 
+        @Override
+        public void duplicateFound(BibEntry one, BibEntry two) {
+            // If (suspected) duplicates, add them to the duplicates vector.
+            synchronized (duplicates) {
+                duplicates.add(Arrays.asList(one, two));
+                duplicates.notifyAll(); // send wake up all
+            }
+        }
+
+        @Override
+        public void progress(int comparedPairs, int totalPairs) {
+            if (((comparedPairs % PROGRESS_STEP) == 0) || (comparedPairs == totalPairs)) {
+                panel.output(Localization.lang("Searching for duplicates...") + ' ' + comparedPairs + '/' + totalPairs);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return finished;
+        }
+
         public boolean finished() {
             return finished;
         }
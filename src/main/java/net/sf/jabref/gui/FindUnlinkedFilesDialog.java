@@ -539,7 +539,7 @@ public class FindUnlinkedFilesDialog extends JDialog {
                                         Integer.toString(progressBarImporting.getMaximum())));
                             });
                         }
-                    }, errors);
+                    }, errors, threadState);
             SwingUtilities.invokeLater(() -> importFinishedHandler(errors));
         });
     }
@@ -17,7 +17,6 @@ import net.sf.jabref.logic.cleanup.CleanupPreset;
 import net.sf.jabref.logic.cleanup.CleanupWorker;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.FieldChange;
-import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 public class CleanupAction extends AbstractWorker {
@@ -86,17 +85,24 @@ public class CleanupAction extends AbstractWorker {
             }
         }
 
-        for (BibEntry entry : panel.getSelectedEntries()) {
-            // undo granularity is on entry level
-            NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entry"));
-
-            doCleanup(cleanupPreset, entry, ce);
+        CleanupWorker cleaner = new CleanupWorker(panel.getBibDatabaseContext(),
+                preferences.getCleanupPreferences(Globals.journalAbbreviationLoader));
+        List<List<FieldChange>> changes = cleaner.cleanupEntries(cleanupPreset, panel.getSelectedEntries());
+        unsuccessfulRenames = cleaner.getUnsuccessfulRenames();
 
-            ce.end();
-            if (ce.hasEdits()) {
+        // all entries are cleaned up in one undoable step
+        NamedCompound ce = new NamedCompound(Localization.lang("Cleanup entries"));
+        for (List<FieldChange> entryChanges : changes) {
+            if (!entryChanges.isEmpty()) {
                 modifiedEntriesCount++;
-                panel.getUndoManager().addEdit(ce);
             }
+            for (FieldChange change : entryChanges) {
+                ce.addEdit(new UndoableFieldChange(change));
+            }
+        }
+        ce.end();
+        if (ce.hasEdits()) {
+            panel.getUndoManager().addEdit(ce);
         }
     }
 
@@ -139,25 +145,4 @@ public class CleanupAction extends AbstractWorker {
                 JOptionPane.QUESTION_MESSAGE);
     }
 
-    /**
-     * Runs the cleanup on the entry and records the change.
-     */
-    private void doCleanup(CleanupPreset preset, BibEntry entry, NamedCompound ce) {
-        // Create and run cleaner
-        CleanupWorker cleaner = new CleanupWorker(panel.getBibDatabaseContext(), preferences.getCleanupPreferences(
-                Globals.journalAbbreviationLoader));
-        List<FieldChange> changes = cleaner.cleanup(preset, entry);
-
-        unsuccessfulRenames = cleaner.getUnsuccessfulRenames();
-
-        if (changes.isEmpty()) {
-            return;
-        }
-
-        // Register undo action
-        for (FieldChange change : changes) {
-            ce.addEdit(new UndoableFieldChange(change));
-        }
-    }
-
 }
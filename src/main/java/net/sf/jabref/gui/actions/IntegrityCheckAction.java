@@ -1,6 +1,8 @@
 package net.sf.jabref.gui.actions;
 
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,11 +17,12 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
 
-import net.sf.jabref.Globals;
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.gui.util.GUIUtil;
 import net.sf.jabref.logic.integrity.IntegrityCheck;
@@ -44,10 +47,19 @@ public class IntegrityCheckAction extends MnemonicAwareAction {
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        IntegrityCheck check = new IntegrityCheck(frame.getCurrentBasePanel().getBibDatabaseContext(),
-                Globals.prefs.getFileDirectoryPreferences());
-        List<IntegrityMessage> messages = check.checkBibtexDatabase();
+        IntegrityCheck check = frame.getCurrentBasePanel().getIntegrityCheck();
+        JabRefExecutorService.INSTANCE.execute(() -> {
+            List<IntegrityMessage> messages = Collections.synchronizedList(new ArrayList<>());
+            check.checkBibtexDatabase(entryMessages -> {
+                messages.addAll(entryMessages);
+                String status = Localization.lang("%0 problem(s) found", String.valueOf(messages.size()));
+                SwingUtilities.invokeLater(() -> frame.output(status));
+            });
+            SwingUtilities.invokeLater(() -> showMessages(new ArrayList<>(messages)));
+        });
+    }
 
+    private void showMessages(List<IntegrityMessage> messages) {
         if (messages.isEmpty()) {
             JOptionPane.showMessageDialog(frame.getCurrentBasePanel(), Localization.lang("No problems found."));
         } else {
@@ -77,6 +77,7 @@ public class AutoSaveManager {
         try {
             SavePreferences prefs = SavePreferences.loadForSaveFromPreferences(Globals.prefs)
                     .withMakeBackup(false)
+                    .withIncremental(true)
                     .withEncoding(panel.getBibDatabaseContext().getMetaData().getEncoding()
                             .orElse(Globals.prefs.getDefaultEncoding()));
 
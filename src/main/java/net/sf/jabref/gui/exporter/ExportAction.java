@@ -17,12 +17,9 @@ import net.sf.jabref.Globals;
 import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.gui.actions.MnemonicAwareAction;
 import net.sf.jabref.gui.worker.AbstractWorker;
-import net.sf.jabref.logic.exporter.ExportFormat;
 import net.sf.jabref.logic.exporter.ExportFormats;
 import net.sf.jabref.logic.exporter.IExportFormat;
-import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.l10n.Localization;
-import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
@@ -62,12 +59,8 @@ public class ExportAction {
 
             @Override
             public void actionPerformed(ActionEvent e) {
-                Map<String, ExportFormat> customFormats = Globals.prefs.customExports.getCustomExportFormats(Globals.prefs,
-                        Globals.journalAbbreviationLoader);
-                LayoutFormatterPreferences layoutPreferences = Globals.prefs
-                        .getLayoutFormatterPreferences(Globals.journalAbbreviationLoader);
-                SavePreferences savePreferences = SavePreferences.loadForExportFromPreferences(Globals.prefs);
-                ExportFormats.initAllExports(customFormats, layoutPreferences, savePreferences);
+                // The export formats are created at startup and again whenever the preferences or the custom
+                // exports change, so that their parsed layouts are reused here
                 JFileChooser fc = ExportAction
                         .createExportFileChooser(Globals.prefs.get(JabRefPreferences.EXPORT_WORKING_DIRECTORY));
                 fc.showSaveDialog(frame);
@@ -6,6 +6,7 @@ import java.awt.event.ActionEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.AbstractAction;
 import javax.swing.Action;
@@ -27,6 +28,8 @@ import net.sf.jabref.gui.JabRefFrame;
 import net.sf.jabref.gui.help.HelpAction;
 import net.sf.jabref.gui.keyboard.KeyBinding;
 import net.sf.jabref.gui.util.GUIUtil;
+import net.sf.jabref.logic.exporter.ExportFormat;
+import net.sf.jabref.logic.exporter.ExportFormats;
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.help.HelpFile;
 import net.sf.jabref.logic.l10n.Localization;
@@ -82,6 +85,7 @@ public class ExportCustomizationDialog extends JDialog {
                         Globals.prefs.getLayoutFormatterPreferences(Globals.journalAbbreviationLoader),
                         SavePreferences.loadForExportFromPreferences(Globals.prefs));
                 Globals.prefs.customExports.store(Globals.prefs);
+                updateExportFormats();
             }
         });
 
@@ -101,6 +105,7 @@ public class ExportCustomizationDialog extends JDialog {
                 table.revalidate();
                 table.repaint();
                 Globals.prefs.customExports.store(Globals.prefs);
+                updateExportFormats();
             }
         });
 
@@ -121,6 +126,7 @@ public class ExportCustomizationDialog extends JDialog {
                 Globals.prefs.customExports.remove(list, layoutPreferences, savePreferences);
             }
             Globals.prefs.customExports.store(Globals.prefs);
+            updateExportFormats();
         });
 
         Action closeAction = new AbstractAction() {
@@ -163,6 +169,18 @@ public class ExportCustomizationDialog extends JDialog {
         table.requestFocus();
     }
 
+    /**
+     * Creates the export formats again, so that the changed custom exports are offered when exporting
+     */
+    private static void updateExportFormats() {
+        Map<String, ExportFormat> customFormats = Globals.prefs.customExports.getCustomExportFormats(Globals.prefs,
+                Globals.journalAbbreviationLoader);
+        LayoutFormatterPreferences layoutPreferences = Globals.prefs
+                .getLayoutFormatterPreferences(Globals.journalAbbreviationLoader);
+        SavePreferences savePreferences = SavePreferences.loadForExportFromPreferences(Globals.prefs);
+        ExportFormats.initAllExports(customFormats, layoutPreferences, savePreferences);
+    }
+
 
     private static class ExportTableFormat implements TableFormat<List<String>> {
 
@@ -166,7 +166,7 @@ public class SaveDatabaseAction extends AbstractWorker {
             if (selectedOnly) {
                 session = databaseWriter.savePartOfDatabase(panel.getBibDatabaseContext(), panel.getSelectedEntries(), prefs);
             } else {
-                session = databaseWriter.saveDatabase(panel.getBibDatabaseContext(), prefs);
+                session = databaseWriter.saveDatabase(panel.getBibDatabaseContext(), prefs.withIncremental(true));
             }
 
             panel.registerUndoableChanges(session);
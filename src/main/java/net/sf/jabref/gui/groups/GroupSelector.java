@@ -12,6 +12,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
@@ -60,14 +61,11 @@ import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.groups.AbstractGroup;
 import net.sf.jabref.model.groups.AllEntriesGroup;
 import net.sf.jabref.model.groups.EntriesGroupChange;
+import net.sf.jabref.model.groups.GroupMembershipIndex;
 import net.sf.jabref.model.groups.GroupTreeNode;
 import net.sf.jabref.model.groups.MoveGroupChange;
 import net.sf.jabref.model.groups.event.GroupUpdatedEvent;
 import net.sf.jabref.model.metadata.MetaData;
-import net.sf.jabref.model.search.SearchMatcher;
-import net.sf.jabref.model.search.matchers.MatcherSet;
-import net.sf.jabref.model.search.matchers.MatcherSets;
-import net.sf.jabref.model.search.matchers.NotMatcher;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import com.google.common.eventbus.Subscribe;
@@ -574,15 +572,24 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
     }
 
     private void updateShownEntriesAccordingToSelectedGroups() {
-        final MatcherSet searchRules = MatcherSets
-                .build(andCb.isSelected() ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
+        GroupMembershipIndex index = panel.getGroupMembershipIndex();
+        boolean intersection = andCb.isSelected();
+        BitSet matches = intersection ? index.getAllEntries() : new BitSet();
 
         for(GroupTreeNodeViewModel node : getLeafsOfSelection()) {
-            SearchMatcher searchRule = node.getNode().getSearchRule();
-            searchRules.addRule(searchRule);
+            BitSet nodeMatches = index.getMatches(node.getNode());
+            if (intersection) {
+                matches.and(nodeMatches);
+            } else {
+                matches.or(nodeMatches);
+            }
+        }
+        if (invCb.isSelected()) {
+            BitSet allEntries = index.getAllEntries();
+            allEntries.andNot(matches);
+            matches = allEntries;
         }
-        SearchMatcher searchRule = invCb.isSelected() ? new NotMatcher(searchRules) : searchRules;
-        GroupingWorker worker = new GroupingWorker(searchRule);
+        GroupingWorker worker = new GroupingWorker(index, matches);
         worker.getWorker().run();
         worker.getCallBack().update();
     }
@@ -610,19 +617,21 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
 
     class GroupingWorker extends AbstractWorker {
 
-        private final SearchMatcher matcher;
+        private final GroupMembershipIndex index;
+        private final BitSet hits;
         private final List<BibEntry> matches = new ArrayList<>();
         private final boolean showOverlappingGroupsP;
 
-        public GroupingWorker(SearchMatcher matcher) {
-            this.matcher = matcher;
+        public GroupingWorker(GroupMembershipIndex index, BitSet hits) {
+            this.index = index;
+            this.hits = hits;
             showOverlappingGroupsP = showOverlappingGroups.isSelected();
         }
 
         @Override
         public void run() {
             for (BibEntry entry : panel.getDatabase().getEntries()) {
-                boolean hit = matcher.isMatch(entry);
+                boolean hit = index.contains(hits, entry);
                 entry.setGroupHit(hit);
                 if (hit && showOverlappingGroupsP) {
                     matches.add(entry);
@@ -1257,7 +1266,7 @@ public class GroupSelector extends SidePaneComponent implements TreeSelectionLis
      * Show groups that, if selected, would show at least one of the entries in the specified list.
      */
     private void showOverlappingGroups(List<BibEntry> matches) {
-        List<GroupTreeNode> nodes = groupsRoot.getNode().getMatchingGroups(matches);
+        List<GroupTreeNode> nodes = groupsRoot.getNode().getMatchingGroups(panel.getGroupMembershipIndex(), matches);
         groupsTree.setOverlappingGroups(nodes);
     }
 
@@ -7,6 +7,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
@@ -17,10 +18,13 @@ import net.sf.jabref.gui.externalfiletype.ExternalFileType;
 import net.sf.jabref.gui.externalfiletype.ExternalFileTypes;
 import net.sf.jabref.gui.undo.UndoableInsertEntry;
 import net.sf.jabref.logic.l10n.Localization;
+import net.sf.jabref.logic.xmp.PdfContentCache;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.EntryType;
 import net.sf.jabref.model.entry.IdGenerator;
+import net.sf.jabref.pdfimport.PdfFileFilter;
+import net.sf.jabref.pdfimport.PdfImporter;
 
 /**
  * The class EntryFromFileCreatorManager manages entry creators.
@@ -99,7 +103,7 @@ public final class EntryFromFileCreatorManager {
             boolean generateKeywordsFromPathToFile) {
         List<String> importGUIMessages = new LinkedList<>();
         addEntriesFromFiles(files, database, null, entryType,
-                generateKeywordsFromPathToFile, null, importGUIMessages);
+                generateKeywordsFromPathToFile, null, importGUIMessages, new AtomicBoolean(true));
         return importGUIMessages;
     }
 
@@ -114,16 +118,29 @@ public final class EntryFromFileCreatorManager {
      * @param changeListener
      * @param importGUIMessages list of unexpected import event - Messages including
      *         failures
+     * @param state reading the files in advance stops as soon as this is set to false
      * @return Returns The number of entries added
      */
     public int addEntriesFromFiles(List<File> files,
             BibDatabase database, BasePanel panel, EntryType entryType,
             boolean generateKeywordsFromPathToFile,
-            ChangeListener changeListener, List<String> importGUIMessages) {
+            ChangeListener changeListener, List<String> importGUIMessages, AtomicBoolean state) {
+
+        // The PDF files are imported one by one, but their metadata can be read in advance
+        List<String> pdfFileNames = new ArrayList<>();
+        for (File f : files) {
+            if (PdfFileFilter.INSTANCE.accept(f.getPath())) {
+                pdfFileNames.add(f.getPath());
+            }
+        }
+        PdfContentCache.Prefetch prefetch = PdfImporter.prefetchMetadata(pdfFileNames, state);
 
         int count = 0;
         CompoundEdit ce = new CompoundEdit();
         for (File f : files) {
+            if (PdfFileFilter.INSTANCE.accept(f.getPath())) {
+                prefetch.next();
+            }
             EntryFromFileCreator creator = getEntryCreator(f);
             if (creator == null) {
                 importGUIMessages.add("Problem importing " + f.getPath() + ": Unknown filetype.");
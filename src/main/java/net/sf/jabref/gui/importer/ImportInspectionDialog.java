@@ -85,16 +85,19 @@ import net.sf.jabref.logic.importer.OutputPrinter;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.util.UpdateField;
 import net.sf.jabref.model.Defaults;
+import net.sf.jabref.model.DuplicateCandidateIndex;
 import net.sf.jabref.model.DuplicateCheck;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.database.event.EntriesAddedEvent;
 import net.sf.jabref.model.entry.AuthorList;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.FieldProperty;
 import net.sf.jabref.model.entry.IdGenerator;
 import net.sf.jabref.model.entry.InternalBibtexFields;
+import net.sf.jabref.model.entry.event.EntryEvent;
 import net.sf.jabref.model.groups.AllEntriesGroup;
 import net.sf.jabref.model.groups.EntriesGroupChange;
 import net.sf.jabref.model.groups.GroupTreeNode;
@@ -113,6 +116,7 @@ import ca.odell.glazedlists.swing.DefaultEventSelectionModel;
 import ca.odell.glazedlists.swing.DefaultEventTableModel;
 import ca.odell.glazedlists.swing.GlazedListsSwing;
 import ca.odell.glazedlists.swing.TableComparatorChooser;
+import com.google.common.eventbus.Subscribe;
 import com.jgoodies.forms.builder.ButtonBarBuilder;
 import com.jgoodies.forms.builder.ButtonStackBuilder;
 import org.apache.commons.logging.Log;
@@ -171,6 +175,9 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
     private boolean defaultSelected = true;
     private final Rectangle toRect = new Rectangle(0, 0, 1, 1);
     private final Map<BibEntry, Set<GroupTreeNode>> groupAdditions = new HashMap<>();
+    // Built upon the first duplicate check against the background database, and rebuilt if the database changed
+    private DuplicateCandidateIndex databaseDuplicateIndex;
+    private DatabaseChangeListener databaseChangeListener;
     private final JCheckBox autoGenerate = new JCheckBox(Localization.lang("Generate keys"),
             Globals.prefs.getBoolean(JabRefPreferences.GENERATE_KEYS_AFTER_INSPECTION));
     private final JLabel duplLabel = new JLabel(IconTheme.JabRefIcon.DUPLICATE.getSmallIcon());
@@ -382,8 +389,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             // Checking duplicates means both checking against the background
             // database (if
             // applicable) and against entries already in the table.
-            if ((panel != null) && (DuplicateCheck
-                    .containsDuplicate(panel.getDatabase(), entry, panel.getBibDatabaseContext().getMode()).isPresent()
+            if ((panel != null) && (databaseDuplicate(entry).isPresent()
                     || (internalDuplicate(this.entries, entry).isPresent()))) {
                 entry.setGroupHit(true);
                 SwingUtilities.invokeLater(() -> deselectAllDuplicates.setEnabled(true));
@@ -397,6 +403,39 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
         }
     }
 
+    /**
+     * Checks if there are duplicates to the given entry in the background database.
+     * Only the candidates of a {@link DuplicateCandidateIndex} of the database are compared to the entry.
+     *
+     * @param entry The entry to search for duplicates of.
+     * @return A possible duplicate, if any, or an empty Optional if none were found.
+     */
+    private synchronized Optional<BibEntry> databaseDuplicate(BibEntry entry) {
+        if (databaseChangeListener == null) {
+            databaseChangeListener = new DatabaseChangeListener();
+            panel.getDatabase().registerListener(databaseChangeListener);
+        }
+        if (databaseDuplicateIndex == null) {
+            databaseDuplicateIndex = new DuplicateCandidateIndex(new ArrayList<>(panel.getDatabase().getEntries()));
+        }
+        return DuplicateCheck.containsDuplicate(databaseDuplicateIndex, entry, panel.getBibDatabaseContext().getMode());
+    }
+
+    private synchronized void invalidateDatabaseDuplicateIndex() {
+        databaseDuplicateIndex = null;
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (this) {
+            if (databaseChangeListener != null) {
+                panel.getDatabase().unregisterListener(databaseChangeListener);
+                databaseChangeListener = null;
+            }
+        }
+        super.dispose();
+    }
+
     /**
      * Checks if there are duplicates to the given entry in the Collection. Does
      * not report the entry as duplicate of itself if it is in the Collection.
@@ -616,6 +655,23 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
     }
 
 
+    /**
+     * Drops the duplicate index of the background database whenever an entry is added, removed or edited, as the
+     * blocks of an edited entry change with its title, authors or year.
+     */
+    private class DatabaseChangeListener {
+
+        @Subscribe
+        public void listen(EntryEvent entryEvent) {
+            invalidateDatabaseDuplicateIndex();
+        }
+
+        @Subscribe
+        public void listen(EntriesAddedEvent entriesAddedEvent) {
+            invalidateDatabaseDuplicateIndex();
+        }
+    }
+
     private class OkListener implements ActionListener {
 
         @Override
@@ -740,10 +796,11 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
                 }
 
                 entry.setId(IdGenerator.next());
-                panel.getDatabase().insertEntry(entry);
                 ce.addEdit(new UndoableInsertEntry(panel.getDatabase(), entry, panel));
 
             }
+            // inserting all entries at once allows listeners (e.g., of a shared database) to process them together
+            panel.getDatabase().insertEntries(selected);
 
             ce.end();
             panel.getUndoManager().addEdit(ce);
@@ -1030,8 +1087,7 @@ public class ImportInspectionDialog extends JDialog implements ImportInspector,
             // Is this the duplicate icon column, and is there an icon?
             if ((col == DUPL_COL) && (glTable.getValueAt(row, col) != null)) {
                 BibEntry first = sortedList.get(row);
-                Optional<BibEntry> other = DuplicateCheck.containsDuplicate(panel.getDatabase(), first,
-                        panel.getBibDatabaseContext().getMode());
+                Optional<BibEntry> other = databaseDuplicate(first);
                 if (other.isPresent()) {
                     // This will be true if the duplicate is in the existing
                     // database.
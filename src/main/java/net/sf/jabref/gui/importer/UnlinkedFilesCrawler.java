@@ -2,8 +2,7 @@ package net.sf.jabref.gui.importer;
 
 import java.io.File;
 import java.io.FileFilter;
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -12,6 +11,7 @@ import javax.swing.event.ChangeListener;
 
 import net.sf.jabref.gui.FindUnlinkedFilesDialog.CheckableTreeNode;
 import net.sf.jabref.gui.FindUnlinkedFilesDialog.FileNodeWrapper;
+import net.sf.jabref.logic.util.io.FileDirectoryIndex;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
 
@@ -19,11 +19,6 @@ import net.sf.jabref.model.database.BibDatabaseContext;
  * Util class for searching files on the file system which are not linked to a provided {@link BibDatabase}.
  */
 public class UnlinkedFilesCrawler {
-    /**
-     * File filter, that accepts directories only.
-     */
-    private static final FileFilter DIRECTORY_FILTER = pathname -> (pathname != null) && pathname.isDirectory();
-
     private final BibDatabaseContext databaseContext;
 
 
@@ -52,6 +47,9 @@ public class UnlinkedFilesCrawler {
      * the first position in the integer array 'state' must be set to 1, to keep
      * the recursion running. When the states value changes, the method will
      * resolve its recursion and return what it has saved so far.
+     * <br>
+     * The directory tree is read from the shared {@link FileDirectoryIndex}, so searching the same directory again
+     * only lists the directories changed in the meantime.
      */
     public CheckableTreeNode searchDirectory(File directory, UnlinkedPDFFileFilter ff, AtomicBoolean state, ChangeListener changeListener) {
         /* Cancelation of the search from outside! */
@@ -63,26 +61,32 @@ public class UnlinkedFilesCrawler {
             return null;
         }
 
-        File[] filesArray = directory.listFiles(ff);
-        List<File> files;
-        if (filesArray == null) {
-            files = Collections.emptyList();
-        } else {
-            files = Arrays.asList(filesArray);
+        FileDirectoryIndex index = FileDirectoryIndex.forDirectory(directory);
+        index.refresh(() -> !state.get());
+        return searchDirectory(directory, index.getRoot(), ff, state, changeListener);
+    }
+
+    private CheckableTreeNode searchDirectory(File directory, FileDirectoryIndex.IndexedDirectory indexedDirectory,
+            UnlinkedPDFFileFilter ff, AtomicBoolean state, ChangeListener changeListener) {
+        /* Cancelation of the search from outside! */
+        if (!state.get()) {
+            return null;
+        }
+
+        List<File> files = new ArrayList<>();
+        for (FileDirectoryIndex.IndexedFile indexedFile : indexedDirectory.getFiles()) {
+            File file = new File(directory, indexedFile.getName());
+            if (ff.accept(file)) {
+                files.add(file);
+            }
         }
         CheckableTreeNode root = new CheckableTreeNode(null);
 
         int filesCount = 0;
 
-        filesArray = directory.listFiles(DIRECTORY_FILTER);
-        List<File> subDirectories;
-        if (filesArray == null) {
-            subDirectories = Collections.emptyList();
-        } else {
-            subDirectories = Arrays.asList(filesArray);
-        }
-        for (File subDirectory : subDirectories) {
-            CheckableTreeNode subRoot = searchDirectory(subDirectory, ff, state, changeListener);
+        for (FileDirectoryIndex.IndexedDirectory subDirectory : indexedDirectory.getSubdirectories()) {
+            CheckableTreeNode subRoot = searchDirectory(new File(directory, subDirectory.getName()), subDirectory,
+                    ff, state, changeListener);
             if ((subRoot != null) && (subRoot.getChildCount() > 0)) {
                 filesCount += ((FileNodeWrapper) subRoot.getUserObject()).fileCount;
                 root.add(subRoot);
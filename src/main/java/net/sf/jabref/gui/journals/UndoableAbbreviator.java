@@ -1,5 +1,7 @@
 package net.sf.jabref.gui.journals;
 
+import java.util.Optional;
+
 import javax.swing.undo.CompoundEdit;
 
 import net.sf.jabref.gui.undo.UndoableFieldChange;
@@ -38,11 +40,12 @@ public class UndoableAbbreviator {
             text = database.resolveForStrings(text);
         }
 
-        if (!journalAbbreviationRepository.isKnownName(text)) {
+        Optional<Abbreviation> abbreviation = journalAbbreviationRepository.getAbbreviation(text);
+        if (!abbreviation.isPresent()) {
             return false; // unknown, cannot un/abbreviate anything
         }
 
-        String newText = getAbbreviatedName(journalAbbreviationRepository.getAbbreviation(text).get());
+        String newText = getAbbreviatedName(abbreviation.get());
 
         if (newText.equals(origText)) {
             return false;
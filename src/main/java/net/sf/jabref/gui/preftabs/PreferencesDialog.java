@@ -23,6 +23,7 @@ import javax.swing.ListSelectionModel;
 
 import net.sf.jabref.Globals;
 import net.sf.jabref.JabRefException;
+import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.FileDialog;
 import net.sf.jabref.gui.GUIGlobals;
 import net.sf.jabref.gui.JabRefFrame;
@@ -215,6 +216,8 @@ public class PreferencesDialog extends JDialog {
         ExportFormats.initAllExports(customFormats, layoutPreferences, savePreferences);
 
         Globals.prefs.updateEntryEditorTabList();
+        // the integrity checks keep the file directory preferences
+        frame.getBasePanelList().forEach(BasePanel::resetIntegrityCheck);
     }
 
     private void storeAllSettings(){
@@ -235,6 +238,7 @@ public class PreferencesDialog extends JDialog {
         MainTable.updateRenderers();
         GUIGlobals.updateEntryEditorColors();
         frame.setupAllTables();
+        frame.getBasePanelList().forEach(BasePanel::resetIntegrityCheck);
         frame.getGroupSelector().revalidateGroups(); // icons may have changed
         frame.output(Localization.lang("Preferences recorded."));
     }
@@ -5,7 +5,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.stream.Collectors;
 
 import javax.swing.SwingWorker;
 
@@ -42,9 +41,7 @@ class GlobalSearchWorker extends SwingWorker<Map<BasePanel, List<BibEntry>>, Voi
     protected Map<BasePanel, List<BibEntry>> doInBackground() throws Exception {
         Map<BasePanel, List<BibEntry>> matches = new HashMap<>();
         for (BasePanel basePanel : frame.getBasePanelList()) {
-            matches.put(basePanel, basePanel.getDatabase().getEntries().parallelStream()
-                    .filter(searchQuery::isMatch)
-                    .collect(Collectors.toList()));
+            matches.put(basePanel, searchQuery.getMatches(basePanel.getDatabase()));
         }
         return matches;
     }
@@ -1,5 +1,8 @@
 package net.sf.jabref.gui.worker;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
@@ -10,6 +13,7 @@ import javax.swing.SwingWorker;
 
 import net.sf.jabref.gui.BasePanel;
 import net.sf.jabref.gui.PreviewPanel;
+import net.sf.jabref.gui.maintable.MainTable;
 import net.sf.jabref.logic.citationstyle.CitationStyle;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.MatchesHighlighter;
@@ -20,13 +24,21 @@ import org.apache.commons.logging.LogFactory;
 
 
 /**
- * Generates a citation and updates the linked preview panel
+ * Generates a citation and updates the linked preview panel.
+ * Afterwards the citations of the entries next to it in the main table are rendered in the background, so that they
+ * are ready when the user moves through the table.
  */
 public class CitationStyleWorker extends SwingWorker<String, Void> {
 
     private static final Log LOGGER = LogFactory.getLog(CitationStyleWorker.class);
 
+    /**
+     * How many entries above and below the previewed one are rendered in advance
+     */
+    private static final int ADJACENT_ENTRIES = 5;
+
     private final PreviewPanel previewPanel;
+    private final List<BibEntry> adjacentEntries;
 
 
     public CitationStyleWorker(PreviewPanel previewPanel, JEditorPane previewPane) {
@@ -40,10 +52,37 @@ public class CitationStyleWorker extends SwingWorker<String, Void> {
                 previewPane.setText("<i>" + Localization.lang("Processing %0", Localization.lang("Citation Style")) +
                         ": " + citationStyle.get().getTitle() + " ..." + "</i>");
             }
+            adjacentEntries = getAdjacentEntries(basePanel.get().getMainTable(), previewPanel.getEntry());
+        } else {
+            adjacentEntries = Collections.emptyList();
         }
         previewPane.revalidate();
     }
 
+    /**
+     * Returns the entries next to the given one in the table. Has to be called on the event dispatch thread.
+     */
+    private static List<BibEntry> getAdjacentEntries(MainTable mainTable, BibEntry entry) {
+        if ((mainTable == null) || (entry == null)) {
+            return Collections.emptyList();
+        }
+        int row = mainTable.findEntry(entry);
+        if (row < 0) {
+            return Collections.emptyList();
+        }
+
+        List<BibEntry> entries = new ArrayList<>(2 * ADJACENT_ENTRIES);
+        for (int distance = 1; distance <= ADJACENT_ENTRIES; distance++) {
+            if ((row + distance) < mainTable.getRowCount()) {
+                entries.add(mainTable.getEntryAt(row + distance));
+            }
+            if ((row - distance) >= 0) {
+                entries.add(mainTable.getEntryAt(row - distance));
+            }
+        }
+        return entries;
+    }
+
     @Override
     protected String doInBackground() throws Exception {
         Optional<BasePanel> basePanel = this.previewPanel.getBasePanel();
@@ -72,6 +111,9 @@ public class CitationStyleWorker extends SwingWorker<String, Void> {
         }
 
         previewPanel.setPreviewLabel(text);
+
+        previewPanel.getBasePanel()
+                .ifPresent(basePanel -> basePanel.getCitationStyleCache().prerenderInBackground(adjacentEntries));
     }
 
 }
@@ -1,18 +1,16 @@
 package net.sf.jabref.logic.autocompleter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.function.Consumer;
 
 import net.sf.jabref.logic.layout.format.LatexToUnicodeFormatter;
+import net.sf.jabref.model.entry.BibEntry;
 
 /**
  * Delivers possible completions for a given string.
+ * The completions are ranked by how often they were added to the index.
  *
  * @author kahlert, cordes, olly98
  * @see AutoCompleterFactory
@@ -23,19 +21,9 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
     private final AutoCompletePreferences preferences;
 
     /**
-     * Stores the strings as is.
+     * Stores the strings together with how often they were added.
      */
-    private final TreeSet<String> indexCaseSensitive = new TreeSet<>();
-
-    /**
-     * Stores strings in lowercase.
-     */
-    private final TreeSet<String> indexCaseInsensitive = new TreeSet<>();
-
-    /**
-     * Stores for a lowercase string the possible expanded strings.
-     */
-    private final Map<String, Set<String>> possibleStringsForSearchString = new HashMap<>();
+    private final CompletionTrie index = new CompletionTrie();
 
 
     public AbstractAutoCompleter(AutoCompletePreferences preferences) {
@@ -55,41 +43,13 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
         if (isTooShortToComplete(toComplete)) {
             return new ArrayList<>();
         }
-        String lowerCase = toComplete.toLowerCase();
-
-        if (lowerCase.equals(toComplete)) {
-            // user typed in lower case word -> we do an case-insensitive search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(lowerCase);
-            SortedSet<String> subset = indexCaseInsensitive.subSet(lowerCase, ender);
-
-            // As subset only contains lower case strings,
-            // we have to to determine possible strings for each hit
-            List<String> result = new ArrayList<>();
-            for (String s : subset) {
-                result.addAll(possibleStringsForSearchString.get(s));
-            }
-            return result;
-        } else {
-            // user typed in a mix of upper case and lower case,
-            // we assume user wants to have exact search
-            String ender = AbstractAutoCompleter.incrementLastCharacter(toComplete);
-            SortedSet<String> subset = indexCaseSensitive.subSet(toComplete, ender);
-            return new ArrayList<>(subset);
-        }
-    }
-
-    /**
-     * Increments the last character of a string.
-     *
-     * Example: incrementLastCharacter("abc") returns "abd".
-     */
-    private static String incrementLastCharacter(String toIncrement) {
-        if (toIncrement.isEmpty()) {
-            return "";
+        if (toComplete.isEmpty()) {
+            return new ArrayList<>();
         }
 
-        char lastChar = toIncrement.charAt(toIncrement.length() - 1);
-        return toIncrement.substring(0, toIncrement.length() - 1) + Character.toString((char) (lastChar + 1));
+        // if the user typed in a mix of upper case and lower case, we assume the user wants to have exact search
+        boolean caseSensitive = !toComplete.toLowerCase().equals(toComplete);
+        return index.complete(toComplete, caseSensitive);
     }
 
     /**
@@ -99,6 +59,29 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
         return toCheck.length() < preferences.getShortestLengthToComplete();
     }
 
+    /**
+     * Passes the words of the given entry which are offered as completions to the given consumer.
+     */
+    protected abstract void collectWords(BibEntry entry, Consumer<String> words);
+
+    @Override
+    public void addBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        collectWords(entry, this::addItemToIndex);
+    }
+
+    @Override
+    public void removeBibtexEntry(BibEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        collectWords(entry, this::removeItemFromIndex);
+    }
+
     @Override
     public void addItemToIndex(String word) {
         if (word.length() < getLengthOfShortestWordToAdd()) {
@@ -107,19 +90,17 @@ public abstract class AbstractAutoCompleter implements AutoCompleter<String> {
 
         word = new LatexToUnicodeFormatter().format(word);
 
-        indexCaseSensitive.add(word);
+        index.add(word);
+    }
 
-        // insensitive treatment
-        // first, add the lower cased word to search index
-        // second, add a mapping from the lower cased word to the real word
-        String lowerCase = word.toLowerCase();
-        indexCaseInsensitive.add(lowerCase);
-        Set<String> set = possibleStringsForSearchString.get(lowerCase);
-        if (set == null) {
-            set = new TreeSet<>();
+    private void removeItemFromIndex(String word) {
+        if (word.length() < getLengthOfShortestWordToAdd()) {
+            return;
         }
-        set.add(word);
-        possibleStringsForSearchString.put(lowerCase, set);
+
+        word = new LatexToUnicodeFormatter().format(word);
+
+        index.remove(word);
     }
 
     @Override
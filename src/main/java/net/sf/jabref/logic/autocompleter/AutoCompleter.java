@@ -24,6 +24,11 @@ public interface AutoCompleter<E> {
      */
     void addBibtexEntry(BibEntry entry);
 
+    /**
+     * Removes a BibEntry added before from this AutoCompleter, so that its words are offered less often or not at all.
+     */
+    void removeBibtexEntry(BibEntry entry);
+
     /**
      * States whether the field consists of multiple values (false) or of a single value (true)
      *
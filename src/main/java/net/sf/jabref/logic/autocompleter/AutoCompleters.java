@@ -1,8 +1,14 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -12,6 +18,12 @@ class AutoCompleters {
     // Hashtable that holds as keys the names of the fields where
     // autocomplete is active, and references to the autocompleter objects.
 
+    /**
+     * The entries which still have to be added by the background thread. Changes of these entries are not recorded,
+     * as their current values are added later anyway.
+     */
+    private final Set<BibEntry> pendingEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+
     public AutoCompleter<String> get(String fieldName) {
         return autoCompleters.get(fieldName);
     }
@@ -32,6 +44,98 @@ class AutoCompleters {
         }
     }
 
+    /**
+     * Adds the entries of the database to the auto completers on a background thread, so that opening a large
+     * database does not wait for the completers. Completions are offered for the entries processed so far.
+     * <p>
+     * The entries are taken from the database when this method is called. Entries added afterwards have to be passed
+     * to {@link #addEntry(BibEntry)}, changes to {@link #updateField(BibEntry, String, String)}.
+     */
+    public void addDatabaseInBackground(BibDatabase database) {
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+        synchronized (pendingEntries) {
+            pendingEntries.addAll(entries);
+        }
+        JabRefExecutorService.INSTANCE.executeWithLowPriorityInOwnThread(() -> {
+            for (BibEntry entry : entries) {
+                synchronized (pendingEntries) {
+                    if (pendingEntries.remove(entry)) {
+                        addEntry(entry);
+                    }
+                }
+            }
+        }, "AutoCompleters");
+    }
+
+    public void removeEntry(BibEntry bibEntry) {
+        synchronized (pendingEntries) {
+            if (!pendingEntries.remove(bibEntry)) {
+                removeWords(bibEntry);
+            }
+        }
+    }
+
+    public void updateField(BibEntry bibEntry, String fieldName, String oldValue) {
+        synchronized (pendingEntries) {
+            if (!pendingEntries.contains(bibEntry)) {
+                replaceWords(bibEntry, fieldName, oldValue);
+            }
+        }
+    }
+
+    /**
+     * Removes all words of the given entry from their respective completers, e.g., after the entry was deleted.
+     */
+    private void removeWords(BibEntry bibEntry) {
+        for (AutoCompleter<String> autoCompleter : autoCompleters.values()) {
+            autoCompleter.removeBibtexEntry(bibEntry);
+        }
+    }
+
+    /**
+     * Replaces the words of the old value of the given field of the entry by the words of its current value in the
+     * completers which depend on that field. The words of all other fields of the entry are not counted once more.
+     *
+     * @param oldValue the value of the field before the change, null if it was not set
+     */
+    private void replaceWords(BibEntry bibEntry, String fieldName, String oldValue) {
+        List<AutoCompleter<String>> affectedCompleters = getCompletersDependingOn(fieldName);
+        if (affectedCompleters.isEmpty()) {
+            return;
+        }
+
+        BibEntry oldEntry = (BibEntry) bibEntry.clone();
+        if (oldValue == null) {
+            oldEntry.clearField(fieldName);
+        } else {
+            oldEntry.setField(fieldName, oldValue);
+        }
+        for (AutoCompleter<String> affectedCompleter : affectedCompleters) {
+            affectedCompleter.removeBibtexEntry(oldEntry);
+            affectedCompleter.addBibtexEntry(bibEntry);
+        }
+    }
+
+    /**
+     * Returns the completers which harvest words from the given field.
+     */
+    protected List<AutoCompleter<String>> getCompletersDependingOn(String fieldName) {
+        List<AutoCompleter<String>> affectedCompleters = new ArrayList<>();
+        AutoCompleter<String> autoCompleter = autoCompleters.get(fieldName);
+        if (autoCompleter != null) {
+            affectedCompleters.add(autoCompleter);
+        }
+        if (BibEntry.KEY_FIELD.equals(fieldName)) {
+            // the key completers harvest the key of the entry regardless of their field
+            for (AutoCompleter<String> keyCompleter : autoCompleters.values()) {
+                if ((keyCompleter instanceof BibtexKeyAutoCompleter) && (keyCompleter != autoCompleter)) {
+                    affectedCompleters.add(keyCompleter);
+                }
+            }
+        }
+        return affectedCompleters;
+    }
+
     protected void put(String field, AutoCompleter<String> autoCompleter) {
         autoCompleters.put(field, autoCompleter);
     }
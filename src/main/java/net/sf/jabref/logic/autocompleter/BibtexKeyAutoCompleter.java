@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.autocompleter;
 
+import java.util.function.Consumer;
+
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -23,12 +25,8 @@ class BibtexKeyAutoCompleter extends AbstractAutoCompleter {
      * The bibtex key of the entry will be added to the index.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        entry.getCiteKeyOptional().ifPresent(key -> addItemToIndex(key.trim()));
+    protected void collectWords(BibEntry entry, Consumer<String> words) {
+        entry.getCiteKeyOptional().ifPresent(key -> words.accept(key.trim()));
     }
 
     @Override
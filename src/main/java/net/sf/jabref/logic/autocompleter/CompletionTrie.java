@@ -0,0 +1,246 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * A compact prefix tree of words which counts how often each word was added.
+ * <p>
+ * The words are stored below their lower case form, so that all spellings of a word which only differ in case end in
+ * the same node. Chains of nodes with only one child are merged into one node labeled with the whole substring
+ * (radix tree), and the children are kept in a sorted array instead of a map.
+ * <p>
+ * The added words are interned in a pool shared by all tries. A journal or publisher name which occurs in several open
+ * databases is thus kept only once in memory.
+ * <p>
+ * This class is thread safe.
+ */
+class CompletionTrie {
+
+    private static final Interner<String> WORDS = Interners.newWeakInterner();
+
+    private final Node root = new Node("");
+
+
+    /**
+     * Adds the word to the trie or increments its count if it was added before.
+     */
+    public synchronized void add(String word) {
+        String key = word.toLowerCase();
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = node.indexOf(key.charAt(position));
+            if (index < 0) {
+                Node child = new Node(key.substring(position));
+                node.insertChild(-index - 1, child);
+                node = child;
+                break;
+            }
+
+            Node child = node.children[index];
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                // split the edge at the point where the key diverges
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] {child};
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        node.addWord(WORDS.intern(word));
+    }
+
+    /**
+     * Decrements the count of the word and removes it from the trie when it drops to zero. Words which were not added
+     * are ignored. The nodes are kept, as a word with the same key is likely to be added again.
+     */
+    public synchronized void remove(String word) {
+        Node node = find(word.toLowerCase());
+        if (node != null) {
+            node.removeWord(word);
+        }
+    }
+
+    /**
+     * Returns all words starting with the given prefix. The most often added words come first, words added equally
+     * often are sorted alphabetically.
+     *
+     * @param caseSensitive whether the words have to start exactly with the prefix or only ignoring case
+     */
+    public synchronized List<String> complete(String prefix, boolean caseSensitive) {
+        Node node = find(prefix.toLowerCase());
+        if (node == null) {
+            return new ArrayList<>();
+        }
+
+        List<Completion> completions = new ArrayList<>();
+        node.collect(completions);
+        if (caseSensitive) {
+            completions.removeIf(completion -> !completion.word.startsWith(prefix));
+            completions.sort(Comparator.comparing(completion -> completion.word));
+        }
+        // the sort is stable, thus words with the same count stay in alphabetical order
+        completions.sort(Comparator.comparingInt((Completion completion) -> completion.count).reversed());
+        return completions.stream().map(completion -> completion.word).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the topmost node below which all keys starting with the given prefix are stored, or null if there is
+     * no such key.
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            int index = node.indexOf(prefix.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+
+            node = node.children[index];
+            int remaining = prefix.length() - position;
+            if (remaining <= node.label.length()) {
+                return node.label.regionMatches(0, prefix, position, remaining) ? node : null;
+            }
+            if (!prefix.startsWith(node.label, position)) {
+                return null;
+            }
+            position += node.label.length();
+        }
+        return node;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while ((i < length) && (label.charAt(i) == key.charAt(offset + i))) {
+            i++;
+        }
+        return i;
+    }
+
+
+    private static class Completion {
+
+        private final String word;
+        private final int count;
+
+
+        Completion(String word, int count) {
+            this.word = word;
+            this.count = count;
+        }
+    }
+
+    private static class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final String[] NO_WORDS = new String[0];
+        private static final int[] NO_COUNTS = new int[0];
+
+        private String label;
+        private Node[] children = NO_CHILDREN;
+
+        /**
+         * The words ending in this node in alphabetical order and how often each of them was added.
+         */
+        private String[] words = NO_WORDS;
+        private int[] counts = NO_COUNTS;
+
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the index of the child whose label starts with the given character, or (-(insertion point) - 1) if
+         * there is none.
+         */
+        int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char current = children[middle].label.charAt(0);
+                if (current < first) {
+                    low = middle + 1;
+                } else if (current > first) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildren[index] = child;
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            children = newChildren;
+        }
+
+        void addWord(String word) {
+            int index = Arrays.binarySearch(words, word);
+            if (index >= 0) {
+                counts[index]++;
+                return;
+            }
+
+            index = -index - 1;
+            String[] newWords = new String[words.length + 1];
+            int[] newCounts = new int[counts.length + 1];
+            System.arraycopy(words, 0, newWords, 0, index);
+            System.arraycopy(counts, 0, newCounts, 0, index);
+            newWords[index] = word;
+            newCounts[index] = 1;
+            System.arraycopy(words, index, newWords, index + 1, words.length - index);
+            System.arraycopy(counts, index, newCounts, index + 1, counts.length - index);
+            words = newWords;
+            counts = newCounts;
+        }
+
+        void removeWord(String word) {
+            int index = Arrays.binarySearch(words, word);
+            if (index < 0) {
+                return;
+            }
+            if (counts[index] > 1) {
+                counts[index]--;
+                return;
+            }
+
+            String[] newWords = new String[words.length - 1];
+            int[] newCounts = new int[counts.length - 1];
+            System.arraycopy(words, 0, newWords, 0, index);
+            System.arraycopy(counts, 0, newCounts, 0, index);
+            System.arraycopy(words, index + 1, newWords, index, words.length - index - 1);
+            System.arraycopy(counts, index + 1, newCounts, index, counts.length - index - 1);
+            words = newWords;
+            counts = newCounts;
+        }
+
+        /**
+         * Adds the words of this node and all nodes below in the alphabetical order of their keys.
+         */
+        void collect(List<Completion> completions) {
+            for (int i = 0; i < words.length; i++) {
+                completions.add(new Completion(words[i], counts[i]));
+            }
+            for (Node child : children) {
+                child.collect(completions);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.sf.jabref.logic.autocompleter;
 
 import java.util.Objects;
 import java.util.StringTokenizer;
+import java.util.function.Consumer;
 
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -36,15 +37,11 @@ class DefaultAutoCompleter extends AbstractAutoCompleter {
      * Stores all words in the given field which are separated by SEPARATING_CHARS.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
+    protected void collectWords(BibEntry entry, Consumer<String> words) {
         entry.getField(fieldName).ifPresent(fieldValue -> {
             StringTokenizer tok = new StringTokenizer(fieldValue, SEPARATING_CHARS);
             while (tok.hasMoreTokens()) {
-                addItemToIndex(tok.nextToken());
+                words.accept(tok.nextToken());
             }
         });
     }
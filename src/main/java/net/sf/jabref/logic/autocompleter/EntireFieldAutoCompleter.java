@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.autocompleter;
 
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import net.sf.jabref.model.entry.BibEntry;
 
@@ -33,11 +34,7 @@ class EntireFieldAutoCompleter extends AbstractAutoCompleter {
      * Stores the full original value of the given field.
      */
     @Override
-    public void addBibtexEntry(BibEntry entry) {
-        if (entry == null) {
-            return;
-        }
-
-        entry.getField(fieldName).ifPresent(fieldValue -> addItemToIndex(fieldValue.trim()));
+    protected void collectWords(BibEntry entry, Consumer<String> words) {
+        entry.getField(fieldName).ifPresent(fieldValue -> words.accept(fieldValue.trim()));
     }
 }
@@ -0,0 +1,38 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.model.entry.InternalBibtexFields;
+
+/**
+ * Holds the auto completer of the search bar, which completes the last names of all persons of the database.
+ */
+public class SearchAutoCompleters extends AutoCompleters {
+
+    private final AutoCompleter<String> personAutoCompleter;
+    private final List<String> personNameFields = InternalBibtexFields.getPersonNameFields();
+
+
+    public SearchAutoCompleters(AutoCompletePreferences preferences, JournalAbbreviationLoader abbreviationLoader) {
+        Objects.requireNonNull(preferences);
+
+        personAutoCompleter = new AutoCompleterFactory(preferences, abbreviationLoader).getPersonAutoCompleter();
+        // registered once only, so that the words of an entry are not counted once per person field
+        put(personNameFields.get(0), personAutoCompleter);
+    }
+
+    public AutoCompleter<String> getPersonAutoCompleter() {
+        return personAutoCompleter;
+    }
+
+    @Override
+    protected List<AutoCompleter<String>> getCompletersDependingOn(String fieldName) {
+        if (personNameFields.contains(fieldName)) {
+            return Collections.singletonList(personAutoCompleter);
+        }
+        return Collections.emptyList();
+    }
+}
@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.bibtex.comparator;
 
+import java.text.CollationKey;
 import java.text.Collator;
 import java.text.ParseException;
 import java.text.RuleBasedCollator;
@@ -24,6 +25,9 @@ public class FieldComparator implements Comparator<BibEntry> {
 
     private static final Collator COLLATOR = getCollator();
 
+    // the sort key of a missing field
+    private static final Object MISSING = new Object();
+
     enum FieldType {
         NAME, TYPE, YEAR, MONTH, OTHER
     }
@@ -34,6 +38,9 @@ public class FieldComparator implements Comparator<BibEntry> {
     private final boolean isNumeric;
     private final int multiplier;
 
+    // the name of the sort keys kept in the entries, see BibEntry.getDerivedValue
+    private final String sortKeyName;
+
     public FieldComparator(String field) {
         this(field, false);
     }
@@ -48,6 +55,7 @@ public class FieldComparator implements Comparator<BibEntry> {
         fieldType = determineFieldType();
         isNumeric = InternalBibtexFields.isNumeric(this.field[0]);
         multiplier = descending ? -1 : 1;
+        sortKeyName = "sortkey:" + fieldName;
     }
 
     private static Collator getCollator() {
@@ -85,64 +93,69 @@ public class FieldComparator implements Comparator<BibEntry> {
 
     @Override
     public int compare(BibEntry e1, BibEntry e2) {
-        String f1;
-        String f2;
+        Object key1;
+        Object key2;
 
         if (fieldType == FieldType.TYPE) {
-            // Sort by type.
-            f1 = e1.getType();
-            f2 = e2.getType();
+            // Sort by type. Changing the type drops the derived values of an entry like changing a field does.
+            key1 = e1.getDerivedValue(sortKeyName, entry -> getSortKey(entry.getType()));
+            key2 = e2.getDerivedValue(sortKeyName, entry -> getSortKey(entry.getType()));
         } else {
-            // If the field is author or editor, we rearrange names so they are
-            // sorted according to last name.
-            f1 = getField(e1);
-            f2 = getField(e2);
+            key1 = e1.getDerivedValue(sortKeyName, entry -> getSortKey(getField(entry)));
+            key2 = e2.getDerivedValue(sortKeyName, entry -> getSortKey(getField(entry)));
         }
 
-        // Catch all cases involving null:
-        if ((f1 == null) && (f2 == null)) {
+        // Catch all cases involving missing fields:
+        if ((key1 == MISSING) && (key2 == MISSING)) {
             return 0;
-        } else if(f1 == null) {
+        } else if (key1 == MISSING) {
             return multiplier;
-        } else if (f2 == null) {
+        } else if (key2 == MISSING) {
             return -multiplier;
         }
 
-        // Now we now that both f1 and f2 are != null
+        // Numbers come before texts
+        if (key1 instanceof Integer) {
+            if (key2 instanceof Integer) {
+                return Integer.compare((Integer) key1, (Integer) key2) * multiplier;
+            }
+            return -1 * multiplier;
+        } else if (key2 instanceof Integer) {
+            return 1 * multiplier;
+        }
+
+        return Integer.signum(((CollationKey) key1).compareTo((CollationKey) key2)) * multiplier;
+    }
+
+    /**
+     * Converts the value of the field into a key, which can be compared faster than the value itself: an Integer for
+     * years, months and numeric fields, a CollationKey otherwise, and {@link #MISSING} if the field is not set.
+     */
+    private Object getSortKey(String value) {
+        if (value == null) {
+            return MISSING;
+        }
+
+        String text = value;
         if (fieldType == FieldType.NAME) {
-            f1 = AuthorList.fixAuthorForAlphabetization(f1);
-            f2 = AuthorList.fixAuthorForAlphabetization(f2);
+            // If the field is author or editor, we rearrange names so they are
+            // sorted according to last name.
+            text = AuthorList.fixAuthorForAlphabetization(value);
         } else if (fieldType == FieldType.YEAR) {
-            Integer f1year = StringUtil.intValueOfOptional(f1).orElse(0);
-            Integer f2year = StringUtil.intValueOfOptional(f2).orElse(0);
-            int comparisonResult = Integer.compare(f1year, f2year);
-            return comparisonResult * multiplier;
+            return StringUtil.intValueOfOptional(value).orElse(0);
         } else if (fieldType == FieldType.MONTH) {
-            return Integer.compare(MonthUtil.getMonth(f1).number, MonthUtil.getMonth(f2).number) * multiplier;
+            return MonthUtil.getMonth(value).number;
         }
 
         if (isNumeric) {
-            Optional<Integer> i1 = StringUtil.intValueOfOptional(f1);
-            Optional<Integer> i2 = StringUtil.intValueOfOptional(f2);
-
-            if ((i2.isPresent()) && (i1.isPresent())) {
-                // Ok, parsing was successful. Update f1 and f2:
-                return i1.get().compareTo(i2.get()) * multiplier;
-            } else if (i1.isPresent()) {
-                // The first one was parseable, but not the second one.
-                // This means we consider one < two
-                return -1 * multiplier;
-            } else if (i2.isPresent()) {
-                // The second one was parseable, but not the first one.
-                // This means we consider one > two
-                return 1 * multiplier;
+            Optional<Integer> number = StringUtil.intValueOfOptional(text);
+            if (number.isPresent()) {
+                return number.get();
             }
-            // Else none of them were parseable, and we can fall back on comparing strings.
+            // Else the value is not parseable, and we fall back on comparing strings.
         }
 
-        String ours = f1.toLowerCase(Locale.ENGLISH);
-        String theirs = f2.toLowerCase(Locale.ENGLISH);
-        return COLLATOR.compare(ours, theirs) * multiplier;
+        return COLLATOR.getCollationKey(text.toLowerCase(Locale.ENGLISH));
     }
 
     /**
@@ -3,12 +3,18 @@ package net.sf.jabref.logic.bst;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.Stack;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -50,6 +56,18 @@ public class VM implements Warn {
 
     private Map<String, BstFunction> functions = new HashMap<>();
 
+    /**
+     * The fields declared by ENTRY. Their values are not copied into the entries, but taken from the BibEntry.
+     */
+    private Set<String> entryFields = new LinkedHashSet<>();
+
+    /**
+     * The string and integer entry variables declared by ENTRY with their index in the arrays of each entry
+     */
+    private Map<String, Integer> entryStrings = new HashMap<>();
+
+    private Map<String, Integer> entryIntegers = new HashMap<>();
+
     private Stack<Object> stack = new Stack<>();
 
     public static final Integer FALSE = 0;
@@ -355,8 +373,8 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                    && ((f2 instanceof Identifier) || (f2 instanceof StackFunction)) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -702,8 +720,8 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                && ((f2 instanceof Identifier) || (f2 instanceof StackFunction))) {
             throw new VMException("Expecting two functions for while$.");
         }
 
@@ -805,8 +823,9 @@ public class VM implements Warn {
 
         if (o2 instanceof String) {
 
-            if ((context != null) && context.localStrings.containsKey(name)) {
-                context.localStrings.put(name, (String) o2);
+            Integer index = context == null ? null : entryStrings.get(name);
+            if (index != null) {
+                context.localStrings[index] = (String) o2;
                 return true;
             }
 
@@ -818,8 +837,9 @@ public class VM implements Warn {
 
         }
 
-        if ((context != null) && context.localIntegers.containsKey(name)) {
-            context.localIntegers.put(name, (Integer) o2);
+        Integer index = context == null ? null : entryIntegers.get(name);
+        if (index != null) {
+            context.localIntegers[index] = (Integer) o2;
             return true;
         }
 
@@ -850,13 +870,18 @@ public class VM implements Warn {
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
 
+        entryFields = new LinkedHashSet<>();
+        entryStrings = new HashMap<>();
+        entryIntegers = new HashMap<>();
+
         stack = new Stack<>();
 
         // Create entries
         entries = new ArrayList<>(bibtex.size());
-        ListIterator<BstEntry> listIter = entries.listIterator();
         for (BibEntry entry : bibtex) {
-            listIter.add(new BstEntry(entry));
+            BstEntry bstEntry = new BstEntry(entry);
+            bstEntry.fieldNames = entryFields;
+            entries.add(bstEntry);
         }
 
         // Go
@@ -911,21 +936,13 @@ public class VM implements Warn {
      * We use null for the missing entry designator.
      */
     private void read() {
-
+        // the values are taken from the entries when they are used
+        Set<String> readFields = new HashSet<>(entryFields);
         for (BstEntry e : entries) {
-
-            for (Map.Entry<String, String> mEntry : e.getFields().entrySet()) {
-                String fieldValue = e.getBibtexEntry().getField(mEntry.getKey()).orElse(null);
-
-                mEntry.setValue(fieldValue);
-            }
+            e.readFieldNames = readFields;
         }
 
-        for (BstEntry e : entries) {
-            if (!e.getFields().containsKey(FieldName.CROSSREF)) {
-                e.getFields().put(FieldName.CROSSREF, null);
-            }
-        }
+        entryFields.add(FieldName.CROSSREF);
     }
 
     /**
@@ -977,34 +994,26 @@ public class VM implements Warn {
         Tree t = child.getChild(0);
 
         for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-
-            for (BstEntry entry : entries) {
-                entry.getFields().put(name, null);
-            }
+            entryFields.add(t.getChild(i).getText());
         }
 
         // Integers
         t = child.getChild(1);
 
         for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-
-            for (BstEntry entry : entries) {
-                entry.localIntegers.put(name, 0);
-            }
+            entryIntegers.putIfAbsent(t.getChild(i).getText(), entryIntegers.size());
         }
         // Strings
         t = child.getChild(2);
 
         for (int i = 0; i < t.getChildCount(); i++) {
-            String name = t.getChild(i).getText();
-            for (BstEntry entry : entries) {
-                entry.localStrings.put(name, null);
-            }
+            entryStrings.putIfAbsent(t.getChild(i).getText(), entryStrings.size());
         }
+        entryStrings.putIfAbsent("sort.key$", entryStrings.size());
+
         for (BstEntry entry : entries) {
-            entry.localStrings.put("sort.key$", null);
+            entry.localIntegers = Arrays.copyOf(entry.localIntegers, entryIntegers.size());
+            entry.localStrings = Arrays.copyOf(entry.localStrings, entryStrings.size());
         }
     }
 
@@ -1030,14 +1039,18 @@ public class VM implements Warn {
      * Sorts the entry list using the values of the string entry variable sort.key$. It has no arguments.
      */
     private void sort() {
-        Collections.sort(entries, (o1, o2) -> (o1.localStrings.get("sort.key$"))
-                .compareTo(o2.localStrings.get("sort.key$")));
+        Integer sortKeyIndex = entryStrings.get("sort.key$");
+        if (sortKeyIndex == null) {
+            // no ENTRY command, thus no sort keys
+            return;
+        }
+        int index = sortKeyIndex;
+        entries.sort(Comparator.comparing(entry -> entry.localStrings[index]));
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
-            Tree t = (Tree) o;
-            new StackFunction(t).execute(context);
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
         } else if (o instanceof Identifier) {
             execute(((Identifier) o).getName(), context);
         }
@@ -1052,9 +1065,19 @@ public class VM implements Warn {
 
         private final Tree localTree;
 
+        /**
+         * The children of the tree, compiled once so that executing the function neither parses the literals nor
+         * compiles the nested blocks again
+         */
+        private final Instruction[] instructions;
+
 
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new Instruction[stack.getChildCount()];
+            for (int i = 0; i < instructions.length; i++) {
+                instructions[i] = compile(stack.getChild(i));
+            }
         }
 
         public Tree getTree() {
@@ -1064,62 +1087,77 @@ public class VM implements Warn {
         @Override
         public void execute(BstEntry context) {
 
-            for (int i = 0; i < localTree.getChildCount(); i++) {
-
-                Tree c = localTree.getChild(i);
+            for (Instruction instruction : instructions) {
                 try {
-
-                    switch (c.getType()) {
-                    case BstParser.STRING:
-                        String s = c.getText();
-                        push(s.substring(1, s.length() - 1));
-                        break;
-                    case BstParser.INTEGER:
-                        push(Integer.parseInt(c.getText().substring(1)));
-                        break;
-                    case BstParser.QUOTED:
-                        push(new Identifier(c.getText().substring(1)));
-                        break;
-                    case BstParser.STACK:
-                        push(c);
-                        break;
-                    default:
-                        VM.this.execute(c.getText(), context);
-                        break;
+                    if (instruction.functionName == null) {
+                        stack.push(instruction.literal);
+                    } else {
+                        VM.this.execute(instruction.functionName, context);
                     }
                 } catch (VMException e) {
                     if (file == null) {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
+                        LOGGER.error("ERROR " + e.getMessage() + " (" + instruction.line + ")");
                     } else {
                         LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
-                                + c.getLine() + ")");
+                                + instruction.line + ")");
                     }
                     throw e;
                 }
             }
 
         }
+
+        private Instruction compile(Tree c) {
+            switch (c.getType()) {
+            case BstParser.STRING:
+                String s = c.getText();
+                return new Instruction(s.substring(1, s.length() - 1), null, c.getLine());
+            case BstParser.INTEGER:
+                return new Instruction(Integer.parseInt(c.getText().substring(1)), null, c.getLine());
+            case BstParser.QUOTED:
+                return new Instruction(new Identifier(c.getText().substring(1)), null, c.getLine());
+            case BstParser.STACK:
+                return new Instruction(new StackFunction(c), null, c.getLine());
+            default:
+                return new Instruction(null, c.getText(), c.getLine());
+            }
+        }
     }
 
+    /**
+     * Either pushes a literal onto the stack or executes the function (or pushes the variable) with the given name
+     */
+    private static class Instruction {
+
+        private final Object literal;
+        private final String functionName;
+        private final int line;
 
-    private void push(Tree t) {
-        stack.push(t);
+
+        Instruction(Object literal, String functionName, int line) {
+            this.literal = literal;
+            this.functionName = functionName;
+            this.line = line;
+        }
     }
 
+
     private void execute(String name, BstEntry context) {
 
         if (context != null) {
 
-            if (context.getFields().containsKey(name)) {
-                stack.push(context.getFields().get(name));
+            if (context.fieldNames.contains(name)) {
+                stack.push(context.getField(name));
                 return;
             }
-            if (context.localStrings.containsKey(name)) {
-                stack.push(context.localStrings.get(name));
+            Integer index = entryStrings.get(name);
+            if (index != null) {
+                stack.push(context.localStrings[index]);
                 return;
             }
-            if (context.localIntegers.containsKey(name)) {
-                stack.push(context.localIntegers.get(name));
+            index = entryIntegers.get(name);
+            if (index != null) {
+                stack.push(context.localIntegers[index]);
                 return;
             }
         }
@@ -1187,39 +1225,57 @@ public class VM implements Warn {
 
         private final BibEntry entry;
 
-        private final Map<String, String> localStrings = new HashMap<>();
+        /**
+         * The values of the entry variables at the indexes assigned by the VM
+         */
+        private String[] localStrings = new String[0];
+
+        private int[] localIntegers = new int[0];
 
-        private final Map<String, String> fields = new HashMap<>();
+        /**
+         * The declared fields, shared by all entries
+         */
+        private Set<String> fieldNames = Collections.emptySet();
 
-        private final Map<String, Integer> localIntegers = new HashMap<>();
+        /**
+         * The fields whose values are taken from the BibEntry, that is, the fields declared before READ
+         */
+        private Set<String> readFieldNames = Collections.emptySet();
 
 
         public BstEntry(BibEntry e) {
             this.entry = e;
         }
 
+        /**
+         * Returns the declared fields with their values. A field is missing (null) if the entry does not have it or
+         * READ was not executed yet.
+         */
         public Map<String, String> getFields() {
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (String name : fieldNames) {
+                fields.put(name, getField(name));
+            }
             return fields;
         }
 
+        private String getField(String name) {
+            if (!readFieldNames.contains(name)) {
+                return null;
+            }
+            return entry.getField(name).orElse(null);
+        }
+
         public BibEntry getBibtexEntry() {
             return entry;
         }
     }
 
 
-    private void push(Integer integer) {
-        stack.push(integer);
-    }
-
     private void push(String string) {
         stack.push(string);
     }
 
-    private void push(Identifier identifier) {
-        stack.push(identifier);
-    }
-
     public Map<String, String> getStrings() {
         return strings;
     }
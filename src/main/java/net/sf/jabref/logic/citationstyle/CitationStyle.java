@@ -175,4 +175,9 @@ public class CitationStyle {
         return source != null ? source.equals(that.source) : that.source == null;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(source);
+    }
+
 }
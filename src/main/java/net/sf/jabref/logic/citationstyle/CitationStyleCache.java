@@ -1,26 +1,42 @@
 package net.sf.jabref.logic.citationstyle;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import net.sf.jabref.JabRefExecutorService;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.event.EntryChangedEvent;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.eventbus.Subscribe;
 
 
 /**
  * Caches the generated Citations for quicker access
  * {@link CitationStyleGenerator} generates the citaiton with JavaScript which may take some time
+ * <p>
+ * The citations are kept by entry and style, so that switching back to a style does not render the entries again.
+ * The cache is bounded and may be used by several threads at once.
  */
 public class CitationStyleCache {
 
-    private Optional<CitationStyle> citationStyle = Optional.of(CitationStyle.getDefault());
-    private Map<BibEntry, String> citationStylesCache = new HashMap<>();
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * Identifies the current contents of an entry, see {@link #getVersion(BibEntry)}
+     */
+    private static final String VERSION = "citationstyle:version";
+
+    private volatile Optional<CitationStyle> citationStyle = Optional.of(CitationStyle.getDefault());
+    private final Cache<CacheKey, CachedCitation> citationStylesCache = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE).build();
+    private final AtomicBoolean prerendering = new AtomicBoolean();
 
 
     public CitationStyleCache(BibDatabaseContext bibDatabaseContext) {
@@ -36,19 +52,68 @@ public class CitationStyleCache {
      * returns the citation for the given BibEntry and the set CitationStyle
      */
     public String getCitationFor(BibEntry entry) {
-        String citation = citationStylesCache.get(entry);
-        if (citation == null) {
-            citation = CitationStyleGenerator.generateCitation(entry, this.citationStyle.get().getSource());
-            citationStylesCache.put(entry, citation);
+        CitationStyle style = this.citationStyle.get();
+        Object version = getVersion(entry);
+        CacheKey key = new CacheKey(entry.getId(), style);
+        CachedCitation cached = citationStylesCache.getIfPresent(key);
+        if ((cached != null) && (cached.version == version)) {
+            return cached.citation;
         }
+
+        String citation = CitationStyleGenerator.generateCitation(entry, style.getSource());
+        citationStylesCache.put(key, new CachedCitation(version, citation));
         return citation;
     }
 
+    /**
+     * Renders the citations of the given entries which are not cached yet in one batch.
+     * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
+     */
+    public void prerender(List<BibEntry> entries) {
+        CitationStyle style = this.citationStyle.get();
+        List<BibEntry> missingEntries = new ArrayList<>();
+        List<Object> versions = new ArrayList<>();
+        for (BibEntry entry : entries) {
+            Object version = getVersion(entry);
+            CachedCitation cached = citationStylesCache.getIfPresent(new CacheKey(entry.getId(), style));
+            if ((cached == null) || (cached.version != version)) {
+                missingEntries.add(entry);
+                versions.add(version);
+            }
+        }
+        if (missingEntries.isEmpty()) {
+            return;
+        }
+
+        List<String> citations = CitationStyleGenerator.generateCitations(missingEntries, style.getSource(),
+                CitationStyleOutputFormat.HTML);
+        for (int i = 0; i < missingEntries.size(); i++) {
+            citationStylesCache.put(new CacheKey(missingEntries.get(i).getId(), style),
+                    new CachedCitation(versions.get(i), citations.get(i)));
+        }
+    }
+
+    /**
+     * Renders the citations of the given entries on a background thread, e.g., the entries next to the one shown in
+     * the preview. Does nothing if such a rendering is still running.
+     */
+    public void prerenderInBackground(List<BibEntry> entries) {
+        if (entries.isEmpty() || !prerendering.compareAndSet(false, true)) {
+            return;
+        }
+        JabRefExecutorService.INSTANCE.execute(() -> {
+            try {
+                prerender(entries);
+            } finally {
+                prerendering.set(false);
+            }
+        });
+    }
+
     public void setCitationStyle(CitationStyle citationStyle) {
         Objects.requireNonNull(citationStyle);
         if (!this.citationStyle.isPresent() || !this.citationStyle.get().equals(citationStyle)){
             this.citationStyle = Optional.of(citationStyle);
-            this.citationStylesCache.clear();
         }
     }
 
@@ -56,22 +121,76 @@ public class CitationStyleCache {
         return citationStyle;
     }
 
+    /**
+     * Returns an object which stays the same until a field of the entry changes. It is taken before rendering, so
+     * that a citation rendered while the entry is edited is not used afterwards.
+     */
+    private static Object getVersion(BibEntry entry) {
+        return entry.getDerivedValue(VERSION, e -> new Object());
+    }
+
+    private void invalidate(BibEntry entry) {
+        String id = entry.getId();
+        citationStylesCache.asMap().keySet().removeIf(key -> key.entryId.equals(id));
+    }
+
+
+    private static class CacheKey {
+
+        private final String entryId;
+        private final CitationStyle style;
+
+
+        CacheKey(String entryId, CitationStyle style) {
+            this.entryId = entryId;
+            this.style = style;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if ((o == null) || (getClass() != o.getClass())) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return entryId.equals(that.entryId) && style.equals(that.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entryId, style);
+        }
+    }
+
+    private static class CachedCitation {
+
+        private final Object version;
+        private final String citation;
+
+
+        CachedCitation(Object version, String citation) {
+            this.version = version;
+            this.citation = citation;
+        }
+    }
 
     private class BibDatabaseEntryListener {
         /**
-         * removes the outdated citation of the changed entry
+         * removes the outdated citations of the changed entry
          */
         @Subscribe
         public void listen(EntryChangedEvent entryChangedEvent) {
-            citationStylesCache.remove(entryChangedEvent.getBibEntry());
+            invalidate(entryChangedEvent.getBibEntry());
         }
 
         /**
-         * removes the citation of the removed entry as it's not needed anymore
+         * removes the citations of the removed entry as they are not needed anymore
          */
         @Subscribe
         public void listen(EntryRemovedEvent entryRemovedEvent) {
-            citationStylesCache.remove(entryRemovedEvent.getBibEntry());
+            invalidate(entryRemovedEvent.getBibEntry());
         }
     }
 
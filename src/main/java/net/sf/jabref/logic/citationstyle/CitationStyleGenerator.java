@@ -1,6 +1,11 @@
 package net.sf.jabref.logic.citationstyle;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import net.sf.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
@@ -8,9 +13,9 @@ import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.model.entry.BibEntry;
 
 import de.undercouch.citeproc.CSL;
+import de.undercouch.citeproc.ListItemDataProvider;
 import de.undercouch.citeproc.bibtex.BibTeXConverter;
 import de.undercouch.citeproc.csl.CSLItemData;
-import de.undercouch.citeproc.output.Bibliography;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jbibtex.BibTeXEntry;
@@ -42,31 +47,86 @@ public class CitationStyleGenerator {
      * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
      */
     protected static String generateCitation(BibEntry entry, String style, CitationStyleOutputFormat outputFormat) {
-        try {
-            String citeKey = entry.getCiteKeyOptional().orElse("");
-            BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(entry.getType()), new Key(citeKey));
-            for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
-                String value = UNICODE_TO_LATEX_FORMATTER.format(field.getValue());
-                bibTeXEntry.addField(new Key(field.getKey()), new DigitStringValue(value));
-            }
+        return generateCitations(Collections.singletonList(entry), style, outputFormat).get(0);
+    }
 
-            CSLItemData cslItemData = BIBTEX_CONVERTER.toItemData(bibTeXEntry);
-            Bibliography bibliography = CSL.makeAdhocBibliography(style, outputFormat.getFormat(), cslItemData);
-            return bibliography.getEntries()[0];
+    /**
+     * Generates the Citations of the given entries based on the given style and output format. All entries are
+     * rendered by the same citeproc instance, which saves setting up the JavaScript engine for every entry. Each
+     * citation is the same as if its entry was rendered on its own. Only entries with equal BibTeX keys need an
+     * instance of their own, as citeproc identifies the entries by their keys.
+     * WARNING: the citation is generated with JavaScript which may take some time, better call it in outside the main Thread
+     *
+     * @return the citations in the order of the entries, an empty string for entries which could not be rendered
+     */
+    protected static List<String> generateCitations(List<BibEntry> entries, String style,
+            CitationStyleOutputFormat outputFormat) {
+        String[] citations = new String[entries.size()];
+        Arrays.fill(citations, "");
 
-        } catch (IOException | ArrayIndexOutOfBoundsException e) {
-            LOGGER.error("Could not generate BibEntry Citation", e);
-        } catch (TokenMgrError e) {
-            LOGGER.error("Bad character inside BibEntry", e);
-            // sadly one cannot easily retrieve the bad char from the TokenMgrError
-            return  new StringBuilder()
-                    .append(Localization.lang("Bad character inside entry"))
-                    .append(outputFormat == CitationStyleOutputFormat.HTML ? "<br>" : "\n")
-                    .append(e.getLocalizedMessage())
-                    .toString();
+        // the items of each group have distinct ids
+        List<Map<String, Integer>> itemGroups = new ArrayList<>();
+        CSLItemData[] items = new CSLItemData[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                items[i] = toItemData(entries.get(i));
+                Map<String, Integer> itemGroup = null;
+                for (Map<String, Integer> group : itemGroups) {
+                    if (!group.containsKey(items[i].getId())) {
+                        itemGroup = group;
+                        break;
+                    }
+                }
+                if (itemGroup == null) {
+                    itemGroup = new LinkedHashMap<>();
+                    itemGroups.add(itemGroup);
+                }
+                itemGroup.put(items[i].getId(), i);
+            } catch (TokenMgrError e) {
+                LOGGER.error("Bad character inside BibEntry", e);
+                // sadly one cannot easily retrieve the bad char from the TokenMgrError
+                citations[i] = new StringBuilder()
+                        .append(Localization.lang("Bad character inside entry"))
+                        .append(outputFormat == CitationStyleOutputFormat.HTML ? "<br>" : "\n")
+                        .append(e.getLocalizedMessage())
+                        .toString();
+            }
         }
+        for (Map<String, Integer> itemGroup : itemGroups) {
+            CSLItemData[] groupItems = itemGroup.values().stream().map(position -> items[position])
+                    .toArray(CSLItemData[]::new);
+            try {
+                CSL csl = new CSL(new ListItemDataProvider(groupItems), style);
+                csl.setOutputFormat(outputFormat.getFormat());
+                for (Map.Entry<String, Integer> item : itemGroup.entrySet()) {
+                    // register the items one by one, so that, e.g., each of them gets the number 1 in numeric styles
+                    csl.registerCitationItems(item.getKey());
+                    try {
+                        citations[item.getValue()] = csl.makeBibliography().getEntries()[0];
+                    } catch (ArrayIndexOutOfBoundsException e) {
+                        LOGGER.error("Could not generate BibEntry Citation", e);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.error("Could not generate BibEntry Citation", e);
+            }
+        }
+
+        return Arrays.asList(citations);
+    }
 
-        return "";
+    /**
+     * Converts the entry into the citeproc format. The BibTeX key is used as the id of the item, as styles may print
+     * it.
+     */
+    private static CSLItemData toItemData(BibEntry entry) {
+        String citeKey = entry.getCiteKeyOptional().orElse("");
+        BibTeXEntry bibTeXEntry = new BibTeXEntry(new Key(entry.getType()), new Key(citeKey));
+        for (Map.Entry<String, String> field : entry.getFieldMap().entrySet()) {
+            String value = UNICODE_TO_LATEX_FORMATTER.format(field.getValue());
+            bibTeXEntry.addField(new Key(field.getKey()), new DigitStringValue(value));
+        }
+        return BIBTEX_CONVERTER.toItemData(bibTeXEntry);
     }
 
 }
@@ -0,0 +1,64 @@
+package net.sf.jabref.logic.cleanup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many entries a cleanup job processed, how many changes it made and how long it took.
+ * <p>
+ * The counters may be updated by several threads at once.
+ */
+public class CleanupJobStatistics {
+
+    private final String jobName;
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+
+    public CleanupJobStatistics(String jobName) {
+        this.jobName = jobName;
+    }
+
+    void record(int changeCount, long elapsedNanos) {
+        entries.increment();
+        changes.add(changeCount);
+        nanos.add(elapsedNanos);
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public long getEntries() {
+        return entries.sum();
+    }
+
+    public long getChanges() {
+        return changes.sum();
+    }
+
+    /**
+     * Returns the time spent in the job summed over all threads, in milliseconds
+     */
+    public long getMilliseconds() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+    }
+
+    /**
+     * Returns the number of entries processed per second of time spent in the job
+     */
+    public double getEntriesPerSecond() {
+        long totalNanos = nanos.sum();
+        if (totalNanos == 0) {
+            return 0;
+        }
+        return (entries.sum() * (double) TimeUnit.SECONDS.toNanos(1)) / totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d entries, %d changes, %d ms, %.1f entries/s", jobName, getEntries(), getChanges(),
+                getMilliseconds(), getEntriesPerSecond());
+    }
+}
@@ -1,23 +1,47 @@
 package net.sf.jabref.logic.cleanup;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
 import net.sf.jabref.model.FieldChange;
 import net.sf.jabref.model.cleanup.CleanupJob;
+import net.sf.jabref.model.cleanup.FieldFormatterCleanup;
 import net.sf.jabref.model.database.BibDatabaseContext;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.metadata.FileDirectoryPreferences;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Runs the jobs of a cleanup preset on entries.
+ * <p>
+ * When cleaning up several entries at once, the jobs which only change fields run in parallel on all cores, and the
+ * jobs which move or rename files run on a small pool of threads. Each entry still sees the jobs in the order of the
+ * preset.
+ */
 public class CleanupWorker {
 
+    private static final Log LOGGER = LogFactory.getLog(CleanupWorker.class);
+
+    private static final int FILE_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
     private final BibDatabaseContext databaseContext;
     private final String fileNamePattern;
     private final LayoutFormatterPreferences prefs;
     private final FileDirectoryPreferences fileDirectoryPreferences;
     private int unsuccessfulRenames;
+    private List<CleanupJobStatistics> jobStatistics = new ArrayList<>();
 
 
     public CleanupWorker(BibDatabaseContext databaseContext, CleanupPreferences cleanupPreferences) {
@@ -31,6 +55,13 @@ public class CleanupWorker {
         return unsuccessfulRenames;
     }
 
+    /**
+     * Returns how many entries each job of the last cleanup processed and how long it took
+     */
+    public List<CleanupJobStatistics> getJobStatistics() {
+        return jobStatistics;
+    }
+
     public List<FieldChange> cleanup(CleanupPreset preset, BibEntry entry) {
         Objects.requireNonNull(preset);
         Objects.requireNonNull(entry);
@@ -41,10 +72,150 @@ public class CleanupWorker {
         for (CleanupJob job : jobs) {
             changes.addAll(job.cleanup(entry));
         }
+        countUnsuccessfulRenames(jobs);
 
         return changes;
     }
 
+    /**
+     * Cleans up all given entries. Either all entries are cleaned up, or, if a job fails, all changes to the fields
+     * are reverted and the exception of the job is thrown. Moved or renamed files are not restored.
+     *
+     * @return the changes of each entry, in the order of the entries
+     */
+    public List<List<FieldChange>> cleanupEntries(CleanupPreset preset, List<BibEntry> entries) {
+        Objects.requireNonNull(preset);
+        Objects.requireNonNull(entries);
+
+        List<CleanupJob> jobs = determineCleanupActions(preset);
+        jobStatistics = new ArrayList<>();
+        for (CleanupJob job : jobs) {
+            jobStatistics.add(new CleanupJobStatistics(getJobName(job)));
+        }
+
+        List<List<FieldChange>> changes = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            changes.add(new ArrayList<>());
+        }
+
+        try {
+            // Consecutive field jobs are run together for each entry, every file job is run on its own
+            int first = 0;
+            while (first < jobs.size()) {
+                if (isFileJob(jobs.get(first))) {
+                    runFileJob(first, jobs.get(first), entries, changes);
+                    first++;
+                } else {
+                    int last = first;
+                    while ((last < jobs.size()) && !isFileJob(jobs.get(last))) {
+                        last++;
+                    }
+                    runFieldJobs(first, jobs.subList(first, last), entries, changes);
+                    first = last;
+                }
+            }
+        } catch (RuntimeException e) {
+            revert(changes);
+            throw e;
+        }
+        countUnsuccessfulRenames(jobs);
+
+        for (CleanupJobStatistics statistics : jobStatistics) {
+            LOGGER.debug("Cleanup " + statistics);
+        }
+        return changes;
+    }
+
+    private void runFieldJobs(int firstIndex, List<CleanupJob> jobs, List<BibEntry> entries,
+            List<List<FieldChange>> changes) {
+        // A failure is thrown only after all entries are done, so that no job still runs while the changes are reverted
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        IntStream.range(0, entries.size()).parallel().forEach(i -> {
+            if (failure.get() != null) {
+                return;
+            }
+            try {
+                for (int j = 0; j < jobs.size(); j++) {
+                    changes.get(i).addAll(runJob(firstIndex + j, jobs.get(j), entries.get(i)));
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void runFileJob(int index, CleanupJob job, List<BibEntry> entries, List<List<FieldChange>> changes) {
+        List<Callable<List<FieldChange>>> tasks = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            tasks.add(() -> runJob(index, job, entry));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(FILE_THREADS);
+        try {
+            List<Future<List<FieldChange>>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                changes.get(i).addAll(results.get(i).get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cleanup was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<FieldChange> runJob(int index, CleanupJob job, BibEntry entry) {
+        long start = System.nanoTime();
+        List<FieldChange> jobChanges = job.cleanup(entry);
+        jobStatistics.get(index).record(jobChanges.size(), System.nanoTime() - start);
+        return jobChanges;
+    }
+
+    /**
+     * Restores the old values of all changed fields, the last change first
+     */
+    private static void revert(List<List<FieldChange>> changes) {
+        for (List<FieldChange> entryChanges : changes) {
+            List<FieldChange> reversed = new ArrayList<>(entryChanges);
+            Collections.reverse(reversed);
+            for (FieldChange change : reversed) {
+                if (change.getOldValue() == null) {
+                    change.getEntry().clearField(change.getField());
+                } else {
+                    change.getEntry().setField(change.getField(), change.getOldValue());
+                }
+            }
+        }
+    }
+
+    private static boolean isFileJob(CleanupJob job) {
+        return (job instanceof MoveFilesCleanup) || (job instanceof RelativePathsCleanup)
+                || (job instanceof RenamePdfCleanup);
+    }
+
+    private static String getJobName(CleanupJob job) {
+        if (job instanceof FieldFormatterCleanup) {
+            return job.toString();
+        }
+        return job.getClass().getSimpleName();
+    }
+
+    private void countUnsuccessfulRenames(List<CleanupJob> jobs) {
+        for (CleanupJob job : jobs) {
+            if (job instanceof RenamePdfCleanup) {
+                unsuccessfulRenames += ((RenamePdfCleanup) job).getUnsuccessfulRenames();
+            }
+        }
+    }
+
     private List<CleanupJob> determineCleanupActions(CleanupPreset preset) {
         List<CleanupJob> jobs = new ArrayList<>();
 
@@ -67,10 +238,8 @@ public class CleanupWorker {
             jobs.add(new RelativePathsCleanup(databaseContext, fileDirectoryPreferences));
         }
         if (preset.isRenamePDF()) {
-            RenamePdfCleanup cleaner = new RenamePdfCleanup(preset.isRenamePdfOnlyRelativePaths(), databaseContext,
-                    fileNamePattern, prefs, fileDirectoryPreferences);
-            jobs.add(cleaner);
-            unsuccessfulRenames += cleaner.getUnsuccessfulRenames();
+            jobs.add(new RenamePdfCleanup(preset.isRenamePdfOnlyRelativePaths(), databaseContext, fileNamePattern,
+                    prefs, fileDirectoryPreferences));
         }
         if (preset.isConvertToBiblatex()) {
             jobs.add(new BiblatexCleanup());
@@ -20,6 +20,7 @@ public class MoveFilesCleanup implements CleanupJob {
 
     private final BibDatabaseContext databaseContext;
     private final FileDirectoryPreferences fileDirectoryPreferences;
+    private List<String> fileDirectories;
 
 
     public MoveFilesCleanup(BibDatabaseContext databaseContext, FileDirectoryPreferences fileDirectoryPreferences) {
@@ -33,7 +34,7 @@ public class MoveFilesCleanup implements CleanupJob {
             return Collections.emptyList();
         }
 
-        List<String> paths = databaseContext.getFileDirectory(fileDirectoryPreferences);
+        List<String> paths = getFileDirectories();
         String defaultFileDirectory = databaseContext.getMetaData().getDefaultFileDirectory().get();
         Optional<File> targetDirectory = FileUtil.expandFilename(defaultFileDirectory, paths);
         if(!targetDirectory.isPresent()) {
@@ -54,13 +55,16 @@ public class MoveFilesCleanup implements CleanupJob {
             }
 
             File targetFile = new File(targetDirectory.get(), oldFile.get().getName());
-            if(targetFile.exists()) {
-                // We do not overwrite already existing files
-                newFileList.add(fileEntry);
-                continue;
+            // Several entries may be cleaned up at once, thus checking and moving must not be interleaved
+            synchronized (this) {
+                if (targetFile.exists()) {
+                    // We do not overwrite already existing files
+                    newFileList.add(fileEntry);
+                    continue;
+                }
+
+                oldFile.get().renameTo(targetFile);
             }
-
-            oldFile.get().renameTo(targetFile);
             String newFileName = targetFile.getName();
 
             ParsedFileField newFileEntry = fileEntry;
@@ -83,4 +87,13 @@ public class MoveFilesCleanup implements CleanupJob {
         return Collections.emptyList();
     }
 
+    /**
+     * The file directories are resolved only once for all entries cleaned up by this job
+     */
+    private synchronized List<String> getFileDirectories() {
+        if (fileDirectories == null) {
+            fileDirectories = databaseContext.getFileDirectory(fileDirectoryPreferences);
+        }
+        return fileDirectories;
+    }
 }
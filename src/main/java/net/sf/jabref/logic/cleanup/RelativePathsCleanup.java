@@ -20,6 +20,7 @@ public class RelativePathsCleanup implements CleanupJob {
 
     private final BibDatabaseContext databaseContext;
     private final FileDirectoryPreferences fileDirectoryPreferences;
+    private List<String> fileDirectories;
 
 
     public RelativePathsCleanup(BibDatabaseContext databaseContext, FileDirectoryPreferences fileDirectoryPreferences) {
@@ -37,7 +38,7 @@ public class RelativePathsCleanup implements CleanupJob {
         for (ParsedFileField fileEntry : fileList) {
             String oldFileName = fileEntry.getLink();
             String newFileName = FileUtil
-                    .shortenFileName(new File(oldFileName), databaseContext.getFileDirectory(fileDirectoryPreferences))
+                    .shortenFileName(new File(oldFileName), getFileDirectories())
                     .toString();
 
             ParsedFileField newFileEntry = fileEntry;
@@ -60,4 +61,13 @@ public class RelativePathsCleanup implements CleanupJob {
         return Collections.emptyList();
     }
 
+    /**
+     * The file directories do not change during a cleanup, thus they are resolved only once
+     */
+    private synchronized List<String> getFileDirectories() {
+        if (fileDirectories == null) {
+            fileDirectories = databaseContext.getFileDirectory(fileDirectoryPreferences);
+        }
+        return fileDirectories;
+    }
 }
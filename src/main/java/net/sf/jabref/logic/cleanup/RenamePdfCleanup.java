@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jabref.logic.TypedBibEntry;
 import net.sf.jabref.logic.layout.LayoutFormatterPreferences;
@@ -25,8 +26,9 @@ public class RenamePdfCleanup implements CleanupJob {
     private final String fileNamePattern;
     private final LayoutFormatterPreferences prefs;
     private final FileDirectoryPreferences fileDirectoryPreferences;
+    private List<String> fileDirectories;
 
-    private int unsuccessfulRenames;
+    private final AtomicInteger unsuccessfulRenames = new AtomicInteger();
 
 
     public RenamePdfCleanup(boolean onlyRelativePaths, BibDatabaseContext databaseContext,
@@ -62,8 +64,7 @@ public class RenamePdfCleanup implements CleanupJob {
 
             //get new Filename with path
             //Create new Path based on old Path and new filename
-            Optional<File> expandedOldFile = FileUtil.expandFilename(realOldFilename,
-                    databaseContext.getFileDirectory(fileDirectoryPreferences));
+            Optional<File> expandedOldFile = FileUtil.expandFilename(realOldFilename, getFileDirectories());
             if ((!expandedOldFile.isPresent()) || (expandedOldFile.get().getParent() == null)) {
                 // something went wrong. Just skip this entry
                 newFileList.add(flEntry);
@@ -74,17 +75,21 @@ public class RenamePdfCleanup implements CleanupJob {
             String expandedOldFilePath = expandedOldFile.get().toString();
             boolean pathsDifferOnlyByCase = newPath.equalsIgnoreCase(expandedOldFilePath)
                     && !newPath.equals(expandedOldFilePath);
-            if (new File(newPath).exists() && !pathsDifferOnlyByCase) {
-                // we do not overwrite files
-                // Since File.exists is sometimes not case-sensitive, the check pathsDifferOnlyByCase ensures that we
-                // nonetheless rename files to a new name which just differs by case.
-                // TODO: we could check here if the newPath file is linked with the current entry. And if not, we could add a link
-                newFileList.add(flEntry);
-                continue;
-            }
+            boolean renameSuccessful;
+            // Several entries may be cleaned up at once, thus checking and renaming must not be interleaved
+            synchronized (this) {
+                if (new File(newPath).exists() && !pathsDifferOnlyByCase) {
+                    // we do not overwrite files
+                    // Since File.exists is sometimes not case-sensitive, the check pathsDifferOnlyByCase ensures that we
+                    // nonetheless rename files to a new name which just differs by case.
+                    // TODO: we could check here if the newPath file is linked with the current entry. And if not, we could add a link
+                    newFileList.add(flEntry);
+                    continue;
+                }
 
-            //do rename
-            boolean renameSuccessful = FileUtil.renameFile(expandedOldFilePath, newPath);
+                //do rename
+                renameSuccessful = FileUtil.renameFile(expandedOldFilePath, newPath);
+            }
             if (renameSuccessful) {
                 changed = true;
 
@@ -95,15 +100,14 @@ public class RenamePdfCleanup implements CleanupJob {
                 // we cannot use "newPath" to generate a FileListEntry as newPath is absolute, but we want to keep relative paths whenever possible
                 File parent = (new File(realOldFilename)).getParentFile();
                 String newFileEntryFileName;
-                if ((parent == null) || databaseContext.getFileDirectory(fileDirectoryPreferences)
-                        .contains(parent.getAbsolutePath())) {
+                if ((parent == null) || getFileDirectories().contains(parent.getAbsolutePath())) {
                     newFileEntryFileName = newFilename.toString();
                 } else {
                     newFileEntryFileName = parent.toString().concat(OS.FILE_SEPARATOR).concat(newFilename.toString());
                 }
                 newFileList.add(new ParsedFileField(description, newFileEntryFileName, type));
             } else {
-                unsuccessfulRenames++;
+                unsuccessfulRenames.incrementAndGet();
             }
         }
 
@@ -123,6 +127,16 @@ public class RenamePdfCleanup implements CleanupJob {
     }
 
     public int getUnsuccessfulRenames() {
-        return unsuccessfulRenames;
+        return unsuccessfulRenames.get();
+    }
+
+    /**
+     * Resolves the file directories on first use
+     */
+    private synchronized List<String> getFileDirectories() {
+        if (fileDirectories == null) {
+            fileDirectories = databaseContext.getFileDirectory(fileDirectoryPreferences);
+        }
+        return fileDirectories;
     }
 }
@@ -43,6 +43,7 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
     private final SaveSessionFactory<E> saveSessionFactory;
 
     private E session;
+    private boolean incremental;
 
     public BibDatabaseWriter(SaveSessionFactory<E> saveSessionFactory) {
         this.saveSessionFactory = saveSessionFactory;
@@ -157,6 +158,7 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
             List<BibEntry> entries, SavePreferences preferences) throws SaveException {
 
         session = saveSessionFactory.createSaveSession(preferences.getEncodingOrDefault(), preferences.getMakeBackup());
+        incremental = preferences.isIncremental() && !preferences.isReformatFile();
 
         // Map to collect entry type definitions that we must save along with entries using them.
         Map<String, EntryType> typesToWrite = new TreeMap<>();
@@ -175,6 +177,7 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
 
         // Write database entries.
         List<BibEntry> sortedEntries = getSortedEntries(bibDatabaseContext, entries, preferences);
+        // the save actions may change any entry, which then is serialized again even in an incremental save
         List<FieldChange> saveActionChanges = applySaveActions(sortedEntries, bibDatabaseContext.getMetaData());
         session.addFieldChanges(saveActionChanges);
 
@@ -313,4 +316,11 @@ public abstract class BibDatabaseWriter<E extends SaveSession> {
     protected SaveSession getActiveSession() {
         return session;
     }
+
+    /**
+     * Returns whether the active save is incremental, see {@link SavePreferences#isIncremental()}.
+     */
+    protected boolean isIncremental() {
+        return incremental;
+    }
 }
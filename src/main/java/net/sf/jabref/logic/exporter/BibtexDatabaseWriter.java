@@ -1,6 +1,7 @@
 package net.sf.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
@@ -23,6 +24,8 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     private static final String COMMENT_PREFIX = "@Comment";
     private static final String PREAMBLE_PREFIX = "@Preamble";
 
+    private BibEntryWriter entryWriter;
+    private LatexFieldFormatterPreferences entryWriterPreferences;
 
     public BibtexDatabaseWriter(SaveSessionFactory<E> saveSessionFactory) {
         super(saveSessionFactory);
@@ -145,10 +148,20 @@ public class BibtexDatabaseWriter<E extends SaveSession> extends BibDatabaseWrit
     @Override
     protected void writeEntry(BibEntry entry, BibDatabaseMode mode, Boolean isReformatFile,
             LatexFieldFormatterPreferences latexFieldFormatterPreferences) throws SaveException {
-        BibEntryWriter bibtexEntryWriter = new BibEntryWriter(
-                new LatexFieldFormatter(latexFieldFormatterPreferences), true);
+        if ((entryWriter == null) || (entryWriterPreferences != latexFieldFormatterPreferences)) {
+            entryWriter = new BibEntryWriter(new LatexFieldFormatter(latexFieldFormatterPreferences), true);
+            entryWriterPreferences = latexFieldFormatterPreferences;
+        }
+
         try {
-            bibtexEntryWriter.write(entry, getWriter(), mode, isReformatFile);
+            if (isIncremental() && entry.hasChanged()) {
+                StringWriter serialization = new StringWriter();
+                entryWriter.write(entry, serialization, mode, isReformatFile);
+                getWriter().write(serialization.toString());
+                getActiveSession().addEntrySerialization(entry, serialization.toString());
+            } else {
+                entryWriter.write(entry, getWriter(), mode, isReformatFile);
+            }
         } catch (IOException e) {
             throw new SaveException(e, entry);
         }
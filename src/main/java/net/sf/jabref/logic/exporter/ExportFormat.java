@@ -15,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import net.sf.jabref.JabRefMain;
 import net.sf.jabref.logic.layout.Layout;
@@ -44,6 +45,13 @@ public class ExportFormat implements IExportFormat {
     private boolean customExport;
     private static final String LAYOUT_PREFIX = "/resource/layout/";
 
+    // entries are collected in a buffer of this size before they are written
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    // compiled layouts by the path of their file, shared by all instances, as the export formats are created again
+    // whenever the preferences change
+    private static final Map<String, CachedLayout> LAYOUT_CACHE = new HashMap<>();
+
     private static final Log LOGGER = LogFactory.getLog(ExportFormat.class);
 
     /**
@@ -148,18 +156,10 @@ public class ExportFormat implements IExportFormat {
      * @throws IOException if the reader could not be created
      */
     private Reader getReader(String filename) throws IOException {
-        // If this is a custom export, just use the given filename:
-        String dir;
-        if (customExport) {
-            dir = "";
-        } else {
-            dir = LAYOUT_PREFIX + (directory == null ? "" : directory + '/');
-        }
-
         // Attempt to get a Reader for the file path given, either by
         // loading it as a resource (from within JAR), or as a normal file. If
         // unsuccessful (e.g. file not found), an IOException is thrown.
-        String name = dir + filename;
+        String name = getLayoutPath(filename);
         Reader reader;
         // Try loading as a resource first. This works for files inside the JAR:
         URL reso = JabRefMain.class.getResource(name);
@@ -179,6 +179,51 @@ public class ExportFormat implements IExportFormat {
         return reader;
     }
 
+    private String getLayoutPath(String filename) {
+        // If this is a custom export, just use the given filename:
+        if (customExport) {
+            return filename;
+        } else {
+            return LAYOUT_PREFIX + (directory == null ? "" : directory + '/') + filename;
+        }
+    }
+
+    /**
+     * Returns the layout read from the given file. Layouts are parsed only once and reused by later exports as long as
+     * neither the layout file nor the name formatter file of this export format has been modified, and the layout
+     * preferences are the same.
+     *
+     * @throws IOException if the layout file could not be read
+     */
+    private Layout getLayout(String filename) throws IOException {
+        String path = getLayoutPath(filename);
+        long layoutModified = getLastModified(path);
+        long formattersModified = new File(lfFileName + ".formatters").lastModified();
+        synchronized (LAYOUT_CACHE) {
+            CachedLayout cached = LAYOUT_CACHE.get(path);
+            if ((cached != null) && (cached.layoutPreferences == layoutPreferences)
+                    && (cached.layoutModified == layoutModified) && (cached.formattersModified == formattersModified)) {
+                return cached.layout;
+            }
+
+            try (Reader reader = getReader(filename)) {
+                Layout layout = new LayoutHelper(reader, layoutPreferences).getLayoutFromText();
+                LAYOUT_CACHE.put(path,
+                        new CachedLayout(layout, layoutPreferences, layoutModified, formattersModified));
+                return layout;
+            }
+        }
+    }
+
+    private long getLastModified(String path) {
+        if (customExport) {
+            return new File(path).lastModified();
+        } else {
+            // layouts bundled with JabRef do not change while it is running
+            return 0;
+        }
+    }
+
     /**
      * Perform the export of {@code database}.
      *
@@ -199,6 +244,31 @@ public class ExportFormat implements IExportFormat {
         if (entries.isEmpty()) { // Do not export if no entries to export -- avoids exports with only template text
             return;
         }
+
+        /*
+         * Write database entries; entries will be sorted as they appear on the
+         * screen, or sorted by author, depending on Preferences. We also supply
+         * the Set entries - if we are to export only certain entries, it will
+         * be non-null, and be used to choose entries. Otherwise, it will be
+         * null, and be ignored.
+         */
+        List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
+        performSortedExport(databaseContext, file, encoding, sorted);
+    }
+
+    /**
+     * Performs the export like {@link #performExport(BibDatabaseContext, String, Charset, List)}, but writes the
+     * entries in the given order. This allows to sort the entries only once when exporting them in several formats.
+     *
+     * @param sortedEntries the entries to export in the order they are written
+     */
+    public void performSortedExport(final BibDatabaseContext databaseContext, final String file,
+            final Charset encoding, List<BibEntry> sortedEntries) throws Exception {
+        Objects.requireNonNull(databaseContext);
+        Objects.requireNonNull(sortedEntries);
+        if (sortedEntries.isEmpty()) {
+            return;
+        }
         Path outFile = Paths.get(file);
         SaveSession ss = null;
         if (this.encoding != null) {
@@ -225,9 +295,8 @@ public class ExportFormat implements IExportFormat {
             List<String> missingFormatters = new ArrayList<>(1);
 
             // Print header
-            try (Reader reader = getReader(lfFileName + ".begin.layout")) {
-                LayoutHelper layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                beginLayout = layoutHelper.getLayoutFromText();
+            try {
+                beginLayout = getLayout(lfFileName + ".begin.layout");
             } catch (IOException ex) {
                 // If an exception was cast, export filter doesn't have a begin
                 // file.
@@ -238,22 +307,8 @@ public class ExportFormat implements IExportFormat {
                 missingFormatters.addAll(beginLayout.getMissingFormatters());
             }
 
-            /*
-             * Write database entries; entries will be sorted as they appear on the
-             * screen, or sorted by author, depending on Preferences. We also supply
-             * the Set entries - if we are to export only certain entries, it will
-             * be non-null, and be used to choose entries. Otherwise, it will be
-             * null, and be ignored.
-             */
-            List<BibEntry> sorted = BibDatabaseWriter.getSortedEntries(databaseContext, entries, savePreferences);
-
             // Load default layout
-            Layout defLayout;
-            LayoutHelper layoutHelper;
-            try (Reader reader = getReader(lfFileName + ".layout")) {
-                layoutHelper = new LayoutHelper(reader,layoutPreferences);
-                defLayout = layoutHelper.getLayoutFromText();
-            }
+            Layout defLayout = getLayout(lfFileName + ".layout");
             if (defLayout != null) {
                 missingFormatters.addAll(defLayout.getMissingFormatters());
                 if (!missingFormatters.isEmpty()) {
@@ -262,20 +317,19 @@ public class ExportFormat implements IExportFormat {
             }
             Map<String, Layout> layouts = new HashMap<>();
             Layout layout;
+            StringBuilder buffer = new StringBuilder(WRITE_BUFFER_SIZE);
 
             ExportFormats.entryNumber = 0;
-            for (BibEntry entry : sorted) {
+            for (BibEntry entry : sortedEntries) {
                 ExportFormats.entryNumber++; // Increment entry counter.
                 // Get the layout
                 String type = entry.getType();
                 if (layouts.containsKey(type)) {
                     layout = layouts.get(type);
                 } else {
-                    try (Reader reader = getReader(lfFileName + '.' + type + ".layout")) {
+                    try {
                         // We try to get a type-specific layout for this entry.
-                        layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                        layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
+                        layout = getLayout(lfFileName + '.' + type + ".layout");
                         if (layout != null) {
                             missingFormatters.addAll(layout.getMissingFormatters());
                         }
@@ -286,21 +340,27 @@ public class ExportFormat implements IExportFormat {
                         // go with the default one.
                         layout = defLayout;
                     }
+                    // remember the default layout, too, so that the file is not looked up again for every entry
+                    layouts.put(type, layout);
                 }
 
                 // Write the entry
                 if (layout != null) {
-                    ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
+                    layout.doLayout(entry, databaseContext.getDatabase(), Optional.empty(), buffer);
+                    if (buffer.length() >= WRITE_BUFFER_SIZE) {
+                        ps.write(buffer.toString());
+                        buffer.setLength(0);
+                    }
                 }
             }
+            ps.write(buffer.toString());
 
             // Print footer
 
             // changed section - begin (arudert)
             Layout endLayout = null;
-            try (Reader reader = getReader(lfFileName + ".end.layout")) {
-                layoutHelper = new LayoutHelper(reader, layoutPreferences);
-                endLayout = layoutHelper.getLayoutFromText();
+            try {
+                endLayout = getLayout(lfFileName + ".end.layout");
             } catch (IOException ex) {
                 // If an exception was thrown, export filter doesn't have an end
                 // file.
@@ -378,4 +438,22 @@ public class ExportFormat implements IExportFormat {
         }
         ss.commit(file);
     }
+
+
+    private static class CachedLayout {
+
+        private final Layout layout;
+        private final LayoutFormatterPreferences layoutPreferences;
+        private final long layoutModified;
+        private final long formattersModified;
+
+
+        CachedLayout(Layout layout, LayoutFormatterPreferences layoutPreferences, long layoutModified,
+                long formattersModified) {
+            this.layout = layout;
+            this.layoutPreferences = layoutPreferences;
+            this.layoutModified = layoutModified;
+            this.formattersModified = formattersModified;
+        }
+    }
 }
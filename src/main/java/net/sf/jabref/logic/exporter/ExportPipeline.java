@@ -0,0 +1,106 @@
+package net.sf.jabref.logic.exporter;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Exports a database to several files in different formats at once.
+ * <p>
+ * The entries are sorted only once for all formats. The formats are exported concurrently: all template based formats
+ * ({@link ExportFormat}) are exported one after another on one thread, as they share the entry counter in
+ * {@link ExportFormats#entryNumber} and the custom name formatters of the layout preferences. Every other format is
+ * exported on a thread of its own.
+ */
+public class ExportPipeline {
+
+    private final BibDatabaseContext databaseContext;
+    private final Charset encoding;
+    private final SavePreferences savePreferences;
+
+
+    public ExportPipeline(BibDatabaseContext databaseContext, Charset encoding, SavePreferences savePreferences) {
+        this.databaseContext = Objects.requireNonNull(databaseContext);
+        this.encoding = Objects.requireNonNull(encoding);
+        this.savePreferences = Objects.requireNonNull(savePreferences);
+    }
+
+    /**
+     * Exports all entries of the database.
+     *
+     * @param formatsByFile the export format to use for each file
+     * @return the exceptions of the failed exports by file, empty if all exports succeeded
+     */
+    public Map<String, Exception> export(Map<String, IExportFormat> formatsByFile) throws InterruptedException {
+        List<BibEntry> sortedEntries = BibDatabaseWriter.getSortedEntries(databaseContext,
+                databaseContext.getDatabase().getEntries(), savePreferences);
+
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        Map<String, ExportFormat> templateFormats = new LinkedHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        // the files written by each task
+        List<List<String>> taskFiles = new ArrayList<>();
+        for (Map.Entry<String, IExportFormat> entry : formatsByFile.entrySet()) {
+            String file = entry.getKey();
+            IExportFormat format = entry.getValue();
+            if (format.getClass() == ExportFormat.class) {
+                templateFormats.put(file, (ExportFormat) format);
+            } else {
+                tasks.add(() -> {
+                    format.performExport(databaseContext, file, encoding, sortedEntries);
+                    return null;
+                });
+                taskFiles.add(Collections.singletonList(file));
+            }
+        }
+        if (!templateFormats.isEmpty()) {
+            tasks.add(() -> {
+                for (Map.Entry<String, ExportFormat> entry : templateFormats.entrySet()) {
+                    try {
+                        entry.getValue().performSortedExport(databaseContext, entry.getKey(), encoding,
+                                sortedEntries);
+                    } catch (Exception e) {
+                        synchronized (failures) {
+                            failures.put(entry.getKey(), e);
+                        }
+                    }
+                }
+                return null;
+            });
+            taskFiles.add(new ArrayList<>(templateFormats.keySet()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, tasks.size()));
+        try {
+            List<Future<Void>> results = executor.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    results.get(i).get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    synchronized (failures) {
+                        // the files not written yet by the failed task
+                        for (String file : taskFiles.get(i)) {
+                            failures.putIfAbsent(file, cause instanceof Exception ? (Exception) cause : e);
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return failures;
+    }
+}
@@ -84,7 +84,9 @@ public class FileSaveSession extends SaveSession {
                 LOGGER.error("Error when creating lock file.", ex);
             }
 
-            FileUtil.copyFile(temporaryFile, file, true);
+            if (FileUtil.copyFile(temporaryFile, file, true)) {
+                updateParsedSerializations();
+            }
         } finally {
             FileBasedLock.deleteLockFile(file);
         }
@@ -22,6 +22,7 @@ public class SavePreferences {
     private final boolean takeMetadataSaveOrderInAccount;
     private final LatexFieldFormatterPreferences latexFieldFormatterPreferences;
     private final GlobalBibtexKeyPattern globalCiteKeyPattern;
+    private final boolean incremental;
 
     public SavePreferences() {
         this(true, null, null, false, DatabaseSaveType.ALL, true, false, new LatexFieldFormatterPreferences(),
@@ -31,6 +32,14 @@ public class SavePreferences {
     public SavePreferences(Boolean saveInOriginalOrder, SaveOrderConfig saveOrder, Charset encoding, Boolean makeBackup,
             DatabaseSaveType saveType, Boolean takeMetadataSaveOrderInAccount, Boolean reformatFile,
             LatexFieldFormatterPreferences latexFieldFormatterPreferences, GlobalBibtexKeyPattern globalCiteKeyPattern) {
+        this(saveInOriginalOrder, saveOrder, encoding, makeBackup, saveType, takeMetadataSaveOrderInAccount,
+                reformatFile, latexFieldFormatterPreferences, globalCiteKeyPattern, false);
+    }
+
+    private SavePreferences(Boolean saveInOriginalOrder, SaveOrderConfig saveOrder, Charset encoding,
+            Boolean makeBackup, DatabaseSaveType saveType, Boolean takeMetadataSaveOrderInAccount, Boolean reformatFile,
+            LatexFieldFormatterPreferences latexFieldFormatterPreferences, GlobalBibtexKeyPattern globalCiteKeyPattern,
+            boolean incremental) {
         this.saveInOriginalOrder = saveInOriginalOrder;
         this.saveOrder = saveOrder;
         this.encoding = encoding;
@@ -40,6 +49,7 @@ public class SavePreferences {
         this.reformatFile = reformatFile;
         this.latexFieldFormatterPreferences = latexFieldFormatterPreferences;
         this.globalCiteKeyPattern = globalCiteKeyPattern;
+        this.incremental = incremental;
     }
 
     public static SavePreferences loadForExportFromPreferences(JabRefPreferences preferences) {
@@ -92,7 +102,7 @@ public class SavePreferences {
     public SavePreferences withSaveInOriginalOrder(Boolean newSaveInOriginalOrder) {
         return new SavePreferences(newSaveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup, this.saveType,
                 this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
-                globalCiteKeyPattern);
+                globalCiteKeyPattern, this.incremental);
     }
 
     public boolean getMakeBackup() {
@@ -102,7 +112,7 @@ public class SavePreferences {
     public SavePreferences withMakeBackup(Boolean newMakeBackup) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, newMakeBackup, this.saveType,
                 this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
-                globalCiteKeyPattern);
+                globalCiteKeyPattern, this.incremental);
     }
 
     public Charset getEncoding() {
@@ -112,7 +122,7 @@ public class SavePreferences {
     public SavePreferences withEncoding(Charset newEncoding) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, newEncoding, this.makeBackup, this.saveType,
                 this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
-                globalCiteKeyPattern);
+                globalCiteKeyPattern, this.incremental);
     }
 
     public DatabaseSaveType getSaveType() {
@@ -122,7 +132,7 @@ public class SavePreferences {
     public SavePreferences withSaveType(DatabaseSaveType newSaveType) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup, newSaveType,
                 this.takeMetadataSaveOrderInAccount, this.reformatFile, this.latexFieldFormatterPreferences,
-                globalCiteKeyPattern);
+                globalCiteKeyPattern, this.incremental);
     }
 
     public Boolean isReformatFile() {
@@ -132,7 +142,7 @@ public class SavePreferences {
     public SavePreferences withReformatFile(boolean newReformatFile) {
         return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup,
                 this.saveType, this.takeMetadataSaveOrderInAccount, newReformatFile, this.latexFieldFormatterPreferences,
-                globalCiteKeyPattern);
+                globalCiteKeyPattern, this.incremental);
     }
 
     public Charset getEncodingOrDefault() {
@@ -147,6 +157,20 @@ public class SavePreferences {
         return globalCiteKeyPattern;
     }
 
+    /**
+     * In an incremental save, only the entries changed since they were read or last saved, including the changes made
+     * by the save actions, are serialized again. All other entries are written back exactly as they were read.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public SavePreferences withIncremental(boolean newIncremental) {
+        return new SavePreferences(this.saveInOriginalOrder, this.saveOrder, this.encoding, this.makeBackup,
+                this.saveType, this.takeMetadataSaveOrderInAccount, this.reformatFile,
+                this.latexFieldFormatterPreferences, this.globalCiteKeyPattern, newIncremental);
+    }
+
     public enum DatabaseSaveType {
         ALL,
         PLAIN_BIBTEX
@@ -4,16 +4,20 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import net.sf.jabref.model.FieldChange;
+import net.sf.jabref.model.entry.BibEntry;
 
 public abstract class SaveSession {
 
     protected final Charset encoding;
     protected final VerifyingWriter writer;
     private final List<FieldChange> undoableFieldChanges = new ArrayList<>();
+    private final List<EntrySerialization> entrySerializations = new ArrayList<>();
     protected boolean backup;
 
     protected SaveSession(Charset encoding, boolean backup, VerifyingWriter writer) {
@@ -49,4 +53,45 @@ public abstract class SaveSession {
     public void addFieldChanges(List<FieldChange> newUndoableFieldChanges) {
         this.undoableFieldChanges.addAll(newUndoableFieldChanges);
     }
+
+    /**
+     * Remembers the serialization written for a changed entry. Once the session is committed, it becomes the parsed
+     * serialization of the entry, so that the next incremental save can write the entry back as it is.
+     */
+    public void addEntrySerialization(BibEntry entry, String serialization) {
+        entrySerializations.add(new EntrySerialization(entry, serialization));
+    }
+
+    /**
+     * Stores the serializations written by this session in their entries, see
+     * {@link #addEntrySerialization(BibEntry, String)}. Entries modified after they were written are left untouched,
+     * so that they are still written at the next save.
+     */
+    protected void updateParsedSerializations() {
+        for (EntrySerialization entrySerialization : entrySerializations) {
+            BibEntry entry = entrySerialization.entry;
+            if (entry.getType().equals(entrySerialization.type)
+                    && entry.getFieldMap().equals(entrySerialization.fields)) {
+                entry.setParsedSerialization(entrySerialization.serialization);
+            }
+        }
+        entrySerializations.clear();
+    }
+
+
+    private static class EntrySerialization {
+
+        private final BibEntry entry;
+        private final String type;
+        private final Map<String, String> fields;
+        private final String serialization;
+
+
+        EntrySerialization(BibEntry entry, String serialization) {
+            this.entry = entry;
+            this.type = entry.getType();
+            this.fields = new HashMap<>(entry.getFieldMap());
+            this.serialization = serialization;
+        }
+    }
 }
@@ -41,6 +41,7 @@ public class StringSaveSession extends SaveSession {
         } catch (IOException e) {
             throw new SaveException(e);
         }
+        updateParsedSerializations();
     }
 
     @Override
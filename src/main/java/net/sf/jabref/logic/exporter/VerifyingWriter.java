@@ -16,6 +16,8 @@ import java.util.TreeSet;
 public class VerifyingWriter extends OutputStreamWriter {
 
     private final CharsetEncoder encoder;
+    // the UTF encodings can encode every string without unpaired surrogates
+    private final boolean unicode;
     private boolean couldEncodeAll = true;
     private final Set<Character> problemCharacters = new TreeSet<>();
 
@@ -23,12 +25,13 @@ public class VerifyingWriter extends OutputStreamWriter {
     public VerifyingWriter(OutputStream out, Charset encoding) {
         super(out, encoding);
         encoder = encoding.newEncoder();
+        unicode = encoding.name().startsWith("UTF-");
     }
 
     @Override
     public void write(String str) throws IOException {
         super.write(str);
-        if (!encoder.canEncode(str)) {
+        if (!canEncode(str)) {
             for (int i = 0; i < str.length(); i++) {
                 if (!encoder.canEncode(str.charAt(i))) {
                     problemCharacters.add(str.charAt(i));
@@ -38,6 +41,20 @@ public class VerifyingWriter extends OutputStreamWriter {
         }
     }
 
+    private boolean canEncode(String str) {
+        if (unicode) {
+            // the encoder would encode the whole string a second time, so only ask it if there are surrogates at all
+            boolean hasSurrogates = false;
+            for (int i = 0; (i < str.length()) && !hasSurrogates; i++) {
+                hasSurrogates = Character.isSurrogate(str.charAt(i));
+            }
+            if (!hasSurrogates) {
+                return true;
+            }
+        }
+        return encoder.canEncode(str);
+    }
+
     public boolean couldEncodeAll() {
         return couldEncodeAll;
     }
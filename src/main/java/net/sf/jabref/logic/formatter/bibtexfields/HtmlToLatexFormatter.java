@@ -1,7 +1,6 @@
 package net.sf.jabref.logic.formatter.bibtexfields;
 
 import java.util.Objects;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,11 +17,16 @@ public class HtmlToLatexFormatter implements LayoutFormatter, Formatter {
     private static final Log LOGGER = LogFactory.getLog(HtmlToLatexFormatter.class);
 
     private static final int MAX_TAG_LENGTH = 100;
+    /**
+     * The length of the longest known entity including the ampersand and semicolon, at least enough for numerical ones
+     */
+    private static final int MAX_ENTITY_LENGTH = Math.max(12, HTMLUnicodeConversionMaps.HTML_LATEX_CONVERSION_MAP
+            .keySet().stream().mapToInt(String::length).max().orElse(0));
 
-    private static final Pattern ESCAPED_PATTERN = Pattern.compile("&#([x]*)([0]*)(\\p{XDigit}+);");
-    private static final Pattern ESCAPED_PATTERN2 = Pattern.compile("(.)&#([x]*)([0]*)(\\p{XDigit}+);");
-    private static final Pattern ESCAPED_PATTERN3 = Pattern.compile("&#([x]*)([0]*)(\\p{XDigit}+);");
-    private static final Pattern ESCAPED_PATTERN4 = Pattern.compile("&(\\w+);");
+    private static final Pattern NUMERICAL_PATTERN = Pattern.compile("&#(x?)(0*)(\\p{XDigit}{1,7});");
+    private static final Pattern ESCAPED_PATTERN = Pattern.compile("&(\\w+);");
+    private static final Pattern SUPERSCRIPT_PATTERN = Pattern.compile("<[ ]?sup>([^<]+)</sup>");
+    private static final Pattern SUBSCRIPT_PATTERN = Pattern.compile("<[ ]?sub>([^<]+)</sub>");
 
     @Override
     public String format(String text) {
@@ -32,78 +36,121 @@ public class HtmlToLatexFormatter implements LayoutFormatter, Formatter {
             return result;
         }
 
-        StringBuilder sb = new StringBuilder();
         // Deal with the form <sup>k</sup>and <sub>k</sub>
-        result = result.replaceAll("<[ ]?sup>([^<]+)</sup>", "\\\\textsuperscript\\{$1\\}");
-        result = result.replaceAll("<[ ]?sub>([^<]+)</sub>", "\\\\textsubscript\\{$1\\}");
+        if (result.indexOf('<') >= 0) {
+            result = SUPERSCRIPT_PATTERN.matcher(result).replaceAll("\\\\textsuperscript\\{$1\\}");
+            result = SUBSCRIPT_PATTERN.matcher(result).replaceAll("\\\\textsubscript\\{$1\\}");
+        }
 
-        // TODO: maybe rewrite this based on regular expressions instead
+        // Remove the tags and convert the entities in one pass
         // Note that (at least) the IEEE Xplore fetcher must be fixed as it relies on the current way to
         // remove tags for its image alt-tag to equation converter
-        for (int i = 0; i < result.length(); i++) {
-
-            int c = result.charAt(i);
-
+        StringBuilder sb = new StringBuilder(result.length());
+        boolean accentBlocked = false;
+        int i = 0;
+        while (i < result.length()) {
+            char c = result.charAt(i);
             if (c == '<') {
-                i = readTag(result, i);
+                i = readTag(result, i) + 1;
+                continue;
+            } else if (c == '&') {
+                int end = findEntityEnd(result, i);
+                if ((end > (i + 1)) && (result.charAt(i + 1) == '#')) {
+                    accentBlocked = appendNumericalEntity(sb, result.substring(i, end + 1), accentBlocked);
+                    i = end + 1;
+                    continue;
+                }
+                if (end >= 0) {
+                    String entity = result.substring(i, end + 1);
+                    String latex = HTMLUnicodeConversionMaps.HTML_LATEX_CONVERSION_MAP.get(entity);
+                    sb.append(latex == null ? entity : latex);
+                    accentBlocked = true;
+                    i = end + 1;
+                    continue;
+                }
+                sb.append(c);
+                i++;
             } else {
-                sb.append((char) c);
+                sb.append(c);
+                i++;
             }
-
+            accentBlocked = false;
         }
-        result = sb.toString();
 
-        // Handle text based HTML entities
-        Set<String> patterns = HTMLUnicodeConversionMaps.HTML_LATEX_CONVERSION_MAP.keySet();
-        for (String pattern : patterns) {
-            result = result.replace(pattern, HTMLUnicodeConversionMaps.HTML_LATEX_CONVERSION_MAP.get(pattern));
-        }
+        // Remove $$ in case of two adjacent conversions
+        result = sb.indexOf("$$") < 0 ? sb.toString() : sb.toString().replace("$$", "");
 
-        // Handle numerical HTML entities
+        // Find non-covered special characters with alphabetic codes
         Matcher m = ESCAPED_PATTERN.matcher(result);
         while (m.find()) {
-            int num = Integer.decode(m.group(1).replace("x", "#") + m.group(3));
-            if (HTMLUnicodeConversionMaps.NUMERICAL_LATEX_CONVERSION_MAP.containsKey(num)) {
-                result = result.replace("&#" + m.group(1) + m.group(2) + m.group(3) + ";",
-                        HTMLUnicodeConversionMaps.NUMERICAL_LATEX_CONVERSION_MAP.get(num));
-            }
+            LOGGER.warn("HTML escaped char not converted: " + m.group(1));
         }
 
-        // Combining accents
-        m = ESCAPED_PATTERN2.matcher(result);
-        while (m.find()) {
-            int num = Integer.decode(m.group(2).replace("x", "#") + m.group(4));
-            if (HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.containsKey(num)) {
-                if ("i".equals(m.group(1))) {
-                    result = result.replace(m.group(1) + "&#" + m.group(2) + m.group(3) + m.group(4) + ";",
-                            "{\\" + HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(num) + "{\\i}}");
-                } else if ("j".equals(m.group(1))) {
-                    result = result.replace(m.group(1) + "&#" + m.group(2) + m.group(3) + m.group(4) + ";",
-                            "{\\" + HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(num) + "{\\j}}");
-                } else {
-                    result = result.replace(m.group(1) + "&#" + m.group(2) + m.group(3) + m.group(4) + ";",
-                            "{\\" + HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(num) + "{" + m.group(1) + "}}");
-                }
+        return result.trim();
+    }
+
+    /**
+     * Returns the position of the semicolon ending the entity which starts at the given position, or -1 if there is no
+     * entity.
+     */
+    private static int findEntityEnd(String text, int start) {
+        int limit = Math.min(text.length(), start + MAX_ENTITY_LENGTH);
+        for (int i = start + 1; i < limit; i++) {
+            char c = text.charAt(i);
+            if (c == ';') {
+                return i;
+            } else if (!Character.isLetterOrDigit(c) && (c != '#')) {
+                return -1;
             }
         }
+        return -1;
+    }
 
-        // Find non-converted numerical characters
-        m = ESCAPED_PATTERN3.matcher(result);
-        while (m.find()) {
-            int num = Integer.decode(m.group(1).replace("x", "#") + m.group(3));
-            LOGGER.warn("HTML escaped char not converted: " + m.group(1) + m.group(2) + m.group(3) + " = " + Integer.toString(num));
+    /**
+     * Appends the conversion of a numerical entity like &amp;#228; or &amp;#xe4;. A combining accent is applied to the
+     * letter written last, unless that letter already carries an accent or ends the conversion of an entity.
+     *
+     * @param accentBlocked whether no accent may be applied to the character written last
+     * @return whether no accent may be applied to the character written now
+     */
+    private static boolean appendNumericalEntity(StringBuilder sb, String entity, boolean accentBlocked) {
+        Matcher m = NUMERICAL_PATTERN.matcher(entity);
+        if (!m.matches()) {
+            sb.append(entity);
+            return true;
+        }
+        int num;
+        try {
+            num = Integer.parseInt(m.group(3), m.group(1).isEmpty() ? 10 : 16);
+        } catch (NumberFormatException e) {
+            // hexadecimal digits in a decimal entity
+            sb.append(entity);
+            return true;
         }
 
-        // Remove $$ in case of two adjacent conversions
-        result = result.replace("$$", "");
+        String latex = HTMLUnicodeConversionMaps.NUMERICAL_LATEX_CONVERSION_MAP.get(num);
+        if (latex != null) {
+            sb.append(latex);
+            return false;
+        }
 
-        // Find non-covered special characters with alphabetic codes
-        m = ESCAPED_PATTERN4.matcher(result);
-        while (m.find()) {
-            LOGGER.warn("HTML escaped char not converted: " + m.group(1));
+        String accent = HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(num);
+        if ((accent != null) && !accentBlocked && (sb.length() > 0) && Character.isLetter(sb.charAt(sb.length() - 1))) {
+            char base = sb.charAt(sb.length() - 1);
+            sb.setLength(sb.length() - 1);
+            sb.append("{\\").append(accent).append('{');
+            if ((base == 'i') || (base == 'j')) {
+                sb.append('\\').append(base);
+            } else {
+                sb.append(base);
+            }
+            sb.append("}}");
+            return true;
         }
 
-        return result.trim();
+        LOGGER.warn("HTML escaped char not converted: " + m.group(1) + m.group(2) + m.group(3) + " = " + num);
+        sb.append(entity);
+        return true;
     }
 
     @Override
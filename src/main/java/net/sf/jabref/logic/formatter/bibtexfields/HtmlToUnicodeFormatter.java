@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.formatter.bibtexfields;
 
+import java.util.regex.Pattern;
+
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.layout.LayoutFormatter;
 import net.sf.jabref.model.cleanup.Formatter;
@@ -8,6 +10,8 @@ import org.apache.commons.lang3.StringEscapeUtils;
 
 public class HtmlToUnicodeFormatter implements LayoutFormatter, Formatter {
 
+    private static final Pattern TAG_PATTERN = Pattern.compile("\\<[^>]*>");
+
     @Override
     public String getName() {
         return "HTML to Unicode";
@@ -31,6 +35,6 @@ public class HtmlToUnicodeFormatter implements LayoutFormatter, Formatter {
     @Override
     public String format(String fieldText) {
         // StringEscapeUtils converts characters and regex kills tags
-        return StringEscapeUtils.unescapeHtml4(fieldText).replaceAll("\\<[^>]*>","");
+        return TAG_PATTERN.matcher(StringEscapeUtils.unescapeHtml4(fieldText)).replaceAll("");
     }
 }
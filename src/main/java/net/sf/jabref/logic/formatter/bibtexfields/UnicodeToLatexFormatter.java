@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.formatter.bibtexfields;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -15,6 +16,20 @@ public class UnicodeToLatexFormatter implements LayoutFormatter, Formatter {
 
     private static final Log LOGGER = LogFactory.getLog(UnicodeToLatexFormatter.class);
 
+    /**
+     * The LaTeX replacement of each convertible code point. All of them are above 128, thus ASCII text is copied
+     * without any lookup.
+     */
+    private static final Map<Integer, String> CONVERSIONS = new HashMap<>();
+
+    static {
+        for (Map.Entry<String, String> unicodeLatexPair : HTMLUnicodeConversionMaps.UNICODE_LATEX_CONVERSION_MAP
+                .entrySet()) {
+            CONVERSIONS.put(unicodeLatexPair.getKey().codePointAt(0), unicodeLatexPair.getValue());
+        }
+    }
+
+
     @Override
     public String format(String text) {
         String result = Objects.requireNonNull(text);
@@ -23,43 +38,40 @@ public class UnicodeToLatexFormatter implements LayoutFormatter, Formatter {
             return result;
         }
 
-        // Standard symbols
-        for (Map.Entry<String, String> unicodeLatexPair : HTMLUnicodeConversionMaps.UNICODE_LATEX_CONVERSION_MAP
-                .entrySet()) {
-            result = result.replace(unicodeLatexPair.getKey(), unicodeLatexPair.getValue());
-        }
+        // Convert the symbols and combining accents in one pass. A combining accent is applied to the character
+        // written last, unless that character already carries an accent.
+        StringBuilder sb = new StringBuilder(result.length() + 16);
+        boolean accentApplied = false;
+        int i = 0;
+        while (i < result.length()) {
+            int cp = result.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp < 129) {
+                sb.append((char) cp);
+                accentApplied = false;
+                continue;
+            }
 
-        // Combining accents
-        StringBuilder sb = new StringBuilder();
-        boolean consumed = false;
-        for (int i = 0; i <= (result.length() - 2); i++) {
-            if (!consumed && (i < (result.length() - 1))) {
-                int cpCurrent = result.codePointAt(i);
-                Integer cpNext = result.codePointAt(i + 1);
-                String code = HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(cpNext);
-                if (code == null) {
-                    sb.append((char) cpCurrent);
-                } else {
-                    sb.append("{\\").append(code).append('{').append((char) cpCurrent).append("}}");
-                    consumed = true;
-                }
-            } else {
-                consumed = false;
+            String accent = HTMLUnicodeConversionMaps.ESCAPED_ACCENTS.get(cp);
+            if ((accent != null) && !accentApplied && (sb.length() > 0)) {
+                int baseStart = sb.offsetByCodePoints(sb.length(), -1);
+                String base = sb.substring(baseStart);
+                sb.setLength(baseStart);
+                sb.append("{\\").append(accent).append('{').append(base).append("}}");
+                accentApplied = true;
+                continue;
             }
-        }
-        if (!consumed) {
-            sb.append((char) result.codePointAt(result.length() - 1));
-        }
-        result = sb.toString();
 
-        // Check if any symbols is not converted
-        for (int i = 0; i <= (result.length() - 1); i++) {
-            int cp = result.codePointAt(i);
-            if (cp >= 129) {
+            String latex = CONVERSIONS.get(cp);
+            if (latex == null) {
+                sb.appendCodePoint(cp);
                 LOGGER.warn("Unicode character not converted: " + cp);
+            } else {
+                sb.append(latex);
             }
+            accentApplied = false;
         }
-        return result;
+        return sb.toString();
     }
 
     @Override
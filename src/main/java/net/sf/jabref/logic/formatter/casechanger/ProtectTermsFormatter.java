@@ -1,11 +1,9 @@
 package net.sf.jabref.logic.formatter.casechanger;
 
-import java.util.List;
 import java.util.Objects;
 
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.protectedterms.ProtectedTermsLoader;
-import net.sf.jabref.logic.util.strings.StringLengthComparator;
 import net.sf.jabref.model.cleanup.Formatter;
 
 public class ProtectTermsFormatter implements Formatter {
@@ -33,17 +31,6 @@ public class ProtectTermsFormatter implements Formatter {
         protectedTermsLoader = loader;
     }
 
-    private String format(String text, List<String> listOfWords) {
-        String result = text;
-        listOfWords.sort(new StringLengthComparator());
-        // For each word in the list
-        for (String listOfWord : listOfWords) {
-            // Add {} if the character before is a space, -, /, (, [, ", or } or if it is at the start of the string but not if it is followed by a }
-            result = result.replaceAll("(^|[- /\\[(}\"])" + listOfWord + "($|[^a-zA-Z}])", "$1\\{" + listOfWord + "\\}$2");
-        }
-        return result;
-    }
-
     @Override
     public String format(String text) {
         Objects.requireNonNull(text);
@@ -51,7 +38,7 @@ public class ProtectTermsFormatter implements Formatter {
             return text;
         }
         Objects.requireNonNull(ProtectTermsFormatter.protectedTermsLoader);
-        return this.format(text, ProtectTermsFormatter.protectedTermsLoader.getProtectedTerms());
+        return ProtectTermsFormatter.protectedTermsLoader.getProtectedTermsMatcher().protect(text);
     }
 
     @Override
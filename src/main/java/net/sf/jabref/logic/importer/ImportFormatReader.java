@@ -1,13 +1,21 @@
 package net.sf.jabref.logic.importer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.jabref.logic.importer.fileformat.BibTeXMLImporter;
 import net.sf.jabref.logic.importer.fileformat.BiblioscapeImporter;
@@ -41,6 +49,9 @@ public class ImportFormatReader {
 
     public static final String BIBTEX_FORMAT = "BibTeX";
 
+    // the number of bytes read from the beginning of a file of unknown format to recognize the format
+    private static final int HEAD_SIZE = 16 * 1024;
+
     /**
      * All import formats.
      * Sorted accordingly to {@link Importer#compareTo}, which defaults to alphabetically by the name
@@ -169,58 +180,94 @@ public class ImportFormatReader {
      * Tries to import a file by iterating through the available import filters,
      * and keeping the import that seems most promising.
      * <p/>
-     * If all fails this method attempts to read this file as bibtex.
+     * Only the beginning of the file is read to let each importer rate whether it recognizes the format (see
+     * {@link Importer#getRecognitionScore(Path, String)}). The file is then imported by the importer with the highest
+     * score. Only if it fails or does not find any entries, the next one is tried. BibTeX wins ties.
      *
-     * @throws IOException
+     * @return the import, or null if no importer found any entries
      */
     public UnknownFormatImport importUnknownFormat(Path filePath) {
         Objects.requireNonNull(filePath);
 
-        // First, see if it is a BibTeX file:
+        long start = System.nanoTime();
+        String head;
         try {
-            ParserResult parserResult = OpenDatabase.loadDatabase(filePath.toFile(), importFormatPreferences);
-            if (parserResult.getDatabase().hasEntries() || !parserResult.getDatabase().hasNoStrings()) {
-                parserResult.setFile(filePath.toFile());
-                return new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, parserResult);
-            }
-        } catch (IOException ignore) {
-            // Ignored
+            head = readHead(filePath);
+        } catch (IOException ex) {
+            LOGGER.info("Could not read " + filePath, ex);
+            return null;
         }
 
-        // stores ref to best result, gets updated at the next loop
-        List<BibEntry> bestResult = null;
-        int bestResultCount = 0;
-        String bestFormatName = null;
-
-        // Cycle through all importers:
-        for (Importer imFo : getImportFormats()) {
+        Map<Importer, Integer> scores = new HashMap<>();
+        List<Importer> candidates = new ArrayList<>();
+        for (Importer importer : getImportFormats()) {
             try {
-                if (!imFo.isRecognizedFormat(filePath, importFormatPreferences.getEncoding())) {
-                    continue;
+                int score = importer.getRecognitionScore(filePath, head);
+                if (score > Importer.SCORE_NOT_RECOGNIZED) {
+                    scores.put(importer, score);
+                    if (importer instanceof BibtexImporter) {
+                        candidates.add(0, importer);
+                    } else {
+                        candidates.add(importer);
+                    }
                 }
+            } catch (IOException ex) {
+                // The importer does not recognize the file. Go on.
+            }
+        }
+        // stable, so BibTeX stays in front of the importers with the same score
+        candidates.sort(Comparator.comparing(scores::get, Comparator.reverseOrder()));
+        long sniffed = System.nanoTime();
+        LOGGER.debug("Determined the candidate import formats " + candidates + " in "
+                + TimeUnit.NANOSECONDS.toMillis(sniffed - start) + " ms");
+
+        for (Importer importer : candidates) {
+            Optional<UnknownFormatImport> result = tryImport(importer, filePath);
+            if (result.isPresent()) {
+                LOGGER.debug("Imported " + filePath + " as " + result.get().format + " in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sniffed) + " ms");
+                return result.get();
+            }
+        }
+
+        return null;
+    }
 
-                ParserResult parserResult = imFo.importDatabase(filePath, importFormatPreferences.getEncoding());
+    private Optional<UnknownFormatImport> tryImport(Importer importer, Path filePath) {
+        try {
+            if (importer instanceof BibtexImporter) {
+                ParserResult parserResult = OpenDatabase.loadDatabase(filePath.toFile(), importFormatPreferences);
+                if (parserResult.getDatabase().hasEntries() || !parserResult.getDatabase().hasNoStrings()) {
+                    parserResult.setFile(filePath.toFile());
+                    return Optional.of(new UnknownFormatImport(ImportFormatReader.BIBTEX_FORMAT, parserResult));
+                }
+            } else {
+                ParserResult parserResult = importer.importDatabase(filePath, importFormatPreferences.getEncoding());
                 List<BibEntry> entries = parserResult.getDatabase().getEntries();
 
                 BibDatabases.purgeEmptyEntries(entries);
-                int entryCount = entries.size();
-
-                if (entryCount > bestResultCount) {
-                    bestResult = entries;
-                    bestResultCount = bestResult.size();
-                    bestFormatName = imFo.getName();
+                if (!entries.isEmpty()) {
+                    return Optional.of(new UnknownFormatImport(importer.getName(), new ParserResult(entries)));
                 }
-            } catch (IOException ex) {
-                // The import did not succeed. Go on.
             }
+        } catch (IOException ex) {
+            // The import did not succeed. Go on.
         }
+        return Optional.empty();
+    }
 
-        if (bestResult != null) {
-            // we found something
-            ParserResult parserResult = new ParserResult(bestResult);
-            return new UnknownFormatImport(bestFormatName, parserResult);
+    /**
+     * Reads the first {@link #HEAD_SIZE} bytes of the file.
+     */
+    private String readHead(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(HEAD_SIZE, channel.size()));
+            int read = 0;
+            while (buffer.hasRemaining() && (read >= 0)) {
+                read = channel.read(buffer);
+            }
+            buffer.flip();
+            return importFormatPreferences.getEncoding().decode(buffer).toString();
         }
-
-        return null;
     }
 }
@@ -5,6 +5,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -25,6 +26,13 @@ public abstract class Importer implements Comparable<Importer> {
      */
     public static final String DEFAULT_BIBTEXENTRY_ID = "__ID";
 
+    /**
+     * Scores returned by {@link #getRecognitionScore(Path, String)}
+     */
+    public static final int SCORE_NOT_RECOGNIZED = 0;
+    public static final int SCORE_POSSIBLE = 1;
+    public static final int SCORE_RECOGNIZED = 2;
+
     /**
      * Check whether the source is in the correct format for this importer.
      *
@@ -43,6 +51,23 @@ public abstract class Importer implements Comparable<Importer> {
         }
     }
 
+    /**
+     * Rates how likely the file is in the format of this importer, judging only by the beginning of the file. This is
+     * used to choose an importer for a file of unknown format without reading the whole file for every importer.
+     *
+     * The default implementation applies {@link #isRecognizedFormat(BufferedReader)} to the beginning of the file.
+     * Importers which accept any input should return {@link #SCORE_POSSIBLE}.
+     *
+     * @param filePath the file, for importers which have to look at the file themselves
+     * @param head     the beginning of the file
+     * @return {@link #SCORE_NOT_RECOGNIZED}, {@link #SCORE_POSSIBLE} or {@link #SCORE_RECOGNIZED}
+     */
+    public int getRecognitionScore(Path filePath, String head) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(head))) {
+            return isRecognizedFormat(reader) ? SCORE_RECOGNIZED : SCORE_NOT_RECOGNIZED;
+        }
+    }
+
     /**
      * Parse the database in the source.
      *
@@ -2,6 +2,7 @@ package net.sf.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -44,6 +45,11 @@ public class BiblioscapeImporter extends Importer {
         return true;
     }
 
+    @Override
+    public int getRecognitionScore(Path filePath, String head) {
+        return SCORE_POSSIBLE;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
 
@@ -6,6 +6,7 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import net.sf.jabref.logic.exporter.SavePreferences;
 import net.sf.jabref.logic.importer.ImportFormatPreferences;
@@ -24,6 +25,9 @@ public class BibtexImporter extends Importer {
     // Signature written at the top of the .bib file in earlier versions.
     private static final String SIGNATURE = "This file was created with JabRef";
 
+    // the beginning of an entry or of a string, preamble or comment
+    private static final Pattern ENTRY_START_PATTERN = Pattern.compile("^\\s*@\\w+\\s*[{(]", Pattern.MULTILINE);
+
     private final ImportFormatPreferences importFormatPreferences;
 
 
@@ -40,6 +44,14 @@ public class BibtexImporter extends Importer {
         return true;
     }
 
+    /**
+     * Any file might be a BibTeX file, but one with an entry at the beginning of a line most likely is.
+     */
+    @Override
+    public int getRecognitionScore(Path filePath, String head) {
+        return ENTRY_START_PATTERN.matcher(head).find() ? SCORE_RECOGNIZED : SCORE_POSSIBLE;
+    }
+
     @Override
     public ParserResult importDatabase(Path filePath, Charset defaultEncoding) throws IOException {
         // We want to check if there is a JabRef signature in the file, because that would tell us
@@ -4,19 +4,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.logic.bibtex.FieldContentParser;
 import net.sf.jabref.logic.exporter.SavePreferences;
@@ -55,21 +55,37 @@ import org.apache.commons.logging.LogFactory;
  * ParserResult result = BibtexParser.parse(reader);
  * <p>
  * Can be used stand-alone.
+ * <p>
+ * The input is read into a character array in one go and scanned sequentially. The scan only records the raw
+ * contents of the entries, the {@link BibEntry} objects are then created in parallel (see
+ * {@link #addEntries()}), as formatting the field contents is independent of the parser state.
  */
 public class BibtexParser implements Parser {
 
     private static final Log LOGGER = LogFactory.getLog(BibtexParser.class);
+    private static final int LOOKAHEAD = 64;
+
+    private char[] buffer;
+    private int bufferLength;
+    private int position;
+    // characters given back which are not the ones just read from the buffer (only happens when repairing keys)
+    private final char[] pushback = new char[LOOKAHEAD];
+    private int pushbackSize;
+    // start of the text read since the last dump; the text itself is the buffer slice up to the current position
+    private int textStart;
+    // only used if the text read so far is not a slice of the buffer, i.e., characters differing from the buffer
+    // have been given back
+    private StringBuilder pureTextFromFile;
 
-    private PushbackReader pushbackReader;
     private BibDatabase database;
     private Map<String, EntryType> entryTypes;
     private boolean eof;
     private int line = 1;
     private final FieldContentParser fieldContentParser;
     private ParserResult parserResult;
-    private static final Integer LOOKAHEAD = 64;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
+    private List<UnformattedEntry> unformattedEntries;
+    private List<String> warnings;
 
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences) {
@@ -155,7 +171,7 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
+        readFully(in);
 
         // Bibtex related contents.
         initializeParserResult();
@@ -169,10 +185,29 @@ public class BibtexParser implements Parser {
         }
     }
 
+    private void readFully(Reader in) throws IOException {
+        buffer = new char[8192];
+        bufferLength = 0;
+        int charsRead;
+        while ((charsRead = in.read(buffer, bufferLength, buffer.length - bufferLength)) != -1) {
+            bufferLength += charsRead;
+            if (bufferLength == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+
+        position = 0;
+        textStart = 0;
+        pushbackSize = 0;
+        pureTextFromFile = null;
+    }
+
     private void initializeParserResult() {
         database = new BibDatabase();
         entryTypes = new HashMap<>(); // To store custom entry types parsed.
         parserResult = new ParserResult(database, null, entryTypes);
+        unformattedEntries = new ArrayList<>();
+        warnings = new ArrayList<>();
     }
 
     private ParserResult parseFileContent() throws IOException {
@@ -207,6 +242,8 @@ public class BibtexParser implements Parser {
             skipWhitespace();
         }
 
+        addEntries();
+
         // Instantiate meta data:
         try {
             parserResult.setMetaData(MetaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
@@ -235,13 +272,37 @@ public class BibtexParser implements Parser {
             // this is at least `@Type`
             String commentsAndEntryTypeDefinition = dumpTextReadSoFarToString();
 
-            BibEntry entry = parseEntry(type);
+            UnformattedEntry entry = parseEntry(type);
             // store comments collected without type definition
-            entry.setCommentsBeforeEntry(
-                    commentsAndEntryTypeDefinition.substring(0, commentsAndEntryTypeDefinition.lastIndexOf('@')));
+            entry.commentsBeforeEntry = commentsAndEntryTypeDefinition.substring(0,
+                    commentsAndEntryTypeDefinition.lastIndexOf('@'));
             // store complete parsed serialization (comments, type definition + type contents)
-            entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
+            entry.parsedSerialization = commentsAndEntryTypeDefinition + dumpTextReadSoFarToString();
+            entry.precedingWarnings = warnings.size();
+            unformattedEntries.add(entry);
+        } catch (IOException ex) {
+            LOGGER.warn("Could not parse entry", ex);
+            addWarning(Localization.lang("Error occurred when parsing entry") + ": '" + ex.getMessage() + "'. "
+                    + Localization.lang("Skipped entry."));
 
+        }
+    }
+
+    /**
+     * Creates the entries recorded during the scan in parallel and adds them to the database in the order of the file.
+     * The warnings of the scan are reported in between, so that they stay in the order of the file, too.
+     */
+    private void addEntries() {
+        List<BibEntry> entries = unformattedEntries.parallelStream().map(this::createEntry)
+                .collect(Collectors.toList());
+
+        int reportedWarnings = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            for (; reportedWarnings < unformattedEntries.get(i).precedingWarnings; reportedWarnings++) {
+                parserResult.addWarning(warnings.get(reportedWarnings));
+            }
+
+            BibEntry entry = entries.get(i);
             boolean duplicateKey = database.insertEntry(entry);
             if (duplicateKey) {
                 parserResult.addDuplicateKey(entry.getCiteKey());
@@ -249,12 +310,49 @@ public class BibtexParser implements Parser {
                 parserResult.addWarning(Localization.lang("Empty BibTeX key") + ": " + entry.getAuthorTitleYear(40)
                         + " (" + Localization.lang("Grouping may not work for this entry.") + ")");
             }
-        } catch (IOException ex) {
-            LOGGER.warn("Could not parse entry", ex);
-            parserResult.addWarning(Localization.lang("Error occurred when parsing entry") + ": '" + ex.getMessage()
-                    + "'. " + Localization.lang("Skipped entry."));
+        }
+        for (; reportedWarnings < warnings.size(); reportedWarnings++) {
+            parserResult.addWarning(warnings.get(reportedWarnings));
+        }
+    }
 
+    private BibEntry createEntry(UnformattedEntry unformattedEntry) {
+        BibEntry entry = new BibEntry(unformattedEntry.id, unformattedEntry.type);
+        entry.setCiteKey(unformattedEntry.key);
+
+        for (int i = 0; i < unformattedEntry.fieldNames.size(); i++) {
+            String key = unformattedEntry.fieldNames.get(i);
+            String content = formatFieldContent(unformattedEntry.fieldContents.get(i), key);
+            if (!content.isEmpty()) {
+                if (entry.hasField(key)) {
+                    // The following hack enables the parser to deal with multiple
+                    // author or
+                    // editor lines, stringing them together instead of getting just
+                    // one of them.
+                    // Multiple author or editor lines are not allowed by the bibtex
+                    // format, but
+                    // at least one online database exports bibtex like that, making
+                    // it inconvenient
+                    // for users if JabRef did not accept it.
+                    if (InternalBibtexFields.getFieldProperties(key).contains(FieldProperty.PERSON_NAMES)) {
+                        entry.setField(key, entry.getField(key).get() + " and " + content);
+                    } else if (FieldName.KEYWORDS.equals(key)) {
+                        //multiple keywords fields should be combined to one
+                        entry.addKeyword(content, importFormatPreferences.getKeywordSeparator());
+                    }
+                } else {
+                    entry.setField(key, content);
+                }
+            }
         }
+
+        entry.setCommentsBeforeEntry(unformattedEntry.commentsBeforeEntry);
+        entry.setParsedSerialization(unformattedEntry.parsedSerialization);
+        return entry;
+    }
+
+    private void addWarning(String warning) {
+        warnings.add(warning);
     }
 
     private void parseJabRefComment(Map<String, String> meta) {
@@ -297,7 +395,7 @@ public class BibtexParser implements Parser {
             if (typ.isPresent()) {
                 entryTypes.put(typ.get().getName(), typ.get());
             } else {
-                parserResult.addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " + comment);
+                addWarning(Localization.lang("Ill-formed entrytype comment in BIB file") + ": " + comment);
             }
 
             // custom entry types are always re-written by JabRef and not stored in the file
@@ -312,7 +410,7 @@ public class BibtexParser implements Parser {
         try {
             database.addString(bibtexString);
         } catch (KeyCollisionException ex) {
-            parserResult.addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
+            addWarning(Localization.lang("Duplicate string name") + ": " + bibtexString.getName());
         }
     }
 
@@ -350,12 +448,29 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
+        String text;
+        if (pureTextFromFile == null) {
+            text = new String(buffer, textStart, position - textStart);
+        } else {
+            text = pureTextFromFile.toString();
+            if (pushbackSize == 0) {
+                // everything given back has been read again, so the text is a slice of the buffer again
+                pureTextFromFile = null;
+            } else {
+                pureTextFromFile.setLength(0);
+            }
         }
+        textStart = position;
+        return text;
+    }
 
-        return entry.toString();
+    /**
+     * Copies the text read so far into {@link #pureTextFromFile}, as it can no longer be represented as a slice of the
+     * buffer.
+     */
+    private void detachPureTextFromBuffer() {
+        pureTextFromFile = new StringBuilder(Math.max(16, position - textStart));
+        pureTextFromFile.append(buffer, textStart, position - textStart);
     }
 
     /**
@@ -366,7 +481,7 @@ public class BibtexParser implements Parser {
     private String purgeEOFCharacters(String input) {
 
         StringBuilder remainingText = new StringBuilder();
-        for (Character character : input.toCharArray()) {
+        for (char character : input.toCharArray()) {
             if (!(isEOFCharacter(character))) {
                 remainingText.append(character);
             }
@@ -458,10 +573,21 @@ public class BibtexParser implements Parser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
+        int character;
+        if (pushbackSize > 0) {
+            character = pushback[--pushbackSize];
+        } else if (position < bufferLength) {
+            if ((pureTextFromFile == null) && isEOFCharacter(buffer[position])) {
+                // eof characters are not part of the text read so far
+                detachPureTextFromBuffer();
+            }
+            character = buffer[position++];
+        } else {
+            character = -1;
+        }
 
-        if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+        if ((pureTextFromFile != null) && !isEOFCharacter(character)) {
+            pureTextFromFile.append((char) character);
         }
         if (character == '\n') {
             line++;
@@ -473,9 +599,25 @@ public class BibtexParser implements Parser {
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+
+        if (!isEOFCharacter(character) && (pushbackSize == 0) && (position > 0)
+                && (buffer[position - 1] == character) && ((pureTextFromFile != null) || (position > textStart))) {
+            // the character just read is given back
+            position--;
+        } else {
+            if ((pureTextFromFile == null) && !isEOFCharacter(character)) {
+                detachPureTextFromBuffer();
+            }
+            if (pushbackSize == pushback.length) {
+                throw new IOException("Pushback buffer overflow");
+            }
+            // like a PushbackReader, an eof is given back as \uFFFF
+            pushback[pushbackSize++] = (char) character;
+        }
+
+        if ((pureTextFromFile != null) && (pureTextFromFile.length() > 0)
+                && (pureTextFromFile.charAt(pureTextFromFile.length() - 1) == character)) {
+            pureTextFromFile.setLength(pureTextFromFile.length() - 1);
         }
     }
 
@@ -489,7 +631,7 @@ public class BibtexParser implements Parser {
         skipWhitespace();
         LOGGER.debug("Now the contents");
         consume('=');
-        String content = parseFieldContent(name);
+        String content = formatFieldContent(parseFieldContent(name), name);
         LOGGER.debug("Now I'm going to consume a }");
         consume('}', ')');
         // Consume new line which signals end of entry
@@ -506,17 +648,16 @@ public class BibtexParser implements Parser {
 
     }
 
-    private BibEntry parseEntry(String entryType) throws IOException {
+    private UnformattedEntry parseEntry(String entryType) throws IOException {
         String id = IdGenerator.next();
-        BibEntry result = new BibEntry(id, entryType);
+        UnformattedEntry result = new UnformattedEntry(id, entryType);
         skipWhitespace();
         consume('{', '(');
         int character = peek();
         if ((character != '\n') && (character != '\r')) {
             skipWhitespace();
         }
-        String key = parseKey();
-        result.setCiteKey(key);
+        result.key = parseKey();
         skipWhitespace();
 
         while (true) {
@@ -546,38 +687,24 @@ public class BibtexParser implements Parser {
         return result;
     }
 
-    private void parseField(BibEntry entry) throws IOException {
+    private void parseField(UnformattedEntry entry) throws IOException {
         String key = parseTextToken().toLowerCase();
 
         skipWhitespace();
         consume('=');
-        String content = parseFieldContent(key);
-        if (!content.isEmpty()) {
-            if (entry.hasField(key)) {
-                // The following hack enables the parser to deal with multiple
-                // author or
-                // editor lines, stringing them together instead of getting just
-                // one of them.
-                // Multiple author or editor lines are not allowed by the bibtex
-                // format, but
-                // at least one online database exports bibtex like that, making
-                // it inconvenient
-                // for users if JabRef did not accept it.
-                if (InternalBibtexFields.getFieldProperties(key).contains(FieldProperty.PERSON_NAMES)) {
-                    entry.setField(key, entry.getField(key).get() + " and " + content);
-                } else if (FieldName.KEYWORDS.equals(key)) {
-                    //multiple keywords fields should be combined to one
-                    entry.addKeyword(content, importFormatPreferences.getKeywordSeparator());
-                }
-            } else {
-                entry.setField(key, content);
-            }
-        }
+        entry.fieldNames.add(key);
+        entry.fieldContents.add(parseFieldContent(key));
     }
 
-    private String parseFieldContent(String key) throws IOException {
+    /**
+     * Parses the content of a field without formatting it, see {@link #formatFieldContent(List, String)}.
+     *
+     * @return the parts of the content; text which has to be formatted is given as {@link StringBuilder}, all other
+     * parts are given as {@link String}
+     */
+    private List<CharSequence> parseFieldContent(String key) throws IOException {
         skipWhitespace();
-        StringBuilder value = new StringBuilder();
+        List<CharSequence> value = new ArrayList<>(1);
         int character;
 
         while (((character = peek()) != ',') && (character != '}') && (character != ')')) {
@@ -586,18 +713,16 @@ public class BibtexParser implements Parser {
                 throw new IOException("Error in line " + line + ": EOF in mid-string");
             }
             if (character == '"') {
-                StringBuilder text = parseQuotedFieldExactly();
-                value.append(fieldContentParser.format(text, key));
+                value.add(parseQuotedFieldExactly());
             } else if (character == '{') {
                 // Value is a string enclosed in brackets. There can be pairs
                 // of brackets inside of a field, so we need to count the
                 // brackets to know when the string is finished.
-                StringBuilder text = parseBracketedTextExactly();
-                value.append(fieldContentParser.format(text, key));
+                value.add(parseBracketedTextExactly());
 
             } else if (Character.isDigit((char) character)) { // value is a number
                 String number = parseTextToken();
-                value.append(number);
+                value.add(number);
             } else if (character == '#') {
                 consume('#');
             } else {
@@ -606,14 +731,26 @@ public class BibtexParser implements Parser {
                     throw new IOException("Error in line " + line + " or above: "
                             + "Empty text token.\nThis could be caused " + "by a missing comma between two fields.");
                 }
-                value.append('#').append(textToken).append('#');
+                value.add('#' + textToken + '#');
             }
             skipWhitespace();
         }
-        return value.toString();
+        return value;
 
     }
 
+    private String formatFieldContent(List<CharSequence> parts, String key) {
+        StringBuilder value = new StringBuilder();
+        for (CharSequence part : parts) {
+            if (part instanceof StringBuilder) {
+                value.append(fieldContentParser.format((StringBuilder) part, key));
+            } else {
+                value.append(part);
+            }
+        }
+        return value.toString();
+    }
+
     /**
      * This method is used to parse string labels, field names, entry type and
      * numbers outside brackets.
@@ -694,21 +831,19 @@ public class BibtexParser implements Parser {
                     }
 
                     // Finished, now reverse newKey and remove whitespaces:
-                    parserResult.addWarning(
-                            Localization.lang("Line %0: Found corrupted BibTeX key.", String.valueOf(line)));
+                    addWarning(Localization.lang("Line %0: Found corrupted BibTeX key.", String.valueOf(line)));
                     key = newKey.reverse();
                 }
             }
             break;
 
         case ',':
-            parserResult.addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (contains whitespaces).",
+            addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (contains whitespaces).",
                     String.valueOf(line)));
             break;
 
         case '\n':
-            parserResult.addWarning(
-                    Localization.lang("Line %0: Found corrupted BibTeX key (comma missing).", String.valueOf(line)));
+            addWarning(Localization.lang("Line %0: Found corrupted BibTeX key (comma missing).", String.valueOf(line)));
             break;
 
         default:
@@ -940,4 +1075,26 @@ public class BibtexParser implements Parser {
                     + " but received " + (char) character);
         }
     }
+
+    /**
+     * An entry as found by the scan of the input, with the field contents not formatted yet.
+     */
+    private static class UnformattedEntry {
+
+        private final String id;
+        private final String type;
+        private String key;
+        private final List<String> fieldNames = new ArrayList<>();
+        private final List<List<CharSequence>> fieldContents = new ArrayList<>();
+        private String commentsBeforeEntry;
+        private String parsedSerialization;
+        // the number of warnings found during the scan up to this entry
+        private int precedingWarnings;
+
+
+        UnformattedEntry(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+    }
 }
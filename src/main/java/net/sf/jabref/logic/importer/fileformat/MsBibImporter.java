@@ -2,7 +2,9 @@ package net.sf.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -23,6 +25,9 @@ import org.xml.sax.InputSource;
  */
 public class MsBibImporter extends Importer {
 
+    // the root element checked by isRecognizedFormat
+    private static final Pattern SOURCES_PATTERN = Pattern.compile("<(\\w+:)?Sources[\\s>]");
+
     @Override
     public boolean isRecognizedFormat(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -42,6 +47,14 @@ public class MsBibImporter extends Importer {
         return (docin == null) || docin.getDocumentElement().getTagName().contains("Sources");
     }
 
+    /**
+     * The beginning of a file is no complete XML document, so only the root element is looked for.
+     */
+    @Override
+    public int getRecognitionScore(Path filePath, String head) {
+        return SOURCES_PATTERN.matcher(head).find() ? SCORE_RECOGNIZED : SCORE_NOT_RECOGNIZED;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -1,7 +1,6 @@
 package net.sf.jabref.logic.importer.fileformat;
 
 import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
@@ -21,7 +20,7 @@ import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.util.DOI;
 import net.sf.jabref.logic.util.FileExtensions;
 import net.sf.jabref.logic.xmp.EncryptedPdfsNotSupportedException;
-import net.sf.jabref.logic.xmp.XMPUtil;
+import net.sf.jabref.logic.xmp.PdfContentCache;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.BibtexEntryTypes;
 import net.sf.jabref.model.entry.EntryType;
@@ -42,6 +41,11 @@ public class PdfContentImporter extends Importer {
 
     private static final Pattern YEAR_EXTRACT_PATTERN = Pattern.compile("\\d{4}");
 
+    /**
+     * The part of the {@link PdfContentCache} holding the text of the first page
+     */
+    private static final String FIRST_PAGE_PART = "firstPage";
+
     // input lines into several lines
     private String[] lines;
 
@@ -202,9 +206,9 @@ public class PdfContentImporter extends Importer {
     @Override
     public ParserResult importDatabase(Path filePath, Charset defaultEncoding) {
         final ArrayList<BibEntry> result = new ArrayList<>(1);
-        try (FileInputStream fileStream = new FileInputStream(filePath.toFile());
-                PDDocument document = XMPUtil.loadWithAutomaticDecryption(fileStream)) {
-            String firstPageContents = getFirstPageContents(document);
+        try {
+            String firstPageContents = PdfContentCache.get(filePath, FIRST_PAGE_PART,
+                    PdfContentImporter::getFirstPageContents);
 
             Optional<DOI> doi = DOI.findInText(firstPageContents);
             if (doi.isPresent()) {
@@ -487,7 +491,7 @@ public class PdfContentImporter extends Importer {
         return new ParserResult(result);
     }
 
-    private String getFirstPageContents(PDDocument document) throws IOException {
+    private static String getFirstPageContents(PDDocument document) throws IOException {
         PDFTextStripper stripper = new PDFTextStripper();
 
         stripper.setStartPage(1);
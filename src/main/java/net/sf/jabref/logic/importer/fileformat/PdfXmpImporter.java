@@ -35,6 +35,17 @@ public class PdfXmpImporter extends Importer {
         return FileExtensions.XMP;
     }
 
+    /**
+     * Only PDF files are checked for XMP metadata.
+     */
+    @Override
+    public int getRecognitionScore(Path filePath, String head) {
+        if (head.startsWith("%PDF") && XMPUtil.hasMetadata(filePath, xmpPreferences)) {
+            return SCORE_RECOGNIZED;
+        }
+        return SCORE_NOT_RECOGNIZED;
+    }
+
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
         Objects.requireNonNull(reader);
@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.integrity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -10,25 +12,32 @@ import net.sf.jabref.model.entry.BibEntry;
 
 public class AbbreviationChecker implements Checker {
 
-    private final String field;
+    private final List<String> fields;
 
 
     public AbbreviationChecker(String field) {
-        this.field = field;
+        this(Collections.singletonList(field));
+    }
+
+    /**
+     * Checks all the given fields, so that a single checker can be used for all journal and book name fields.
+     */
+    public AbbreviationChecker(Collection<String> fields) {
+        this.fields = new ArrayList<>(fields);
     }
 
     @Override
     public List<IntegrityMessage> check(BibEntry entry) {
-        Optional<String> value = entry.getField(field);
-        if (!value.isPresent()) {
-            return Collections.emptyList();
+        List<IntegrityMessage> result = Collections.emptyList();
+        for (String field : fields) {
+            Optional<String> value = entry.getField(field);
+            if (value.isPresent() && value.get().contains(".")) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>(1);
+                }
+                result.add(new IntegrityMessage(Localization.lang("abbreviation detected"), entry, field));
+            }
         }
-
-        if (value.get().contains(".")) {
-            return Collections
-                    .singletonList(new IntegrityMessage(Localization.lang("abbreviation detected"), entry, field));
-        }
-
-        return Collections.emptyList();
+        return result;
     }
 }
@@ -1,83 +1,294 @@
 package net.sf.jabref.logic.integrity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.BibDatabaseMode;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.FieldName;
 import net.sf.jabref.model.entry.InternalBibtexFields;
+import net.sf.jabref.model.entry.event.EntryChangedEvent;
 import net.sf.jabref.model.metadata.FileDirectoryPreferences;
 
+import com.google.common.eventbus.Subscribe;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Checks the entries of a database for common problems.
+ * <p>
+ * The checkers are created once and used for all entries, which are checked in parallel. Further checkers can be
+ * added using {@link #registerChecker(Checker)}. The time spent in each checker is summed up, see
+ * {@link #getCheckerTimings()}.
+ * <p>
+ * In the incremental mode (see {@link #enableIncrementalMode()}), the results of each entry are kept, and the next
+ * check only checks the entries changed in the meantime. Checkers depending on files or on other entries are run for
+ * all entries nevertheless.
+ */
 public class IntegrityCheck {
 
+    private static final Log LOGGER = LogFactory.getLog(IntegrityCheck.class);
+
     private final BibDatabaseContext bibDatabaseContext;
     private final FileDirectoryPreferences fileDirectoryPreferences;
 
+    private final List<RegisteredChecker> checkers = new CopyOnWriteArrayList<>();
+    private final List<RegisteredChecker> bibtexCheckers = new CopyOnWriteArrayList<>();
+    private final List<RegisteredChecker> biblatexCheckers = new CopyOnWriteArrayList<>();
+
+    // incremental mode: messages of the checkers depending only on the entry itself, by entry id
+    private final Map<String, List<IntegrityMessage>> cachedMessages = new ConcurrentHashMap<>();
+    private final Set<String> changedEntries = ConcurrentHashMap.newKeySet();
+    private final Object changeListener = new Object() {
+
+        @Subscribe
+        public void listen(EntryChangedEvent event) {
+            changedEntries.add(event.getBibEntry().getId());
+        }
+    };
+    private volatile boolean incremental;
+    private BibDatabaseMode cachedMode;
+
+
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext, FileDirectoryPreferences fileDirectoryPreferences) {
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
         this.fileDirectoryPreferences = Objects.requireNonNull(fileDirectoryPreferences);
+
+        register(checkers, new AuthorNameChecker(), true);
+
+        // BibTeX only checkers
+        register(bibtexCheckers, new TitleChecker(), true);
+        register(bibtexCheckers, new PagesChecker(), true);
+        register(bibtexCheckers, new ASCIICharacterChecker(), true);
+        register(bibtexCheckers, new NoBibtexFieldChecker(), true);
+
+        // BibLaTeX only checkers
+        register(biblatexCheckers, new BiblatexPagesChecker(), true);
+
+        register(checkers, new BracketChecker(FieldName.TITLE), true);
+        register(checkers, new YearChecker(), true);
+        register(checkers, new BibtexkeyChecker(), true);
+        register(checkers, new EditionChecker(bibDatabaseContext), true);
+        register(checkers, new NoteChecker(bibDatabaseContext), true);
+        register(checkers, new HowpublishedChecker(bibDatabaseContext), true);
+        register(checkers, new MonthChecker(bibDatabaseContext), true);
+        register(checkers, new UrlChecker(), true);
+        register(checkers, new TypeChecker(), true);
+        List<String> nameFields = new ArrayList<>(InternalBibtexFields.getJournalNameFields());
+        nameFields.addAll(InternalBibtexFields.getBookNameFields());
+        register(checkers, new AbbreviationChecker(nameFields), true);
+        register(checkers, new BibStringChecker(), true);
+        register(checkers, new HTMLCharacterChecker(), true);
+        register(checkers, new BooktitleChecker(), true);
+        register(checkers, new ISSNChecker(), true);
+        register(checkers, new ISBNChecker(), true);
+
+        // these depend on the file system and on the other entries
+        register(checkers, new FileChecker(bibDatabaseContext, fileDirectoryPreferences), false);
+        register(checkers, new EntryLinkChecker(bibDatabaseContext.getDatabase()), false);
     }
 
-    public List<IntegrityMessage> checkBibtexDatabase() {
-        List<IntegrityMessage> result = new ArrayList<>();
+    private static void register(List<RegisteredChecker> list, Checker checker, boolean cacheable) {
+        list.add(new RegisteredChecker(checker, cacheable));
+    }
 
-        for (BibEntry entry : bibDatabaseContext.getDatabase().getEntries()) {
-            result.addAll(checkBibtexEntry(entry));
+    /**
+     * Adds a checker, which is used in addition to the built-in checkers in both BibTeX and BibLaTeX mode. The checker
+     * is used by several threads concurrently, so it must be thread-safe. Its messages may only depend on the entry
+     * itself, as they are kept in the incremental mode.
+     */
+    public void registerChecker(Checker checker) {
+        register(checkers, Objects.requireNonNull(checker), true);
+        // the kept results lack the messages of the new checker
+        cachedMessages.clear();
+    }
+
+    public BibDatabaseContext getBibDatabaseContext() {
+        return bibDatabaseContext;
+    }
+
+    public FileDirectoryPreferences getFileDirectoryPreferences() {
+        return fileDirectoryPreferences;
+    }
+
+    /**
+     * Keeps the results of the following checks, so that only entries which have been changed (i.e., for which an
+     * {@link EntryChangedEvent} has been posted) or added are checked again.
+     */
+    public synchronized void enableIncrementalMode() {
+        if (!incremental) {
+            incremental = true;
+            bibDatabaseContext.getDatabase().registerListener(changeListener);
+        }
+    }
+
+    public synchronized void disableIncrementalMode() {
+        if (incremental) {
+            incremental = false;
+            bibDatabaseContext.getDatabase().unregisterListener(changeListener);
+            cachedMessages.clear();
+            changedEntries.clear();
         }
+    }
 
+    /**
+     * Checks all entries of the database. The database may be changed while it is checked, e.g., if the check runs in
+     * the background; entries added in the meantime are checked the next time.
+     *
+     * @return the messages ordered by the entries of the database
+     */
+    public List<IntegrityMessage> checkBibtexDatabase() {
+        List<RegisteredChecker> activeCheckers = prepareCheck();
+        List<BibEntry> entries = new ArrayList<>(bibDatabaseContext.getDatabase().getEntries());
+        List<IntegrityMessage> result = entries.parallelStream()
+                .map(entry -> checkBibtexEntry(entry, activeCheckers))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+        finishCheck(activeCheckers, entries);
         return result;
     }
 
-    private List<IntegrityMessage> checkBibtexEntry(BibEntry entry) {
-        List<IntegrityMessage> result = new ArrayList<>();
+    /**
+     * Checks all entries of the database and passes the messages of each entry to the given consumer as soon as the
+     * entry has been checked. The entries are checked in parallel, so the consumer is called from several threads and
+     * in no particular order.
+     */
+    public void checkBibtexDatabase(Consumer<List<IntegrityMessage>> messageConsumer) {
+        List<RegisteredChecker> activeCheckers = prepareCheck();
+        List<BibEntry> entries = new ArrayList<>(bibDatabaseContext.getDatabase().getEntries());
+        entries.parallelStream().forEach(entry -> {
+            List<IntegrityMessage> messages = checkBibtexEntry(entry, activeCheckers);
+            if (!messages.isEmpty()) {
+                messageConsumer.accept(messages);
+            }
+        });
+        finishCheck(activeCheckers, entries);
+    }
+
+    private synchronized List<RegisteredChecker> prepareCheck() {
+        BibDatabaseMode mode = bibDatabaseContext.getMode();
+        if (mode != cachedMode) {
+            // some checkers depend on the mode
+            cachedMessages.clear();
+            cachedMode = mode;
+        }
 
+        List<RegisteredChecker> activeCheckers = new ArrayList<>(checkers);
+        activeCheckers.addAll(bibDatabaseContext.isBiblatexMode() ? biblatexCheckers : bibtexCheckers);
+        return activeCheckers;
+    }
+
+    private void finishCheck(List<RegisteredChecker> activeCheckers, List<BibEntry> checkedEntries) {
+        if (incremental) {
+            // forget removed entries
+            Set<String> ids = checkedEntries.stream().map(BibEntry::getId).collect(Collectors.toSet());
+            cachedMessages.keySet().retainAll(ids);
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            for (RegisteredChecker checker : activeCheckers) {
+                LOGGER.debug(checker.getName() + ": " + TimeUnit.NANOSECONDS.toMillis(checker.getTime()) + " ms");
+            }
+        }
+    }
+
+    private List<IntegrityMessage> checkBibtexEntry(BibEntry entry, List<RegisteredChecker> activeCheckers) {
         if (entry == null) {
-            return result;
+            return Collections.emptyList();
         }
 
-        result.addAll(new AuthorNameChecker().check(entry));
+        List<IntegrityMessage> result = null;
+        if (incremental && !changedEntries.remove(entry.getId())) {
+            result = cachedMessages.get(entry.getId());
+        }
 
-        // BibTeX only checkers
-        if (!bibDatabaseContext.isBiblatexMode()) {
-            result.addAll(new TitleChecker().check(entry));
-            result.addAll(new PagesChecker().check(entry));
-            result.addAll(new ASCIICharacterChecker().check(entry));
-            result.addAll(new NoBibtexFieldChecker().check(entry));
-        } else {
-            result.addAll(new BiblatexPagesChecker().check(entry));
-        }
-
-        result.addAll(new BracketChecker(FieldName.TITLE).check(entry));
-        result.addAll(new YearChecker().check(entry));
-        result.addAll(new BibtexkeyChecker().check(entry));
-        result.addAll(new EditionChecker(bibDatabaseContext).check(entry));
-        result.addAll(new NoteChecker(bibDatabaseContext).check(entry));
-        result.addAll(new HowpublishedChecker(bibDatabaseContext).check(entry));
-        result.addAll(new MonthChecker(bibDatabaseContext).check(entry));
-        result.addAll(new UrlChecker().check(entry));
-        result.addAll(new FileChecker(bibDatabaseContext, fileDirectoryPreferences).check(entry));
-        result.addAll(new TypeChecker().check(entry));
-        for (String journalField : InternalBibtexFields.getJournalNameFields()) {
-            result.addAll(new AbbreviationChecker(journalField).check(entry));
-        }
-        for (String bookNameField : InternalBibtexFields.getBookNameFields()) {
-            result.addAll(new AbbreviationChecker(bookNameField).check(entry));
-        }
-        result.addAll(new BibStringChecker().check(entry));
-        result.addAll(new HTMLCharacterChecker().check(entry));
-        result.addAll(new BooktitleChecker().check(entry));
-        result.addAll(new ISSNChecker().check(entry));
-        result.addAll(new ISBNChecker().check(entry));
-        result.addAll(new EntryLinkChecker(bibDatabaseContext.getDatabase()).check(entry));
+        if (result == null) {
+            result = new ArrayList<>();
+            for (RegisteredChecker checker : activeCheckers) {
+                if (checker.isCacheable()) {
+                    result.addAll(checker.check(entry));
+                }
+            }
+            if (incremental) {
+                cachedMessages.put(entry.getId(), result);
+            }
+        }
 
+        result = new ArrayList<>(result);
+        for (RegisteredChecker checker : activeCheckers) {
+            if (!checker.isCacheable()) {
+                result.addAll(checker.check(entry));
+            }
+        }
         return result;
     }
 
+    /**
+     * Returns the time spent in each checker since this object has been created.
+     *
+     * @return the time in milliseconds by the name of the checker
+     */
+    public Map<String, Long> getCheckerTimings() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (List<RegisteredChecker> list : Arrays.asList(checkers, bibtexCheckers, biblatexCheckers)) {
+            for (RegisteredChecker checker : list) {
+                timings.merge(checker.getName(), TimeUnit.NANOSECONDS.toMillis(checker.getTime()), Long::sum);
+            }
+        }
+        return timings;
+    }
+
 
     @FunctionalInterface
     public interface Checker {
         List<IntegrityMessage> check(BibEntry entry);
     }
+
+    private static class RegisteredChecker implements Checker {
+
+        private final Checker checker;
+        private final boolean cacheable;
+        private final LongAdder time = new LongAdder();
+
+
+        RegisteredChecker(Checker checker, boolean cacheable) {
+            this.checker = checker;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public List<IntegrityMessage> check(BibEntry entry) {
+            long start = System.nanoTime();
+            try {
+                return checker.check(entry);
+            } finally {
+                time.add(System.nanoTime() - start);
+            }
+        }
+
+        public boolean isCacheable() {
+            return cacheable;
+        }
+
+        public String getName() {
+            return checker.getClass().getSimpleName();
+        }
+
+        public long getTime() {
+            return time.sum();
+        }
+    }
 }
@@ -7,11 +7,20 @@ public class Abbreviation implements Comparable<Abbreviation> {
     private static final String SPLITTER = ";"; // elements after SPLITTER are not used at the moment
 
     private final String name;
-    private final String abbreviation;
+    private final String isoAbbreviation;
+    private final String medlineAbbreviation;
 
     public Abbreviation(String name, String abbreviation) {
         this.name = Objects.requireNonNull(name).trim();
-        this.abbreviation = Objects.requireNonNull(abbreviation).trim();
+
+        String trimmedAbbreviation = Objects.requireNonNull(abbreviation).trim();
+        if (trimmedAbbreviation.contains(SPLITTER)) {
+            String[] restParts = trimmedAbbreviation.split(SPLITTER);
+            this.isoAbbreviation = restParts[0].trim();
+        } else {
+            this.isoAbbreviation = trimmedAbbreviation;
+        }
+        this.medlineAbbreviation = isoAbbreviation.replace(".", " ").replace("  ", " ").trim();
     }
 
     public String getName() {
@@ -19,15 +28,11 @@ public class Abbreviation implements Comparable<Abbreviation> {
     }
 
     public String getIsoAbbreviation() {
-        if (abbreviation.contains(SPLITTER)) {
-            String[] restParts = abbreviation.split(SPLITTER);
-            return restParts[0].trim();
-        }
-        return abbreviation;
+        return isoAbbreviation;
     }
 
     public String getMedlineAbbreviation() {
-        return getIsoAbbreviation().replace(".", " ").replace("  ", " ").trim();
+        return medlineAbbreviation;
     }
 
     @Override
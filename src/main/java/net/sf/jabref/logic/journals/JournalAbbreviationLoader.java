@@ -3,9 +3,12 @@ package net.sf.jabref.logic.journals;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -18,24 +21,34 @@ public class JournalAbbreviationLoader {
     private static final String JOURNALS_FILE_BUILTIN = "/journals/journalList.txt";
     private static final String JOURNALS_IEEE_ABBREVIATION_LIST_WITH_CODE = "/journals/IEEEJournalListCode.txt";
     private static final String JOURNALS_IEEE_ABBREVIATION_LIST_WITH_TEXT = "/journals/IEEEJournalListText.txt";
-    private JournalAbbreviationRepository journalAbbrev;
+
+    /**
+     * The parsed journal lists by resource name or file path. Changing the preferences thus only reads the lists
+     * which were not read before or whose files changed since.
+     */
+    private static final Map<String, ParsedList> PARSED_LISTS = new ConcurrentHashMap<>();
+
+    /**
+     * Replaced by a completely filled repository on each update, so that readers need no locking.
+     */
+    private volatile JournalAbbreviationRepository journalAbbrev;
 
 
     public void update(JournalAbbreviationPreferences journalAbbreviationPreferences) {
-        journalAbbrev = new JournalAbbreviationRepository();
+        JournalAbbreviationRepository repository = new JournalAbbreviationRepository();
 
         // the order of reading the journal lists is important
         // method: last added abbreviation wins
         // for instance, in the personal list one can overwrite abbreviations in the built in list
 
         // Read builtin list
-        journalAbbrev.addEntries(readJournalListFromResource(JOURNALS_FILE_BUILTIN));
+        repository.addEntries(getCachedResource(JOURNALS_FILE_BUILTIN));
 
         // read IEEE list
         if (journalAbbreviationPreferences.isUseIEEEAbbreviations()) {
-            journalAbbrev.addEntries(getOfficialIEEEAbbreviations());
+            repository.addEntries(getCachedResource(JOURNALS_IEEE_ABBREVIATION_LIST_WITH_CODE));
         } else {
-            journalAbbrev.addEntries(getStandardIEEEAbbreviations());
+            repository.addEntries(getCachedResource(JOURNALS_IEEE_ABBREVIATION_LIST_WITH_TEXT));
         }
 
         // Read external lists
@@ -44,7 +57,7 @@ public class JournalAbbreviationLoader {
             Collections.reverse(lists);
             for (String filename : lists) {
                 try {
-                    journalAbbrev.addEntries(readJournalListFromFile(new File(filename)));
+                    repository.addEntries(getCachedFile(new File(filename), null));
                 } catch (FileNotFoundException e) {
                     // The file couldn't be found... should we tell anyone?
                     LOGGER.info("Cannot find external journal list file " + filename, e);
@@ -56,14 +69,37 @@ public class JournalAbbreviationLoader {
         String personalJournalList = journalAbbreviationPreferences.getPersonalJournalLists();
         if ((personalJournalList != null) && !personalJournalList.trim().isEmpty()) {
             try {
-                journalAbbrev.addEntries(
-                        readJournalListFromFile(new File(personalJournalList),
-                                journalAbbreviationPreferences.getDefaultEncoding()));
+                repository.addEntries(getCachedFile(new File(personalJournalList),
+                        journalAbbreviationPreferences.getDefaultEncoding()));
             } catch (FileNotFoundException e) {
                 LOGGER.info("Personal journal list file '" + personalJournalList + "' not found.", e);
             }
         }
 
+        journalAbbrev = repository;
+    }
+
+    private static List<Abbreviation> getCachedResource(String resource) {
+        return PARSED_LISTS.computeIfAbsent(resource,
+                key -> new ParsedList(0, 0, readJournalListFromResource(resource))).abbreviations;
+    }
+
+    /**
+     * @param encoding the encoding of the file, or null to use the platform default
+     */
+    private static List<Abbreviation> getCachedFile(File file, Charset encoding) throws FileNotFoundException {
+        String key = file.getAbsolutePath() + (encoding == null ? "" : "|" + encoding.name());
+        long lastModified = file.lastModified();
+        long length = file.length();
+        ParsedList cached = PARSED_LISTS.get(key);
+        if ((cached != null) && (cached.lastModified == lastModified) && (cached.length == length)) {
+            return cached.abbreviations;
+        }
+
+        List<Abbreviation> abbreviations = encoding == null ? readJournalListFromFile(file) : readJournalListFromFile(
+                file, encoding);
+        PARSED_LISTS.put(key, new ParsedList(lastModified, length, abbreviations));
+        return abbreviations;
     }
 
     public static List<Abbreviation> getOfficialIEEEAbbreviations() {
@@ -79,10 +115,12 @@ public class JournalAbbreviationLoader {
     }
 
     public JournalAbbreviationRepository getRepository(JournalAbbreviationPreferences journalAbbreviationPreferences) {
-        if (journalAbbrev == null) {
+        JournalAbbreviationRepository repository = journalAbbrev;
+        if (repository == null) {
             update(journalAbbreviationPreferences);
+            repository = journalAbbrev;
         }
-        return journalAbbrev;
+        return repository;
     }
 
     public static List<Abbreviation> readJournalListFromResource(String resource) {
@@ -104,4 +142,19 @@ public class JournalAbbreviationLoader {
         parser.readJournalListFromFile(Objects.requireNonNull(file), Objects.requireNonNull(encoding));
         return parser.getAbbreviations();
     }
+
+
+    private static class ParsedList {
+
+        private final long lastModified;
+        private final long length;
+        private final List<Abbreviation> abbreviations;
+
+
+        ParsedList(long lastModified, long length, List<Abbreviation> abbreviations) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.abbreviations = Collections.unmodifiableList(new ArrayList<>(abbreviations));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.journals;
 
+import java.text.Normalizer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -15,12 +16,21 @@ import org.apache.commons.logging.LogFactory;
 
 /**
  * A repository for all journal abbreviations, including add and find methods.
+ * <p>
+ * Names which are not known exactly (ignoring case) are looked up in their normalized form: without diacritics,
+ * punctuation and a leading "The", with "&" written as "and" and with single spaces. Thus "The Journal of Physics:
+ * Condensed Matter" finds the abbreviation of "Journal of Physics - Condensed Matter".
+ * <p>
+ * The repository is not synchronized. It is filled completely before it is handed out by the
+ * {@link JournalAbbreviationLoader} and may then be read by several threads at once.
  */
 public class JournalAbbreviationRepository {
 
     private final Map<String, Abbreviation> fullNameLowerCase2Abbreviation = new HashMap<>();
     private final Map<String, Abbreviation> isoLowerCase2Abbreviation = new HashMap<>();
     private final Map<String, Abbreviation> medlineLowerCase2Abbreviation = new HashMap<>();
+    private final Map<String, Abbreviation> normalizedFullName2Abbreviation = new HashMap<>();
+    private final Map<String, Abbreviation> normalizedAbbreviation2Abbreviation = new HashMap<>();
 
     private final SortedSet<Abbreviation> abbreviations = new TreeSet<>();
 
@@ -31,14 +41,21 @@ public class JournalAbbreviationRepository {
     }
 
     public boolean isKnownName(String journalName) {
-        String nameKey = Objects.requireNonNull(journalName).trim().toLowerCase(Locale.ENGLISH);
-        return (fullNameLowerCase2Abbreviation.containsKey(nameKey)) || (isoLowerCase2Abbreviation.containsKey(nameKey))
-                || (medlineLowerCase2Abbreviation.containsKey(nameKey));
+        return getAbbreviation(journalName).isPresent();
     }
 
     public boolean isAbbreviatedName(String journalName) {
         String nameKey = Objects.requireNonNull(journalName).trim().toLowerCase(Locale.ENGLISH);
-        return (isoLowerCase2Abbreviation.containsKey(nameKey)) || (medlineLowerCase2Abbreviation.containsKey(nameKey));
+        if ((isoLowerCase2Abbreviation.containsKey(nameKey)) || (medlineLowerCase2Abbreviation.containsKey(nameKey))) {
+            return true;
+        }
+        if (fullNameLowerCase2Abbreviation.containsKey(nameKey)) {
+            return false;
+        }
+
+        String normalizedKey = normalize(journalName);
+        return !normalizedFullName2Abbreviation.containsKey(normalizedKey)
+                && normalizedAbbreviation2Abbreviation.containsKey(normalizedKey);
     }
 
     /**
@@ -48,6 +65,23 @@ public class JournalAbbreviationRepository {
      * @return The abbreviated name
      */
     public Optional<Abbreviation> getAbbreviation(String journalName) {
+        Optional<Abbreviation> exactMatch = getExactAbbreviation(journalName);
+        if (exactMatch.isPresent()) {
+            return exactMatch;
+        }
+
+        String normalizedKey = normalize(journalName);
+        if (normalizedKey.isEmpty()) {
+            return Optional.empty();
+        }
+        Abbreviation abbreviation = normalizedFullName2Abbreviation.get(normalizedKey);
+        if (abbreviation == null) {
+            abbreviation = normalizedAbbreviation2Abbreviation.get(normalizedKey);
+        }
+        return Optional.ofNullable(abbreviation);
+    }
+
+    private Optional<Abbreviation> getExactAbbreviation(String journalName) {
         String nameKey = Objects.requireNonNull(journalName).toLowerCase(Locale.ENGLISH).trim();
 
         if (fullNameLowerCase2Abbreviation.containsKey(nameKey)) {
@@ -61,11 +95,44 @@ public class JournalAbbreviationRepository {
         }
     }
 
+    /**
+     * Returns the name in lower case without diacritics, punctuation and leading "The". Sequences of other characters
+     * are replaced by a single space.
+     */
+    static String normalize(String journalName) {
+        String name = Normalizer.normalize(journalName, Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(name.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c) || (c == '&')) {
+                if (pendingSpace && (result.length() > 0)) {
+                    result.append(' ');
+                }
+                pendingSpace = false;
+                if (c == '&') {
+                    result.append("and");
+                    pendingSpace = true;
+                } else {
+                    result.append(Character.toLowerCase(c));
+                }
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                pendingSpace = true;
+            }
+        }
+
+        if ((result.length() > 4) && (result.indexOf("the ") == 0)) {
+            return result.substring(4);
+        }
+        return result.toString();
+    }
+
     public void addEntry(Abbreviation abbreviation) {
         Objects.requireNonNull(abbreviation);
 
-        if (isKnownName(abbreviation.getName())) {
-            Abbreviation previous = getAbbreviation(abbreviation.getName()).get();
+        Optional<Abbreviation> known = getExactAbbreviation(abbreviation.getName());
+        if (known.isPresent()) {
+            Abbreviation previous = known.get();
             abbreviations.remove(previous);
             LOGGER.info("Duplicate journal abbreviation - old one will be overwritten by new one\nOLD: "
                     + previous + "\nNEW: " + abbreviation);
@@ -77,6 +144,9 @@ public class JournalAbbreviationRepository {
         isoLowerCase2Abbreviation.put(abbreviation.getIsoAbbreviation().toLowerCase(Locale.ENGLISH), abbreviation);
         medlineLowerCase2Abbreviation.put(abbreviation.getMedlineAbbreviation().toLowerCase(Locale.ENGLISH),
                 abbreviation);
+        normalizedFullName2Abbreviation.put(normalize(abbreviation.getName()), abbreviation);
+        normalizedAbbreviation2Abbreviation.put(normalize(abbreviation.getIsoAbbreviation()), abbreviation);
+        normalizedAbbreviation2Abbreviation.put(normalize(abbreviation.getMedlineAbbreviation()), abbreviation);
     }
 
     public void addEntries(List<Abbreviation> abbreviationsToAdd) {
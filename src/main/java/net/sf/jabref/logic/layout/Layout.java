@@ -97,22 +97,24 @@ public class Layout {
      */
     public String doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
         StringBuilder sb = new StringBuilder(100);
+        doLayout(bibtex, database, highlightPattern, sb);
+        return sb.toString();
+    }
 
+    /**
+     * Appends the processed bibtex entry to the given buffer. This allows to reuse one buffer for many entries, e.g.,
+     * when exporting.
+     *
+     * @see #doLayout(BibEntry, BibDatabase, Optional)
+     */
+    public void doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern, StringBuilder sb) {
         for (LayoutEntry layoutEntry : layoutEntries) {
-            String fieldText = layoutEntry.doLayout(bibtex, database, highlightPattern);
-
             // 2005.05.05 M. Alver
-            // The following change means we treat null fields as "". This is to fix the
+            // We treat null fields as "". This is to fix the
             // problem of whitespace disappearing after missing fields. Hoping there are
             // no side effects.
-            if (fieldText == null) {
-                fieldText = "";
-            }
-
-            sb.append(fieldText);
+            layoutEntry.doLayout(bibtex, database, highlightPattern, sb);
         }
-
-        return sb.toString();
     }
 
     /**
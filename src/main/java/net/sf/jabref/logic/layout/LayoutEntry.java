@@ -95,6 +95,12 @@ class LayoutEntry {
 
     private List<LayoutEntry> layoutEntries;
 
+    // the field names of a field or group block, split once instead of for every entry
+    private String[] fieldNames;
+
+    // true if all fields of a field block must be present, false if any one suffices
+    private boolean allFieldsRequired;
+
     private final int type;
 
     private final List<String> invalidFormatter = new ArrayList<>();
@@ -136,6 +142,16 @@ class LayoutEntry {
 
         type = layoutType;
         text = blockEnd;
+        if (type == LayoutHelper.IS_GROUP_START) {
+            fieldNames = new String[] {text};
+        } else if (text.matches(".*(;|(\\&+)).*")) {
+            // split the strings along &, && or ; for AND formatter
+            fieldNames = text.split("\\s*(;|(\\&+))\\s*");
+            allFieldsRequired = true;
+        } else {
+            // split the strings along |, ||  for OR formatter
+            fieldNames = text.split("\\s*(\\|+)\\s*");
+        }
         List<StringInt> blockEntries = null;
         for (StringInt parsedEntry : parsedEntries.subList(1, parsedEntries.size() - 1)) {
             switch (parsedEntry.i) {
@@ -251,40 +267,50 @@ class LayoutEntry {
         return fieldEntry;
     }
 
-    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
-        Optional<String> field;
-        if (type == LayoutHelper.IS_GROUP_START) {
-            field = BibDatabase.getResolvedField(text, bibtex, database);
-        } else if (text.matches(".*(;|(\\&+)).*")) {
-            // split the strings along &, && or ; for AND formatter
-            String[] parts = text.split("\\s*(;|(\\&+))\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                field = BibDatabase.getResolvedField(part, bibtex, database);
-                if (!field.isPresent()) {
-                    break;
-                }
+    /**
+     * Appends the processed entry to the given buffer, which avoids building an intermediate string for field and
+     * group blocks. Missing fields are treated as "".
+     */
+    public void doLayout(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern, StringBuilder sb) {
+        if ((type == LayoutHelper.IS_FIELD_START) || (type == LayoutHelper.IS_GROUP_START)) {
+            appendFieldOrGroupStart(bibtex, database, highlightPattern, sb);
+        } else {
+            String fieldText = doLayout(bibtex, database, highlightPattern);
+            if (fieldText != null) {
+                sb.append(fieldText);
             }
+        }
+    }
+
+    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern) {
+        StringBuilder sb = new StringBuilder(100);
+        if (appendFieldOrGroupStart(bibtex, database, highlightPattern, sb)) {
+            return sb.toString();
         } else {
-            // split the strings along |, ||  for OR formatter
-            String[] parts = text.split("\\s*(\\|+)\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                field = BibDatabase.getResolvedField(part, bibtex, database);
-                if (field.isPresent()) {
-                    break;
-                }
+            return null;
+        }
+    }
+
+    /**
+     * @return false if the block is skipped, because its field is missing or its group did not change
+     */
+    private boolean appendFieldOrGroupStart(BibEntry bibtex, BibDatabase database, Optional<Pattern> highlightPattern,
+            StringBuilder sb) {
+        Optional<String> field = Optional.empty();
+        for (String fieldName : fieldNames) {
+            field = BibDatabase.getResolvedField(fieldName, bibtex, database);
+            if (field.isPresent() != allFieldsRequired) {
+                break;
             }
         }
 
         if ((!field.isPresent()) || ((type == LayoutHelper.IS_GROUP_START)
                 && field.get().equalsIgnoreCase(LayoutHelper.getCurrentGroup()))) {
-            return null;
+            return false;
         } else {
             if (type == LayoutHelper.IS_GROUP_START) {
                 LayoutHelper.setCurrentGroup(field.get());
             }
-            StringBuilder sb = new StringBuilder(100);
             String fieldText;
             boolean previousSkipped = false;
 
@@ -332,7 +358,7 @@ class LayoutEntry {
                 previousSkipped = false;
             }
 
-            return sb.toString();
+            return true;
         }
     }
 
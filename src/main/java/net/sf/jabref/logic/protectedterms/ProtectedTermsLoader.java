@@ -23,6 +23,13 @@ public class ProtectedTermsLoader {
 
     private final List<ProtectedTermsList> mainList = new ArrayList<>();
 
+    /**
+     * The matcher for the terms of the enabled lists, and the lists and their sizes it was built from
+     */
+    private ProtectedTermsMatcher matcher;
+    private List<ProtectedTermsList> matcherLists = new ArrayList<>();
+    private int[] matcherListSizes = new int[0];
+
     private static final Map<String, String> internalLists = new HashMap<>();
 
     static {
@@ -42,8 +49,9 @@ public class ProtectedTermsLoader {
         update(preferences);
     }
 
-    public void update(ProtectedTermsPreferences preferences) {
+    public synchronized void update(ProtectedTermsPreferences preferences) {
         mainList.clear();
+        matcher = null;
 
         // Read internal lists
         for (String filename : preferences.getEnabledInternalTermLists()) {
@@ -95,12 +103,13 @@ public class ProtectedTermsLoader {
         }
     }
 
-    public void reloadProtectedTermsList(ProtectedTermsList list) {
+    public synchronized void reloadProtectedTermsList(ProtectedTermsList list) {
         try {
             ProtectedTermsList newList = readProtectedTermsListFromFile(new File(list.getLocation()), list.isEnabled());
             int index = mainList.indexOf(list);
             if (index >= 0) {
                 mainList.set(index, newList);
+                matcher = null;
             } else {
                 LOGGER.warn("Problem reloading protected terms file");
             }
@@ -124,7 +133,32 @@ public class ProtectedTermsLoader {
         return new ArrayList<>(result);
     }
 
-    public void addProtectedTermsListFromFile(String fileName, boolean enabled) {
+    /**
+     * Returns a matcher for the terms of all enabled lists. It is built only once and built again if a list is added,
+     * removed, enabled, disabled or gets new terms.
+     */
+    public synchronized ProtectedTermsMatcher getProtectedTermsMatcher() {
+        List<ProtectedTermsList> enabledLists = new ArrayList<>();
+        for (ProtectedTermsList list : mainList) {
+            if (list.isEnabled()) {
+                enabledLists.add(list);
+            }
+        }
+
+        boolean upToDate = (matcher != null) && (enabledLists.size() == matcherLists.size());
+        for (int i = 0; upToDate && (i < enabledLists.size()); i++) {
+            upToDate = (enabledLists.get(i) == matcherLists.get(i))
+                    && (enabledLists.get(i).getTermList().size() == matcherListSizes[i]);
+        }
+        if (!upToDate) {
+            matcher = new ProtectedTermsMatcher(getProtectedTerms());
+            matcherLists = enabledLists;
+            matcherListSizes = enabledLists.stream().mapToInt(list -> list.getTermList().size()).toArray();
+        }
+        return matcher;
+    }
+
+    public synchronized void addProtectedTermsListFromFile(String fileName, boolean enabled) {
         try {
             mainList.add(readProtectedTermsListFromFile(new File(fileName), enabled));
         } catch (FileNotFoundException e) {
@@ -154,12 +188,13 @@ public class ProtectedTermsLoader {
         return parser.getProtectTermsList(enabled, false);
     }
 
-    public boolean removeProtectedTermsList(ProtectedTermsList termList) {
+    public synchronized boolean removeProtectedTermsList(ProtectedTermsList termList) {
         termList.setEnabled(false);
         return mainList.remove(termList);
     }
 
-    public ProtectedTermsList addNewProtectedTermsList(String newDescription, String newLocation, boolean enabled) {
+    public synchronized ProtectedTermsList addNewProtectedTermsList(String newDescription, String newLocation,
+            boolean enabled) {
         Objects.requireNonNull(newDescription);
         Objects.requireNonNull(newLocation);
         ProtectedTermsList resultingList = new ProtectedTermsList(newDescription, new ArrayList<>(), newLocation);
@@ -0,0 +1,133 @@
+package net.sf.jabref.logic.protectedterms;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encloses all occurrences of a fixed set of terms in braces.
+ * <p>
+ * A term is only protected if it is at the start of the text or follows one of the characters - / [ ( } " or a space,
+ * or directly follows another protected term, and if it is at the end of the text or is followed by something else
+ * than a letter or }. Thus, already protected terms are not protected again. Where terms overlap, the longest one wins.
+ * <p>
+ * The terms are compiled into a prefix tree once, so that all of them are found in one scan of the text. Instances are
+ * immutable and may be used by several threads at once.
+ */
+public class ProtectedTermsMatcher {
+
+    private static final String TERM_PREFIX_CHARACTERS = "- /[(}\"";
+
+    private final Node root = new Node();
+
+
+    public ProtectedTermsMatcher(Collection<String> terms) {
+        for (String term : terms) {
+            if (!term.isEmpty()) {
+                add(term);
+            }
+        }
+    }
+
+    private void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+        }
+        node.term = true;
+    }
+
+    /**
+     * Returns the text with all terms enclosed in braces.
+     */
+    public String protect(String text) {
+        // Find the longest term at each position where a term may start. This includes the end of another term, as
+        // it will be followed by a closing brace.
+        List<Match> matches = new ArrayList<>();
+        boolean[] termEnds = new boolean[text.length() + 1];
+        for (int start = 0; start < text.length(); start++) {
+            if ((start > 0) && !termEnds[start] && (TERM_PREFIX_CHARACTERS.indexOf(text.charAt(start - 1)) < 0)) {
+                continue;
+            }
+            int end = findLongestTerm(text, start);
+            if (end > start) {
+                matches.add(new Match(start, end));
+                termEnds[end] = true;
+            }
+        }
+        if (matches.isEmpty()) {
+            return text;
+        }
+
+        // Longer terms take precedence over overlapping shorter ones
+        matches.sort(Comparator.comparingInt((Match match) -> match.end - match.start).reversed());
+        boolean[] covered = new boolean[text.length()];
+        List<Match> selected = new ArrayList<>();
+        for (Match match : matches) {
+            if (!covered[match.start] && !covered[match.end - 1]) {
+                for (int i = match.start; i < match.end; i++) {
+                    covered[i] = true;
+                }
+                selected.add(match);
+            }
+        }
+        selected.sort(Comparator.comparingInt(match -> match.start));
+
+        StringBuilder result = new StringBuilder(text.length() + (2 * selected.size()));
+        int position = 0;
+        for (Match match : selected) {
+            result.append(text, position, match.start).append('{').append(text, match.start, match.end).append('}');
+            position = match.end;
+        }
+        return result.append(text, position, text.length()).toString();
+    }
+
+    /**
+     * Returns the end of the longest term starting at the given position which is not followed by a letter or }, or
+     * the start position itself if there is none.
+     */
+    private int findLongestTerm(String text, int start) {
+        int end = start;
+        Node node = root;
+        for (int i = start; i < text.length(); i++) {
+            node = node.children.get(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.term && isTermEnd(text, i + 1)) {
+                end = i + 1;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isTermEnd(String text, int position) {
+        if (position == text.length()) {
+            return true;
+        }
+        char next = text.charAt(position);
+        return (next != '}') && !(((next >= 'a') && (next <= 'z')) || ((next >= 'A') && (next <= 'Z')));
+    }
+
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean term;
+    }
+
+    private static class Match {
+
+        private final int start;
+        private final int end;
+
+
+        Match(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package net.sf.jabref.logic.search;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabases;
@@ -35,7 +34,7 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        List<BibEntry> matchEntries = query.getMatches(database);
         return BibDatabases.purgeEmptyEntries(matchEntries);
     }
 
@@ -6,6 +6,7 @@ import java.util.Objects;
 
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.search.rules.describer.SearchDescribers;
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.search.SearchMatcher;
 import net.sf.jabref.model.search.rules.ContainBasedSearchRule;
@@ -40,6 +41,14 @@ public class SearchQuery implements SearchMatcher {
         return rule.applyRule(getQuery(), entry);
     }
 
+    /**
+     * Returns all entries of the given database matching this query, in the order of the database.
+     * Uses the full text index of the database where possible instead of checking every entry.
+     */
+    public List<BibEntry> getMatches(BibDatabase database) {
+        return rule.getMatches(getQuery(), database);
+    }
+
     public boolean isValid() {
         return rule.validateSearchStrings(getQuery());
     }
@@ -0,0 +1,77 @@
+package net.sf.jabref.logic.util.io;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * A prefix tree of the BibTeX keys of a list of entries, used to find the entry a file name belongs to without
+ * comparing the name with every key.
+ * <p>
+ * If several entries have the same key, the first one in the list is found, as with a linear search. The keys are
+ * stored in Unicode normalization form C.
+ */
+class CiteKeyTrie {
+
+    private final Node root = new Node();
+
+
+    CiteKeyTrie(List<BibEntry> entries) {
+        for (int i = 0; i < entries.size(); i++) {
+            Optional<String> citeKey = entries.get(i).getCiteKeyOptional();
+            if (citeKey.isPresent() && !citeKey.get().isEmpty()) {
+                add(Normalizer.normalize(citeKey.get(), Normalizer.Form.NFC), i);
+            }
+        }
+    }
+
+    private void add(String key, int entryIndex) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.entryIndex < 0) {
+            node.entryIndex = entryIndex;
+        }
+    }
+
+    /**
+     * Returns the index of the first entry whose key equals the given name, or -1 if there is none.
+     */
+    int findExact(String name) {
+        Node node = root;
+        for (int i = 0; (i < name.length()) && (node != null); i++) {
+            node = node.children.get(name.charAt(i));
+        }
+        return node == null ? -1 : node.entryIndex;
+    }
+
+    /**
+     * Returns the index of the first entry whose key is a prefix of the given name, or -1 if there is none.
+     */
+    int findPrefix(String name) {
+        int result = -1;
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.children.get(name.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if ((node.entryIndex >= 0) && ((result < 0) || (node.entryIndex < result))) {
+                result = node.entryIndex;
+            }
+        }
+        return result;
+    }
+
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private int entryIndex = -1;
+    }
+}
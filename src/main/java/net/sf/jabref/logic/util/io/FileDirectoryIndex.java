@@ -0,0 +1,468 @@
+package net.sf.jabref.logic.util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+/**
+ * An index of all files below a directory, which is kept in memory and shared by all features searching that
+ * directory (automatic file links, regular expression based file search and the search for unlinked files).
+ * <p>
+ * A directory is listed again on {@link #refresh()} only if its modification time changed, which is the case if files
+ * were added to, removed from or renamed in it. Thus, a refresh of an unchanged tree reads the attributes of each
+ * directory once instead of listing all files again. The size and modification time of a file are updated when its
+ * directory is listed again.
+ * <p>
+ * If a cache directory is set, an index is saved there after a refresh found changes, and loaded from there when its
+ * directory is used for the first time in a session. Hence, the first refresh after a start lists only the directories
+ * which changed in the meantime.
+ * <p>
+ * Symbolic links are followed, so a linked directory is indexed like any other subdirectory. A link to a directory
+ * containing it is indexed as an empty directory, as following it would never end.
+ */
+public class FileDirectoryIndex {
+
+    private static final Log LOGGER = LogFactory.getLog(FileDirectoryIndex.class);
+
+    /**
+     * A directory modified so shortly before it was listed may change again without a different modification time,
+     * as some file systems store it in seconds only. Such a directory is listed again on the next refresh.
+     */
+    private static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+    /**
+     * The version of the format of saved indexes, which has to be increased whenever the format changes
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Cache<Path, FileDirectoryIndex> INDEXES = CacheBuilder.newBuilder().maximumSize(16).build();
+
+    private static volatile Path cacheDirectory;
+
+    private final IndexedDirectory root;
+
+    /**
+     * All indexed directories by their path
+     */
+    private volatile Map<Path, IndexedDirectory> directories = Collections.emptyMap();
+
+
+    private FileDirectoryIndex(Path rootDirectory) {
+        this.root = new IndexedDirectory(rootDirectory, false);
+    }
+
+    /**
+     * Sets the directory in which the indexes are saved between sessions. If the directory is null, which is the
+     * default, an index starts empty in each session.
+     */
+    public static void setCacheDirectory(Path directory) {
+        cacheDirectory = directory;
+    }
+
+    /**
+     * Returns the index of the given directory. On first use, it is loaded from the cache directory or created empty,
+     * call {@link #refresh()} before reading it.
+     */
+    public static FileDirectoryIndex forDirectory(File directory) {
+        Path path = directory.toPath().toAbsolutePath().normalize();
+        try {
+            return INDEXES.get(path, () -> load(path));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Reads the saved index of the given directory, or creates an empty index if there is none.
+     * <p>
+     * This method is package private, because of FileDirectoryIndexTest
+     */
+    static FileDirectoryIndex load(Path path) {
+        FileDirectoryIndex index = new FileDirectoryIndex(path);
+        Path directory = cacheDirectory;
+        if (directory == null) {
+            return index;
+        }
+        Path file = directory.resolve(getFileName(path));
+        if (!Files.exists(file)) {
+            return index;
+        }
+
+        try (DataInputStream inputStream = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if ((inputStream.readInt() == FORMAT_VERSION) && path.toString().equals(inputStream.readUTF())) {
+                readDirectory(inputStream, index.root);
+                Map<Path, IndexedDirectory> directories = new HashMap<>();
+                collectDirectories(index.root, directories);
+                index.directories = directories;
+                return index;
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not read saved index " + file, e);
+        }
+        return new FileDirectoryIndex(path);
+    }
+
+    private static String getFileName(Path path) {
+        return Hashing.sha256().hashString(path.toString(), StandardCharsets.UTF_8).toString();
+    }
+
+    private static void readDirectory(DataInputStream inputStream, IndexedDirectory directory) throws IOException {
+        long lastModified = inputStream.readLong();
+        int fileCount = inputStream.readInt();
+        List<IndexedFile> files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            files.add(new IndexedFile(directory, inputStream.readUTF(), inputStream.readUTF(), inputStream.readLong(),
+                    inputStream.readLong()));
+        }
+        int subdirectoryCount = inputStream.readInt();
+        List<IndexedDirectory> subdirectories = new ArrayList<>(subdirectoryCount);
+        for (int i = 0; i < subdirectoryCount; i++) {
+            String name = inputStream.readUTF();
+            IndexedDirectory subdirectory = new IndexedDirectory(directory.path.resolve(name),
+                    inputStream.readBoolean());
+            readDirectory(inputStream, subdirectory);
+            subdirectories.add(subdirectory);
+        }
+        directory.update(lastModified, files, subdirectories);
+    }
+
+    /**
+     * Writes the index to the cache directory. The file is replaced at once, so that an index is never loaded from a
+     * partly written file.
+     */
+    private void save(Path directory) {
+        String fileName = getFileName(root.path);
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, fileName, ".tmp");
+            try {
+                try (DataOutputStream outputStream = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    outputStream.writeInt(FORMAT_VERSION);
+                    outputStream.writeUTF(root.path.toString());
+                    writeDirectory(outputStream, root);
+                }
+                Files.move(temporaryFile, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not save index of " + root.path, e);
+        }
+    }
+
+    private static void writeDirectory(DataOutputStream outputStream, IndexedDirectory directory) throws IOException {
+        outputStream.writeLong(directory.lastModified);
+        List<IndexedFile> files = directory.files;
+        outputStream.writeInt(files.size());
+        for (IndexedFile file : files) {
+            outputStream.writeUTF(file.name);
+            outputStream.writeUTF(file.normalizedBaseName);
+            outputStream.writeLong(file.size);
+            outputStream.writeLong(file.lastModified);
+        }
+        List<IndexedDirectory> subdirectories = directory.subdirectories;
+        outputStream.writeInt(subdirectories.size());
+        for (IndexedDirectory subdirectory : subdirectories) {
+            outputStream.writeUTF(subdirectory.getName());
+            outputStream.writeBoolean(subdirectory.link);
+            writeDirectory(outputStream, subdirectory);
+        }
+    }
+
+    /**
+     * Brings the index up to date with the file system.
+     */
+    public void refresh() {
+        refresh(() -> false);
+    }
+
+    /**
+     * Brings the index up to date with the file system unless the refresh is canceled. If canceled, the directories
+     * which have not been visited yet keep their previous contents.
+     */
+    public synchronized void refresh(BooleanSupplier canceled) {
+        Path realRoot;
+        try {
+            realRoot = root.path.toRealPath();
+        } catch (IOException e) {
+            // The directory was removed or cannot be read
+            realRoot = root.path;
+        }
+        boolean changed = refresh(root, realRoot, new HashSet<>(), canceled);
+
+        Map<Path, IndexedDirectory> newDirectories = new HashMap<>();
+        collectDirectories(root, newDirectories);
+        directories = newDirectories;
+
+        Path directory = cacheDirectory;
+        if (changed && (directory != null)) {
+            save(directory);
+        }
+    }
+
+    /**
+     * @param realPath the path of the directory with all symbolic links resolved
+     * @param ancestors the real paths of the directories containing the directory
+     * @return whether the directory or one below it changed
+     */
+    private static boolean refresh(IndexedDirectory directory, Path realPath, Set<Path> ancestors,
+            BooleanSupplier canceled) {
+        if (canceled.getAsBoolean()) {
+            return false;
+        }
+        if (ancestors.contains(realPath)) {
+            // a link to a directory containing it
+            boolean changed = !directory.subdirectories.isEmpty() || !directory.files.isEmpty();
+            directory.update(-1, Collections.emptyList(), Collections.emptyList());
+            return changed;
+        }
+
+        long lastModified;
+        try {
+            lastModified = Files.readAttributes(directory.path, BasicFileAttributes.class).lastModifiedTime()
+                    .toMillis();
+        } catch (IOException e) {
+            // The directory was removed or cannot be read
+            boolean changed = directory.lastModified != -1;
+            directory.update(-1, Collections.emptyList(), Collections.emptyList());
+            return changed;
+        }
+        boolean changed = false;
+        if (lastModified != directory.lastModified) {
+            list(directory, lastModified);
+            changed = true;
+        }
+
+        ancestors.add(realPath);
+        for (IndexedDirectory subdirectory : directory.subdirectories) {
+            changed |= refresh(subdirectory, getRealPath(subdirectory, realPath), ancestors, canceled);
+        }
+        ancestors.remove(realPath);
+        return changed;
+    }
+
+    /**
+     * Resolves the path of the directory, which is only necessary if it is a symbolic link itself, as the real path of
+     * the directory containing it is known.
+     */
+    private static Path getRealPath(IndexedDirectory directory, Path realParent) {
+        if (!directory.link) {
+            return realParent.resolve(directory.getName());
+        }
+        try {
+            return directory.path.toRealPath();
+        } catch (IOException e) {
+            // a broken link is skipped when reading its attributes
+            return directory.path;
+        }
+    }
+
+    private static void collectDirectories(IndexedDirectory directory, Map<Path, IndexedDirectory> directories) {
+        directories.put(directory.path, directory);
+        for (IndexedDirectory subdirectory : directory.subdirectories) {
+            collectDirectories(subdirectory, directories);
+        }
+    }
+
+    private static void list(IndexedDirectory directory, long lastModified) {
+        Map<String, IndexedDirectory> previousSubdirectories = new HashMap<>();
+        for (IndexedDirectory subdirectory : directory.subdirectories) {
+            previousSubdirectories.put(subdirectory.getName(), subdirectory);
+        }
+
+        List<IndexedFile> files = new ArrayList<>();
+        List<IndexedDirectory> subdirectories = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.path)) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes;
+                boolean link;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    link = attributes.isSymbolicLink();
+                    if (link) {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    }
+                } catch (IOException e) {
+                    // e.g., a broken link or a file removed in the meantime
+                    continue;
+                }
+                String name = path.getFileName().toString();
+                if (attributes.isDirectory()) {
+                    IndexedDirectory subdirectory = previousSubdirectories.get(name);
+                    if ((subdirectory == null) || (subdirectory.link != link)) {
+                        subdirectory = new IndexedDirectory(path, link);
+                    }
+                    subdirectories.add(subdirectory);
+                } else if (attributes.isRegularFile()) {
+                    files.add(new IndexedFile(directory, name, attributes.size(),
+                            attributes.lastModifiedTime().toMillis()));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Cannot list directory " + directory.path, e);
+            return;
+        }
+
+        boolean recentlyModified = (System.currentTimeMillis() - lastModified) < MODIFICATION_TIME_RESOLUTION;
+        directory.update(recentlyModified ? -1 : lastModified, files, subdirectories);
+    }
+
+    public IndexedDirectory getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the indexed directory with the given path if it is below the root of this index.
+     */
+    public Optional<IndexedDirectory> getDirectory(File directory) {
+        return Optional.ofNullable(directories.get(directory.toPath().toAbsolutePath().normalize()));
+    }
+
+    /**
+     * Returns all files below the root directory.
+     */
+    public List<IndexedFile> getFiles() {
+        List<IndexedFile> files = new ArrayList<>();
+        collectFiles(root, files);
+        return files;
+    }
+
+    private static void collectFiles(IndexedDirectory directory, List<IndexedFile> files) {
+        files.addAll(directory.files);
+        for (IndexedDirectory subdirectory : directory.subdirectories) {
+            collectFiles(subdirectory, files);
+        }
+    }
+
+
+    public static class IndexedDirectory {
+
+        private final Path path;
+        private final boolean link;
+        private volatile long lastModified = -1;
+        private volatile List<IndexedFile> files = Collections.emptyList();
+        private volatile List<IndexedDirectory> subdirectories = Collections.emptyList();
+
+
+        private IndexedDirectory(Path path, boolean link) {
+            this.path = path;
+            this.link = link;
+        }
+
+        private void update(long newLastModified, List<IndexedFile> newFiles, List<IndexedDirectory> newSubdirectories) {
+            files = Collections.unmodifiableList(newFiles);
+            subdirectories = Collections.unmodifiableList(newSubdirectories);
+            lastModified = newLastModified;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getName() {
+            Path fileName = path.getFileName();
+            return fileName == null ? path.toString() : fileName.toString();
+        }
+
+        public List<IndexedFile> getFiles() {
+            return files;
+        }
+
+        public List<IndexedDirectory> getSubdirectories() {
+            return subdirectories;
+        }
+    }
+
+    public static class IndexedFile {
+
+        private final IndexedDirectory directory;
+        private final String name;
+        private final String normalizedBaseName;
+        private final String extension;
+        private final long size;
+        private final long lastModified;
+
+
+        private IndexedFile(IndexedDirectory directory, String name, long size, long lastModified) {
+            this(directory, name, normalizeBaseName(name), size, lastModified);
+        }
+
+        private IndexedFile(IndexedDirectory directory, String name, String normalizedBaseName, long size,
+                long lastModified) {
+            this.directory = Objects.requireNonNull(directory);
+            this.name = Objects.requireNonNull(name);
+            this.normalizedBaseName = Objects.requireNonNull(normalizedBaseName);
+            this.extension = FileUtil.getFileExtension(name).orElse("");
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        private static String normalizeBaseName(String name) {
+            int dot = name.lastIndexOf('.');
+            return Normalizer.normalize(dot > 0 ? name.substring(0, dot) : name, Normalizer.Form.NFC);
+        }
+
+        public File getFile() {
+            return directory.path.resolve(name).toFile();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the name without the extension in Unicode normalization form C, as some file systems store names
+         * decomposed
+         */
+        public String getNormalizedBaseName() {
+            return normalizedBaseName;
+        }
+
+        /**
+         * Returns the extension in lower case, or an empty string if the name has none
+         */
+        public String getExtension() {
+            return extension;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -1,17 +1,11 @@
 package net.sf.jabref.logic.util.io;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -22,26 +16,38 @@ public class FileFinder {
 
 
     public static Set<File> findFiles(List<String> extensions, List<File> directories) {
+        Set<File> result = new HashSet<>();
+        for (FileDirectoryIndex.IndexedFile file : findIndexedFiles(extensions, directories)) {
+            result.add(file.getFile());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the files with one of the given extensions below the given directories. The directories are not walked,
+     * but their {@link FileDirectoryIndex} is brought up to date and queried.
+     */
+    public static List<FileDirectoryIndex.IndexedFile> findIndexedFiles(List<String> extensions,
+            List<File> directories) {
 
         Objects.requireNonNull(directories, "Directories must not be null!");
         Objects.requireNonNull(extensions, "Extensions must not be null!");
 
-        BiPredicate<Path, BasicFileAttributes> isDirectoryAndContainsExtension = (path,
-                attr) -> !Files.isDirectory(path)
-                        && extensions.contains(FileUtil.getFileExtension(path.toFile()).orElse(""));
-
-        Set<File> result = new HashSet<>();
+        List<FileDirectoryIndex.IndexedFile> result = new ArrayList<>();
+        Set<File> seen = new HashSet<>();
         for (File directory : directories) {
-
-            try (Stream<File> files = Files.find(directory.toPath(), Integer.MAX_VALUE, isDirectoryAndContainsExtension)
-                    .map(x -> x.toFile())) {
-                result.addAll(files.collect(Collectors.toSet()));
-
-            } catch (IOException e) {
-                LOGGER.error("Problem in finding files", e);
+            if (!directory.isDirectory()) {
+                LOGGER.warn("Cannot find files in " + directory + " as it is no directory");
+                continue;
+            }
+            FileDirectoryIndex index = FileDirectoryIndex.forDirectory(directory);
+            index.refresh();
+            for (FileDirectoryIndex.IndexedFile file : index.getFiles()) {
+                if (extensions.contains(file.getExtension()) && seen.add(file.getFile())) {
+                    result.add(file);
+                }
             }
         }
         return result;
-
     }
 }
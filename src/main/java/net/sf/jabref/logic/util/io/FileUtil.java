@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -15,7 +16,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.Stack;
 import java.util.Vector;
 import java.util.regex.Pattern;
@@ -306,7 +306,7 @@ public class FileUtil {
         Map<BibEntry, List<File>> result = new HashMap<>();
 
         // First scan directories
-        Set<File> filesWithExtension = FileFinder.findFiles(extensions, directories);
+        List<FileDirectoryIndex.IndexedFile> filesWithExtension = FileFinder.findIndexedFiles(extensions, directories);
 
         // Initialize Result-Set
         for (BibEntry entry : entries) {
@@ -314,29 +314,15 @@ public class FileUtil {
         }
 
         // Now look for keys
-        nextFile: for (File file : filesWithExtension) {
-
-            String name = file.getName();
-            int dot = name.lastIndexOf('.');
-            // First, look for exact matches:
-            for (BibEntry entry : entries) {
-                Optional<String> citeKey = entry.getCiteKeyOptional();
-                if ((citeKey.isPresent()) && !citeKey.get().isEmpty() && (dot > 0)
-                        && name.substring(0, dot).equals(citeKey.get())) {
-                    result.get(entry).add(file);
-                    continue nextFile;
-                }
+        CiteKeyTrie citeKeys = new CiteKeyTrie(entries);
+        for (FileDirectoryIndex.IndexedFile file : filesWithExtension) {
+            // First, look for exact matches. If there are none and non-exact matches are allowed, try to find one
+            int entryIndex = citeKeys.findExact(file.getNormalizedBaseName());
+            if ((entryIndex < 0) && !autolinkExactKeyOnly) {
+                entryIndex = citeKeys.findPrefix(Normalizer.normalize(file.getName(), Normalizer.Form.NFC));
             }
-            // If we get here, we did not find any exact matches. If non-exact
-            // matches are allowed, try to find one:
-            if (!autolinkExactKeyOnly) {
-                for (BibEntry entry : entries) {
-                    Optional<String> citeKey = entry.getCiteKeyOptional();
-                    if ((citeKey.isPresent()) && !citeKey.get().isEmpty() && name.startsWith(citeKey.get())) {
-                        result.get(entry).add(file);
-                        continue nextFile;
-                    }
-                }
+            if (entryIndex >= 0) {
+                result.get(entries.get(entryIndex)).add(file.getFile());
             }
         }
 
@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,9 +52,19 @@ public class RegExpFileSearch {
     public static Map<BibEntry, List<File>> findFilesForSet(List<BibEntry> entries, List<String> extensions,
             List<File> directories, String regExp, Character keywordDelimiter) {
 
+        // The directories are listed only once for all entries
+        List<FileDirectoryIndex> indexes = new ArrayList<>();
+        for (File directory : directories) {
+            if (directory.isDirectory()) {
+                FileDirectoryIndex index = FileDirectoryIndex.forDirectory(directory);
+                index.refresh();
+                indexes.add(index);
+            }
+        }
+
         Map<BibEntry, List<File>> res = new HashMap<>();
         for (BibEntry entry : entries) {
-            res.put(entry, findFiles(entry, extensions, directories, regExp, keywordDelimiter));
+            res.put(entry, findFiles(entry, extensions, directories, regExp, keywordDelimiter, indexes));
         }
         return res;
     }
@@ -66,14 +77,15 @@ public class RegExpFileSearch {
      * @param directories The root directories to search.
      * @param regularExpression The expression deciding which names are acceptable.
      * @param keywordDelimiter
+     * @param indexes The indexes to list directories from instead of the file system.
      * @return A list of files paths matching the given criteria.
      */
     private static List<File> findFiles(BibEntry entry, List<String> extensions, List<File> directories,
-            String regularExpression, Character keywordDelimiter) {
+            String regularExpression, Character keywordDelimiter, List<FileDirectoryIndex> indexes) {
 
         String extensionRegExp = '(' + String.join("|", extensions) + ')';
 
-        return findFile(entry, directories, regularExpression, extensionRegExp, keywordDelimiter);
+        return findFile(entry, directories, regularExpression, extensionRegExp, keywordDelimiter, indexes);
     }
 
     /**
@@ -113,10 +125,10 @@ public class RegExpFileSearch {
      *         null if none was found.
      */
     private static List<File> findFile(BibEntry entry, List<File> dirs, String file, String extensionRegExp,
-            Character keywordDelimiter) {
+            Character keywordDelimiter, List<FileDirectoryIndex> indexes) {
         List<File> res = new ArrayList<>();
         for (File directory : dirs) {
-            res.addAll(findFile(entry, directory.getPath(), file, extensionRegExp, keywordDelimiter));
+            res.addAll(findFile(entry, directory.getPath(), file, extensionRegExp, keywordDelimiter, indexes));
         }
         return res;
     }
@@ -127,7 +139,7 @@ public class RegExpFileSearch {
      *
      */
     private static List<File> findFile(BibEntry entry, String directory, String file, String extensionRegExp,
-            Character keywordDelimiter) {
+            Character keywordDelimiter, List<FileDirectoryIndex> indexes) {
 
         File root;
         if (directory == null) {
@@ -138,7 +150,8 @@ public class RegExpFileSearch {
         if (!root.exists()) {
             return Collections.emptyList();
         }
-        List<File> fileList = RegExpFileSearch.findFile(entry, root, file, extensionRegExp, keywordDelimiter);
+        List<File> fileList = RegExpFileSearch.findFile(entry, root, file, extensionRegExp, keywordDelimiter,
+                indexes);
 
         List<File> result = new ArrayList<>();
         for (File tmpFile : fileList) {
@@ -168,7 +181,7 @@ public class RegExpFileSearch {
      * given directory using the given regular expression string for search.
      */
     private static List<File> findFile(BibEntry entry, File directory, String file, String extensionRegExp,
-            Character keywordDelimiter) {
+            Character keywordDelimiter, List<FileDirectoryIndex> indexes) {
 
         List<File> res = new ArrayList<>();
 
@@ -212,15 +225,9 @@ public class RegExpFileSearch {
                 continue;
             }
             if ("*".equals(dirToProcess)) { // Do for all direct subdirs
-
-                File[] subDirs = actualDirectory.listFiles();
-                if (subDirs != null) {
-                    String restOfFileString = StringUtil.join(fileParts, "/", i + 1, fileParts.length);
-                    for (File subDir : subDirs) {
-                        if (subDir.isDirectory()) {
-                            res.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp, keywordDelimiter));
-                        }
-                    }
+                String restOfFileString = StringUtil.join(fileParts, "/", i + 1, fileParts.length);
+                for (File subDir : listSubdirectories(actualDirectory, indexes)) {
+                    res.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp, keywordDelimiter, indexes));
                 }
             }
             // Do for all direct and indirect subdirs
@@ -233,18 +240,12 @@ public class RegExpFileSearch {
                 while (!toDo.isEmpty()) {
 
                     // Get all subdirs of each of the elements found in toDo
-                    File[] subDirs = toDo.remove(0).listFiles();
-                    if (subDirs == null) {
-                        continue;
-                    }
-
-                    toDo.addAll(Arrays.asList(subDirs));
+                    List<File> subDirs = listSubdirectories(toDo.remove(0), indexes);
+                    toDo.addAll(subDirs);
 
                     for (File subDir : subDirs) {
-                        if (!subDir.isDirectory()) {
-                            continue;
-                        }
-                        res.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp, keywordDelimiter));
+                        res.addAll(findFile(entry, subDir, restOfFileString, extensionRegExp, keywordDelimiter,
+                                indexes));
                     }
                 }
 
@@ -257,15 +258,64 @@ public class RegExpFileSearch {
         final Pattern toMatch = Pattern.compile('^' + filenameToLookFor.replaceAll("\\\\\\\\", "\\\\") + '$',
                 Pattern.CASE_INSENSITIVE);
 
-        File[] matches = actualDirectory.listFiles((arg0, arg1) -> {
-            return toMatch.matcher(arg1).matches();
-        });
-        if ((matches != null) && (matches.length > 0)) {
-            Collections.addAll(res, matches);
+        for (String name : listNames(actualDirectory, indexes)) {
+            if (toMatch.matcher(name).matches()) {
+                res.add(new File(actualDirectory, name));
+            }
         }
         return res;
     }
 
+    /**
+     * Returns the direct subdirectories of the given directory, taken from the index containing it or from the file
+     * system if it is not indexed.
+     */
+    private static List<File> listSubdirectories(File directory, List<FileDirectoryIndex> indexes) {
+        Optional<FileDirectoryIndex.IndexedDirectory> indexedDirectory = findIndexedDirectory(directory, indexes);
+        if (indexedDirectory.isPresent()) {
+            List<File> subdirectories = new ArrayList<>();
+            for (FileDirectoryIndex.IndexedDirectory subdirectory : indexedDirectory.get().getSubdirectories()) {
+                subdirectories.add(new File(directory, subdirectory.getName()));
+            }
+            return subdirectories;
+        }
+
+        File[] subdirectories = directory.listFiles(File::isDirectory);
+        return subdirectories == null ? Collections.emptyList() : Arrays.asList(subdirectories);
+    }
+
+    /**
+     * Returns the names of the files and subdirectories of the given directory, taken from the index containing it or
+     * from the file system if it is not indexed.
+     */
+    private static List<String> listNames(File directory, List<FileDirectoryIndex> indexes) {
+        Optional<FileDirectoryIndex.IndexedDirectory> indexedDirectory = findIndexedDirectory(directory, indexes);
+        if (indexedDirectory.isPresent()) {
+            List<String> names = new ArrayList<>();
+            for (FileDirectoryIndex.IndexedDirectory subdirectory : indexedDirectory.get().getSubdirectories()) {
+                names.add(subdirectory.getName());
+            }
+            for (FileDirectoryIndex.IndexedFile file : indexedDirectory.get().getFiles()) {
+                names.add(file.getName());
+            }
+            return names;
+        }
+
+        String[] names = directory.list();
+        return names == null ? Collections.emptyList() : Arrays.asList(names);
+    }
+
+    private static Optional<FileDirectoryIndex.IndexedDirectory> findIndexedDirectory(File directory,
+            List<FileDirectoryIndex> indexes) {
+        for (FileDirectoryIndex index : indexes) {
+            Optional<FileDirectoryIndex.IndexedDirectory> indexedDirectory = index.getDirectory(directory);
+            if (indexedDirectory.isPresent()) {
+                return indexedDirectory;
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Takes a string that contains bracketed expression and expands each of these using getFieldAndFormat.
      * <p>
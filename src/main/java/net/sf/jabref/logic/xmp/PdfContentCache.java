@@ -0,0 +1,442 @@
+package net.sf.jabref.logic.xmp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.sf.jabref.JabRefExecutorService;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Caches data read from PDF files, e.g., the XMP metadata or the text of the first page, so that a file is parsed only
+ * once although it is read several times (the import of a dropped file checks for metadata, shows it in the import
+ * dialog and finally imports it).
+ * <p>
+ * The data of a file is identified by its path, size and modification time, so it is read again after the file changed.
+ * Each kind of data is stored under its own part name and read on first request. The cache is bounded and may be used
+ * by several threads at once.
+ * <p>
+ * If a cache directory is set (see {@link #setCacheDirectory(Path)}), parts consisting of a string or of a list of
+ * string maps are also stored on disk and reused after a restart. There, the data is identified by a fingerprint of the file consisting of its size,
+ * modification time and a hash of its beginning and end, so that it is also found for a moved file or a copy keeping
+ * the modification time.
+ */
+public class PdfContentCache {
+
+    private static final Log LOGGER = LogFactory.getLog(PdfContentCache.class);
+
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * The number of files read ahead by a {@link Prefetch}, which is far below the size of the cache, so that prefetched
+     * data is not evicted before it is used.
+     */
+    private static final int PREFETCH_WINDOW = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * A file modified so shortly before it was read may change again without a different modification time, as some
+     * file systems store it in seconds only. Data read from such a file is not cached.
+     */
+    private static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+    /**
+     * The number of bytes at the beginning and at the end of a file which are hashed for its fingerprint
+     */
+    private static final int FINGERPRINT_SAMPLE_SIZE = 64 * 1024;
+
+    /**
+     * Files of the cache directory which have not been used for this time are removed.
+     */
+    private static final long MAXIMUM_UNUSED_TIME = TimeUnit.DAYS.toMillis(90);
+
+    /**
+     * The version of the format of the files in the cache directory, files of other versions are ignored
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte STRING_PART = 0;
+    private static final byte MAP_LIST_PART = 1;
+
+    private static final Cache<Path, CachedFile> CACHE = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE)
+            .softValues().build();
+
+    private static volatile Path cacheDirectory;
+
+
+    private PdfContentCache() {
+    }
+
+    /**
+     * Reads data from a PDF document.
+     */
+    @FunctionalInterface
+    public interface DocumentReader<T> {
+
+        T read(PDDocument document) throws IOException;
+    }
+
+    /**
+     * Sets the directory in which the data is stored between sessions and removes the files in it which have not been
+     * used for a long time. If the directory is null, which is the default, the data is held in memory only.
+     */
+    public static void setCacheDirectory(Path directory) {
+        cacheDirectory = directory;
+        if (directory != null) {
+            JabRefExecutorService.INSTANCE.execute(() -> removeUnusedFiles(directory));
+        }
+    }
+
+    private static void removeUnusedFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long oldestUse = System.currentTimeMillis() - MAXIMUM_UNUSED_TIME;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (Files.getLastModifiedTime(file).toMillis() < oldestUse) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not clean up " + directory, e);
+        }
+    }
+
+    /**
+     * Returns the given part of the data of the file. If it is not cached yet, the file is opened and the part is read
+     * by the given reader. The returned object is shared, so it must not be modified.
+     *
+     * @param part the name of the part, which identifies the reader
+     * @throws IOException if the file cannot be read; errors are not cached
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Path file, String part, DocumentReader<T> reader) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        boolean stable = (System.currentTimeMillis() - lastModified) >= MODIFICATION_TIME_RESOLUTION;
+        Path directory = cacheDirectory;
+
+        CachedFile cachedFile = CACHE.getIfPresent(key);
+        if ((cachedFile == null) || (cachedFile.size != size) || (cachedFile.lastModified != lastModified)) {
+            if (stable && (directory != null)) {
+                cachedFile = loadCachedFile(directory, getFingerprint(key, size, lastModified), size, lastModified);
+            } else {
+                cachedFile = new CachedFile(size, lastModified, null);
+            }
+            if (stable) {
+                CACHE.put(key, cachedFile);
+            }
+        }
+
+        Object value = cachedFile.parts.get(part);
+        if (value == null) {
+            try (FileInputStream inputStream = new FileInputStream(key.toFile());
+                    PDDocument document = XMPUtil.loadWithAutomaticDecryption(inputStream)) {
+                value = reader.read(document);
+            }
+            cachedFile.parts.put(part, value);
+            if ((cachedFile.fingerprint != null) && (directory != null)) {
+                storeCachedFile(directory, cachedFile);
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Hashes the size, the modification time and the beginning and end of the file. Thus, the fingerprint changes
+     * whenever the file is modified, unless its modification time is reset.
+     */
+    private static String getFingerprint(Path file, long size, long lastModified) throws IOException {
+        Hasher hasher = Hashing.sha256().newHasher().putLong(size).putLong(lastModified);
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(FINGERPRINT_SAMPLE_SIZE);
+            readFully(channel, buffer);
+            hasher.putBytes(buffer.array(), 0, buffer.position());
+            if (size > FINGERPRINT_SAMPLE_SIZE) {
+                buffer.clear();
+                channel.position(Math.max(FINGERPRINT_SAMPLE_SIZE, size - FINGERPRINT_SAMPLE_SIZE));
+                readFully(channel, buffer);
+                hasher.putBytes(buffer.array(), 0, buffer.position());
+            }
+        }
+        return hasher.hash().toString();
+    }
+
+    private static void readFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+            // keep reading until the buffer is full or the file ends
+        }
+    }
+
+    /**
+     * Loads the data stored in the cache directory for the given fingerprint. If there is none, an empty entry is
+     * returned.
+     */
+    private static CachedFile loadCachedFile(Path directory, String fingerprint, long size, long lastModified) {
+        CachedFile cachedFile = new CachedFile(size, lastModified, fingerprint);
+        Path file = directory.resolve(fingerprint);
+        if (Files.exists(file)) {
+            try (DataInputStream inputStream = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(file)))) {
+                if (inputStream.readInt() == FORMAT_VERSION) {
+                    cachedFile.parts.putAll(readParts(inputStream));
+                    // marks the file as used, see removeUnusedFiles
+                    Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Could not read cached data " + file, e);
+            }
+        }
+        return cachedFile;
+    }
+
+    private static Map<String, Object> readParts(DataInputStream inputStream) throws IOException {
+        Map<String, Object> parts = new HashMap<>();
+        int partCount = inputStream.readInt();
+        for (int i = 0; i < partCount; i++) {
+            String name = readString(inputStream);
+            byte kind = inputStream.readByte();
+            if (kind == STRING_PART) {
+                parts.put(name, readString(inputStream));
+            } else if (kind == MAP_LIST_PART) {
+                int mapCount = inputStream.readInt();
+                List<Map<String, String>> maps = new ArrayList<>(mapCount);
+                for (int j = 0; j < mapCount; j++) {
+                    int entryCount = inputStream.readInt();
+                    Map<String, String> map = new HashMap<>();
+                    for (int k = 0; k < entryCount; k++) {
+                        map.put(readString(inputStream), readString(inputStream));
+                    }
+                    maps.add(map);
+                }
+                parts.put(name, maps);
+            } else {
+                throw new IOException("Unknown kind of part " + kind);
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Writes the parts of the given entry which consist of a string or of a list of string maps to the cache
+     * directory. The file is replaced at once, so that concurrent readers never see a partly written file.
+     */
+    private static void storeCachedFile(Path directory, CachedFile cachedFile) {
+        Map<String, Object> storedParts = new HashMap<>();
+        for (Map.Entry<String, Object> part : cachedFile.parts.entrySet()) {
+            if ((part.getValue() instanceof String) || isMapList(part.getValue())) {
+                storedParts.put(part.getKey(), part.getValue());
+            }
+        }
+        if (storedParts.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, cachedFile.fingerprint, ".tmp");
+            try {
+                try (DataOutputStream outputStream = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                    outputStream.writeInt(FORMAT_VERSION);
+                    writeParts(outputStream, storedParts);
+                }
+                Files.move(temporaryFile, directory.resolve(cachedFile.fingerprint),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not store cached data of " + cachedFile.fingerprint, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeParts(DataOutputStream outputStream, Map<String, Object> parts) throws IOException {
+        outputStream.writeInt(parts.size());
+        for (Map.Entry<String, Object> part : parts.entrySet()) {
+            writeString(outputStream, part.getKey());
+            if (part.getValue() instanceof String) {
+                outputStream.writeByte(STRING_PART);
+                writeString(outputStream, (String) part.getValue());
+            } else {
+                List<Map<String, String>> maps = (List<Map<String, String>>) part.getValue();
+                outputStream.writeByte(MAP_LIST_PART);
+                outputStream.writeInt(maps.size());
+                for (Map<String, String> map : maps) {
+                    outputStream.writeInt(map.size());
+                    for (Map.Entry<String, String> entry : map.entrySet()) {
+                        writeString(outputStream, entry.getKey());
+                        writeString(outputStream, entry.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isMapList(Object value) {
+        if (!(value instanceof List)) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            if (!(element instanceof Map)) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) element).entrySet()) {
+                if (!(entry.getKey() instanceof String) || !(entry.getValue() instanceof String)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the string with its length in front. In contrast to {@link DataOutputStream#writeUTF(String)}, the length
+     * is not limited to 64 KB, which the text of a page may exceed.
+     */
+    private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static String readString(DataInputStream inputStream) throws IOException {
+        byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Starts reading the given part of the files in the background, so that later calls of
+     * {@link #get(Path, String, DocumentReader)} find it in the cache. The files are read a few at a time ahead of the
+     * file which is processed, see {@link Prefetch#next()}. Files which cannot be read are skipped.
+     *
+     * @param running the prefetch stops as soon as this is set to false
+     */
+    public static <T> Prefetch prefetch(List<Path> files, String part, DocumentReader<T> reader,
+            AtomicBoolean running) {
+        Prefetch prefetch = new Prefetch(files, part, reader, running);
+        prefetch.readAhead();
+        return prefetch;
+    }
+
+    /**
+     * Removes the data of the file, e.g., after writing to it.
+     */
+    public static void invalidate(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        CachedFile cachedFile = CACHE.getIfPresent(key);
+        CACHE.invalidate(key);
+
+        Path directory = cacheDirectory;
+        if ((cachedFile != null) && (cachedFile.fingerprint != null) && (directory != null)) {
+            try {
+                Files.deleteIfExists(directory.resolve(cachedFile.fingerprint));
+            } catch (IOException e) {
+                LOGGER.debug("Could not remove cached data of " + file, e);
+            }
+        }
+    }
+
+
+    /**
+     * Reads a part of a list of files ahead of their processing, which is reported by calling {@link #next()}.
+     */
+    public static class Prefetch {
+
+        private final List<Path> files;
+        private final String part;
+        private final DocumentReader<?> reader;
+        private final AtomicBoolean running;
+        // index of the file which is processed, -1 before the processing starts
+        private int position = -1;
+        // index of the file read ahead next, the files before it are being read or have been processed
+        private int started;
+
+
+        private Prefetch(List<Path> files, String part, DocumentReader<?> reader, AtomicBoolean running) {
+            this.files = new ArrayList<>(files);
+            this.part = part;
+            this.reader = reader;
+            this.running = running;
+        }
+
+        /**
+         * Signals that the processing of the next file of the list starts, so that further files are read ahead.
+         */
+        public synchronized void next() {
+            position++;
+            readAhead();
+        }
+
+        /**
+         * Starts reading the files following the processed one. The processed file itself, which is the first one
+         * before the processing starts, is not read ahead, as it is read by the caller at once anyway.
+         */
+        private synchronized void readAhead() {
+            int current = Math.max(position, 0);
+            started = Math.max(started, current + 1);
+            while (running.get() && (started < files.size()) && (started <= (current + PREFETCH_WINDOW))) {
+                Path file = files.get(started);
+                started++;
+                JabRefExecutorService.INSTANCE.execute(() -> {
+                    if (!running.get()) {
+                        return;
+                    }
+                    try {
+                        get(file, part, reader);
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.debug("Could not read " + file, e);
+                    }
+                });
+            }
+        }
+    }
+
+    private static class CachedFile {
+
+        private final long size;
+        private final long lastModified;
+        // name of the file in the cache directory, null if the data is held in memory only
+        private final String fingerprint;
+        private final Map<String, Object> parts = new ConcurrentHashMap<>();
+
+
+        CachedFile(long size, long lastModified, String fingerprint) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
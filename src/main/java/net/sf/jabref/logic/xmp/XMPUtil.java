@@ -7,13 +7,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +20,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.transform.TransformerException;
 
@@ -62,6 +62,12 @@ public class XMPUtil {
 
     private static final Log LOGGER = LogFactory.getLog(XMPUtil.class);
 
+    /**
+     * The part of the {@link PdfContentCache} holding the entries read from the metadata, followed by the keyword
+     * separator used to read them
+     */
+    private static final String XMP_PART = "xmp:";
+
 
     /**
      * Convenience method for readXMP(File).
@@ -108,6 +114,8 @@ public class XMPUtil {
     /**
      * Try to read the BibTexEntries from the XMP-stream of the given PDF-file.
      *
+     * The file is parsed only if it changed since it was read last, see {@link PdfContentCache}.
+     *
      * @param file
      *            The file to read from.
      *
@@ -116,13 +124,55 @@ public class XMPUtil {
      *             than remove a lock or cancel the operation.
      */
     public static List<BibEntry> readXMP(File file, XMPPreferences xmpPreferences) throws IOException {
-        List<BibEntry> result = Collections.emptyList();
-        try (FileInputStream inputStream = new FileInputStream(file)) {
-            result = XMPUtil.readXMP(inputStream, xmpPreferences);
+        List<Map<String, String>> cachedEntries = readCachedXMP(file.toPath(), xmpPreferences);
+        if (cachedEntries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // The cached fields are shared, so copy them
+        List<BibEntry> result = new ArrayList<>(cachedEntries.size());
+        for (Map<String, String> cachedEntry : cachedEntries) {
+            Map<String, String> fields = new HashMap<>(cachedEntry);
+            BibEntry entry = new BibEntry();
+            entry.setType(fields.remove(BibEntry.TYPE_HEADER));
+            entry.setField(fields);
+            result.add(entry);
         }
         return result;
     }
 
+    private static List<Map<String, String>> readCachedXMP(Path filePath, XMPPreferences xmpPreferences)
+            throws IOException {
+        return PdfContentCache.get(filePath, XMP_PART + xmpPreferences.getKeywordSeparator(),
+                document -> XMPUtil.toCachedEntries(XMPUtil.readXMP(document, xmpPreferences)));
+    }
+
+    /**
+     * Converts the entries to the fields of each entry, including the type, which can be stored on disk by the
+     * {@link PdfContentCache}.
+     */
+    private static List<Map<String, String>> toCachedEntries(List<BibEntry> entries) {
+        ArrayList<Map<String, String>> cachedEntries = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            HashMap<String, String> fields = new HashMap<>(entry.getFieldMap());
+            fields.put(BibEntry.TYPE_HEADER, entry.getType());
+            cachedEntries.add(fields);
+        }
+        return cachedEntries;
+    }
+
+    /**
+     * Reads the XMP metadata of the given files ahead of their processing, so that reading them later is served from
+     * the {@link PdfContentCache}.
+     *
+     * @param running the prefetch stops as soon as this is set to false
+     */
+    public static PdfContentCache.Prefetch prefetchXMP(List<Path> filePaths, XMPPreferences xmpPreferences,
+            AtomicBoolean running) {
+        return PdfContentCache.prefetch(filePaths, XMP_PART + xmpPreferences.getKeywordSeparator(),
+                document -> XMPUtil.toCachedEntries(XMPUtil.readXMP(document, xmpPreferences)), running);
+    }
+
     public static PDDocument loadWithAutomaticDecryption(InputStream inputStream) throws IOException {
         PDDocument doc = PDDocument.load(inputStream);
 
@@ -154,51 +204,54 @@ public class XMPUtil {
      */
     public static List<BibEntry> readXMP(InputStream inputStream, XMPPreferences xmpPreferences)
             throws IOException {
+        try (PDDocument document = loadWithAutomaticDecryption(inputStream)) {
+            return XMPUtil.readXMP(document, xmpPreferences);
+        }
+    }
 
+    private static List<BibEntry> readXMP(PDDocument document, XMPPreferences xmpPreferences) throws IOException {
         List<BibEntry> result = new LinkedList<>();
 
-        try (PDDocument document = loadWithAutomaticDecryption(inputStream)) {
-            Optional<XMPMetadata> meta = XMPUtil.getXMPMetadata(document);
+        Optional<XMPMetadata> meta = XMPUtil.getXMPMetadata(document);
 
-            if (meta.isPresent()) {
+        if (meta.isPresent()) {
 
-                List<XMPSchema> schemas = meta.get().getSchemasByNamespaceURI(XMPSchemaBibtex.NAMESPACE);
+            List<XMPSchema> schemas = meta.get().getSchemasByNamespaceURI(XMPSchemaBibtex.NAMESPACE);
 
-                for (XMPSchema schema : schemas) {
-                    XMPSchemaBibtex bib = (XMPSchemaBibtex) schema;
+            for (XMPSchema schema : schemas) {
+                XMPSchemaBibtex bib = (XMPSchemaBibtex) schema;
 
-                    BibEntry entry = bib.getBibtexEntry();
-                    if (entry.getType() == null) {
-                        entry.setType(BibEntry.DEFAULT_TYPE);
-                    }
-                    result.add(entry);
+                BibEntry entry = bib.getBibtexEntry();
+                if (entry.getType() == null) {
+                    entry.setType(BibEntry.DEFAULT_TYPE);
                 }
+                result.add(entry);
+            }
 
-                // If we did not find anything have a look if a Dublin Core exists
-                if (result.isEmpty()) {
-                    schemas = meta.get().getSchemasByNamespaceURI(XMPSchemaDublinCore.NAMESPACE);
-                    for (XMPSchema schema : schemas) {
-                        XMPSchemaDublinCore dc = (XMPSchemaDublinCore) schema;
+            // If we did not find anything have a look if a Dublin Core exists
+            if (result.isEmpty()) {
+                schemas = meta.get().getSchemasByNamespaceURI(XMPSchemaDublinCore.NAMESPACE);
+                for (XMPSchema schema : schemas) {
+                    XMPSchemaDublinCore dc = (XMPSchemaDublinCore) schema;
 
-                        Optional<BibEntry> entry = XMPUtil.getBibtexEntryFromDublinCore(dc,
-                                xmpPreferences);
+                    Optional<BibEntry> entry = XMPUtil.getBibtexEntryFromDublinCore(dc,
+                            xmpPreferences);
 
-                        if (entry.isPresent()) {
-                            if (entry.get().getType() == null) {
-                                entry.get().setType(BibEntry.DEFAULT_TYPE);
-                            }
-                            result.add(entry.get());
+                    if (entry.isPresent()) {
+                        if (entry.get().getType() == null) {
+                            entry.get().setType(BibEntry.DEFAULT_TYPE);
                         }
+                        result.add(entry.get());
                     }
                 }
             }
-            if (result.isEmpty()) {
-                // If we did not find any XMP metadata, search for non XMP metadata
-                PDDocumentInformation documentInformation = document.getDocumentInformation();
-                Optional<BibEntry> entry = XMPUtil.getBibtexEntryFromDocumentInformation(documentInformation);
-                if (entry.isPresent()) {
-                    result.add(entry.get());
-                }
+        }
+        if (result.isEmpty()) {
+            // If we did not find any XMP metadata, search for non XMP metadata
+            PDDocumentInformation documentInformation = document.getDocumentInformation();
+            Optional<BibEntry> entry = XMPUtil.getBibtexEntryFromDocumentInformation(documentInformation);
+            if (entry.isPresent()) {
+                result.add(entry.get());
             }
         }
 
@@ -1078,6 +1131,8 @@ public class XMPUtil {
             } catch (COSVisitorException e) {
                 LOGGER.debug("Could not write XMP metadata", e);
                 throw new TransformerException("Could not write XMP metadata: " + e.getLocalizedMessage(), e);
+            } finally {
+                PdfContentCache.invalidate(file.toPath());
             }
         }
     }
@@ -1086,8 +1141,11 @@ public class XMPUtil {
      * see XMPUtil.hasMetadata(InputStream)
      */
     public static boolean hasMetadata(Path path, XMPPreferences xmpPreferences) {
-        try (InputStream inputStream = Files.newInputStream(path, StandardOpenOption.READ)) {
-            return hasMetadata(inputStream, xmpPreferences);
+        try {
+            return !XMPUtil.readCachedXMP(path, xmpPreferences).isEmpty();
+        } catch (EncryptedPdfsNotSupportedException ex) {
+            LOGGER.info("Encryption not supported by XMPUtil");
+            return false;
         } catch (IOException e) {
             LOGGER.error("XMP reading failed", e);
             return false;
@@ -0,0 +1,206 @@
+package net.sf.jabref.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import net.sf.jabref.model.entry.AuthorList;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.FieldName;
+
+/**
+ * Blocking index which narrows down the pairs of entries that have to be compared by
+ * {@link DuplicateCheck#isDuplicate(BibEntry, BibEntry, net.sf.jabref.model.database.BibDatabaseMode)}.
+ * <p>
+ * Each entry is put into several blocks. Only entries sharing at least one block are candidates for being duplicates.
+ * The blocks are:
+ * <ul>
+ * <li>the normalized DOI,</li>
+ * <li>the normalized ISBN,</li>
+ * <li>the last name of the first author (or editor) together with the year,</li>
+ * <li>the bands of a MinHash signature over the character shingles of the title, so that entries with similar titles
+ * share a block with high probability (locality sensitive hashing),</li>
+ * <li>the year, only for entries without author, editor and title, which would not be compared otherwise.</li>
+ * </ul>
+ * All blocks include the entry type, as entries of different types are never duplicates.
+ */
+public class DuplicateCandidateIndex {
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int BANDS = 12;
+    private static final int ROWS_PER_BAND = 5;
+
+    // Parameters of the universal hash functions used for the MinHash signature
+    private static final long PRIME = 2147483647L;
+    private static final long[] HASH_A = new long[BANDS * ROWS_PER_BAND];
+    private static final long[] HASH_B = new long[BANDS * ROWS_PER_BAND];
+
+    static {
+        // A fixed seed makes the candidates reproducible
+        Random random = new Random(42);
+        for (int i = 0; i < HASH_A.length; i++) {
+            HASH_A[i] = 1 + random.nextInt(Integer.MAX_VALUE - 1);
+            HASH_B[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final Map<String, List<Integer>> blocks = new HashMap<>();
+
+
+    public DuplicateCandidateIndex(Collection<BibEntry> entries) {
+        entries.forEach(this::addEntry);
+    }
+
+    /**
+     * Adds the given entry to the index.
+     */
+    public synchronized void addEntry(BibEntry entry) {
+        int ordinal = entries.size();
+        entries.add(entry);
+        for (String block : getBlocks(entry)) {
+            blocks.computeIfAbsent(block, key -> new ArrayList<>()).add(ordinal);
+        }
+    }
+
+    /**
+     * Returns all indexed entries which share at least one block with the given entry, in the order they were added.
+     * The entry itself is not returned.
+     */
+    public synchronized List<BibEntry> getCandidates(BibEntry entry) {
+        Set<Integer> ordinals = new HashSet<>();
+        for (String block : getBlocks(entry)) {
+            ordinals.addAll(blocks.getOrDefault(block, Collections.emptyList()));
+        }
+
+        List<Integer> sortedOrdinals = new ArrayList<>(ordinals);
+        Collections.sort(sortedOrdinals);
+        List<BibEntry> candidates = new ArrayList<>(sortedOrdinals.size());
+        for (int ordinal : sortedOrdinals) {
+            BibEntry candidate = entries.get(ordinal);
+            if (candidate != entry) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns all pairs of indexed entries sharing at least one block. Each pair is returned once, with the entry
+     * added first at the first position. The pairs are ordered like the nested loop over all entries would visit them.
+     */
+    public synchronized List<List<BibEntry>> getCandidatePairs() {
+        Set<Long> pairs = new HashSet<>();
+        for (List<Integer> block : blocks.values()) {
+            for (int i = 0; i < (block.size() - 1); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    // the ordinals in a block are ascending, as entries are only appended
+                    pairs.add(((long) block.get(i) << 32) | block.get(j));
+                }
+            }
+        }
+
+        List<Long> sortedPairs = new ArrayList<>(pairs);
+        Collections.sort(sortedPairs);
+        List<List<BibEntry>> result = new ArrayList<>(sortedPairs.size());
+        for (long pair : sortedPairs) {
+            result.add(Arrays.asList(entries.get((int) (pair >>> 32)), entries.get((int) pair)));
+        }
+        return result;
+    }
+
+    private static Set<String> getBlocks(BibEntry entry) {
+        Set<String> result = new HashSet<>();
+        String type = entry.getType() + ':';
+
+        entry.getField(FieldName.DOI).map(DuplicateCandidateIndex::normalizeDoi).filter(doi -> !doi.isEmpty())
+                .ifPresent(doi -> result.add(type + "doi:" + doi));
+        entry.getField(FieldName.ISBN).map(DuplicateCandidateIndex::normalizeIsbn).filter(isbn -> !isbn.isEmpty())
+                .ifPresent(isbn -> result.add(type + "isbn:" + isbn));
+
+        Optional<String> persons = entry.getField(FieldName.AUTHOR);
+        if (!persons.isPresent()) {
+            persons = entry.getField(FieldName.EDITOR);
+        }
+        Optional<String> lastName = persons.flatMap(DuplicateCandidateIndex::getFirstLastName);
+        lastName.ifPresent(
+                name -> result.add(type + "author:" + name + ':' + entry.getField(FieldName.YEAR).orElse("")));
+
+        Set<String> shingles = entry.getField(FieldName.TITLE).map(DuplicateCandidateIndex::getShingles)
+                .orElse(Collections.emptySet());
+        if (!shingles.isEmpty()) {
+            long[] signature = getMinHashSignature(shingles);
+            for (int band = 0; band < BANDS; band++) {
+                long[] rows = Arrays.copyOfRange(signature, band * ROWS_PER_BAND, (band + 1) * ROWS_PER_BAND);
+                result.add(type + "title" + band + ':' + Arrays.toString(rows));
+            }
+        }
+
+        if (!lastName.isPresent() && shingles.isEmpty()) {
+            result.add(type + "year:" + entry.getField(FieldName.YEAR).orElse(""));
+        }
+        return result;
+    }
+
+    private static String normalizeDoi(String doi) {
+        String normalized = doi.trim().toLowerCase(Locale.ENGLISH);
+        int start = normalized.indexOf("10.");
+        if (start >= 0) {
+            normalized = normalized.substring(start);
+        }
+        return normalized;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        return isbn.replaceAll("[^0-9xX]", "").toUpperCase(Locale.ENGLISH);
+    }
+
+    private static Optional<String> getFirstLastName(String persons) {
+        AuthorList authorList = AuthorList.parse(persons);
+        if (authorList.isEmpty()) {
+            return Optional.empty();
+        }
+        String lastName = authorList.getAuthor(0).getLastOnly().toLowerCase(Locale.ENGLISH).replaceAll("[^\\p{L}]",
+                "");
+        if (lastName.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(lastName);
+    }
+
+    private static Set<String> getShingles(String title) {
+        String normalized = title.toLowerCase(Locale.ENGLISH).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; (i + SHINGLE_LENGTH) <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + SHINGLE_LENGTH));
+        }
+        if (shingles.isEmpty() && !normalized.isEmpty()) {
+            shingles.add(normalized);
+        }
+        return shingles;
+    }
+
+    private static long[] getMinHashSignature(Set<String> shingles) {
+        long[] signature = new long[HASH_A.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = shingle.hashCode() & 0x7fffffffL;
+            for (int i = 0; i < signature.length; i++) {
+                long value = ((HASH_A[i] * hash) + HASH_B[i]) % PRIME;
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+}
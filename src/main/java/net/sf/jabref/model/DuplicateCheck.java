@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseMode;
@@ -215,6 +216,45 @@ public class DuplicateCheck {
         return Optional.empty(); // No duplicate found.
     }
 
+    /**
+     * Goes through the candidates of the given index, and if at least one of
+     * them is a duplicate of the given entry, as per
+     * Util.isDuplicate(BibEntry, BibEntry), the duplicate is returned.
+     * The search is terminated when the first duplicate is found.
+     *
+     * @param index The index of the entries to search.
+     * @param entry The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found, or an empty Optional if no duplicates are found.
+     */
+    public static Optional<BibEntry> containsDuplicate(DuplicateCandidateIndex index, BibEntry entry,
+            BibDatabaseMode bibDatabaseMode) {
+        return index.getCandidates(entry).stream()
+                .filter(other -> DuplicateCheck.isDuplicate(entry, other, bibDatabaseMode))
+                .findFirst();
+    }
+
+    /**
+     * Finds all pairs of duplicates among the given entries.
+     * Only the candidate pairs of a {@link DuplicateCandidateIndex} are checked, in parallel.
+     *
+     * @param entries  The entries to search.
+     * @param listener Is informed about every duplicate found and the progress of the search.
+     */
+    public static void findDuplicates(List<BibEntry> entries, BibDatabaseMode bibDatabaseMode,
+            DuplicateSearchListener listener) {
+        List<List<BibEntry>> candidatePairs = new DuplicateCandidateIndex(entries).getCandidatePairs();
+        int totalPairs = candidatePairs.size();
+        LOGGER.debug("Checking " + totalPairs + " candidate pairs of " + entries.size() + " entries for duplicates");
+
+        AtomicInteger comparedPairs = new AtomicInteger();
+        candidatePairs.parallelStream().filter(pair -> !listener.isCancelled()).forEach(pair -> {
+            if (DuplicateCheck.isDuplicate(pair.get(0), pair.get(1), bibDatabaseMode)) {
+                listener.duplicateFound(pair.get(0), pair.get(1));
+            }
+            listener.progress(comparedPairs.incrementAndGet(), totalPairs);
+        });
+    }
+
     /**
      * Compare two strings on the basis of word-by-word correlation analysis.
      *
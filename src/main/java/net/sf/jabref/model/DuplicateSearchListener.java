@@ -0,0 +1,23 @@
+package net.sf.jabref.model;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+/**
+ * Receives the results and the progress of {@link DuplicateCheck#findDuplicates}.
+ * The methods are called from several threads concurrently.
+ */
+public interface DuplicateSearchListener {
+
+    void duplicateFound(BibEntry one, BibEntry two);
+
+    /**
+     * @param comparedPairs the number of candidate pairs compared so far
+     * @param totalPairs    the number of candidate pairs to compare
+     */
+    void progress(int comparedPairs, int totalPairs);
+
+    /**
+     * Returns true if the search should be stopped.
+     */
+    boolean isCancelled();
+}
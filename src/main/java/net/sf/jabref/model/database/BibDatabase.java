@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import net.sf.jabref.model.EntryTypes;
+import net.sf.jabref.model.database.event.EntriesAddedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -56,6 +57,16 @@ public class BibDatabase {
      */
     private final DuplicationChecker duplicationChecker = new DuplicationChecker();
 
+    /**
+     * this is kept in sync with the database (upon adding/removing an entry or changing a field, it is updated as well)
+     */
+    private final FullTextIndex fullTextIndex = new FullTextIndex(this);
+
+    /**
+     * this is kept in sync with the database (upon adding/removing an entry or changing a key, it is updated as well)
+     */
+    private final CiteKeyIndex citeKeyIndex = new CiteKeyIndex(this);
+
     /**
      * contains all entry.getID() of the current database
      */
@@ -66,6 +77,8 @@ public class BibDatabase {
 
     public BibDatabase() {
         this.eventBus.register(duplicationChecker);
+        this.eventBus.register(fullTextIndex);
+        this.eventBus.register(citeKeyIndex);
         this.registerListener(new KeyChangeListener(this));
     }
 
@@ -119,14 +132,14 @@ public class BibDatabase {
 
     /**
      * Returns the entry with the given bibtex key.
+     * If several entries have this key, the first one in the order of the database is returned.
      */
     public synchronized Optional<BibEntry> getEntryByKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCiteKeyOptional().orElse(null))) {
-                return Optional.of(entry);
-            }
+        List<BibEntry> entriesWithKey = citeKeyIndex.getEntries(key);
+        if (entriesWithKey.size() > 1) {
+            return sortByDatabaseOrder(entriesWithKey).stream().findFirst();
         }
-        return Optional.empty();
+        return entriesWithKey.stream().findFirst();
     }
 
     /**
@@ -137,16 +150,18 @@ public class BibDatabase {
      * @return list of entries that contains the given key
      */
     public synchronized List<BibEntry> getEntriesByKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
+        List<BibEntry> entriesWithKey = citeKeyIndex.getEntries(key);
+        if (entriesWithKey.size() > 1) {
+            return sortByDatabaseOrder(entriesWithKey);
+        }
+        return entriesWithKey;
+    }
 
-        for (BibEntry entry : entries) {
-            entry.getCiteKeyOptional().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
+    private List<BibEntry> sortByDatabaseOrder(List<BibEntry> entriesToSort) {
+        Set<String> ids = entriesToSort.stream().map(BibEntry::getId).collect(Collectors.toSet());
+        synchronized (entries) {
+            return entries.stream().filter(entry -> ids.contains(entry.getId())).collect(Collectors.toList());
         }
-        return result;
     }
 
     /**
@@ -185,6 +200,50 @@ public class BibDatabase {
         return duplicationChecker.isDuplicateCiteKeyExisting(entry);
     }
 
+    /**
+     * Inserts all given entries, given that their IDs are not already in use.
+     *
+     * @param newEntries Entries to insert
+     * @throws KeyCollisionException thrown if the id of any entry is already present in the database
+     */
+    public synchronized void insertEntries(List<BibEntry> newEntries) throws KeyCollisionException {
+        insertEntries(newEntries, EntryEventSource.LOCAL);
+    }
+
+    /**
+     * Inserts all given entries, given that their IDs are not already in use.
+     * An {@link EntryAddedEvent} is fired for each entry, followed by one {@link EntriesAddedEvent} for all of them,
+     * which allows listeners to process the entries at once.
+     *
+     * @param newEntries Entries to insert
+     * @param eventSource Source the events are sent from
+     * @throws KeyCollisionException thrown if the id of any entry is already present in the database. No entry is
+     * inserted in this case.
+     */
+    public synchronized void insertEntries(List<BibEntry> newEntries, EntryEventSource eventSource)
+            throws KeyCollisionException {
+        Objects.requireNonNull(newEntries);
+
+        Set<String> newIDs = new HashSet<>();
+        for (BibEntry entry : newEntries) {
+            if (containsEntryWithId(entry.getId()) || !newIDs.add(entry.getId())) {
+                throw new KeyCollisionException("ID is already in use, please choose another");
+            }
+        }
+
+        for (BibEntry entry : newEntries) {
+            internalIDs.add(entry.getId());
+            entries.add(entry);
+            entry.registerListener(this);
+
+            eventBus.post(new EntryAddedEvent(entry, eventSource, true));
+        }
+
+        if (!newEntries.isEmpty()) {
+            eventBus.post(new EntriesAddedEvent(newEntries, eventSource));
+        }
+    }
+
     /**
      * Removes the given entry.
      * The Entry is removed based on the id {@link BibEntry#id}
@@ -588,4 +647,8 @@ public class BibDatabase {
         return duplicationChecker;
     }
 
+    public FullTextIndex getFullTextIndex() {
+        return fullTextIndex;
+    }
+
 }
@@ -0,0 +1,87 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Maps the bibtex cite keys of a single {@link BibDatabase} to the entries having this key.
+ * This is kept in sync with the database (upon adding/removing an entry or changing a key, it is updated as well).
+ */
+public class CiteKeyIndex {
+
+    private final BibDatabase database;
+
+    /** Entries are compared by their id, as the equality of entries is based on their content */
+    private final Map<String, List<BibEntry>> entriesByKey = new HashMap<>();
+
+
+    public CiteKeyIndex(BibDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Returns the entries having the given key, in no particular order.
+     */
+    public synchronized List<BibEntry> getEntries(String citeKey) {
+        List<BibEntry> entries = entriesByKey.get(citeKey);
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(entries);
+    }
+
+    private void addEntry(String key, BibEntry entry) {
+        if ((key == null) || key.isEmpty()) {
+            return;
+        }
+
+        entriesByKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+    }
+
+    private void removeEntry(String key, BibEntry entry) {
+        if ((key == null) || key.isEmpty()) {
+            return;
+        }
+
+        List<BibEntry> entries = entriesByKey.get(key);
+        if (entries != null) {
+            entries.removeIf(e -> e.getId().equals(entry.getId()));
+            if (entries.isEmpty()) {
+                entriesByKey.remove(key);
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent fieldChangedEvent) {
+        // removed entries still relay their changes to the database, so only contained entries are considered
+        if (fieldChangedEvent.getFieldName().equals(BibEntry.KEY_FIELD)
+                && database.containsEntryWithId(fieldChangedEvent.getBibEntry().getId())) {
+            removeEntry(fieldChangedEvent.getOldValue(), fieldChangedEvent.getBibEntry());
+            addEntry(fieldChangedEvent.getNewValue(), fieldChangedEvent.getBibEntry());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent entryRemovedEvent) {
+        BibEntry entry = entryRemovedEvent.getBibEntry();
+        entry.getCiteKeyOptional().ifPresent(key -> removeEntry(key, entry));
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent entryAddedEvent) {
+        BibEntry entry = entryAddedEvent.getBibEntry();
+        entry.getCiteKeyOptional().ifPresent(key -> addEntry(key, entry));
+    }
+
+}
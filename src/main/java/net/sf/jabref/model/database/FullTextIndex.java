@@ -0,0 +1,222 @@
+package net.sf.jabref.model.database;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+import net.sf.jabref.model.strings.LatexToUnicode;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Inverted index over the latex free, lower-cased field contents of all entries of a {@link BibDatabase}.
+ * <p>
+ * The index maps each term (a trigram of the field content) to the posting list of the entries containing it,
+ * separately for every field. A word of a search query can only be contained in a field if all its trigrams are
+ * contained in that field, so the intersection of the posting lists of the query's trigrams is a (small) superset
+ * of the entries matching a contain-based search. The search rules verify these candidates afterwards, which keeps
+ * the search semantics exactly as they are without the index.
+ * <p>
+ * The index is built lazily upon the first query and is kept in sync with the database afterwards
+ * (upon adding/removing an entry or changing a field, it is updated as well).
+ */
+public class FullTextIndex {
+
+    /**
+     * Length of the terms stored in the index. Query words shorter than this cannot be answered by the index.
+     */
+    public static final int TERM_LENGTH = 3;
+
+    private final BibDatabase database;
+
+    /** field name -> term -> entries containing the term in that field */
+    private final Map<String, Map<String, Set<BibEntry>>> postings = new HashMap<>();
+
+    /**
+     * all entries known to the index with their position in the database, compared by identity as the hash code of an
+     * entry changes with its content. Entries are only appended to a database, so the order of the positions is the
+     * order of the database, although removed entries leave gaps.
+     */
+    private final Map<BibEntry, Long> indexedEntries = new IdentityHashMap<>();
+    private long nextPosition;
+
+    /** used to compute the latex free version of values which are no longer stored in an entry */
+    private final LatexToUnicode unicodeConverter = new LatexToUnicode();
+
+    private boolean built;
+
+
+    public FullTextIndex(BibDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Returns all entries which might contain the given (lower-cased) word in at least one of their fields.
+     *
+     * @return a superset of the matching entries, or an empty Optional if the word cannot be answered by the index
+     */
+    public Optional<Set<BibEntry>> getCandidates(String word) {
+        return getCandidates(null, word);
+    }
+
+    /**
+     * Returns all entries which might contain the given (lower-cased) word in the given field.
+     *
+     * @param field the field to look in, or null to look in all fields
+     * @return a superset of the matching entries, or an empty Optional if the word cannot be answered by the index
+     */
+    public synchronized Optional<Set<BibEntry>> getCandidates(String field, String word) {
+        if (word.length() < TERM_LENGTH) {
+            return Optional.empty();
+        }
+        ensureBuilt();
+
+        Set<BibEntry> candidates = null;
+        for (String term : getTerms(word)) {
+            Set<BibEntry> termPostings = getPostings(field, term);
+            if (candidates == null) {
+                candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+                candidates.addAll(termPostings);
+            } else {
+                candidates.retainAll(termPostings);
+            }
+
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.of(candidates);
+    }
+
+    /**
+     * Returns the given entries in the order of the database, leaving out entries which are no longer part of it.
+     * This only looks at the given entries, so the candidates of a search can be checked without walking the whole
+     * database.
+     */
+    public synchronized List<BibEntry> sortByDatabaseOrder(Collection<BibEntry> entries) {
+        ensureBuilt();
+
+        List<BibEntry> result = new ArrayList<>(entries.size());
+        for (BibEntry entry : entries) {
+            if (indexedEntries.containsKey(entry)) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparing(indexedEntries::get));
+        return result;
+    }
+
+    private Set<BibEntry> getPostings(String field, String term) {
+        if (field != null) {
+            return postings.getOrDefault(field, Collections.emptyMap()).getOrDefault(term, Collections.emptySet());
+        }
+
+        Set<BibEntry> union = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map<String, Set<BibEntry>> fieldPostings : postings.values()) {
+            union.addAll(fieldPostings.getOrDefault(term, Collections.emptySet()));
+        }
+        return union;
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+
+        for (BibEntry entry : new ArrayList<>(database.getEntries())) {
+            addEntry(entry);
+        }
+        built = true;
+    }
+
+    private void addEntry(BibEntry entry) {
+        indexedEntries.put(entry, nextPosition++);
+        for (String field : entry.getFieldNames()) {
+            entry.getLatexFreeField(field).ifPresent(content -> addTerms(entry, field, content));
+        }
+    }
+
+    private void removeEntry(BibEntry entry) {
+        indexedEntries.remove(entry);
+        for (String field : entry.getFieldNames()) {
+            entry.getLatexFreeField(field).ifPresent(content -> removeTerms(entry, field, content));
+        }
+    }
+
+    private void addTerms(BibEntry entry, String field, String content) {
+        Map<String, Set<BibEntry>> fieldPostings = postings.computeIfAbsent(field, key -> new HashMap<>());
+        for (String term : getTerms(content.toLowerCase())) {
+            fieldPostings.computeIfAbsent(term, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entry);
+        }
+    }
+
+    private void removeTerms(BibEntry entry, String field, String content) {
+        Map<String, Set<BibEntry>> fieldPostings = postings.get(field);
+        if (fieldPostings == null) {
+            return;
+        }
+
+        for (String term : getTerms(content.toLowerCase())) {
+            Set<BibEntry> termPostings = fieldPostings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(entry);
+                if (termPostings.isEmpty()) {
+                    fieldPostings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Collection<String> getTerms(String content) {
+        Set<String> terms = new HashSet<>();
+        for (int i = 0; (i + TERM_LENGTH) <= content.length(); i++) {
+            terms.add(content.substring(i, i + TERM_LENGTH));
+        }
+        return terms;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent entryAddedEvent) {
+        if (built) {
+            addEntry(entryAddedEvent.getBibEntry());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent entryRemovedEvent) {
+        if (built) {
+            removeEntry(entryRemovedEvent.getBibEntry());
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent fieldChangedEvent) {
+        BibEntry entry = fieldChangedEvent.getBibEntry();
+        // removed entries still relay their changes to the database, so only indexed entries are considered
+        if (!built || !indexedEntries.containsKey(entry)) {
+            return;
+        }
+
+        String field = fieldChangedEvent.getFieldName();
+        String oldValue = fieldChangedEvent.getOldValue();
+        if (oldValue != null) {
+            removeTerms(entry, field, unicodeConverter.format(oldValue));
+        }
+        // the entry type and the internal id are no fields, and thus not indexed
+        if (entry.hasField(field)) {
+            entry.getLatexFreeField(field).ifPresent(content -> addTerms(entry, field, content));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.sf.jabref.model.database.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.EntryEventSource;
+
+/**
+ * {@link EntriesAddedEvent} is fired when several {@link BibEntry} were added to the {@link BibDatabase} at once.
+ * It is fired after the {@link EntryAddedEvent}s of the single entries, so listeners which handle the entries one by
+ * one do not have to listen for this event.
+ */
+public class EntriesAddedEvent {
+
+    private final List<BibEntry> bibEntries;
+    private final EntryEventSource location;
+
+
+    /**
+     * @param bibEntries <code>BibEntry</code> objects which have been added.
+     * @param location Location affected by this event
+     */
+    public EntriesAddedEvent(List<BibEntry> bibEntries, EntryEventSource location) {
+        this.bibEntries = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(bibEntries)));
+        this.location = Objects.requireNonNull(location);
+    }
+
+    public List<BibEntry> getBibEntries() {
+        return bibEntries;
+    }
+
+    public EntryEventSource getEntryEventSource() {
+        return location;
+    }
+}
@@ -10,11 +10,14 @@ import net.sf.jabref.model.entry.event.EntryEventSource;
  */
 public class EntryAddedEvent extends EntryEvent {
 
+    private final boolean batched;
+
+
     /**
      * @param bibEntry the entry which has been added
      */
     public EntryAddedEvent(BibEntry bibEntry) {
-        super(bibEntry);
+        this(bibEntry, EntryEventSource.LOCAL);
     }
 
     /**
@@ -22,6 +25,24 @@ public class EntryAddedEvent extends EntryEvent {
      * @param location Location affected by this event
      */
     public EntryAddedEvent(BibEntry bibEntry, EntryEventSource location) {
+        this(bibEntry, location, false);
+    }
+
+    /**
+     * @param bibEntry <code>BibEntry</code> object which has been added.
+     * @param location Location affected by this event
+     * @param batched <code>true</code> if the entry was added together with other entries
+     */
+    public EntryAddedEvent(BibEntry bibEntry, EntryEventSource location, boolean batched) {
         super(bibEntry, location);
+        this.batched = batched;
+    }
+
+    /**
+     * Returns whether the entry was added together with other entries. In this case an {@link EntriesAddedEvent}
+     * containing all of them is fired after the {@link EntryAddedEvent}s of the single entries.
+     */
+    public boolean isBatched() {
+        return batched;
     }
 }
@@ -5,11 +5,11 @@ import java.text.FieldPosition;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -18,7 +18,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 
 import net.sf.jabref.model.EntryTypes;
@@ -31,6 +31,7 @@ import net.sf.jabref.model.strings.LatexToUnicode;
 import net.sf.jabref.model.strings.StringUtil;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.MapMaker;
 import com.google.common.eventbus.EventBus;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -47,27 +48,40 @@ public class BibEntry implements Cloneable {
 
     private static final Pattern REMOVE_TRAILING_WHITESPACE = Pattern.compile("\\s+$");
 
+    /**
+     * Used to cleanse field values for internal LaTeX-free storage
+     */
+    private static final LatexToUnicode UNICODE_CONVERTER = new LatexToUnicode();
+
+    /**
+     * Most listeners (e.g., the database) are registered at many entries. Instead of an event bus per entry, each
+     * listener gets a single event bus, which is shared by all entries the listener is registered at. The entries
+     * hold the event buses, so a bus (and its listener) is garbage collected as soon as no entry references it.
+     */
+    private static final Map<Object, EventBus> LISTENER_EVENT_BUSES = new MapMaker().weakKeys().weakValues().makeMap();
+    private static final EventBus[] NO_EVENT_BUSES = new EventBus[0];
+
     private String id;
 
     private final SharedBibEntryData sharedBibEntryData;
 
     private String type;
-    private Map<String, String> fields = new ConcurrentHashMap<>();
+    private Map<String, String> fields = new CompactFieldMap<>();
 
     /**
      * Map to store the words in every field
      */
-    private final Map<String, Set<String>> fieldsAsWords = new HashMap<>();
+    private final Map<String, Set<String>> fieldsAsWords = new CompactFieldMap<>();
 
     /**
      * Cache that stores latex free versions of fields.
      */
-    private final Map<String, String> latexFreeFields = new ConcurrentHashMap<>();
+    private final Map<String, String> latexFreeFields = new CompactFieldMap<>();
 
     /**
-     * Used to cleanse field values for internal LaTeX-free storage
+     * Cache for values derived from several fields, e.g., sort keys, see {@link #getDerivedValue(String, Function)}
      */
-    private LatexToUnicode unicodeConverter = new LatexToUnicode();
+    private final Map<String, Object> derivedValues = new CompactFieldMap<>();
 
     // Search and grouping status is stored in boolean fields for quick reference:
     private boolean searchHit;
@@ -84,7 +98,10 @@ public class BibEntry implements Cloneable {
      */
     private boolean changed;
 
-    private final EventBus eventBus = new EventBus();
+    /**
+     * The event buses of the listeners registered at this entry, see {@link #LISTENER_EVENT_BUSES}
+     */
+    private volatile EventBus[] eventBuses = NO_EVENT_BUSES;
 
 
     /**
@@ -178,7 +195,7 @@ public class BibEntry implements Cloneable {
 
         String oldId = this.id;
 
-        eventBus.post(new FieldChangedEvent(this, BibEntry.ID_FIELD, id, oldId));
+        postEvent(new FieldChangedEvent(this, BibEntry.ID_FIELD, id, oldId));
         this.id = id;
         changed = true;
     }
@@ -240,8 +257,9 @@ public class BibEntry implements Cloneable {
         // the change listener to access the new value if the change
         // sets off a change in database sorting etc.
         this.type = newType.toLowerCase(Locale.ENGLISH);
+        derivedValues.clear();
         changed = true;
-        eventBus.post(new FieldChangedEvent(this, TYPE_HEADER, newType, oldType, eventSource));
+        postEvent(new FieldChangedEvent(this, TYPE_HEADER, newType, oldType, eventSource));
     }
 
     /**
@@ -436,7 +454,7 @@ public class BibEntry implements Cloneable {
         invalidateFieldCache(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue, value);
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        postEvent(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -492,7 +510,7 @@ public class BibEntry implements Cloneable {
         invalidateFieldCache(fieldName);
 
         FieldChange change = new FieldChange(this, fieldName, oldValue.get(), null);
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        postEvent(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -544,7 +562,7 @@ public class BibEntry implements Cloneable {
     @Override
     public Object clone() {
         BibEntry clone = new BibEntry(id, type);
-        clone.fields = new HashMap<>(fields);
+        clone.fields = new CompactFieldMap<>(fields);
         return clone;
     }
 
@@ -727,12 +745,45 @@ public class BibEntry implements Cloneable {
         return Objects.hash(type, fields);
     }
 
-    public void registerListener(Object object) {
-        this.eventBus.register(object);
+    public synchronized void registerListener(Object object) {
+        EventBus eventBus = LISTENER_EVENT_BUSES.computeIfAbsent(object, listener -> {
+            EventBus listenerEventBus = new EventBus();
+            listenerEventBus.register(listener);
+            return listenerEventBus;
+        });
+        EventBus[] current = eventBuses;
+        for (EventBus registered : current) {
+            if (registered == eventBus) {
+                return;
+            }
+        }
+        EventBus[] newEventBuses = Arrays.copyOf(current, current.length + 1);
+        newEventBuses[current.length] = eventBus;
+        eventBuses = newEventBuses;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the object is not registered as listener
+     */
+    public synchronized void unregisterListener(Object object) {
+        EventBus eventBus = LISTENER_EVENT_BUSES.get(object);
+        EventBus[] current = eventBuses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == eventBus) {
+                EventBus[] newEventBuses = new EventBus[current.length - 1];
+                System.arraycopy(current, 0, newEventBuses, 0, i);
+                System.arraycopy(current, i + 1, newEventBuses, i, current.length - i - 1);
+                eventBuses = newEventBuses;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Listener " + object + " is not registered at entry " + id);
     }
 
-    public void unregisterListener(Object object) {
-        this.eventBus.unregister(object);
+    private void postEvent(Object event) {
+        for (EventBus eventBus : eventBuses) {
+            eventBus.post(event);
+        }
     }
 
     public BibEntry withField(String field, String value) {
@@ -781,6 +832,25 @@ public class BibEntry implements Cloneable {
     private void invalidateFieldCache(String fieldName) {
         latexFreeFields.remove(fieldName);
         fieldsAsWords.remove(fieldName);
+        // derived values may depend on any field, e.g., through aliases
+        derivedValues.clear();
+    }
+
+    /**
+     * Returns a value derived from the fields of this entry, e.g., a sort key. It is computed once and kept until a
+     * field or the type of this entry changes.
+     *
+     * @param name        identifies the derived value, all callers using the same name must compute the same value
+     * @param computation computes the value, must not return null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getDerivedValue(String name, Function<BibEntry, T> computation) {
+        Object value = derivedValues.get(name);
+        if (value == null) {
+            value = Objects.requireNonNull(computation.apply(this));
+            derivedValues.put(name, value);
+        }
+        return (T) value;
     }
 
     public Optional<String> getLatexFreeField(String name) {
@@ -789,7 +859,7 @@ public class BibEntry implements Cloneable {
         } else if (latexFreeFields.containsKey(name)) {
             return Optional.ofNullable(latexFreeFields.get(toLowerCase(name)));
         } else {
-            String latexFreeField = unicodeConverter.format(getField(name).get()).intern();
+            String latexFreeField = UNICODE_CONVERTER.format(getField(name).get()).intern();
             latexFreeFields.put(name, latexFreeField);
             return Optional.of(latexFreeField);
         }
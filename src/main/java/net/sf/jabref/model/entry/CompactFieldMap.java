@@ -0,0 +1,190 @@
+package net.sf.jabref.model.entry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map from field names to values, which needs much less memory than a hash map for the few fields an entry has.
+ * <p>
+ * The keys and values are stored alternately in a single array, which is searched linearly. The field names are
+ * interned, so that they are shared by all entries and usually found by an identity comparison.
+ * <p>
+ * Every modification replaces the array, so reading (including iterating) is thread-safe without locking and works
+ * on a snapshot of the map. Like {@link java.util.concurrent.ConcurrentHashMap}, the map does not allow null keys
+ * or values.
+ */
+class CompactFieldMap<V> extends AbstractMap<String, V> {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    // keys at even indices, each followed by its value
+    private volatile Object[] table = EMPTY;
+
+
+    public CompactFieldMap() {
+        // empty map
+    }
+
+    public CompactFieldMap(Map<String, ? extends V> map) {
+        Object[] newTable = new Object[2 * map.size()];
+        int i = 0;
+        for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+            newTable[i] = Objects.requireNonNull(entry.getKey()).intern();
+            newTable[i + 1] = Objects.requireNonNull(entry.getValue());
+            i += 2;
+        }
+        table = newTable;
+    }
+
+    private static int indexOf(Object[] table, Object key) {
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] == key) {
+                return i;
+            }
+        }
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return table.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(table, key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object[] current = table;
+        int index = indexOf(current, key);
+        return index < 0 ? null : (V) current[index + 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized V put(String key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+
+        Object[] current = table;
+        int index = indexOf(current, key);
+        Object[] newTable;
+        if (index < 0) {
+            index = current.length;
+            newTable = new Object[current.length + 2];
+            System.arraycopy(current, 0, newTable, 0, current.length);
+            newTable[index] = key.intern();
+        } else {
+            newTable = current.clone();
+        }
+        newTable[index + 1] = value;
+        table = newTable;
+        return index < current.length ? (V) current[index + 1] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized V remove(Object key) {
+        Object[] current = table;
+        int index = indexOf(current, key);
+        if (index < 0) {
+            return null;
+        }
+        Object[] newTable = current.length == 2 ? EMPTY : new Object[current.length - 2];
+        System.arraycopy(current, 0, newTable, 0, index);
+        System.arraycopy(current, index + 2, newTable, index, current.length - index - 2);
+        table = newTable;
+        return (V) current[index + 1];
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = EMPTY;
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<Map.Entry<String, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return new EntryIterator(table);
+            }
+
+            @Override
+            public int size() {
+                return CompactFieldMap.this.size();
+            }
+        };
+    }
+
+
+    private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+        private final Object[] snapshot;
+        private int next;
+        private String lastKey;
+
+
+        EntryIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<String, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastKey = (String) snapshot[next];
+            Map.Entry<String, V> entry = new FieldEntry(lastKey, (V) snapshot[next + 1]);
+            next += 2;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            CompactFieldMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    private class FieldEntry extends SimpleEntry<String, V> {
+
+        FieldEntry(String key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
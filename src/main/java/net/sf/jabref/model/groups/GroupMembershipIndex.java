@@ -0,0 +1,175 @@
+package net.sf.jabref.model.groups;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.event.EntryAddedEvent;
+import net.sf.jabref.model.database.event.EntryRemovedEvent;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.event.EntryChangedEvent;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Keeps track of the entries of a database matched by the groups of a group tree.
+ * <p>
+ * Every entry of the database gets an ordinal, and for every group the matched entries are stored as a bitset over
+ * these ordinals. The bitset of a group is computed when it is requested for the first time. Afterwards, it is kept
+ * up to date by listening to the events of the database, so only added or changed entries have to be matched against
+ * the groups again. The hierarchical context of the groups (union of the subgroups, intersection with the supergroup)
+ * and the hit counts are then simple operations on these bitsets.
+ * <p>
+ * A group is assumed to always match the same entries, as long as the entries do not change. Editing a group replaces
+ * it by a new group object, which is matched anew.
+ */
+public class GroupMembershipIndex {
+
+    private final Map<BibEntry, Integer> ordinals = new IdentityHashMap<>();
+    // the entries by their ordinal, null if the ordinal is free
+    private final List<BibEntry> entries = new ArrayList<>();
+    private final BitSet usedOrdinals = new BitSet();
+
+    // matches of the groups themselves, i.e., without their hierarchical context
+    private final Map<AbstractGroup, BitSet> groupMatches = new MapMaker().weakKeys().makeMap();
+
+
+    public GroupMembershipIndex(BibDatabase database) {
+        synchronized (database) {
+            database.getEntries().forEach(this::addEntry);
+            database.registerListener(this);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryAddedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (!ordinals.containsKey(entry)) {
+            addEntry(entry);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryRemovedEvent event) {
+        Integer ordinal = ordinals.remove(event.getBibEntry());
+        if (ordinal != null) {
+            entries.set(ordinal, null);
+            usedOrdinals.clear(ordinal);
+            for (BitSet matches : groupMatches.values()) {
+                matches.clear(ordinal);
+            }
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntryChangedEvent event) {
+        // removed entries still post events, e.g., when an undo edit is applied to them
+        Integer ordinal = ordinals.get(event.getBibEntry());
+        if (ordinal != null) {
+            updateGroupMatches(event.getBibEntry(), ordinal);
+        }
+    }
+
+    private void addEntry(BibEntry entry) {
+        int ordinal = usedOrdinals.nextClearBit(0);
+        if (ordinal < entries.size()) {
+            entries.set(ordinal, entry);
+        } else {
+            entries.add(entry);
+        }
+        usedOrdinals.set(ordinal);
+        ordinals.put(entry, ordinal);
+        updateGroupMatches(entry, ordinal);
+    }
+
+    private void updateGroupMatches(BibEntry entry, int ordinal) {
+        for (Map.Entry<AbstractGroup, BitSet> matches : groupMatches.entrySet()) {
+            matches.getValue().set(ordinal, matches.getKey().contains(entry));
+        }
+    }
+
+    private BitSet getGroupMatches(AbstractGroup group) {
+        return groupMatches.computeIfAbsent(group, key -> {
+            BitSet matches = new BitSet(entries.size());
+            for (int i = usedOrdinals.nextSetBit(0); i >= 0; i = usedOrdinals.nextSetBit(i + 1)) {
+                if (group.contains(entries.get(i))) {
+                    matches.set(i);
+                }
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Returns the entries matched by the given node, taking the hierarchical context of the groups into account in the
+     * same way as {@link GroupTreeNode#getSearchRule()}.
+     *
+     * @return the ordinals of the matched entries. The returned bitset is a copy and may be modified.
+     */
+    public synchronized BitSet getMatches(GroupTreeNode node) {
+        return getMatches(node, node.getGroup().getHierarchicalContext());
+    }
+
+    private BitSet getMatches(GroupTreeNode node, GroupHierarchyType originalContext) {
+        BitSet matches = (BitSet) getGroupMatches(node.getGroup()).clone();
+        GroupHierarchyType context = node.getGroup().getHierarchicalContext();
+        if ((context == GroupHierarchyType.INCLUDING) && (originalContext != GroupHierarchyType.REFINING)) {
+            for (GroupTreeNode child : node.getChildren()) {
+                matches.or(getMatches(child, originalContext));
+            }
+        } else if ((context == GroupHierarchyType.REFINING) && !node.isRoot()
+                && (originalContext != GroupHierarchyType.INCLUDING)) {
+            matches.and(getMatches(node.getParent().get(), originalContext));
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the ordinals of all entries of the database.
+     *
+     * @return a bitset which is a copy and may be modified
+     */
+    public synchronized BitSet getAllEntries() {
+        return (BitSet) usedOrdinals.clone();
+    }
+
+    /**
+     * Returns the ordinals of the given entries. Entries which are not in the database are ignored.
+     */
+    public synchronized BitSet getOrdinals(Collection<BibEntry> entriesToFind) {
+        BitSet result = new BitSet();
+        for (BibEntry entry : entriesToFind) {
+            Integer ordinal = ordinals.get(entry);
+            if (ordinal != null) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the entries with the given ordinals.
+     */
+    public synchronized List<BibEntry> getEntries(BitSet ordinalsToFind) {
+        List<BibEntry> result = new ArrayList<>(ordinalsToFind.cardinality());
+        for (int i = ordinalsToFind.nextSetBit(0); i >= 0; i = ordinalsToFind.nextSetBit(i + 1)) {
+            if ((i < entries.size()) && (entries.get(i) != null)) {
+                result.add(entries.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the ordinal of the given entry is contained in the given bitset.
+     */
+    public synchronized boolean contains(BitSet ordinalsToCheck, BibEntry entry) {
+        Integer ordinal = ordinals.get(entry);
+        return (ordinal != null) && ordinalsToCheck.get(ordinal);
+    }
+}
@@ -1,6 +1,7 @@
 package net.sf.jabref.model.groups;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -208,6 +209,25 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         return groups;
     }
 
+    /**
+     * Same as {@link #getMatchingGroups(List)}, but intersects the bitsets kept by the given index instead of matching
+     * the entries against the groups.
+     */
+    public List<GroupTreeNode> getMatchingGroups(GroupMembershipIndex index, List<BibEntry> entries) {
+        List<GroupTreeNode> groups = new ArrayList<>();
+        addMatchingGroups(index, index.getOrdinals(entries), groups);
+        return groups;
+    }
+
+    private void addMatchingGroups(GroupMembershipIndex index, BitSet entries, List<GroupTreeNode> groups) {
+        if (index.getMatches(this).intersects(entries)) {
+            groups.add(this);
+        }
+        for (GroupTreeNode child : getChildren()) {
+            child.addMatchingGroups(index, entries, groups);
+        }
+    }
+
     public boolean supportsAddingEntries() {
         return group.supportsAdd();
     }
@@ -247,4 +267,14 @@ public class GroupTreeNode extends TreeNode<GroupTreeNode> {
         }
         return hits;
     }
+
+    /**
+     * Determines the number of entries of the database matched by this group, using the bitsets kept by the given
+     * index.
+     * @param index the index of the database
+     * @return number of hits
+     */
+    public int numberOfHits(GroupMembershipIndex index) {
+        return index.getMatches(this).cardinality();
+    }
 }
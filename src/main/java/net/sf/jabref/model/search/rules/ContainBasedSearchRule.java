@@ -1,8 +1,14 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.FullTextIndex;
 import net.sf.jabref.model.entry.BibEntry;
 
 /**
@@ -57,4 +63,33 @@ public class ContainBasedSearchRule implements SearchRule {
         return false; // Didn't match all words.
     }
 
+    @Override
+    public List<BibEntry> getMatches(String query, BibDatabase database) {
+        return SearchRules.getMatches(this, query, database, getCandidates(query, database));
+    }
+
+    /**
+     * Returns a superset of the entries matching the query, determined by the {@link FullTextIndex} of the database.
+     * Every entry has to contain all words of the query, so the candidates of the single words are intersected.
+     *
+     * @return the candidates, or an empty Optional if none of the words can be answered by the index
+     */
+    public Optional<Set<BibEntry>> getCandidates(String query, BibDatabase database) {
+        FullTextIndex index = database.getFullTextIndex();
+
+        Set<BibEntry> candidates = null;
+        for (String word : new SentenceAnalyzer(query.toLowerCase()).getWords()) {
+            Optional<Set<BibEntry>> wordCandidates = index.getCandidates(word);
+            if (wordCandidates.isPresent()) {
+                if (candidates == null) {
+                    candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+                    candidates.addAll(wordCandidates.get());
+                } else {
+                    candidates.retainAll(wordCandidates.get());
+                }
+            }
+        }
+        return Optional.ofNullable(candidates);
+    }
+
 }
@@ -1,5 +1,9 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -8,6 +12,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.entry.Keyword;
 import net.sf.jabref.search.SearchBaseVisitor;
@@ -102,6 +107,15 @@ public class GrammarBasedSearchRule implements SearchRule {
         }
     }
 
+    @Override
+    public List<BibEntry> getMatches(String query, BibDatabase database) {
+        Optional<Set<BibEntry>> candidates = Optional.empty();
+        if (tree != null) {
+            candidates = new CandidateSearchVisitor(caseSensitiveSearch, regExpSearch, database).visit(tree);
+        }
+        return SearchRules.getMatches(this, query, database, candidates);
+    }
+
     @Override
     public boolean validateSearchStrings(String query) {
         try {
@@ -254,4 +268,93 @@ public class GrammarBasedSearchRule implements SearchRule {
         }
     }
 
+    /**
+     * Determines a superset of the entries matching the search expression by using the
+     * {@link net.sf.jabref.model.database.FullTextIndex} of the database for plain terms.
+     * An empty Optional stands for "all entries", which is the case for regular expressions and negations.
+     */
+    static class CandidateSearchVisitor extends SearchBaseVisitor<Optional<Set<BibEntry>>> {
+
+        private final boolean caseSensitive;
+        private final boolean regex;
+
+        private final BibDatabase database;
+
+        public CandidateSearchVisitor(boolean caseSensitive, boolean regex, BibDatabase database) {
+            this.caseSensitive = caseSensitive;
+            this.regex = regex;
+            this.database = database;
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitComparison(SearchParser.ComparisonContext context) {
+            // remove possible enclosing " symbols
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            Optional<SearchParser.NameContext> fieldDescriptor = Optional.ofNullable(context.left);
+            if (!fieldDescriptor.isPresent()) {
+                return new ContainBasedSearchRule(caseSensitive).getCandidates(right, database);
+            }
+
+            // both "contains" and "matches" require the value to be contained in the field
+            ComparisonOperator operator = ComparisonOperator.build(context.operator.getText());
+            if (regex || (operator == ComparisonOperator.DOES_NOT_CONTAIN)) {
+                return Optional.empty();
+            }
+
+            String field = fieldDescriptor.get().getText().toLowerCase(Locale.ENGLISH);
+            if (BibEntry.TYPE_HEADER.equals(field) || "anykeyword".equals(field)) {
+                return Optional.empty();
+            } else if ("anyfield".equals(field)) {
+                return database.getFullTextIndex().getCandidates(right.toLowerCase());
+            } else {
+                return database.getFullTextIndex().getCandidates(field, right.toLowerCase());
+            }
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression()); // ignore parenthesis
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            Optional<Set<BibEntry>> left = visit(ctx.left);
+            Optional<Set<BibEntry>> right = visit(ctx.right);
+
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                if (!left.isPresent()) {
+                    return right;
+                } else if (!right.isPresent()) {
+                    return left;
+                }
+                Set<BibEntry> intersection = Collections.newSetFromMap(new IdentityHashMap<>());
+                intersection.addAll(left.get());
+                intersection.retainAll(right.get());
+                return Optional.of(intersection);
+            } else {
+                if (!left.isPresent() || !right.isPresent()) {
+                    return Optional.empty();
+                }
+                Set<BibEntry> union = Collections.newSetFromMap(new IdentityHashMap<>());
+                union.addAll(left.get());
+                union.addAll(right.get());
+                return Optional.of(union);
+            }
+        }
+    }
+
 }
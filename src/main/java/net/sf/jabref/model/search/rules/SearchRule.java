@@ -1,5 +1,9 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.List;
+import java.util.Optional;
+
+import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.entry.BibEntry;
 
 public interface SearchRule {
@@ -7,4 +11,14 @@ public interface SearchRule {
     boolean applyRule(String query, BibEntry bibEntry);
 
     boolean validateSearchStrings(String query);
+
+    /**
+     * Returns all entries of the given database matching the query, in the order of the database.
+     * <p>
+     * Rules which can narrow down the entries to check by the {@link net.sf.jabref.model.database.FullTextIndex}
+     * of the database override this method. The default implementation checks every entry.
+     */
+    default List<BibEntry> getMatches(String query, BibDatabase database) {
+        return SearchRules.getMatches(this, query, database, Optional.empty());
+    }
 }
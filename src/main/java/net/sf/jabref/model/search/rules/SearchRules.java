@@ -1,5 +1,14 @@
 package net.sf.jabref.model.search.rules;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.model.strings.StringUtil;
 
 public class SearchRules {
@@ -30,4 +39,27 @@ public class SearchRules {
         }
     }
 
+    /**
+     * Returns all entries of the database matching the query, in the order of the database.
+     *
+     * @param candidates a superset of the matching entries taken from the full text index, if known. Then, only these
+     *                   entries are checked. Otherwise, all entries are checked.
+     */
+    static List<BibEntry> getMatches(SearchRule rule, String query, BibDatabase database,
+            Optional<Set<BibEntry>> candidates) {
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<BibEntry> entriesToCheck;
+        if (candidates.isPresent()) {
+            entriesToCheck = database.getFullTextIndex().sortByDatabaseOrder(candidates.get());
+        } else {
+            entriesToCheck = new ArrayList<>(database.getEntries());
+        }
+        return entriesToCheck.parallelStream()
+                .filter(entry -> rule.applyRule(query, entry))
+                .collect(Collectors.toList());
+    }
+
 }
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
@@ -30,6 +31,7 @@ import net.sf.jabref.logic.importer.fileformat.PdfXmpImporter;
 import net.sf.jabref.logic.l10n.Localization;
 import net.sf.jabref.logic.util.UpdateField;
 import net.sf.jabref.logic.util.io.FileUtil;
+import net.sf.jabref.logic.xmp.PdfContentCache;
 import net.sf.jabref.logic.xmp.XMPUtil;
 import net.sf.jabref.model.database.KeyCollisionException;
 import net.sf.jabref.model.entry.BibEntry;
@@ -117,6 +119,27 @@ public class PdfImporter {
         return new ImportPdfFilesResult(noPdfFiles, entries);
     }
 
+    /**
+     * Reads the XMP metadata of the given PDF files in the background while they are imported one after the other,
+     * unless the import does not look at the metadata at all (as the user chose to import all files in another way).
+     * The import has to call {@link PdfContentCache.Prefetch#next()} for each file it starts with.
+     *
+     * @param fileNames - PDF files to import
+     * @param running the prefetch stops as soon as this is set to false
+     */
+    public static PdfContentCache.Prefetch prefetchMetadata(List<String> fileNames, AtomicBoolean running) {
+        boolean neverShow = Globals.prefs.getBoolean(JabRefPreferences.IMPORT_ALWAYSUSE);
+        int globalChoice = Globals.prefs.getInt(JabRefPreferences.IMPORT_DEFAULT_PDF_IMPORT_STYLE);
+
+        List<Path> filePaths = new ArrayList<>(fileNames.size());
+        if (!neverShow || (globalChoice == ImportDialog.XMP)) {
+            for (String fileName : fileNames) {
+                filePaths.add(Paths.get(fileName));
+            }
+        }
+        return XMPUtil.prefetchXMP(filePaths, Globals.prefs.getXMPPreferences(), running);
+    }
+
     /**
      * @param fileNames - PDF files to import
      * @return true if the import succeeded, false otherwise
@@ -125,6 +148,7 @@ public class PdfImporter {
         if (panel == null) {
             return Collections.emptyList();
         }
+        PdfContentCache.Prefetch prefetch = prefetchMetadata(fileNames, new AtomicBoolean(true));
         ImportDialog importDialog = null;
         boolean doNotShowAgain = false;
         boolean neverShow = Globals.prefs.getBoolean(JabRefPreferences.IMPORT_ALWAYSUSE);
@@ -134,6 +158,7 @@ public class PdfImporter {
         List<BibEntry> res = new ArrayList<>();
 
         for (String fileName : fileNames) {
+            prefetch.next();
             if (!neverShow && !doNotShowAgain) {
                 importDialog = new ImportDialog(dropRow >= 0, fileName);
                 if (!XMPUtil.hasMetadata(Paths.get(fileName), Globals.prefs.getXMPPreferences())) {
@@ -14,6 +14,8 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -482,6 +484,14 @@ public class JabRefPreferences {
         return JabRefPreferences.singleton;
     }
 
+    /**
+     * Returns the directory in the home of the user in which data derived from the files of the user, e.g., the data
+     * read from PDF files, is kept between sessions.
+     */
+    public static Path getCacheDirectory() {
+        return Paths.get(USER_HOME, ".jabref", "cache");
+    }
+
     // The constructor is made private to enforce this as a singleton class:
     private JabRefPreferences() {
         try {
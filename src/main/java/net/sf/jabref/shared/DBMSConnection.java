@@ -36,6 +36,14 @@ public class DBMSConnection {
         }
     }
 
+    /**
+     * Wraps an already established connection, e.g. to an embedded database used by tests.
+     */
+    DBMSConnection(DBMSConnectionProperties properties, Connection connection) {
+        this.properties = properties;
+        this.connection = connection;
+    }
+
     public Connection getConnection() {
         return this.connection;
     }
@@ -5,14 +5,19 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import net.sf.jabref.model.entry.BibEntry;
@@ -29,11 +34,30 @@ public abstract class DBMSProcessor {
 
     protected static final Log LOGGER = LogFactory.getLog(DBMSProcessor.class);
 
+    /**
+     * Maximum number of IDs in one IN list (Oracle does not accept more than 1000 expressions).
+     */
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    /**
+     * Number of latest revisions kept in ENTRY_CHANGE table. Clients which synchronized before the oldest kept
+     * revision compare all entries again.
+     *
+     * This field is package private, because of DBMSDeltaSynchronizationTest
+     */
+    static final int CHANGE_LOG_RETENTION = 10000;
+
+    // SQL state class of integrity constraint violations, e.g., duplicate keys
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
 
     protected final Connection connection;
 
     protected DBMSConnectionProperties connectionProperties;
 
+    // whether the driver returns the generated keys of a batch, which is assumed until it does not
+    private boolean batchReturnsGeneratedKeys = true;
+
     public static final String PROCESSOR_ID = UUID.randomUUID().toString();
 
 
@@ -49,7 +73,7 @@ public abstract class DBMSProcessor {
      * @throws SQLException
      */
     public boolean checkBaseIntegrity() throws SQLException {
-        return checkTableAvailibility("ENTRY", "FIELD", "METADATA");
+        return checkTableAvailibility("ENTRY", "FIELD", "METADATA", "ENTRY_CHANGE", "ENTRY_CHANGE_COUNTER");
     }
 
     /**
@@ -74,7 +98,7 @@ public abstract class DBMSProcessor {
      * @param tableNames Table names to be checked
      * @return <code>true</code> if <b>all</b> given tables are present, else <code>false</code>.
      */
-    private boolean checkTableAvailibility(String... tableNames) throws SQLException {
+    protected boolean checkTableAvailibility(String... tableNames) throws SQLException {
         List<String> requiredTables = new ArrayList<>();
         for (String name : tableNames) {
             requiredTables.add(name.toUpperCase(Locale.ENGLISH));
@@ -99,6 +123,7 @@ public abstract class DBMSProcessor {
      */
     public void setupSharedDatabase() throws SQLException {
         setUp();
+        setUpChangeCounter();
 
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
@@ -113,6 +138,41 @@ public abstract class DBMSProcessor {
      */
     protected abstract void setUp() throws SQLException;
 
+    /**
+     * Inserts the single row of ENTRY_CHANGE_COUNTER table if it is missing. The counter starts at the latest revision
+     * already recorded, so that revisions keep increasing. The row has a constant primary key, thus a client setting
+     * up the database concurrently cannot insert a second one.
+     */
+    private void setUpChangeCounter() throws SQLException {
+        try (ResultSet countResultSet = connection.createStatement()
+                .executeQuery("SELECT COUNT(*) FROM " + escape("ENTRY_CHANGE_COUNTER"))) {
+            if (countResultSet.next() && (countResultSet.getInt(1) > 0)) {
+                return;
+            }
+        }
+
+        StringBuilder insertCounterQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("ENTRY_CHANGE_COUNTER"))
+                .append("(")
+                .append(escape("ID"))
+                .append(", ")
+                .append(escape("REVISION"))
+                .append(") SELECT 1, COALESCE(MAX(")
+                .append(escape("REVISION"))
+                .append("), 0) FROM ")
+                .append(escape("ENTRY_CHANGE"));
+
+        try {
+            connection.createStatement().executeUpdate(insertCounterQuery.toString());
+        } catch (SQLException e) {
+            if ((e.getSQLState() == null) || !e.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION)) {
+                throw e;
+            }
+            LOGGER.debug("ENTRY_CHANGE_COUNTER table has been set up by another client", e);
+        }
+    }
+
     /**
      * Escapes parts of SQL expressions like table or field name to match the conventions
      * of the database system using the current dbmsType.
@@ -131,19 +191,65 @@ public abstract class DBMSProcessor {
      * @param bibEntry {@link BibEntry} to be inserted
      */
     public void insertEntry(BibEntry bibEntry) {
-        if (!checkForBibEntryExistence(bibEntry)) {
-            insertIntoEntryTable(bibEntry);
-            insertIntoFieldTable(bibEntry);
+        insertEntries(Collections.singletonList(bibEntry));
+    }
+
+    /**
+     * Inserts all given entries into shared database within one transaction.
+     * The existence check, the entries, their fields and changes are sent in batches, so that the number of round trips
+     * does not depend on the number of entries.
+     * If the transaction fails, the entries keep the shared IDs they had before.
+     *
+     * @param bibEntries {@link BibEntry} objects to be inserted
+     */
+    public void insertEntries(Collection<BibEntry> bibEntries) {
+        Set<Integer> existingSharedIDs = getExistingSharedIDs(bibEntries);
+        List<BibEntry> notExistingEntries = new ArrayList<>(bibEntries.size());
+        for (BibEntry bibEntry : bibEntries) {
+            if (!existingSharedIDs.contains(bibEntry.getSharedBibEntryData().getSharedID())) {
+                notExistingEntries.add(bibEntry);
+            }
         }
+        if (notExistingEntries.isEmpty()) {
+            return;
+        }
+
+        List<Integer> previousSharedIDs = new ArrayList<>(notExistingEntries.size());
+        for (BibEntry bibEntry : notExistingEntries) {
+            previousSharedIDs.add(bibEntry.getSharedBibEntryData().getSharedID());
+        }
+
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try {
+                insertIntoEntryTable(notExistingEntries);
+                insertIntoFieldTable(notExistingEntries);
+                insertIntoChangeTable(notExistingEntries);
 
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+                connection.rollback(); // undo changes made in current transaction
+                // the generated IDs do not exist on shared database anymore
+                for (int i = 0; i < notExistingEntries.size(); i++) {
+                    notExistingEntries.get(i).getSharedBibEntryData().setSharedID(previousSharedIDs.get(i));
+                }
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
     }
 
     /**
-     * Inserts the given bibEntry into ENTRY table.
+     * Inserts the given entries into ENTRY table using one batch and sets their generated IDs locally.
+     * If the driver does not return the generated keys of a batch, the batch is undone and the statement is executed
+     * for each entry.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} objects to be inserted
      */
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
+    private void insertIntoEntryTable(List<BibEntry> bibEntries) throws SQLException {
         // Inserting into ENTRY table
         StringBuilder insertIntoEntryQuery = new StringBuilder()
                 .append("INSERT INTO ")
@@ -152,88 +258,143 @@ public abstract class DBMSProcessor {
                 .append(escape("TYPE"))
                 .append(") VALUES(?)");
 
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                new String[] {"SHARED_ID"})) {
+        try (PreparedStatement preparedEntryStatement = prepareInsertIntoEntryStatement(insertIntoEntryQuery.toString())) {
+            if (batchReturnsGeneratedKeys) {
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    for (BibEntry bibEntry : bibEntries) {
+                        preparedEntryStatement.setString(1, bibEntry.getType());
+                        preparedEntryStatement.addBatch();
+                    }
+                    preparedEntryStatement.executeBatch();
+
+                    List<Integer> generatedIDs = new ArrayList<>(bibEntries.size());
+                    try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            generatedIDs.add(generatedKeys.getInt(1));
+                        }
+                    }
+                    if (generatedIDs.size() == bibEntries.size()) {
+                        for (int i = 0; i < bibEntries.size(); i++) {
+                            // set generated ID locally
+                            bibEntries.get(i).getSharedBibEntryData().setSharedID(generatedIDs.get(i));
+                        }
+                        return;
+                    }
+                } catch (SQLException e) {
+                    LOGGER.debug("Cannot insert entries using one batch", e);
+                }
+                connection.rollback(savepoint);
+                batchReturnsGeneratedKeys = false;
+                preparedEntryStatement.clearBatch();
+            }
 
-            preparedEntryStatement.setString(1, bibEntry.getType());
-            preparedEntryStatement.executeUpdate();
+            for (BibEntry bibEntry : bibEntries) {
+                preparedEntryStatement.setString(1, bibEntry.getType());
+                preparedEntryStatement.executeUpdate();
 
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
+                    }
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
     }
 
     /**
-     * Checks whether the given bibEntry already exists on shared database.
-     * @param bibEntry {@link BibEntry} to be checked
-     * @return <code>true</code> if existent, else <code>false</code>
+     * Prepares the statement inserting into ENTRY table, so that it returns the generated SHARED_ID.
+     *
+     * @param insertIntoEntryQuery INSERT query
      */
-    private boolean checkForBibEntryExistence(BibEntry bibEntry) {
-        try {
-            // Check if already exists
+    protected PreparedStatement prepareInsertIntoEntryStatement(String insertIntoEntryQuery) throws SQLException {
+        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
+        return connection.prepareStatement(insertIntoEntryQuery, new String[] {"SHARED_ID"});
+    }
+
+    /**
+     * Returns the shared IDs of the given entries which already exist on shared database.
+     * Entries without shared ID are not looked up.
+     *
+     * @param bibEntries {@link BibEntry} objects to be checked
+     */
+    private Set<Integer> getExistingSharedIDs(Collection<BibEntry> bibEntries) {
+        List<Integer> sharedIDs = new ArrayList<>();
+        for (BibEntry bibEntry : bibEntries) {
             int sharedID = bibEntry.getSharedBibEntryData().getSharedID();
             if (sharedID != -1) {
-                StringBuilder selectQuery = new StringBuilder()
-                        .append("SELECT * FROM ")
-                        .append(escape("ENTRY"))
-                        .append(" WHERE ")
-                        .append(escape("SHARED_ID"))
-                        .append(" = ?");
-
-                try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
-                    preparedSelectStatement.setInt(1, sharedID);
-                    try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
-                        if (resultSet.next()) {
-                            return true;
-                        }
+                sharedIDs.add(sharedID);
+            }
+        }
+
+        Set<Integer> existingSharedIDs = new HashSet<>();
+        // some systems (e.g. Oracle) limit the number of expressions in an IN list
+        for (int chunkStart = 0; chunkStart < sharedIDs.size(); chunkStart += MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = sharedIDs.subList(chunkStart,
+                    Math.min(chunkStart + MAX_IN_LIST_SIZE, sharedIDs.size()));
+
+            StringBuilder selectQuery = new StringBuilder()
+                    .append("SELECT ")
+                    .append(escape("SHARED_ID"))
+                    .append(" FROM ")
+                    .append(escape("ENTRY"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+                    .append(")");
+
+            try (PreparedStatement preparedSelectStatement = connection.prepareStatement(selectQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedSelectStatement.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedSelectStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existingSharedIDs.add(resultSet.getInt(1));
                     }
                 }
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
         }
-        return false;
+        return existingSharedIDs;
     }
 
     /**
-     * Inserts the given bibEntry into FIELD table.
+     * Inserts the fields of the given entries into FIELD table using one batch.
      *
-     * @param bibEntry {@link BibEntry} to be inserted
+     * @param bibEntries {@link BibEntry} objects to be inserted
      */
-    private void insertIntoFieldTable(BibEntry bibEntry) {
-        try {
-            // Inserting into FIELD table
-            for (String fieldName : bibEntry.getFieldNames()) {
-                StringBuilder insertFieldQuery = new StringBuilder()
-                    .append("INSERT INTO ")
-                    .append(escape("FIELD"))
-                    .append("(")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(", ")
-                    .append(escape("NAME"))
-                    .append(", ")
-                    .append(escape("VALUE"))
-                    .append(") VALUES(?, ?, ?)");
-
-                try (PreparedStatement preparedFieldStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+    private void insertIntoFieldTable(List<BibEntry> bibEntries) throws SQLException {
+        // Inserting into FIELD table
+        try (PreparedStatement preparedFieldStatement = connection.prepareStatement(getInsertIntoFieldQuery())) {
+            for (BibEntry bibEntry : bibEntries) {
+                for (String fieldName : bibEntry.getFieldNames()) {
                     // columnIndex starts with 1
                     preparedFieldStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
                     preparedFieldStatement.setString(2, fieldName);
                     preparedFieldStatement.setString(3, bibEntry.getField(fieldName).get());
-                    preparedFieldStatement.executeUpdate();
+                    preparedFieldStatement.addBatch();
                 }
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
+            preparedFieldStatement.executeBatch();
         }
     }
 
+    private String getInsertIntoFieldQuery() {
+        return new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)")
+                .toString();
+    }
+
     /**
      * Updates the whole {@link BibEntry} on shared database.
      *
@@ -259,7 +420,7 @@ public abstract class DBMSProcessor {
             if ((localBibEntry.getSharedBibEntryData().getVersion() >= sharedBibEntry.getSharedBibEntryData()
                     .getVersion()) || localBibEntry.equals(sharedBibEntry)) {
 
-                insertOrUpdateFields(localBibEntry);
+                insertOrUpdateFields(localBibEntry, sharedBibEntry);
 
                 // updating entry type
                 StringBuilder updateEntryTypeQuery = new StringBuilder()
@@ -281,6 +442,8 @@ public abstract class DBMSProcessor {
                     preparedUpdateEntryTypeStatement.executeUpdate();
                 }
 
+                insertIntoChangeTable(Collections.singletonList(localBibEntry));
+
                 connection.commit(); // apply all changes in current transaction
 
             } else {
@@ -300,93 +463,77 @@ public abstract class DBMSProcessor {
     private void removeSharedFieldsByDifference(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
         Set<String> nullFields = new HashSet<>(sharedBibEntry.getFieldNames());
         nullFields.removeAll(localBibEntry.getFieldNames());
-        for (String nullField : nullFields) {
-            StringBuilder deleteFieldQuery = new StringBuilder()
-                .append("DELETE FROM ")
-                .append(escape("FIELD"))
-                .append(" WHERE ")
-                .append(escape("NAME"))
-                .append(" = ? AND ")
-                .append(escape("ENTRY_SHARED_ID"))
-                .append(" = ?");
+        if (nullFields.isEmpty()) {
+            return;
+        }
 
-            try (PreparedStatement preparedDeleteFieldStatement = connection
-                    .prepareStatement(deleteFieldQuery.toString())) {
+        StringBuilder deleteFieldQuery = new StringBuilder()
+            .append("DELETE FROM ")
+            .append(escape("FIELD"))
+            .append(" WHERE ")
+            .append(escape("NAME"))
+            .append(" = ? AND ")
+            .append(escape("ENTRY_SHARED_ID"))
+            .append(" = ?");
+
+        try (PreparedStatement preparedDeleteFieldStatement = connection
+                .prepareStatement(deleteFieldQuery.toString())) {
+            for (String nullField : nullFields) {
                 preparedDeleteFieldStatement.setString(1, nullField);
                 preparedDeleteFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-                preparedDeleteFieldStatement.executeUpdate();
+                preparedDeleteFieldStatement.addBatch();
             }
+            preparedDeleteFieldStatement.executeBatch();
         }
     }
 
     /**
-     * Helping method. Inserts a key-value pair into FIELD table for every field if not existing. Otherwise only an update is performed.
+     * Helping method. Inserts a key-value pair into FIELD table for every field not existing in the shared entry.
+     * Otherwise only an update is performed. Updates and inserts are sent as one batch each.
      */
-    private void insertOrUpdateFields(BibEntry localBibEntry) throws SQLException {
-        for (String fieldName : localBibEntry.getFieldNames()) {
-            // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
-            Optional<String> valueOptional = localBibEntry.getField(fieldName);
-            String value = null;
-            if (valueOptional.isPresent()) {
-                value = valueOptional.get();
-            }
+    private void insertOrUpdateFields(BibEntry localBibEntry, BibEntry sharedBibEntry) throws SQLException {
+        Set<String> sharedFieldNames = sharedBibEntry.getFieldNames();
 
-            StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("NAME"))
-                    .append(" = ? AND ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+        StringBuilder updateFieldQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("FIELD"))
+                .append(" SET ")
+                .append(escape("VALUE"))
+                .append(" = ? WHERE ")
+                .append(escape("NAME"))
+                .append(" = ? AND ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(" = ?");
 
-            try (PreparedStatement preparedSelectFieldStatement = connection
-                    .prepareStatement(selectFieldQuery.toString())) {
-                preparedSelectFieldStatement.setString(1, fieldName);
-                preparedSelectFieldStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
-
-                try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                    if (selectFieldResultSet.next()) { // check if field already exists
-                        StringBuilder updateFieldQuery = new StringBuilder()
-                                .append("UPDATE ")
-                                .append(escape("FIELD"))
-                                .append(" SET ")
-                                .append(escape("VALUE"))
-                                .append(" = ? WHERE ")
-                                .append(escape("NAME"))
-                                .append(" = ? AND ")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(" = ?");
-
-                        try (PreparedStatement preparedUpdateFieldStatement = connection
-                                .prepareStatement(updateFieldQuery.toString())) {
-                            preparedUpdateFieldStatement.setString(1, value);
-                            preparedUpdateFieldStatement.setString(2, fieldName);
-                            preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedUpdateFieldStatement.executeUpdate();
-                        }
-                    } else {
-                        StringBuilder insertFieldQuery = new StringBuilder()
-                                .append("INSERT INTO ")
-                                .append(escape("FIELD"))
-                                .append("(")
-                                .append(escape("ENTRY_SHARED_ID"))
-                                .append(", ")
-                                .append(escape("NAME"))
-                                .append(", ")
-                                .append(escape("VALUE"))
-                                .append(") VALUES(?, ?, ?)");
-
-                        try (PreparedStatement preparedFieldStatement = connection
-                                .prepareStatement(insertFieldQuery.toString())) {
-                            preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
-                            preparedFieldStatement.setString(2, fieldName);
-                            preparedFieldStatement.setString(3, value);
-                            preparedFieldStatement.executeUpdate();
-                        }
-                    }
+        try (PreparedStatement preparedUpdateFieldStatement = connection.prepareStatement(updateFieldQuery.toString());
+                PreparedStatement preparedFieldStatement = connection.prepareStatement(getInsertIntoFieldQuery())) {
+            boolean updates = false;
+            boolean inserts = false;
+            for (String fieldName : localBibEntry.getFieldNames()) {
+                // avoiding to use deprecated BibEntry.getField() method. null values are accepted by PreparedStatement!
+                String value = localBibEntry.getField(fieldName).orElse(null);
+
+                if (sharedFieldNames.contains(fieldName)) { // check if field already exists
+                    preparedUpdateFieldStatement.setString(1, value);
+                    preparedUpdateFieldStatement.setString(2, fieldName);
+                    preparedUpdateFieldStatement.setInt(3, localBibEntry.getSharedBibEntryData().getSharedID());
+                    preparedUpdateFieldStatement.addBatch();
+                    updates = true;
+                } else {
+                    preparedFieldStatement.setInt(1, localBibEntry.getSharedBibEntryData().getSharedID());
+                    preparedFieldStatement.setString(2, fieldName);
+                    preparedFieldStatement.setString(3, value);
+                    preparedFieldStatement.addBatch();
+                    inserts = true;
                 }
             }
+
+            if (updates) {
+                preparedUpdateFieldStatement.executeBatch();
+            }
+            if (inserts) {
+                preparedFieldStatement.executeBatch();
+            }
         }
     }
 
@@ -403,13 +550,115 @@ public abstract class DBMSProcessor {
                 .append(escape("SHARED_ID"))
                 .append(" = ?");
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
-            preparedStatement.executeUpdate();
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                preparedStatement.executeUpdate();
+                insertIntoChangeTable(Collections.singletonList(bibEntry));
+
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error: ", e);
+                connection.rollback(); // undo changes made in current transaction
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
+    }
+
+    /**
+     * Records a change (insertion, update or removal) of the given shared entries in ENTRY_CHANGE table.
+     * Each change gets a monotonically increasing revision, which allows clients to pull only the changes made since
+     * their last synchronization (see {@link #getChangedSharedIDs(int)}).
+     * <p>
+     * The revisions are taken from ENTRY_CHANGE_COUNTER table, whose row stays locked until the current transaction
+     * ends. Thus, concurrent changes are serialized and their revisions become visible in ascending order: a client
+     * which has seen a revision will never miss a lower one committed later. This method has to be called within a
+     * transaction, as late as possible before its commit.
+     * <p>
+     * Only the latest {@link #CHANGE_LOG_RETENTION} revisions are kept, older ones are removed.
+     *
+     * This method is package private, because of DBMSDeltaSynchronizationTest
+     *
+     * @param bibEntries changed {@link BibEntry} objects
+     */
+    void insertIntoChangeTable(List<BibEntry> bibEntries) throws SQLException {
+        if (bibEntries.isEmpty()) {
+            return;
+        }
 
+        int revision = reserveRevisions(bibEntries.size()) - bibEntries.size();
+
+        StringBuilder insertIntoChangeQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("ENTRY_CHANGE"))
+                .append("(")
+                .append(escape("REVISION"))
+                .append(", ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(") VALUES(?, ?)");
+
+        try (PreparedStatement preparedChangeStatement = connection.prepareStatement(insertIntoChangeQuery.toString())) {
+            for (BibEntry bibEntry : bibEntries) {
+                revision++;
+                preparedChangeStatement.setInt(1, revision);
+                preparedChangeStatement.setInt(2, bibEntry.getSharedBibEntryData().getSharedID());
+                preparedChangeStatement.addBatch();
+            }
+            preparedChangeStatement.executeBatch();
+        }
+
+        if (revision > CHANGE_LOG_RETENTION) {
+            StringBuilder deleteFromChangeQuery = new StringBuilder()
+                    .append("DELETE FROM ")
+                    .append(escape("ENTRY_CHANGE"))
+                    .append(" WHERE ")
+                    .append(escape("REVISION"))
+                    .append(" <= ?");
+
+            try (PreparedStatement preparedDeleteStatement = connection.prepareStatement(deleteFromChangeQuery.toString())) {
+                preparedDeleteStatement.setInt(1, revision - CHANGE_LOG_RETENTION);
+                preparedDeleteStatement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Helping method. Increases the counter of ENTRY_CHANGE_COUNTER table by the given number of revisions, which locks
+     * its row until the end of the current transaction.
+     *
+     * @return the last of the reserved revisions
+     */
+    private int reserveRevisions(int count) throws SQLException {
+        StringBuilder updateCounterQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("ENTRY_CHANGE_COUNTER"))
+                .append(" SET ")
+                .append(escape("REVISION"))
+                .append(" = ")
+                .append(escape("REVISION"))
+                .append(" + ?");
+
+        try (PreparedStatement preparedUpdateCounterStatement = connection.prepareStatement(updateCounterQuery.toString())) {
+            preparedUpdateCounterStatement.setInt(1, count);
+            preparedUpdateCounterStatement.executeUpdate();
+        }
+
+        StringBuilder selectCounterQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("REVISION"))
+                .append(" FROM ")
+                .append(escape("ENTRY_CHANGE_COUNTER"));
+
+        try (ResultSet selectCounterResultSet = connection.createStatement().executeQuery(selectCounterQuery.toString())) {
+            if (selectCounterResultSet.next()) {
+                return selectCounterResultSet.getInt(1);
+            }
+        }
+        throw new SQLException("ENTRY_CHANGE_COUNTER table is empty");
     }
 
     /**
@@ -417,7 +666,7 @@ public abstract class DBMSProcessor {
      * @return instance of {@link BibEntry}
      */
     public Optional<BibEntry> getSharedEntry(int sharedID) {
-        List<BibEntry> sharedEntries = getSharedEntryList(sharedID);
+        List<BibEntry> sharedEntries = getSharedEntries(Collections.singletonList(sharedID));
         if (!sharedEntries.isEmpty()) {
             return Optional.of(sharedEntries.get(0));
         }
@@ -425,58 +674,110 @@ public abstract class DBMSProcessor {
     }
 
     public List<BibEntry> getSharedEntries() {
-        return getSharedEntryList(0);
+        StringBuilder selectEntryQuery = getSelectEntryQuery()
+                .append(" ORDER BY ")
+                .append(escape("ENTRY"))
+                .append(".")
+                .append(escape("SHARED_ID"));
+
+        try (PreparedStatement preparedSelectEntryStatement = connection.prepareStatement(selectEntryQuery.toString())) {
+            return getSharedEntryList(preparedSelectEntryStatement);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+        return new ArrayList<>();
     }
 
     /**
-     * @param sharedID Entry ID. If 0, all entries are going to be fetched.
-     * @return List of {@link BibEntry} instances
+     * Fetches the entries with the given IDs together with their fields. IDs which are not present on shared database
+     * are ignored.
+     *
+     * @param sharedIDs Entry IDs
+     * @return List of {@link BibEntry} instances ordered by their IDs
      */
-    private List<BibEntry> getSharedEntryList(int sharedID) {
-        List<BibEntry> sharedEntries = new ArrayList<>();
+    public List<BibEntry> getSharedEntries(Collection<Integer> sharedIDs) {
+        List<Integer> sortedSharedIDs = new ArrayList<>(new TreeSet<>(sharedIDs));
+        List<BibEntry> sharedEntries = new ArrayList<>(sortedSharedIDs.size());
 
-        StringBuilder selectEntryQuery = new StringBuilder();
-        selectEntryQuery.append("SELECT * FROM ");
-        selectEntryQuery.append(escape("ENTRY"));
+        // some systems (e.g. Oracle) limit the number of expressions in an IN list
+        for (int chunkStart = 0; chunkStart < sortedSharedIDs.size(); chunkStart += MAX_IN_LIST_SIZE) {
+            List<Integer> chunk = sortedSharedIDs.subList(chunkStart,
+                    Math.min(chunkStart + MAX_IN_LIST_SIZE, sortedSharedIDs.size()));
+
+            StringBuilder selectEntryQuery = getSelectEntryQuery()
+                    .append(" WHERE ")
+                    .append(escape("ENTRY"))
+                    .append(".")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append(String.join(", ", Collections.nCopies(chunk.size(), "?")))
+                    .append(") ORDER BY ")
+                    .append(escape("ENTRY"))
+                    .append(".")
+                    .append(escape("SHARED_ID"));
 
-        if (sharedID != 0) {
-            selectEntryQuery.append(" WHERE ");
-            selectEntryQuery.append(escape("SHARED_ID"));
-            selectEntryQuery.append(" = ");
-            selectEntryQuery.append(sharedID);
+            try (PreparedStatement preparedSelectEntryStatement = connection.prepareStatement(selectEntryQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedSelectEntryStatement.setInt(i + 1, chunk.get(i));
+                }
+                sharedEntries.addAll(getSharedEntryList(preparedSelectEntryStatement));
+            } catch (SQLException e) {
+                LOGGER.error("SQL Error", e);
+            }
         }
 
-        selectEntryQuery.append(" ORDER BY ");
-        selectEntryQuery.append(escape("SHARED_ID"));
+        return sharedEntries;
+    }
 
-        try (ResultSet selectEntryResultSet = connection.createStatement().executeQuery(selectEntryQuery.toString())) {
+    /**
+     * Helping method. Returns the beginning of a query which joins the ENTRY table with the FIELD table,
+     * so that entries and their fields are fetched at once.
+     */
+    private StringBuilder getSelectEntryQuery() {
+        return new StringBuilder()
+                .append("SELECT ")
+                .append(escape("ENTRY")).append(".").append(escape("SHARED_ID")).append(", ")
+                .append(escape("ENTRY")).append(".").append(escape("TYPE")).append(", ")
+                .append(escape("ENTRY")).append(".").append(escape("VERSION")).append(", ")
+                .append(escape("FIELD")).append(".").append(escape("NAME")).append(", ")
+                .append(escape("FIELD")).append(".").append(escape("VALUE"))
+                .append(" FROM ")
+                .append(escape("ENTRY"))
+                .append(" LEFT OUTER JOIN ")
+                .append(escape("FIELD"))
+                .append(" ON ")
+                .append(escape("ENTRY")).append(".").append(escape("SHARED_ID"))
+                .append(" = ")
+                .append(escape("FIELD")).append(".").append(escape("ENTRY_SHARED_ID"));
+    }
+
+    /**
+     * Helping method. Executes the given query built by {@link #getSelectEntryQuery()} and collects the entries.
+     * The rows of one entry are expected to be adjacent, which is guaranteed by ordering the query by SHARED_ID.
+     */
+    private List<BibEntry> getSharedEntryList(PreparedStatement preparedSelectEntryStatement) throws SQLException {
+        List<BibEntry> sharedEntries = new ArrayList<>();
+
+        try (ResultSet selectEntryResultSet = preparedSelectEntryStatement.executeQuery()) {
+            BibEntry bibEntry = null;
             while (selectEntryResultSet.next()) {
-                BibEntry bibEntry = new BibEntry();
-                // setting the base attributes once
-                bibEntry.getSharedBibEntryData().setSharedID(selectEntryResultSet.getInt("SHARED_ID"));
-                bibEntry.setType(selectEntryResultSet.getString("TYPE"));
-                bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
-
-                StringBuilder selectFieldQuery = new StringBuilder()
-                    .append("SELECT * FROM ")
-                    .append(escape("FIELD"))
-                    .append(" WHERE ")
-                    .append(escape("ENTRY_SHARED_ID"))
-                    .append(" = ?");
+                int sharedID = selectEntryResultSet.getInt("SHARED_ID");
+                if ((bibEntry == null) || (bibEntry.getSharedBibEntryData().getSharedID() != sharedID)) {
+                    bibEntry = new BibEntry();
+                    // setting the base attributes once
+                    bibEntry.getSharedBibEntryData().setSharedID(sharedID);
+                    bibEntry.setType(selectEntryResultSet.getString("TYPE"));
+                    bibEntry.getSharedBibEntryData().setVersion(selectEntryResultSet.getInt("VERSION"));
+                    sharedEntries.add(bibEntry);
+                }
 
-                try (PreparedStatement preparedSelectFieldStatement = connection.prepareStatement(selectFieldQuery.toString())) {
-                    preparedSelectFieldStatement.setInt(1, selectEntryResultSet.getInt("SHARED_ID"));
-                    try (ResultSet selectFieldResultSet = preparedSelectFieldStatement.executeQuery()) {
-                        while (selectFieldResultSet.next()) {
-                            bibEntry.setField(selectFieldResultSet.getString("NAME"),
-                                    Optional.ofNullable(selectFieldResultSet.getString("VALUE")), EntryEventSource.SHARED);
-                        }
-                    }
+                // entries without any field are joined with a single row having no field name
+                String fieldName = selectEntryResultSet.getString("NAME");
+                if (fieldName != null) {
+                    bibEntry.setField(fieldName, Optional.ofNullable(selectEntryResultSet.getString("VALUE")),
+                            EntryEventSource.SHARED);
                 }
-                sharedEntries.add(bibEntry);
             }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error", e);
         }
 
         return sharedEntries;
@@ -504,6 +805,84 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Returns the revision of the latest change made on shared database, or 0 if there was no change yet.
+     */
+    public int getLatestRevision() {
+        StringBuilder selectRevisionQuery = new StringBuilder()
+                .append("SELECT MAX(")
+                .append(escape("REVISION"))
+                .append(") FROM ")
+                .append(escape("ENTRY_CHANGE"));
+
+        try (ResultSet selectRevisionResultSet = connection.createStatement().executeQuery(selectRevisionQuery.toString())) {
+            if (selectRevisionResultSet.next()) {
+                return selectRevisionResultSet.getInt(1); // MAX of an empty table is NULL, which is retrieved as 0
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the revision of the oldest change kept on shared database, or 0 if there is no change.
+     * Changes before this revision have been removed, see {@link #insertIntoChangeTable(List)}.
+     */
+    public int getOldestRevision() {
+        StringBuilder selectRevisionQuery = new StringBuilder()
+                .append("SELECT MIN(")
+                .append(escape("REVISION"))
+                .append(") FROM ")
+                .append(escape("ENTRY_CHANGE"));
+
+        try (ResultSet selectRevisionResultSet = connection.createStatement().executeQuery(selectRevisionQuery.toString())) {
+            if (selectRevisionResultSet.next()) {
+                return selectRevisionResultSet.getInt(1);
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Retrieves the IDs of all entries which were inserted, updated or removed after the given revision.
+     *
+     * @param revision Revision of the last synchronization
+     * @return Mapping between the IDs of changed entries and the revision of their latest change
+     */
+    public Map<Integer, Integer> getChangedSharedIDs(int revision) {
+        Map<Integer, Integer> changedSharedIDs = new LinkedHashMap<>();
+        StringBuilder selectChangeQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("REVISION"))
+                .append(" FROM ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" WHERE ")
+                .append(escape("REVISION"))
+                .append(" > ? ORDER BY ")
+                .append(escape("REVISION"));
+
+        try (PreparedStatement preparedSelectChangeStatement = connection.prepareStatement(selectChangeQuery.toString())) {
+            preparedSelectChangeStatement.setInt(1, revision);
+            try (ResultSet selectChangeResultSet = preparedSelectChangeStatement.executeQuery()) {
+                while (selectChangeResultSet.next()) {
+                    changedSharedIDs.put(selectChangeResultSet.getInt("ENTRY_SHARED_ID"),
+                            selectChangeResultSet.getInt("REVISION"));
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+        }
+
+        return changedSharedIDs;
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
@@ -528,26 +907,36 @@ public abstract class DBMSProcessor {
      * @throws SQLException
      */
     public void setSharedMetaData(Map<String, String> data) throws SQLException {
-        connection.createStatement().executeUpdate("TRUNCATE TABLE " + escape("METADATA")); // delete data all data from table
+        StringBuilder query = new StringBuilder()
+            .append("INSERT INTO ")
+            .append(escape("METADATA"))
+            .append("(")
+            .append(escape("KEY"))
+            .append(", ")
+            .append(escape("VALUE"))
+            .append(") VALUES(?, ?)");
 
-        for (Map.Entry<String, String> metaEntry : data.entrySet()) {
+        connection.setAutoCommit(false); // disable auto commit due to transaction
 
-            StringBuilder query = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("METADATA"))
-                .append("(")
-                .append(escape("KEY"))
-                .append(", ")
-                .append(escape("VALUE"))
-                .append(") VALUES(?, ?)");
+        try {
+            // TRUNCATE would implicitly commit on some systems, so DELETE is used to stay within the transaction
+            connection.createStatement().executeUpdate("DELETE FROM " + escape("METADATA")); // delete all data from table
 
             try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-                preparedStatement.setString(1, metaEntry.getKey());
-                preparedStatement.setString(2, metaEntry.getValue());
-                preparedStatement.executeUpdate();
-            } catch (SQLException e) {
-                LOGGER.error("SQL Error: ", e);
+                for (Map.Entry<String, String> metaEntry : data.entrySet()) {
+                    preparedStatement.setString(1, metaEntry.getKey());
+                    preparedStatement.setString(2, metaEntry.getValue());
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
             }
+
+            connection.commit(); // apply all changes in current transaction
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+            connection.rollback(); // undo changes made in current transaction
+        } finally {
+            connection.setAutoCommit(true); // enable auto commit mode again
         }
     }
 
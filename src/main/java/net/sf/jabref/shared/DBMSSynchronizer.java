@@ -2,10 +2,13 @@ package net.sf.jabref.shared;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 
 import net.sf.jabref.logic.exporter.BibDatabaseWriter;
@@ -15,6 +18,7 @@ import net.sf.jabref.logic.importer.util.MetaDataParser;
 import net.sf.jabref.model.bibtexkeypattern.GlobalBibtexKeyPattern;
 import net.sf.jabref.model.database.BibDatabase;
 import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.database.event.EntriesAddedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -53,6 +57,11 @@ public class DBMSSynchronizer {
     private final Character keywordSeparator;
     private GlobalBibtexKeyPattern globalCiteKeyPattern;
 
+    /**
+     * Revision of the shared database the local database was synchronized with, or -1 if it was not synchronized yet.
+     */
+    private int lastRevision = -1;
+
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
             GlobalBibtexKeyPattern globalCiteKeyPattern) {
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
@@ -72,13 +81,29 @@ public class DBMSSynchronizer {
     public void listen(EntryAddedEvent event) {
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntryEvents may be posted.
         // In this case DBSynchronizer should not try to insert the bibEntry entry again (but it would not harm).
-        if (isEventSourceAccepted(event) && checkCurrentConnection()) {
+        // Entries added at once are inserted together when the following EntriesAddedEvent arrives.
+        if (!event.isBatched() && isEventSourceAccepted(event) && checkCurrentConnection()) {
             dbmsProcessor.insertEntry(event.getBibEntry());
             synchronizeLocalMetaData();
             synchronizeLocalDatabase(); // Pull changes for the case that there were some
         }
     }
 
+    /**
+     * Listening method. Inserts several new entries into shared database using one batch.
+     *
+     * @param event {@link EntriesAddedEvent} object
+     */
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        if (isEventSourceAccepted(event.getEntryEventSource()) && checkCurrentConnection()) {
+            dbmsProcessor.insertEntries(event.getBibEntries());
+            synchronizeLocalMetaData();
+            synchronizeLocalDatabase(); // Pull changes for the case that there were some
+            dbmsProcessor.notifyClients();
+        }
+    }
+
     /**
      * Listening method. Updates an existing shared {@link BibEntry}.
      *
@@ -129,7 +154,9 @@ public class DBMSSynchronizer {
 
     @Subscribe
     public void listen(EntryEvent event) {
-        if (isEventSourceAccepted(event)) {
+        // clients are notified once for all entries added at once (see above)
+        boolean batched = (event instanceof EntryAddedEvent) && ((EntryAddedEvent) event).isBatched();
+        if (!batched && isEventSourceAccepted(event)) {
             dbmsProcessor.notifyClients();
         }
     }
@@ -154,6 +181,7 @@ public class DBMSSynchronizer {
         }
 
         synchronizeLocalMetaData();
+        lastRevision = -1; // the shared database may have been set up again, so all entries are compared once
         synchronizeLocalDatabase();
         dbmsProcessor.startNotificationListener(this);
     }
@@ -161,55 +189,125 @@ public class DBMSSynchronizer {
     /**
      * Synchronizes the local database with shared one.
      * Possible update types are removal, update or insert of a {@link BibEntry}.
+     * <p>
+     * The first synchronization compares all shared entries with the local ones. Afterwards only the entries
+     * which were changed since the last synchronization (according to the revisions in the change log of the shared
+     * database) are fetched and compared.
      */
     public void synchronizeLocalDatabase() {
         if (!checkCurrentConnection()) {
             return;
         }
 
-        List<BibEntry> localEntries = bibDatabase.getEntries();
+        if (lastRevision < 0) {
+            synchronizeAllEntries();
+        } else {
+            synchronizeChangedEntries();
+        }
+    }
+
+    /**
+     * Compares all shared entries with the local ones and fetches the outdated or missing entries at once.
+     */
+    private void synchronizeAllEntries() {
+        // Fetch the revision first. Changes made during the synchronization are then pulled again by the next one.
+        int revision = dbmsProcessor.getLatestRevision();
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
-        removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        removeNotSharedEntries(bibDatabase.getEntries(), idVersionMap.keySet());
 
-        // compare versions and update local entry if needed
+        // compare versions and fetch the entries which have to be updated or inserted locally
+        Map<Integer, BibEntry> localEntries = getLocalEntriesBySharedID();
+        List<Integer> outdatedSharedIDs = new ArrayList<>();
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean match = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey() == localEntry.getSharedBibEntryData().getSharedID()) {
-                    match = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntryEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                    .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            for (String field : sharedEntry.get().getFieldNames()) {
-                                localEntry.setField(field, sharedEntry.get().getField(field), EntryEventSource.SHARED);
-                            }
-
-                            Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
-                            redundantLocalEntryFields.removeAll(sharedEntry.get().getFieldNames());
-
-                            // remove not existing fields
-                            for (String redundantField : redundantLocalEntryFields) {
-                                localEntry.clearField(redundantField, EntryEventSource.SHARED);
-                            }
-                        }
-                    }
-                }
+            BibEntry localEntry = localEntries.get(idVersionEntry.getKey());
+            if ((localEntry == null)
+                    || (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion())) {
+                outdatedSharedIDs.add(idVersionEntry.getKey());
+            }
+        }
+        applySharedEntries(dbmsProcessor.getSharedEntries(outdatedSharedIDs), localEntries);
+
+        lastRevision = revision;
+    }
+
+    /**
+     * Fetches only the entries which were inserted, updated or removed since the last synchronization.
+     */
+    private void synchronizeChangedEntries() {
+        Map<Integer, Integer> changedSharedIDs = dbmsProcessor.getChangedSharedIDs(lastRevision);
+        if (changedSharedIDs.isEmpty()) {
+            return;
+        }
+        if (lastRevision < (dbmsProcessor.getOldestRevision() - 1)) {
+            // some of the changes since the last synchronization have been removed from the change log
+            synchronizeAllEntries();
+            return;
+        }
+
+        List<BibEntry> sharedEntries = dbmsProcessor.getSharedEntries(changedSharedIDs.keySet());
+
+        // changed entries which are not present anymore were removed from shared database
+        Set<Integer> removedSharedIDs = new HashSet<>(changedSharedIDs.keySet());
+        for (BibEntry sharedEntry : sharedEntries) {
+            removedSharedIDs.remove(sharedEntry.getSharedBibEntryData().getSharedID());
+        }
+        for (BibEntry localEntry : new ArrayList<>(bibDatabase.getEntries())) {
+            if (removedSharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID())) {
+                eventBus.post(new SharedEntryNotPresentEvent(localEntry));
+                bibDatabase.removeEntry(localEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
             }
-            if (!match) {
-                Optional<BibEntry> bibEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                if (bibEntry.isPresent()) {
-                    bibDatabase.insertEntry(bibEntry.get(), EntryEventSource.SHARED);
+        }
+
+        applySharedEntries(sharedEntries, getLocalEntriesBySharedID());
+
+        lastRevision = Math.max(lastRevision, Collections.max(changedSharedIDs.values()));
+    }
+
+    /**
+     * Updates the local entries which are older than the corresponding shared ones and inserts the shared entries
+     * which are not present locally.
+     *
+     * @param sharedEntries List of {@link BibEntry} fetched from shared database
+     * @param localEntries Mapping between shared IDs and local entries
+     */
+    private void applySharedEntries(List<BibEntry> sharedEntries, Map<Integer, BibEntry> localEntries) {
+        for (BibEntry sharedEntry : sharedEntries) {
+            BibEntry localEntry = localEntries.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                bibDatabase.insertEntry(sharedEntry, EntryEventSource.SHARED);
+            } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData()
+                    .getVersion()) {
+                // update fields
+                localEntry.setType(sharedEntry.getType(), EntryEventSource.SHARED);
+                localEntry.getSharedBibEntryData().setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+                for (String field : sharedEntry.getFieldNames()) {
+                    localEntry.setField(field, sharedEntry.getField(field), EntryEventSource.SHARED);
+                }
+
+                Set<String> redundantLocalEntryFields = localEntry.getFieldNames();
+                redundantLocalEntryFields.removeAll(sharedEntry.getFieldNames());
+
+                // remove not existing fields
+                for (String redundantField : redundantLocalEntryFields) {
+                    localEntry.clearField(redundantField, EntryEventSource.SHARED);
                 }
             }
         }
     }
 
+    /**
+     * Returns a mapping between shared IDs and local entries.
+     */
+    private Map<Integer, BibEntry> getLocalEntriesBySharedID() {
+        Map<Integer, BibEntry> localEntries = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntries()) {
+            localEntries.putIfAbsent(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+        }
+        return localEntries;
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -219,14 +317,7 @@ public class DBMSSynchronizer {
     private void removeNotSharedEntries(List<BibEntry> localEntries, Set<Integer> sharedIDs) {
         for (int i = 0; i < localEntries.size(); i++) {
             BibEntry localEntry = localEntries.get(i);
-            boolean match = false;
-            for (int sharedID : sharedIDs) {
-                if (localEntry.getSharedBibEntryData().getSharedID() == sharedID) {
-                    match = true;
-                    break;
-                }
-            }
-            if (!match) {
+            if (!sharedIDs.contains(localEntry.getSharedBibEntryData().getSharedID())) {
                 eventBus.post(new SharedEntryNotPresentEvent(localEntry));
                 bibDatabase.removeEntry(localEntry, EntryEventSource.SHARED); // Should not reach the listeners above.
                 i--; // due to index shift on localEntries
@@ -340,7 +431,10 @@ public class DBMSSynchronizer {
      * @return <code>true</code> if the event is able to trigger operations in {@link DBMSSynchronizer}, else <code>false</code>
      */
     public boolean isEventSourceAccepted(EntryEvent event) {
-        EntryEventSource eventSource = event.getEntryEventSource();
+        return isEventSourceAccepted(event.getEntryEventSource());
+    }
+
+    private boolean isEventSourceAccepted(EntryEventSource eventSource) {
         return ((eventSource == EntryEventSource.LOCAL) || (eventSource == EntryEventSource.UNDO));
     }
 
@@ -35,6 +35,16 @@ public class MySQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS `METADATA` (" +
                 "`KEY` varchar(255) NOT NULL," +
                 "`VALUE` text NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `ENTRY_CHANGE` (" +
+                "`REVISION` INT(11) NOT NULL PRIMARY KEY, " +
+                "`ENTRY_SHARED_ID` INT(11) NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `ENTRY_CHANGE_COUNTER` (" +
+                "`ID` INT(11) NOT NULL PRIMARY KEY, " +
+                "`REVISION` INT(11) NOT NULL)");
     }
 
     @Override
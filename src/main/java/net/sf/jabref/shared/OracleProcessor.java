@@ -33,30 +33,50 @@ public class OracleProcessor extends DBMSProcessor {
      */
     @Override
     public void setUp() throws SQLException {
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"ENTRY\" (" +
-                "\"SHARED_ID\" NUMBER NOT NULL, " +
-                "\"TYPE\" VARCHAR2(255) NULL, " +
-                "\"VERSION\" NUMBER DEFAULT 1, " +
-                "CONSTRAINT \"ENTRY_PK\" PRIMARY KEY (\"SHARED_ID\"))");
-
-        connection.createStatement().executeUpdate("CREATE SEQUENCE \"ENTRY_SEQ\"");
-
-        connection.createStatement().executeUpdate("CREATE TRIGGER \"ENTRY_T\" BEFORE INSERT ON \"ENTRY\" " +
-                "FOR EACH ROW BEGIN SELECT \"ENTRY_SEQ\".NEXTVAL INTO :NEW.shared_id FROM DUAL; END;");
-
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"FIELD\" (" +
-                "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
-                "\"NAME\" VARCHAR2(255) NOT NULL, " +
-                "\"VALUE\" CLOB NULL, " +
-                "CONSTRAINT \"ENTRY_SHARED_ID_FK\" FOREIGN KEY (\"ENTRY_SHARED_ID\") " +
-                "REFERENCES \"ENTRY\"(\"SHARED_ID\") ON DELETE CASCADE)");
-
-        connection.createStatement().executeUpdate(
-                "CREATE TABLE \"METADATA\" (" +
-                "\"KEY\"  VARCHAR2(255) NULL," +
-                "\"VALUE\"  CLOB NOT NULL)");
+        // Oracle does not support CREATE TABLE IF NOT EXISTS
+        if (!checkTableAvailibility("ENTRY", "FIELD", "METADATA")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY\" (" +
+                    "\"SHARED_ID\" NUMBER NOT NULL, " +
+                    "\"TYPE\" VARCHAR2(255) NULL, " +
+                    "\"VERSION\" NUMBER DEFAULT 1, " +
+                    "CONSTRAINT \"ENTRY_PK\" PRIMARY KEY (\"SHARED_ID\"))");
+
+            connection.createStatement().executeUpdate("CREATE SEQUENCE \"ENTRY_SEQ\"");
+
+            connection.createStatement().executeUpdate("CREATE TRIGGER \"ENTRY_T\" BEFORE INSERT ON \"ENTRY\" " +
+                    "FOR EACH ROW BEGIN SELECT \"ENTRY_SEQ\".NEXTVAL INTO :NEW.shared_id FROM DUAL; END;");
+
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"FIELD\" (" +
+                    "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
+                    "\"NAME\" VARCHAR2(255) NOT NULL, " +
+                    "\"VALUE\" CLOB NULL, " +
+                    "CONSTRAINT \"ENTRY_SHARED_ID_FK\" FOREIGN KEY (\"ENTRY_SHARED_ID\") " +
+                    "REFERENCES \"ENTRY\"(\"SHARED_ID\") ON DELETE CASCADE)");
+
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"METADATA\" (" +
+                    "\"KEY\"  VARCHAR2(255) NULL," +
+                    "\"VALUE\"  CLOB NOT NULL)");
+        }
+
+        // databases created before the introduction of ENTRY_CHANGE table only lack this table
+        if (!checkTableAvailibility("ENTRY_CHANGE")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY_CHANGE\" (" +
+                    "\"REVISION\" NUMBER NOT NULL, " +
+                    "\"ENTRY_SHARED_ID\" NUMBER NOT NULL, " +
+                    "CONSTRAINT \"ENTRY_CHANGE_PK\" PRIMARY KEY (\"REVISION\"))");
+        }
+
+        if (!checkTableAvailibility("ENTRY_CHANGE_COUNTER")) {
+            connection.createStatement().executeUpdate(
+                    "CREATE TABLE \"ENTRY_CHANGE_COUNTER\" (" +
+                    "\"ID\" NUMBER NOT NULL, " +
+                    "\"REVISION\" NUMBER NOT NULL, " +
+                    "CONSTRAINT \"ENTRY_CHANGE_COUNTER_PK\" PRIMARY KEY (\"ID\"))");
+        }
     }
 
     @Override
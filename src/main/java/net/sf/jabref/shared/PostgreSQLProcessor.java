@@ -1,13 +1,11 @@
 package net.sf.jabref.shared;
 
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.shared.listener.PostgresSQLNotificationListener;
 
 import com.impossibl.postgres.api.jdbc.PGConnection;
@@ -51,33 +49,21 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                 "CREATE TABLE IF NOT EXISTS \"METADATA\" ("
                 + "\"KEY\" VARCHAR,"
                 + "\"VALUE\" TEXT)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"ENTRY_CHANGE\" (" +
+                "\"REVISION\" INTEGER PRIMARY KEY, " +
+                "\"ENTRY_SHARED_ID\" INTEGER NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"ENTRY_CHANGE_COUNTER\" (" +
+                "\"ID\" INTEGER PRIMARY KEY, " +
+                "\"REVISION\" INTEGER NOT NULL)");
     }
 
     @Override
-    protected void insertIntoEntryTable(BibEntry bibEntry) {
-        // Inserting into ENTRY table
-        StringBuilder insertIntoEntryQuery = new StringBuilder()
-                .append("INSERT INTO ")
-                .append(escape("ENTRY"))
-                .append("(")
-                .append(escape("TYPE"))
-                .append(") VALUES(?)");
-
-        // This is the only method to get generated keys which is accepted by MySQL, PostgreSQL and Oracle.
-        try (PreparedStatement preparedEntryStatement = connection.prepareStatement(insertIntoEntryQuery.toString(),
-                Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedEntryStatement.setString(1, bibEntry.getType());
-            preparedEntryStatement.executeUpdate();
-
-            try (ResultSet generatedKeys = preparedEntryStatement.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    bibEntry.getSharedBibEntryData().setSharedID(generatedKeys.getInt(1)); // set generated ID locally
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.error("SQL Error: ", e);
-        }
+    protected PreparedStatement prepareInsertIntoEntryStatement(String insertIntoEntryQuery) throws SQLException {
+        return connection.prepareStatement(insertIntoEntryQuery, Statement.RETURN_GENERATED_KEYS);
     }
 
     @Override
@@ -0,0 +1,57 @@
+package net.sf.jabref.cli;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.jabref.logic.exporter.ExportFormats;
+import net.sf.jabref.logic.exporter.IExportFormat;
+import net.sf.jabref.logic.exporter.SavePreferences;
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ArgumentProcessorTest {
+
+    @Before
+    public void setUp() {
+        JabRefPreferences prefs = JabRefPreferences.getInstance();
+        ExportFormats.initAllExports(new LinkedHashMap<>(),
+                prefs.getLayoutFormatterPreferences(new JournalAbbreviationLoader()),
+                SavePreferences.loadForExportFromPreferences(prefs));
+    }
+
+    @Test
+    public void singleFormatIsExportedToGivenFile() {
+        Map<String, IExportFormat> formatsByFile = ArgumentProcessor.getExportFiles("out.htm",
+                Collections.singletonList("html"));
+
+        assertEquals(Collections.singletonMap("out.htm", ExportFormats.getExportFormat("html")), formatsByFile);
+    }
+
+    @Test
+    public void severalFormatsAreExportedToFilesWithTheirExtensions() {
+        Map<String, IExportFormat> formatsByFile = ArgumentProcessor.getExportFiles("out",
+                Arrays.asList("html", "docbook", "mods"));
+
+        Map<String, IExportFormat> expected = new LinkedHashMap<>();
+        expected.put("out.html", ExportFormats.getExportFormat("html"));
+        // both formats write .xml files
+        expected.put("out.docbook.xml", ExportFormats.getExportFormat("docbook"));
+        expected.put("out.mods.xml", ExportFormats.getExportFormat("mods"));
+        assertEquals(expected, formatsByFile);
+    }
+
+    @Test
+    public void unknownFormatIsSkipped() {
+        Map<String, IExportFormat> formatsByFile = ArgumentProcessor.getExportFiles("out",
+                Arrays.asList("html", "unknown"));
+
+        assertEquals(Collections.singletonMap("out.html", ExportFormats.getExportFormat("html")), formatsByFile);
+    }
+}
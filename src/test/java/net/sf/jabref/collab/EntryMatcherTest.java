@@ -0,0 +1,100 @@
+package net.sf.jabref.collab;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EntryMatcherTest {
+
+    private static BibEntry entry(String key, String author, String title, String year) {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey(key);
+        entry.setField("author", author);
+        entry.setField("title", title);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    @Test
+    public void takeIdenticalFindsEntryWithSameFields() {
+        BibEntry other = entry("Other", "Author", "Other title", "2000");
+        BibEntry identical = entry("Key", "Author", "Title", "2016");
+        EntryMatcher matcher = new EntryMatcher(Arrays.asList(other, identical));
+
+        assertSame(identical, matcher.takeIdentical(entry("Key", "Author", "Title", "2016")).get());
+    }
+
+    @Test
+    public void takeIdenticalTakesEachEntryOnlyOnce() {
+        BibEntry first = entry("Key", "Author", "Title", "2016");
+        BibEntry second = entry("Key", "Author", "Title", "2016");
+        EntryMatcher matcher = new EntryMatcher(Arrays.asList(first, second));
+
+        assertSame(first, matcher.takeIdentical(first).get());
+        assertSame(second, matcher.takeIdentical(first).get());
+        assertEquals(Optional.empty(), matcher.takeIdentical(first));
+    }
+
+    @Test
+    public void takeIdenticalIgnoresChangedEntries() {
+        EntryMatcher matcher = new EntryMatcher(
+                Collections.singletonList(entry("Key", "Author", "Changed title", "2016")));
+
+        assertEquals(Optional.empty(), matcher.takeIdentical(entry("Key", "Author", "Title", "2016")));
+    }
+
+    @Test
+    public void takeBestMatchPrefersEntryWithSameKey() {
+        BibEntry similar = entry("Other", "Author", "Title", "2016");
+        BibEntry sameKey = entry("Key", "Someone else", "Another title", "2000");
+        EntryMatcher matcher = new EntryMatcher(Arrays.asList(similar, sameKey));
+
+        assertSame(sameKey, matcher.takeBestMatch(entry("Key", "Author", "Title", "2016"), 0.4).get());
+    }
+
+    @Test
+    public void takeBestMatchFallsBackToSimilarEntry() {
+        BibEntry dissimilar = entry("Other", "Someone else", "Another title", "2000");
+        BibEntry similar = entry("Renamed", "Author", "Title", "2016");
+        EntryMatcher matcher = new EntryMatcher(Arrays.asList(dissimilar, similar));
+
+        assertSame(similar, matcher.takeBestMatch(entry("Key", "Author", "Title", "2016"), 0.4).get());
+        assertEquals(Collections.singletonList(dissimilar), matcher.getRemaining());
+    }
+
+    @Test
+    public void takeBestMatchRespectsThreshold() {
+        EntryMatcher matcher = new EntryMatcher(
+                Collections.singletonList(entry("Other", "Someone else", "Another title", "2000")));
+
+        assertEquals(Optional.empty(), matcher.takeBestMatch(entry("Key", "Author", "Title", "2016"), 0.4));
+    }
+
+    @Test
+    public void findBestFitDoesNotTakeEntry() {
+        BibEntry dissimilar = entry("Other", "Someone else", "Another title", "2000");
+        EntryMatcher matcher = new EntryMatcher(Collections.singletonList(dissimilar));
+
+        assertSame(dissimilar, matcher.findBestFit(entry("Key", "Author", "Title", "2016")).get());
+        assertEquals(Collections.singletonList(dissimilar), matcher.getRemaining());
+    }
+
+    @Test
+    public void getRemainingKeepsOriginalOrder() {
+        BibEntry first = entry("A", "Author", "First", "2016");
+        BibEntry second = entry("B", "Author", "Second", "2016");
+        BibEntry third = entry("C", "Author", "Third", "2016");
+        EntryMatcher matcher = new EntryMatcher(Arrays.asList(first, second, third));
+
+        matcher.takeIdentical(second);
+
+        assertEquals(Arrays.asList(first, third), matcher.getRemaining());
+    }
+}
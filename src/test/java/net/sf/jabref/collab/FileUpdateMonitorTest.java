@@ -0,0 +1,139 @@
+package net.sf.jabref.collab;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileUpdateMonitorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private FileUpdateMonitor monitor;
+    private Thread monitorThread;
+    private File file;
+    private CountDownLatch updated;
+    private CountDownLatch removed;
+
+
+    @Before
+    public void setUp() throws Exception {
+        file = temporaryFolder.newFile("test.bib");
+        updated = new CountDownLatch(1);
+        removed = new CountDownLatch(1);
+
+        monitor = new FileUpdateMonitor();
+        monitorThread = new Thread(monitor);
+        monitorThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        monitorThread.interrupt();
+        monitorThread.join();
+    }
+
+    private String addListener() throws Exception {
+        return monitor.addUpdateListener(new FileUpdateListener() {
+
+            @Override
+            public void fileUpdated() {
+                updated.countDown();
+            }
+
+            @Override
+            public void fileRemoved() {
+                removed.countDown();
+            }
+        }, file);
+    }
+
+    @Test
+    public void listenerIsNotifiedAboutChange() throws Exception {
+        addListener();
+
+        Files.write(file.toPath(), Collections.singletonList("@article{test}"));
+
+        assertTrue(updated.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void listenerIsNotifiedAboutReplacedFile() throws Exception {
+        addListener();
+
+        Path replacement = temporaryFolder.newFile("test.bib.tmp").toPath();
+        Files.write(replacement, Collections.singletonList("@article{test}"));
+        Files.move(replacement, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        assertTrue(updated.await(30, TimeUnit.SECONDS));
+        assertFalse(removed.await(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void listenerIsNotifiedAboutRemovedFile() throws Exception {
+        addListener();
+
+        Files.delete(file.toPath());
+
+        assertTrue(removed.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void listenerIsNotifiedAboutChangeInRecreatedDirectory() throws Exception {
+        Path directory = temporaryFolder.newFolder("library").toPath();
+        file = Files.createFile(directory.resolve("test.bib")).toFile();
+        addListener();
+
+        Files.delete(file.toPath());
+        Files.delete(directory);
+        assertTrue(removed.await(30, TimeUnit.SECONDS));
+
+        Files.createDirectory(directory);
+        Files.write(file.toPath(), Collections.singletonList("@article{test}"));
+
+        assertTrue(updated.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void hasBeenModifiedDetectsChange() throws Exception {
+        String handle = addListener();
+        assertFalse(monitor.hasBeenModified(handle));
+
+        Files.write(file.toPath(), Collections.singletonList("@article{test}"));
+
+        assertTrue(monitor.hasBeenModified(handle));
+    }
+
+    @Test
+    public void perturbedFileIsCheckedAgainWithoutFurtherChange() throws Exception {
+        String handle = addListener();
+
+        // e.g., the change could not be handled as the file was locked
+        monitor.perturbTimestamp(handle);
+
+        assertTrue(updated.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void removedListenerIsNotNotified() throws Exception {
+        String handle = addListener();
+        monitor.removeUpdateListener(handle);
+
+        Files.write(file.toPath(), Collections.singletonList("@article{test}"));
+
+        assertFalse(updated.await(1, TimeUnit.SECONDS));
+    }
+}
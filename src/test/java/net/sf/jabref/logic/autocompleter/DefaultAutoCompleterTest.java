@@ -204,4 +204,58 @@ public class DefaultAutoCompleterTest {
         List<String> result = autoCompleter.complete("lue");
         Assert.assertEquals(Collections.emptyList(), result);
     }
+
+    @Test
+    public void completeRanksOftenUsedWordsFirst() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entryOne = new BibEntry();
+        entryOne.setField("field", "testValueOne");
+        autoCompleter.addBibtexEntry(entryOne);
+        BibEntry entryTwo = new BibEntry();
+        entryTwo.setField("field", "testValueTwo");
+        autoCompleter.addBibtexEntry(entryTwo);
+        BibEntry entryThree = new BibEntry();
+        entryThree.setField("field", "TestValueTwo");
+        autoCompleter.addBibtexEntry(entryThree);
+        autoCompleter.addBibtexEntry(entryThree);
+
+        Assert.assertEquals(Arrays.asList("TestValueTwo", "testValueOne", "testValueTwo"),
+                autoCompleter.complete("test"));
+        Assert.assertEquals(Arrays.asList("testValueOne", "testValueTwo"), autoCompleter.complete("testV"));
+    }
+
+    @Test
+    public void completeRanksWordsByCountAfterRemoval() {
+        AutoCompletePreferences preferences = mock(AutoCompletePreferences.class);
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", preferences);
+
+        BibEntry entryOne = new BibEntry();
+        entryOne.setField("field", "testValueOne");
+        autoCompleter.addBibtexEntry(entryOne);
+        BibEntry entryTwo = new BibEntry();
+        entryTwo.setField("field", "testValueTwo");
+        autoCompleter.addBibtexEntry(entryTwo);
+        autoCompleter.addBibtexEntry(entryTwo);
+        autoCompleter.removeBibtexEntry(entryTwo);
+        autoCompleter.removeBibtexEntry(entryTwo);
+
+        Assert.assertEquals(Collections.singletonList("testValueOne"), autoCompleter.complete("test"));
+    }
+
+    @Test
+    public void updateFieldReplacesWordsOfOldValue() {
+        DefaultAutoCompleter autoCompleter = new DefaultAutoCompleter("field", mock(AutoCompletePreferences.class));
+        AutoCompleters autoCompleters = new AutoCompleters();
+        autoCompleters.put("field", autoCompleter);
+
+        BibEntry entry = new BibEntry();
+        entry.setField("field", "testValueOne");
+        autoCompleters.addEntry(entry);
+        entry.setField("field", "testValueTwo");
+        autoCompleters.updateField(entry, "field", "testValueOne");
+
+        Assert.assertEquals(Collections.singletonList("testValueTwo"), autoCompleter.complete("test"));
+    }
 }
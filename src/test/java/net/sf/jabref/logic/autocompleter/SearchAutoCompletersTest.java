@@ -0,0 +1,72 @@
+package net.sf.jabref.logic.autocompleter;
+
+import java.util.Collections;
+
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+
+public class SearchAutoCompletersTest {
+
+    private SearchAutoCompleters autoCompleters;
+    private AutoCompleter<String> autoCompleter;
+
+
+    @Before
+    public void setUp() {
+        autoCompleters = new SearchAutoCompleters(mock(AutoCompletePreferences.class),
+                mock(JournalAbbreviationLoader.class));
+        autoCompleter = autoCompleters.getPersonAutoCompleter();
+    }
+
+    @Test
+    public void completeLastNamesOfAllPersonFields() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "Albert Einstein");
+        entry.setField("editor", "Paul Ehrenfest");
+        autoCompleters.addEntry(entry);
+
+        Assert.assertEquals(Collections.singletonList("Einstein"), autoCompleter.complete("Ei"));
+        Assert.assertEquals(Collections.singletonList("Ehrenfest"), autoCompleter.complete("Eh"));
+    }
+
+    @Test
+    public void updateFieldReplacesNamesOfOldValue() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "Albert Einstein");
+        autoCompleters.addEntry(entry);
+        entry.setField("author", "Paul Ehrenfest");
+        autoCompleters.updateField(entry, "author", "Albert Einstein");
+
+        Assert.assertEquals(Collections.emptyList(), autoCompleter.complete("Ei"));
+        Assert.assertEquals(Collections.singletonList("Ehrenfest"), autoCompleter.complete("Eh"));
+    }
+
+    @Test
+    public void updateFieldOfOtherFieldDoesNotCountNamesAgain() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "Albert Einstein");
+        autoCompleters.addEntry(entry);
+        entry.setField("title", "Relativity");
+        autoCompleters.updateField(entry, "title", null);
+        autoCompleters.removeEntry(entry);
+
+        // the names were counted once only, so removing the entry once removes them
+        Assert.assertEquals(Collections.emptyList(), autoCompleter.complete("Ei"));
+    }
+
+    @Test
+    public void removeEntryRemovesItsNames() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "Albert Einstein");
+        autoCompleters.addEntry(entry);
+        autoCompleters.removeEntry(entry);
+
+        Assert.assertEquals(Collections.emptyList(), autoCompleter.complete("Ei"));
+    }
+}
@@ -7,6 +7,32 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 
 public class FieldComparatorTest {
+    @Test
+    public void compareUsesChangedField() throws Exception {
+        FieldComparator comparator = new FieldComparator("author");
+        BibEntry first = new BibEntry();
+        first.setField("author", "Bernhard Adams");
+        BibEntry second = new BibEntry();
+        second.setField("author", "Anna Brown");
+
+        assertEquals(-1, comparator.compare(first, second));
+        first.setField("author", "Carl Clark");
+        assertEquals(1, comparator.compare(first, second));
+    }
+
+    @Test
+    public void compareUsesChangedType() throws Exception {
+        FieldComparator comparator = new FieldComparator(BibEntry.TYPE_HEADER);
+        BibEntry first = new BibEntry();
+        first.setType("article");
+        BibEntry second = new BibEntry();
+        second.setType("book");
+
+        assertEquals(-1, comparator.compare(first, second));
+        first.setType("misc");
+        assertEquals(1, comparator.compare(first, second));
+    }
+
     @Test
     public void compareMonthFieldIdentity() throws Exception {
         FieldComparator comparator = new FieldComparator("month");
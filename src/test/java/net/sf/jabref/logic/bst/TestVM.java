@@ -392,6 +392,51 @@ public class TestVM {
         Assert.assertEquals(Optional.of("d"), v2.get(3).getBibtexEntry().getCiteKeyOptional());
     }
 
+    @Test
+    public void testSortUsesSortKeyAfterOtherEntryStrings() throws RecognitionException, IOException {
+
+        VM vm = new VM("ENTRY  { author }  { }  { label extra }"
+                + "FUNCTION {presort} { cite$ 'label := author 'sort.key$ := } FUNCTION {test} { label } "
+                + "READ ITERATE { presort } SORT ITERATE { test }");
+
+        List<BibEntry> v = new ArrayList<>();
+        v.add(TestVM.bibtexString2BibtexEntry("@article{a, author=\"ZZZ\"}"));
+        v.add(TestVM.bibtexString2BibtexEntry("@article{b, author=\"AAA\"}"));
+        v.add(TestVM.bibtexString2BibtexEntry("@article{c, author=\"MMM\"}"));
+        vm.run(v);
+
+        List<BstEntry> v2 = vm.getEntries();
+        Assert.assertEquals(Optional.of("b"), v2.get(0).getBibtexEntry().getCiteKeyOptional());
+        Assert.assertEquals(Optional.of("c"), v2.get(1).getBibtexEntry().getCiteKeyOptional());
+        Assert.assertEquals(Optional.of("a"), v2.get(2).getBibtexEntry().getCiteKeyOptional());
+
+        // the labels moved along with their entries
+        Assert.assertEquals("a", vm.getStack().pop());
+        Assert.assertEquals("c", vm.getStack().pop());
+        Assert.assertEquals("b", vm.getStack().pop());
+        Assert.assertEquals(0, vm.getStack().size());
+    }
+
+    @Test
+    public void testEntryVariables() throws RecognitionException, IOException {
+
+        VM vm = new VM("ENTRY  { author }  { count }  { label } INTEGERS { n } "
+                + "FUNCTION {set} { n #1 + 'n := n 'count := cite$ \"-\" * 'label := } "
+                + "FUNCTION {get} { count #10 + label } "
+                + "READ ITERATE { set } ITERATE { get }");
+
+        List<BibEntry> v = new ArrayList<>();
+        v.add(TestVM.bibtexString2BibtexEntry("@article{a, author=\"AAA\"}"));
+        v.add(TestVM.bibtexString2BibtexEntry("@article{b, author=\"BBB\"}"));
+        vm.run(v);
+
+        Assert.assertEquals(4, vm.getStack().size());
+        Assert.assertEquals("b-", vm.getStack().pop());
+        Assert.assertEquals(12, vm.getStack().pop());
+        Assert.assertEquals("a-", vm.getStack().pop());
+        Assert.assertEquals(11, vm.getStack().pop());
+    }
+
     @Test
     public void testBuildIn() throws RecognitionException {
         VM vm = new VM("EXECUTE {global.max$}");
@@ -458,6 +503,25 @@ public class TestVM {
         Assert.assertEquals("HELLO--WORLD", vm.getStack().pop());
     }
 
+    @Test
+    public void testNestedIfAndWhile() throws RecognitionException {
+
+        VM vm = new VM("INTEGERS { i } FUNCTION {push.one} { \"one\" } "
+                + "FUNCTION {count.down} { #3 'i := "
+                + "  { i #0 > } { i #1 - 'i := i #1 = 'push.one { \"other\" } if$ } while$ } "
+                + "EXECUTE {count.down} EXECUTE {count.down}");
+
+        vm.run(new ArrayList<>());
+
+        // the nested blocks are executed again by the second call
+        Assert.assertEquals(6, vm.getStack().size());
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals("other", vm.getStack().pop());
+            Assert.assertEquals("one", vm.getStack().pop());
+            Assert.assertEquals("other", vm.getStack().pop());
+        }
+    }
+
     @Test
     public void testType() throws RecognitionException, IOException {
 
@@ -1,6 +1,10 @@
 package net.sf.jabref.logic.citationstyle;
 
+import java.util.Arrays;
+import java.util.List;
+
 import net.sf.jabref.logic.util.TestEntry;
+import net.sf.jabref.model.entry.BibEntry;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -25,4 +29,33 @@ public class CitationStyleTest {
         Assert.assertEquals(citation, expected);
     }
 
+    @Test
+    public void testBatchRendersEachEntryOnItsOwn() {
+        BibEntry first = TestEntry.getTestEntry();
+        BibEntry second = TestEntry.getTestEntry();
+        second.setField("title", "Another title");
+        String style = CitationStyle.getDefault().getSource();
+
+        List<String> citations = CitationStyleGenerator.generateCitations(Arrays.asList(first, second), style,
+                CitationStyleOutputFormat.HTML);
+
+        Assert.assertEquals(Arrays.asList(CitationStyleGenerator.generateCitation(first, style),
+                CitationStyleGenerator.generateCitation(second, style)), citations);
+    }
+
+    @Test
+    public void testBatchRendersEntriesWithDistinctKeysOnTheirOwn() {
+        BibEntry first = TestEntry.getTestEntry();
+        BibEntry second = TestEntry.getTestEntry();
+        second.setCiteKey("Another2016");
+        second.setField("title", "Another title");
+        String style = CitationStyle.getDefault().getSource();
+
+        List<String> citations = CitationStyleGenerator.generateCitations(Arrays.asList(first, second), style,
+                CitationStyleOutputFormat.HTML);
+
+        Assert.assertEquals(Arrays.asList(CitationStyleGenerator.generateCitation(first, style),
+                CitationStyleGenerator.generateCitation(second, style)), citations);
+    }
+
 }
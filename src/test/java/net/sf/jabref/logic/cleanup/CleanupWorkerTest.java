@@ -3,6 +3,7 @@ package net.sf.jabref.logic.cleanup;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -139,6 +140,24 @@ public class CleanupWorkerTest {
         Assert.assertEquals(Collections.singletonList(expectedChange), changes);
     }
 
+    @Test
+    public void cleanupOfSeveralEntriesReturnsChangesOfEachEntry() {
+        CleanupPreset preset = new CleanupPreset(CleanupPreset.CleanupStep.CLEAN_UP_DOI);
+        BibEntry changedEntry = new BibEntry();
+        changedEntry.setField("doi", "http://dx.doi.org/10.1016/0001-8708(80)90035-3");
+        BibEntry unchangedEntry = new BibEntry();
+        unchangedEntry.setField("doi", "10.1016/0001-8708(80)90035-3");
+
+        List<List<FieldChange>> changes = worker.cleanupEntries(preset,
+                Arrays.asList(changedEntry, unchangedEntry));
+
+        FieldChange expectedChange = new FieldChange(changedEntry, "doi",
+                "http://dx.doi.org/10.1016/0001-8708(80)90035-3", "10.1016/0001-8708(80)90035-3");
+        Assert.assertEquals(Arrays.asList(Collections.singletonList(expectedChange), Collections.emptyList()),
+                changes);
+        Assert.assertEquals(Optional.of("10.1016/0001-8708(80)90035-3"), changedEntry.getField("doi"));
+    }
+
     @Test
     public void cleanupDoiFindsDoiInURLFieldAndMoveItToDOIField() {
         CleanupPreset preset = new CleanupPreset(CleanupPreset.CleanupStep.CLEAN_UP_DOI);
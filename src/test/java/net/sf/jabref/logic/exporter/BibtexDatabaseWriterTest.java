@@ -2,9 +2,11 @@ package net.sf.jabref.logic.exporter;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Scanner;
 
 import net.sf.jabref.logic.formatter.casechanger.LowerCaseFormatter;
@@ -40,6 +42,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class BibtexDatabaseWriterTest {
 
@@ -565,4 +569,86 @@ public class BibtexDatabaseWriterTest {
                 , session.getStringValue());
     }
 
+    @Test
+    public void incrementalSaveAppliesSaveActionsToUnchangedEntries() throws Exception {
+        FieldFormatterCleanups saveActions = new FieldFormatterCleanups(true,
+                Collections.singletonList(new FieldFormatterCleanup("title", new LowerCaseFormatter())));
+        metaData.setSaveActions(saveActions);
+
+        BibEntry unchangedEntry = new BibEntry();
+        unchangedEntry.setField("title", "Unchanged Title");
+        unchangedEntry.setParsedSerialization("presaved serialization");
+        database.insertEntry(unchangedEntry);
+        BibEntry changedEntry = new BibEntry();
+        changedEntry.setField("title", "Changed Title");
+        database.insertEntry(changedEntry);
+
+        SavePreferences preferences = new SavePreferences().withIncremental(true);
+        StringSaveSession session = databaseWriter.saveDatabase(bibtexContext, preferences);
+
+        assertEquals(Optional.of("unchanged title"), unchangedEntry.getField("title"));
+        assertEquals(Optional.of("changed title"), changedEntry.getField("title"));
+        assertFalse(session.getStringValue().contains("presaved serialization"));
+    }
+
+    @Test
+    public void incrementalSaveWritesEntryUnaffectedBySaveActionsAsItWasRead() throws Exception {
+        FieldFormatterCleanups saveActions = new FieldFormatterCleanups(true,
+                Collections.singletonList(new FieldFormatterCleanup("title", new LowerCaseFormatter())));
+        metaData.setSaveActions(saveActions);
+
+        BibEntry entry = new BibEntry();
+        entry.setField("title", "lower case title");
+        entry.setParsedSerialization("presaved serialization");
+        database.insertEntry(entry);
+
+        SavePreferences preferences = new SavePreferences().withIncremental(true);
+        StringSaveSession session = databaseWriter.saveDatabase(bibtexContext, preferences);
+
+        assertFalse(entry.hasChanged());
+        assertTrue(session.getStringValue().contains("presaved serialization"));
+    }
+
+    @Test
+    public void commitOfIncrementalSaveStoresSerializationOfChangedEntries() throws Exception {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("author", "Mr. author");
+        database.insertEntry(entry);
+
+        SavePreferences preferences = new SavePreferences().withIncremental(true);
+        StringSaveSession session = databaseWriter.savePartOfDatabase(bibtexContext,
+                Collections.singletonList(entry), preferences);
+        Path file = Files.createTempFile("jabref", ".bib");
+        try {
+            session.commit(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        assertFalse(entry.hasChanged());
+        assertEquals(OS.NEWLINE + "@Article{," + OS.NEWLINE + "  author = {Mr. author}," + OS.NEWLINE + "}"
+                + OS.NEWLINE, entry.getParsedSerialization());
+    }
+
+    @Test
+    public void entryChangedAfterIncrementalSaveIsStillChangedAfterCommit() throws Exception {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("author", "Mr. author");
+        database.insertEntry(entry);
+
+        SavePreferences preferences = new SavePreferences().withIncremental(true);
+        StringSaveSession session = databaseWriter.savePartOfDatabase(bibtexContext,
+                Collections.singletonList(entry), preferences);
+        entry.setField("author", "Mrs. author");
+        Path file = Files.createTempFile("jabref", ".bib");
+        try {
+            session.commit(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        assertTrue(entry.hasChanged());
+    }
 }
@@ -0,0 +1,66 @@
+package net.sf.jabref.logic.exporter;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.jabref.logic.journals.JournalAbbreviationLoader;
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.database.BibDatabaseContext;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.preferences.JabRefPreferences;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExportPipelineTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private BibDatabaseContext databaseContext;
+    private SavePreferences savePreferences;
+
+
+    @Before
+    public void setUp() {
+        JabRefPreferences prefs = JabRefPreferences.getInstance();
+        savePreferences = SavePreferences.loadForExportFromPreferences(prefs);
+        ExportFormats.initAllExports(new LinkedHashMap<>(),
+                prefs.getLayoutFormatterPreferences(new JournalAbbreviationLoader()), savePreferences);
+
+        BibDatabase database = new BibDatabase();
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("pipeline");
+        entry.setField("title", "Exported by the pipeline");
+        database.insertEntry(entry);
+        databaseContext = new BibDatabaseContext(database);
+    }
+
+    @Test
+    public void exportWritesAllFormats() throws Exception {
+        File html = testFolder.newFile();
+        File docbook = testFolder.newFile();
+        File mods = testFolder.newFile();
+        Map<String, IExportFormat> formatsByFile = new LinkedHashMap<>();
+        formatsByFile.put(html.getCanonicalPath(), ExportFormats.getExportFormat("html"));
+        formatsByFile.put(docbook.getCanonicalPath(), ExportFormats.getExportFormat("docbook"));
+        formatsByFile.put(mods.getCanonicalPath(), ExportFormats.getExportFormat("mods"));
+
+        Map<String, Exception> failures = new ExportPipeline(databaseContext, StandardCharsets.UTF_8, savePreferences)
+                .export(formatsByFile);
+
+        assertEquals(0, failures.size());
+        for (File file : new File[] {html, docbook, mods}) {
+            assertTrue(file.getName(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8)
+                    .contains("Exported by the pipeline"));
+        }
+    }
+}
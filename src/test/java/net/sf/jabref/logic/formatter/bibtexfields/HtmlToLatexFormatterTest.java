@@ -1,5 +1,7 @@
 package net.sf.jabref.logic.formatter.bibtexfields;
 
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -58,6 +60,40 @@ public class HtmlToLatexFormatterTest {
         assertEquals("{\\\"{a}}b", formatter.format("a&#x308;b"));
     }
 
+    @Test
+    public void testHTMLStackedCombiningAccentsAreNotApplied() {
+        assertEquals("{\\\"{a}}&#776;", formatter.format("a&#776;&#776;"));
+    }
+
+    @Test
+    public void testHTMLCombiningAccentAfterEntityIsNotApplied() {
+        assertEquals("&foo;&#776;", formatter.format("&foo;&#776;"));
+        assertEquals("&#99999;&#776;", formatter.format("&#99999;&#776;"));
+        assertEquals("{\\\"{a}}&#776;", formatter.format("&auml;&#776;"));
+    }
+
+    @Test
+    public void testHTMLCombiningAccentAfterNewlineIsNotApplied() {
+        assertEquals("a\n&#776;b", formatter.format("a\n&#776;b"));
+    }
+
+    @Test
+    public void testHTMLOverlongEntityIsNotConverted() {
+        String name = String.join("", Collections.nCopies(100, "a"));
+        assertEquals("&" + name + ";{\\\"{a}}", formatter.format("&" + name + ";&auml;"));
+    }
+
+    @Test
+    public void testHTMLDecimalEntityWithHexadecimalDigitsIsNotConverted() {
+        assertEquals("&#12a;", formatter.format("&#12a;"));
+    }
+
+    @Test
+    public void testHTMLAdjacentMathConversionsAreMerged() {
+        assertEquals("$\\alpha\\beta$", formatter.format("&alpha;&beta;"));
+        assertEquals("$\\lambda\\mu$", formatter.format("&#955;&#956;"));
+    }
+
     @Test
     public void formatExample() {
         assertEquals("JabRef", formatter.format(formatter.getExampleInput()));
@@ -27,6 +27,11 @@ public class UnicodeToLatexFormatterTest {
         assertEquals("{{\\aa}}{\\\"{a}}{\\\"{o}}", formatter.format("\u00E5\u00E4\u00F6"));
     }
 
+    @Test
+    public void formatCombiningAccents() {
+        assertEquals("{\\\"{a}}b{\\'{e}}", formatter.format("a\u0308be\u0301"));
+    }
+
     @Test
     public void formatExample() {
         assertEquals("M{\\\"{o}}nch", formatter.format(formatter.getExampleInput()));
@@ -52,6 +52,11 @@ public class ProtectTermsFormatterTest {
         assertEquals("{3GPP} {3G}", formatter.format("3GPP 3G"));
     }
 
+    @Test
+    public void testProtectRepeatedTerm() {
+        assertEquals("{CDMA} and {CDMA} {CDMA}", formatter.format("CDMA and CDMA CDMA"));
+    }
+
     @Test
     public void test() {
         assertEquals("{VLSI} {VLSI}", formatter.format("VLSI {VLSI}"));
@@ -1,20 +1,33 @@
 package net.sf.jabref.logic.importer;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 
+import net.sf.jabref.logic.util.FileExtensions;
+import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 public class ImportFormatReaderTestParameterless {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ImportFormatReader reader;
 
     @Before
@@ -42,4 +55,72 @@ public class ImportFormatReaderTestParameterless {
         reader.importFromFile("someunknownformat", Paths.get("somepath"));
         fail();
     }
+
+    @Test
+    public void testImportUnknownFormatPrefersBibtexOnSameScore() throws IOException {
+        Path file = temporaryFolder.newFile("test.bib").toPath();
+        Files.write(file, Collections.singletonList("@article{key, title = {Tie}}"), StandardCharsets.UTF_8);
+        reader.getImportFormats().add(new RecognizingImporter("Aa recognizing importer",
+                Collections.singletonList(new BibEntry().withField("title", "Other"))));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+
+        assertEquals(ImportFormatReader.BIBTEX_FORMAT, unknownFormat.format);
+    }
+
+    @Test
+    public void testImportUnknownFormatFallsBackToNextImporter() throws IOException {
+        Path file = temporaryFolder.newFile("test.txt").toPath();
+        Files.write(file, Collections.singletonList("Some text"), StandardCharsets.UTF_8);
+        // both are tried before the other importers, as they sort first by name
+        reader.getImportFormats().add(new RecognizingImporter("Aa empty importer", Collections.emptyList()));
+        reader.getImportFormats().add(new RecognizingImporter("Aa fallback importer",
+                Collections.singletonList(new BibEntry().withField("title", "Fallback"))));
+
+        ImportFormatReader.UnknownFormatImport unknownFormat = reader.importUnknownFormat(file);
+
+        assertEquals("Aa fallback importer", unknownFormat.format);
+        assertEquals(1, unknownFormat.parserResult.getDatabase().getEntryCount());
+    }
+
+
+    /**
+     * Recognizes every file and imports the given entries.
+     */
+    private static class RecognizingImporter extends Importer {
+
+        private final String name;
+        private final List<BibEntry> entries;
+
+
+        RecognizingImporter(String name, List<BibEntry> entries) {
+            this.name = name;
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean isRecognizedFormat(BufferedReader input) {
+            return true;
+        }
+
+        @Override
+        public ParserResult importDatabase(BufferedReader input) {
+            return new ParserResult(entries);
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public FileExtensions getExtensions() {
+            return FileExtensions.TXT;
+        }
+
+        @Override
+        public String getDescription() {
+            return name;
+        }
+    }
 }
@@ -8,6 +8,7 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
 
+import net.sf.jabref.logic.importer.Importer;
 import net.sf.jabref.logic.util.FileExtensions;
 import net.sf.jabref.model.entry.BibEntry;
 import net.sf.jabref.preferences.JabRefPreferences;
@@ -42,6 +43,13 @@ public class BibtexImporterTest {
         assertTrue(importer.isRecognizedFormat(file, StandardCharsets.UTF_8));
     }
 
+    @Test
+    public void testGetRecognitionScore() throws IOException {
+        assertEquals(Importer.SCORE_RECOGNIZED,
+                importer.getRecognitionScore(null, "% comment\n@article{key,\n  title = {Title}\n}"));
+        assertEquals(Importer.SCORE_POSSIBLE, importer.getRecognitionScore(null, "TY  - JOUR\nER  - "));
+    }
+
     @Test
     public void testImportEntries() throws IOException, URISyntaxException {
         Path file = Paths.get(BibtexImporterTest.class.getResource("BibtexImporter.examples.bib").toURI());
@@ -415,6 +415,34 @@ public class BibtexParserTest {
         assertEquals(expected, parsed);
     }
 
+    @Test
+    public void parseKeepsOrderOfManyEntries() throws IOException {
+        StringBuilder bibtex = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            bibtex.append("@article{key").append(i).append(", title = {Title ").append(i).append("}}\n");
+        }
+
+        ParserResult result = BibtexParser.parse(new StringReader(bibtex.toString()), importFormatPreferences);
+        List<BibEntry> parsed = result.getDatabase().getEntries();
+
+        assertEquals(1000, parsed.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Optional.of("key" + i), parsed.get(i).getCiteKeyOptional());
+            assertEquals(Optional.of("Title " + i), parsed.get(i).getField("title"));
+        }
+    }
+
+    @Test
+    public void parseReportsWarningsInOrderOfFile() throws IOException {
+        ParserResult result = BibtexParser.parse(
+                new StringReader("@article{,title={Title A}}\n@article{a b,title={Title B}}"),
+                importFormatPreferences);
+
+        assertEquals(2, result.warnings().size());
+        assertTrue(result.warnings().get(0).startsWith("Empty BibTeX key"));
+        assertEquals("Line 2: Found corrupted BibTeX key (contains whitespaces).", result.warnings().get(1));
+    }
+
     @Test
     public void parseCombinesMultipleAuthorFields() throws IOException {
 
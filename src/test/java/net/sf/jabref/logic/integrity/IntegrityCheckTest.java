@@ -2,6 +2,7 @@ package net.sf.jabref.logic.integrity;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -23,6 +24,7 @@ import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 
 public class IntegrityCheckTest {
@@ -295,6 +297,44 @@ public class IntegrityCheckTest {
         return new BibDatabaseContext(bibDatabase, new Defaults());
     }
 
+    @Test
+    public void testIncrementalModeRechecksChangedEntry() {
+        BibDatabaseContext context = createContext("url", "http://www.google.com");
+        IntegrityCheck check = new IntegrityCheck(context,
+                JabRefPreferences.getInstance().getFileDirectoryPreferences());
+        List<BibEntry> checkedEntries = Collections.synchronizedList(new ArrayList<>());
+        check.registerChecker(entry -> {
+            checkedEntries.add(entry);
+            return Collections.emptyList();
+        });
+        BibEntry unchangedEntry = new BibEntry();
+        unchangedEntry.setField("url", "http://www.google.com");
+        context.getDatabase().insertEntry(unchangedEntry);
+        check.enableIncrementalMode();
+        assertEquals(Collections.emptyList(), check.checkBibtexDatabase());
+        assertEquals(2, checkedEntries.size());
+
+        checkedEntries.clear();
+        BibEntry changedEntry = context.getDatabase().getEntries().get(0);
+        changedEntry.setField("url", "www.google.com");
+        assertFalse(check.checkBibtexDatabase().isEmpty());
+        assertEquals(Collections.singletonList(changedEntry), checkedEntries);
+
+        checkedEntries.clear();
+        assertFalse(check.checkBibtexDatabase().isEmpty());
+        assertEquals(Collections.emptyList(), checkedEntries);
+    }
+
+    @Test
+    public void testRegisteredCheckerIsUsed() {
+        BibDatabaseContext context = createContext("url", "http://www.google.com");
+        IntegrityCheck check = new IntegrityCheck(context,
+                JabRefPreferences.getInstance().getFileDirectoryPreferences());
+        check.registerChecker(entry -> Collections.singletonList(new IntegrityMessage("custom", entry, "url")));
+        assertEquals(1, check.checkBibtexDatabase().size());
+        assertTrue(check.getCheckerTimings().containsKey("UrlChecker"));
+    }
+
     private BibDatabaseContext createContext(String field, String value, MetaData metaData) {
         BibEntry entry = new BibEntry();
         entry.setField(field, value);
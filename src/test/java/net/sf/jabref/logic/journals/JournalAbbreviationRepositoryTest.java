@@ -81,4 +81,19 @@ public class JournalAbbreviationRepositoryTest {
 
     }
 
+    @Test
+    public void testNormalizedLookup() {
+        JournalAbbreviationRepository repository = new JournalAbbreviationRepository();
+        repository.addEntry(new Abbreviation("Journal of Physics - Condensed Matter", "J. Phys.: Condens. Matter"));
+        repository.addEntry(new Abbreviation("Revue d'Économie Politique", "Rev. Écon. Polit."));
+
+        assertEquals("J. Phys.: Condens. Matter",
+                repository.getIsoAbbreviation("The Journal of Physics: Condensed Matter").orElse("WRONG"));
+        assertEquals("Rev. Écon. Polit.", repository.getIsoAbbreviation("Revue d Economie Politique").orElse("WRONG"));
+        assertTrue(repository.isAbbreviatedName("J Phys Condens Matter"));
+        assertFalse(repository.isAbbreviatedName("journal of physics, condensed matter"));
+        assertFalse(repository.isKnownName("Journal of Physics"));
+        assertFalse(repository.isKnownName("..."));
+    }
+
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package net.sf.jabref.logic.layout;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.Collection;
+import java.util.Optional;
 
 import net.sf.jabref.logic.importer.ParserResult;
 import net.sf.jabref.logic.importer.fileformat.BibtexParser;
@@ -60,6 +61,19 @@ JabRefPreferences.getInstance().getImportFormatPreferences());
         return layout.doLayout(be, null);
     }
 
+    @Test
+    public void testDoLayoutAppendsToBuffer() throws IOException {
+        BibEntry be = LayoutTest.bibtexString2BibtexEntry("@article{bla, author={Someone}, year={2005}}");
+        Layout layout = new LayoutHelper(
+                new StringReader("\\begin{author&year}\\author (\\year)\\end{author&year}\\begin{title}-\\end{title};"),
+                prefs).getLayoutFromText();
+
+        StringBuilder sb = new StringBuilder("start: ");
+        layout.doLayout(be, null, Optional.empty(), sb);
+        layout.doLayout(be, null, Optional.empty(), sb);
+        Assert.assertEquals("start: Someone (2005);Someone (2005);", sb.toString());
+    }
+
     @Test
     public void testLayoutBibtextype() throws IOException {
         Assert.assertEquals("Unknown", layout("\\bibtextype", "@unknown{bla, author={This\nis\na\ntext}}"));
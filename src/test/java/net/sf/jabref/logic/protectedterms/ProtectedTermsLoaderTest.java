@@ -52,6 +52,14 @@ public class ProtectedTermsLoaderTest {
         assertEquals(Arrays.asList("Einstein"), loader.getProtectedTerms());
     }
 
+    @Test
+    public void testProtectedTermsMatcherFollowsEnabledLists() {
+        assertEquals("{VLSI}", loader.getProtectedTermsMatcher().protect("VLSI"));
+
+        loader.getProtectedTermsLists().forEach(list -> list.setEnabled(false));
+        assertEquals("VLSI", loader.getProtectedTermsMatcher().protect("VLSI"));
+    }
+
     @Test
     public void testAddProtectedTermsListFromFile() throws URISyntaxException {
         String filename = Paths
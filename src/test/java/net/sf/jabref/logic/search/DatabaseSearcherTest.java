@@ -1,5 +1,6 @@
 package net.sf.jabref.logic.search;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -124,4 +125,59 @@ public class DatabaseSearcherTest {
 
         assertEquals(Collections.emptyList(), databaseSearcher.getMatches());
     }
+
+    @Test
+    public void testCorrectMatchFromDatabaseWithFieldComparison() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "tonho");
+        database.insertEntry(entry);
+        BibEntry otherEntry = new BibEntry();
+        otherEntry.setField("title", "tonho");
+        database.insertEntry(otherEntry);
+
+        SearchQuery query = new SearchQuery("author=tonho", false, false);
+
+        assertEquals(Collections.singletonList(entry), new DatabaseSearcher(query, database).getMatches());
+    }
+
+    @Test
+    public void testCorrectMatchesFromDatabaseWithOrExpressionInDatabaseOrder() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        database.insertEntry(entry);
+        BibEntry otherEntry = new BibEntry();
+        otherEntry.setField("title", "tonho");
+        database.insertEntry(otherEntry);
+
+        SearchQuery query = new SearchQuery("title=tonho or harrer", false, false);
+
+        assertEquals(Arrays.asList(entry, otherEntry), new DatabaseSearcher(query, database).getMatches());
+    }
+
+    @Test
+    public void testCorrectMatchFromDatabaseWithNegatedExpression() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        database.insertEntry(entry);
+        BibEntry otherEntry = new BibEntry();
+        otherEntry.setField("author", "tonho");
+        database.insertEntry(otherEntry);
+
+        SearchQuery query = new SearchQuery("not author=harrer", false, false);
+
+        assertEquals(Collections.singletonList(otherEntry), new DatabaseSearcher(query, database).getMatches());
+    }
+
+    @Test
+    public void testMatchesAreUpdatedAfterFieldChange() {
+        BibEntry entry = new BibEntry();
+        entry.setField("author", "harrer");
+        database.insertEntry(entry);
+        SearchQuery query = new SearchQuery("tonho", false, false);
+        assertEquals(Collections.emptyList(), new DatabaseSearcher(query, database).getMatches());
+
+        entry.setField("author", "tonho");
+
+        assertEquals(Collections.singletonList(entry), new DatabaseSearcher(query, database).getMatches());
+    }
 }
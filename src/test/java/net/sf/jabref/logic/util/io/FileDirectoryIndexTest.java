@@ -0,0 +1,152 @@
+package net.sf.jabref.logic.util.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileDirectoryIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private Path rootDir;
+    private FileDirectoryIndex index;
+
+
+    @Before
+    public void setUp() throws IOException {
+        rootDir = temporaryFolder.getRoot().toPath();
+        Path subDir = Files.createDirectories(rootDir.resolve("pdfs").resolve("sub"));
+        Files.createFile(rootDir.resolve("HipKro03.pdf"));
+        Files.createFile(subDir.resolve("HipKro03 - Hello.PDF"));
+
+        index = FileDirectoryIndex.forDirectory(rootDir.toFile());
+        index.refresh();
+    }
+
+    @After
+    public void tearDown() {
+        FileDirectoryIndex.setCacheDirectory(null);
+    }
+
+    private List<String> getFileNames() {
+        return index.getFiles().stream().map(FileDirectoryIndex.IndexedFile::getName).sorted()
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void refreshIndexesFilesOfAllSubdirectories() {
+        assertEquals(2, index.getFiles().size());
+        assertTrue(getFileNames().contains("HipKro03 - Hello.PDF"));
+    }
+
+    @Test
+    public void extensionIsLowerCase() {
+        FileDirectoryIndex.IndexedDirectory subDir = index.getDirectory(rootDir.resolve("pdfs").resolve("sub").toFile())
+                .get();
+        assertEquals("pdf", subDir.getFiles().get(0).getExtension());
+        assertEquals("HipKro03 - Hello", subDir.getFiles().get(0).getNormalizedBaseName());
+    }
+
+    @Test
+    public void sameDirectoryReturnsSameIndex() {
+        assertTrue(index == FileDirectoryIndex.forDirectory(new File(rootDir.resolve("pdfs").toFile(), "..")));
+    }
+
+    @Test
+    public void directoryOutsideOfIndexIsNotFound() {
+        FileDirectoryIndex subDirIndex = FileDirectoryIndex.forDirectory(rootDir.resolve("pdfs").toFile());
+        subDirIndex.refresh();
+
+        assertFalse(subDirIndex.getDirectory(rootDir.toFile()).isPresent());
+    }
+
+    @Test
+    public void refreshFindsAddedAndRemovedFiles() throws IOException {
+        Files.createFile(rootDir.resolve("pdfs").resolve("Added.pdf"));
+        Files.delete(rootDir.resolve("HipKro03.pdf"));
+
+        index.refresh();
+
+        assertEquals(2, index.getFiles().size());
+        assertTrue(getFileNames().contains("Added.pdf"));
+        assertFalse(getFileNames().contains("HipKro03.pdf"));
+    }
+
+    @Test
+    public void canceledRefreshKeepsPreviousContents() throws IOException {
+        Files.createFile(rootDir.resolve("Added.pdf"));
+
+        index.refresh(() -> true);
+
+        assertEquals(2, index.getFiles().size());
+    }
+
+    private void createSymbolicLink(Path link, Path target) {
+        try {
+            Files.createSymbolicLink(link, target);
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException("Symbolic links are not supported", e);
+        }
+    }
+
+    @Test
+    public void linkedDirectoryIsIndexed() throws IOException {
+        Path linkedDir = temporaryFolder.newFolder("linked").toPath();
+        Files.createFile(linkedDir.resolve("Linked.pdf"));
+        Path pdfsDir = rootDir.resolve("pdfs");
+        createSymbolicLink(pdfsDir.resolve("link"), linkedDir);
+
+        FileDirectoryIndex pdfsIndex = FileDirectoryIndex.forDirectory(pdfsDir.toFile());
+        pdfsIndex.refresh();
+
+        assertTrue(pdfsIndex.getDirectory(pdfsDir.resolve("link").toFile()).isPresent());
+        assertTrue(pdfsIndex.getFiles().stream().anyMatch(file -> "Linked.pdf".equals(file.getName())));
+    }
+
+    @Test
+    public void linkToContainingDirectoryIsNotFollowed() throws IOException {
+        createSymbolicLink(rootDir.resolve("pdfs").resolve("sub").resolve("up"), rootDir.resolve("pdfs"));
+
+        index.refresh();
+
+        assertEquals(2, index.getFiles().size());
+        assertTrue(index.getDirectory(rootDir.resolve("pdfs").resolve("sub").resolve("up").toFile()).isPresent());
+    }
+
+    @Test
+    public void savedIndexIsLoaded() throws IOException {
+        FileDirectoryIndex.setCacheDirectory(cacheFolder.getRoot().toPath());
+        Files.createFile(rootDir.resolve("pdfs").resolve("Added.pdf"));
+        index.refresh();
+
+        FileDirectoryIndex loadedIndex = FileDirectoryIndex.load(rootDir);
+
+        assertEquals(3, loadedIndex.getFiles().size());
+        FileDirectoryIndex.IndexedDirectory subDir = loadedIndex
+                .getDirectory(rootDir.resolve("pdfs").resolve("sub").toFile()).get();
+        assertEquals("HipKro03 - Hello", subDir.getFiles().get(0).getNormalizedBaseName());
+    }
+
+    @Test
+    public void nothingIsLoadedWithoutCacheDirectory() {
+        assertTrue(FileDirectoryIndex.load(rootDir).getFiles().isEmpty());
+    }
+}
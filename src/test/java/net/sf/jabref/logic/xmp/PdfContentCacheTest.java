@@ -0,0 +1,110 @@
+package net.sf.jabref.logic.xmp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class PdfContentCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path pdfFile;
+    private Path cacheDirectory;
+
+
+    @Before
+    public void setUp() throws IOException, COSVisitorException {
+        pdfFile = temporaryFolder.getRoot().toPath().resolve("test.pdf");
+        try (PDDocument pdf = new PDDocument()) {
+            pdf.addPage(new PDPage());
+            pdf.save(pdfFile.toString());
+        }
+        // Files modified just before are not cached
+        Files.setLastModifiedTime(pdfFile, FileTime.fromMillis(System.currentTimeMillis() - 60000));
+
+        cacheDirectory = temporaryFolder.getRoot().toPath().resolve("cache");
+        PdfContentCache.setCacheDirectory(cacheDirectory);
+    }
+
+    @After
+    public void tearDown() {
+        PdfContentCache.invalidate(pdfFile);
+        PdfContentCache.setCacheDirectory(null);
+    }
+
+    private static String failingReader(PDDocument document) {
+        fail("The file should not have been read");
+        return null;
+    }
+
+    @Test
+    public void dataIsReusedForCopyKeepingModificationTime() throws IOException {
+        assertEquals("content", PdfContentCache.get(pdfFile, "test", document -> "content"));
+
+        Path copy = temporaryFolder.newFolder("copy").toPath().resolve("copy.pdf");
+        Files.copy(pdfFile, copy, StandardCopyOption.COPY_ATTRIBUTES);
+
+        assertEquals("content", PdfContentCache.get(copy, "test", PdfContentCacheTest::failingReader));
+    }
+
+    @Test
+    public void listOfMapsIsReusedForCopy() throws IOException {
+        Map<String, String> entry = new HashMap<>();
+        entry.put("author", "Smith");
+        entry.put("title", "Caching");
+        List<Map<String, String>> entries = Collections.singletonList(entry);
+        PdfContentCache.get(pdfFile, "test", document -> entries);
+
+        Path copy = temporaryFolder.newFolder("copy").toPath().resolve("copy.pdf");
+        Files.copy(pdfFile, copy, StandardCopyOption.COPY_ATTRIBUTES);
+
+        assertEquals(entries, PdfContentCache.get(copy, "test", PdfContentCacheTest::failingReader));
+    }
+
+    @Test
+    public void changedFileIsReadAgain() throws IOException {
+        PdfContentCache.get(pdfFile, "test", document -> "content");
+
+        Files.setLastModifiedTime(pdfFile, FileTime.fromMillis(System.currentTimeMillis() - 30000));
+
+        assertEquals("changed", PdfContentCache.get(pdfFile, "test", document -> "changed"));
+    }
+
+    @Test
+    public void invalidatedFileIsReadAgain() throws IOException {
+        PdfContentCache.get(pdfFile, "test", document -> "content");
+
+        PdfContentCache.invalidate(pdfFile);
+
+        assertEquals("changed", PdfContentCache.get(pdfFile, "test", document -> "changed"));
+    }
+
+    @Test
+    public void nothingIsStoredWithoutCacheDirectory() throws IOException {
+        PdfContentCache.setCacheDirectory(null);
+
+        PdfContentCache.get(pdfFile, "test", document -> "content");
+
+        assertFalse(Files.exists(cacheDirectory));
+    }
+}
@@ -479,6 +479,24 @@ public class XMPUtilTest {
         assertEqualsBibtexEntry(e, x);
     }
 
+    /**
+     * Reading a file again is served from the cache, but must not return the entries read before.
+     */
+    @Test
+    public void testReadXMPTwiceReturnsNewEntries() throws IOException, TransformerException {
+        XMPUtil.writeXMP(pdfFile, t1BibtexEntry(), null, xmpPreferences);
+        // Files modified just before are not cached
+        Assert.assertTrue(pdfFile.setLastModified(System.currentTimeMillis() - 60000));
+
+        BibEntry first = XMPUtil.readXMP(pdfFile, xmpPreferences).get(0);
+        first.setField("title", "Changed");
+        BibEntry second = XMPUtil.readXMP(pdfFile, xmpPreferences).get(0);
+
+        assertEqualsBibtexEntry(t1BibtexEntry(), second);
+        Assert.assertNotEquals(first.getId(), second.getId());
+        Assert.assertTrue(XMPUtil.hasMetadata(pdfFile.toPath(), xmpPreferences));
+    }
+
     /**
      * Are newlines in the XML processed correctly?
      * @throws IOException
@@ -0,0 +1,161 @@
+package net.sf.jabref.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.jabref.model.database.BibDatabaseMode;
+import net.sf.jabref.model.entry.BibEntry;
+import net.sf.jabref.model.entry.BibtexEntryTypes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateCandidateIndexTest {
+
+    private static BibEntry createArticle(String author, String title, String year) {
+        BibEntry entry = new BibEntry();
+        entry.setType(BibtexEntryTypes.ARTICLE);
+        entry.setField("author", author);
+        entry.setField("title", title);
+        entry.setField("year", year);
+        return entry;
+    }
+
+    @Test
+    public void entriesWithSameDoiAreCandidates() {
+        BibEntry one = new BibEntry().withField("doi", "10.1000/ABC");
+        BibEntry two = new BibEntry().withField("doi", "https://doi.org/10.1000/abc");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.singletonList(Arrays.asList(one, two)), index.getCandidatePairs());
+    }
+
+    @Test
+    public void entriesWithSameIsbnAreCandidates() {
+        BibEntry one = new BibEntry().withField("isbn", "978-3-16-148410-0");
+        BibEntry two = new BibEntry().withField("isbn", "9783161484100");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.singletonList(one), index.getCandidates(two));
+    }
+
+    @Test
+    public void entriesWithSameFirstAuthorAndYearAreCandidates() {
+        BibEntry one = createArticle("Smith, John and Doe, Jane", "Some title", "2010");
+        BibEntry two = createArticle("J. Smith", "A completely different thing", "2010");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.singletonList(one), index.getCandidates(two));
+    }
+
+    @Test
+    public void entriesWithSimilarTitlesAreCandidates() {
+        BibEntry one = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        BibEntry two = createArticle("Jane Doe", "Marine finfish larviculture in Europe.", "2002");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.singletonList(two), index.getCandidates(one));
+    }
+
+    @Test
+    public void unrelatedEntriesAreNoCandidates() {
+        BibEntry one = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        BibEntry two = createArticle("Jane Doe", "Type inference for object-oriented languages", "2002");
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.emptyList(), index.getCandidatePairs());
+    }
+
+    @Test
+    public void entriesWithoutAuthorAndTitleAreCandidatesByYear() {
+        BibEntry one = new BibEntry().withField("journal", "Journal of Applied Testing").withField("year", "2010");
+        BibEntry two = new BibEntry().withField("journal", "Journal of Applied Testing").withField("year", "2010");
+        BibEntry three = createArticle("John Smith", "Marine finfish larviculture in Europe", "2010");
+        three.setType(one.getType());
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two, three));
+
+        assertEquals(Collections.singletonList(Arrays.asList(one, two)), index.getCandidatePairs());
+    }
+
+    @Test
+    public void entriesOfDifferentTypesAreNoCandidates() {
+        BibEntry one = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        BibEntry two = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        two.setType(BibtexEntryTypes.BOOK);
+
+        DuplicateCandidateIndex index = new DuplicateCandidateIndex(Arrays.asList(one, two));
+
+        assertEquals(Collections.emptyList(), index.getCandidatePairs());
+    }
+
+    @Test
+    public void findDuplicatesReportsAllDuplicatesAndProgress() {
+        BibEntry one = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        BibEntry two = createArticle("Jane Doe", "Type inference for object-oriented languages", "2002");
+        BibEntry three = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+
+        List<List<BibEntry>> duplicates = new ArrayList<>();
+        List<Integer> progress = new ArrayList<>();
+        DuplicateCheck.findDuplicates(Arrays.asList(one, two, three), BibDatabaseMode.BIBTEX,
+                new DuplicateSearchListener() {
+
+                    @Override
+                    public synchronized void duplicateFound(BibEntry first, BibEntry second) {
+                        duplicates.add(Arrays.asList(first, second));
+                    }
+
+                    @Override
+                    public synchronized void progress(int comparedPairs, int totalPairs) {
+                        progress.add(totalPairs);
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return false;
+                    }
+                });
+
+        assertEquals(1, duplicates.size());
+        assertTrue(duplicates.get(0).get(0) == one);
+        assertTrue(duplicates.get(0).get(1) == three);
+        assertEquals(Collections.singletonList(1), progress);
+    }
+
+    @Test
+    public void findDuplicatesStopsWhenCancelled() {
+        BibEntry one = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+        BibEntry two = createArticle("John Smith", "Marine finfish larviculture in Europe", "2001");
+
+        List<BibEntry> duplicates = new ArrayList<>();
+        DuplicateCheck.findDuplicates(Arrays.asList(one, two), BibDatabaseMode.BIBTEX, new DuplicateSearchListener() {
+
+            @Override
+            public void duplicateFound(BibEntry first, BibEntry second) {
+                duplicates.add(first);
+            }
+
+            @Override
+            public void progress(int comparedPairs, int totalPairs) {
+                // not of interest here
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return true;
+            }
+        });
+
+        assertFalse(duplicates.contains(one));
+    }
+}
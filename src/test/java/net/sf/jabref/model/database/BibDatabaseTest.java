@@ -1,5 +1,6 @@
 package net.sf.jabref.model.database;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -150,6 +151,39 @@ public class BibDatabaseTest {
         assertEquals(expectedEntry, actualEntry);
     }
 
+    @Test
+    public void insertEntriesAddsEntriesToEntriesList() {
+        BibEntry firstEntry = new BibEntry();
+        BibEntry secondEntry = new BibEntry();
+        database.insertEntries(Arrays.asList(firstEntry, secondEntry));
+        assertEquals(Arrays.asList(firstEntry, secondEntry), database.getEntries());
+        assertTrue(database.containsEntryWithId(secondEntry.getId()));
+    }
+
+    @Test
+    public void insertEntriesPostsAddedEntryEventsAndEntriesAddedEvent() {
+        BibEntry firstEntry = new BibEntry();
+        BibEntry secondEntry = new BibEntry();
+        TestEventListener tel = new TestEventListener();
+        database.registerListener(tel);
+        database.insertEntries(Arrays.asList(firstEntry, secondEntry));
+        assertEquals(secondEntry, tel.getBibEntry());
+        assertEquals(Arrays.asList(firstEntry, secondEntry), tel.getBibEntries());
+    }
+
+    @Test
+    public void insertEntriesWithSameIdInsertsNoEntry() {
+        BibEntry entry0 = new BibEntry();
+        database.insertEntry(entry0);
+
+        try {
+            database.insertEntries(Arrays.asList(new BibEntry(), new BibEntry(entry0.getId())));
+            fail();
+        } catch (KeyCollisionException e) {
+            assertEquals(Collections.singletonList(entry0), database.getEntries());
+        }
+    }
+
     @Test
     public void removeEntryPostsRemovedEntryEvent() {
         BibEntry expectedEntry = new BibEntry();
@@ -204,6 +238,49 @@ public class BibDatabaseTest {
         assertEquals(database.getDuplicationChecker().getNumberOfKeyOccurrences("AAA"), 1);
     }
 
+    @Test
+    public void getEntryByKeyFindsEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        assertEquals(Optional.of(entry), database.getEntryByKey("AAA"));
+    }
+
+    @Test
+    public void getEntryByKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.of(entry), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntryByKeyDoesNotFindRemovedEntry() {
+        BibEntry entry = new BibEntry();
+        entry.setCiteKey("AAA");
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        entry.setCiteKey("BBB");
+        assertEquals(Optional.empty(), database.getEntryByKey("AAA"));
+        assertEquals(Optional.empty(), database.getEntryByKey("BBB"));
+    }
+
+    @Test
+    public void getEntriesByKeyReturnsEntriesInDatabaseOrder() {
+        BibEntry first = new BibEntry();
+        first.setField("title", "first");
+        first.setCiteKey("BBB");
+        database.insertEntry(first);
+        BibEntry second = new BibEntry();
+        second.setCiteKey("AAA");
+        database.insertEntry(second);
+        first.setCiteKey("AAA");
+        assertEquals(Arrays.asList(first, second), database.getEntriesByKey("AAA"));
+        assertEquals(Optional.of(first), database.getEntryByKey("AAA"));
+    }
+
     @Test
     public void circularStringResolving() {
         BibtexString string = new BibtexString(IdGenerator.next(), "AAA", "#BBB#");
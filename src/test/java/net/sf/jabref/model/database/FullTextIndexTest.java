@@ -0,0 +1,132 @@
+package net.sf.jabref.model.database;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FullTextIndexTest {
+
+    private BibDatabase database;
+    private BibEntry entry;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        entry = new BibEntry();
+        entry.setField("title", "Marine finfish {\\\"a}larviculture in Europe");
+        entry.setField("author", "Kevin Shields");
+        database.insertEntry(entry);
+    }
+
+    @Test
+    public void findsEntryByWordInAnyField() {
+        assertEquals(Optional.of(Collections.singleton(entry)), database.getFullTextIndex().getCandidates("shields"));
+    }
+
+    @Test
+    public void findsEntryByWordInGivenField() {
+        assertEquals(Optional.of(Collections.singleton(entry)),
+                database.getFullTextIndex().getCandidates("title", "finfish"));
+    }
+
+    @Test
+    public void doesNotFindEntryByWordInOtherField() {
+        assertEquals(Optional.of(Collections.emptySet()), database.getFullTextIndex().getCandidates("author", "finfish"));
+    }
+
+    @Test
+    public void findsEntryByLatexFreeContent() {
+        assertEquals(Optional.of(Collections.singleton(entry)), database.getFullTextIndex().getCandidates("älarvi"));
+    }
+
+    @Test
+    public void shortWordsCannotBeAnswered() {
+        assertEquals(Optional.empty(), database.getFullTextIndex().getCandidates("in"));
+    }
+
+    @Test
+    public void addedEntryIsFound() {
+        database.getFullTextIndex().getCandidates("shields");
+
+        BibEntry other = new BibEntry();
+        other.setField("author", "Oliver Kopp");
+        database.insertEntry(other);
+
+        assertEquals(Optional.of(Collections.singleton(other)), database.getFullTextIndex().getCandidates("kopp"));
+    }
+
+    @Test
+    public void removedEntryIsNotFound() {
+        database.getFullTextIndex().getCandidates("shields");
+
+        database.removeEntry(entry);
+
+        assertEquals(Optional.of(Collections.emptySet()), database.getFullTextIndex().getCandidates("shields"));
+    }
+
+    @Test
+    public void changedFieldIsReindexed() {
+        database.getFullTextIndex().getCandidates("shields");
+
+        entry.setField("author", "Oliver Kopp");
+
+        assertEquals(Optional.of(Collections.emptySet()), database.getFullTextIndex().getCandidates("shields"));
+        assertEquals(Optional.of(Collections.singleton(entry)), database.getFullTextIndex().getCandidates("kopp"));
+    }
+
+    @Test
+    public void clearedFieldIsRemovedFromIndex() {
+        database.getFullTextIndex().getCandidates("shields");
+
+        entry.clearField("author");
+
+        assertEquals(Optional.of(Collections.emptySet()), database.getFullTextIndex().getCandidates("shields"));
+    }
+
+    @Test
+    public void changesOfRemovedEntryAreIgnored() {
+        database.getFullTextIndex().getCandidates("shields");
+        database.removeEntry(entry);
+
+        entry.setField("author", "Oliver Kopp");
+
+        Set<BibEntry> candidates = database.getFullTextIndex().getCandidates("kopp").get();
+        assertTrue(candidates.isEmpty());
+        assertFalse(candidates.contains(entry));
+    }
+
+    @Test
+    public void sortByDatabaseOrderKeepsOrderOfDatabase() {
+        database.getFullTextIndex().getCandidates("shields");
+        BibEntry second = new BibEntry();
+        database.insertEntry(second);
+        BibEntry third = new BibEntry();
+        database.insertEntry(third);
+
+        assertEquals(Arrays.asList(entry, second, third),
+                database.getFullTextIndex().sortByDatabaseOrder(Arrays.asList(third, entry, second)));
+    }
+
+    @Test
+    public void sortByDatabaseOrderLeavesOutRemovedEntries() {
+        BibEntry second = new BibEntry();
+        database.insertEntry(second);
+        database.getFullTextIndex().getCandidates("shields");
+
+        database.removeEntry(entry);
+
+        assertEquals(Collections.singletonList(second),
+                database.getFullTextIndex().sortByDatabaseOrder(Arrays.asList(entry, second)));
+    }
+}
@@ -1,7 +1,14 @@
 package net.sf.jabref.model.entry;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import net.sf.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.eventbus.Subscribe;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -36,4 +43,48 @@ public class BibEntryTest {
 
         Assert.assertEquals(Optional.of("value"), entry.getField("tEsT"));
     }
+
+    @Test
+    public void listenerRegisteredAtTwoEntriesReceivesEventsOfBoth() {
+        BibEntry otherEntry = new BibEntry();
+        ChangedEntriesListener listener = new ChangedEntriesListener();
+        entry.registerListener(listener);
+        otherEntry.registerListener(listener);
+
+        entry.setField("title", "first");
+        otherEntry.setField("title", "second");
+
+        Assert.assertEquals(Arrays.asList(entry, otherEntry), listener.changedEntries);
+    }
+
+    @Test
+    public void unregisteringListenerFromOneEntryKeepsOtherRegistration() {
+        BibEntry otherEntry = new BibEntry();
+        ChangedEntriesListener listener = new ChangedEntriesListener();
+        entry.registerListener(listener);
+        otherEntry.registerListener(listener);
+
+        entry.unregisterListener(listener);
+        entry.setField("title", "first");
+        otherEntry.setField("title", "second");
+
+        Assert.assertEquals(Collections.singletonList(otherEntry), listener.changedEntries);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unregisteringListenerWhichIsNotRegisteredThrowsException() {
+        entry.unregisterListener(new ChangedEntriesListener());
+    }
+
+
+    private static class ChangedEntriesListener {
+
+        private final List<BibEntry> changedEntries = new ArrayList<>();
+
+
+        @Subscribe
+        public void listen(FieldChangedEvent event) {
+            changedEntries.add(event.getBibEntry());
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package net.sf.jabref.model.entry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompactFieldMapTest {
+
+    @Test
+    public void putAndGet() {
+        Map<String, String> map = new CompactFieldMap<>();
+        assertNull(map.put("author", "Smith"));
+        assertNull(map.put("title", "A title"));
+
+        assertEquals("Smith", map.get("author"));
+        assertEquals("A title", map.get("title"));
+        assertNull(map.get("year"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void putReplacesValue() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+
+        assertEquals("Smith", map.put("author", "Jones"));
+        assertEquals("Jones", map.get("author"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void keysAreInterned() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put(new String("author"), "Smith");
+
+        assertSame("author", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void removeKeepsOtherFields() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+        map.put("title", "A title");
+        map.put("year", "2016");
+
+        assertEquals("A title", map.remove("title"));
+        assertNull(map.remove("title"));
+        assertEquals(Arrays.asList("author", "year"), Arrays.asList(map.keySet().toArray()));
+    }
+
+    @Test
+    public void iterationKeepsInsertionOrder() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("year", "2016");
+        map.put("author", "Smith");
+        map.put("title", "A title");
+
+        assertEquals(Arrays.asList("year", "author", "title"), Arrays.asList(map.keySet().toArray()));
+    }
+
+    @Test
+    public void iteratorWorksOnSnapshot() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+        map.put("title", "A title");
+
+        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+        map.put("year", "2016");
+        map.remove("title");
+
+        assertEquals("author", iterator.next().getKey());
+        assertEquals("title", iterator.next().getKey());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void iteratorRemoveRemovesFromMap() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+        map.put("title", "A title");
+
+        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertFalse(map.containsKey("author"));
+        assertTrue(map.containsKey("title"));
+    }
+
+    @Test
+    public void setValueOfEntryWritesThrough() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+
+        map.entrySet().iterator().next().setValue("Jones");
+
+        assertEquals("Jones", map.get("author"));
+    }
+
+    @Test
+    public void equalsHashMapWithSameContent() {
+        Map<String, String> map = new CompactFieldMap<>();
+        map.put("author", "Smith");
+        map.put("title", "A title");
+        Map<String, String> hashMap = new HashMap<>();
+        hashMap.put("title", "A title");
+        hashMap.put("author", "Smith");
+
+        assertEquals(hashMap, map);
+        assertEquals(map, hashMap);
+        assertEquals(hashMap.hashCode(), map.hashCode());
+        assertEquals(map, new CompactFieldMap<>(hashMap));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullValuesAreRejected() {
+        new CompactFieldMap<String>().put("author", null);
+    }
+}
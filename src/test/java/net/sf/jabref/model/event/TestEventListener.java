@@ -1,5 +1,8 @@
 package net.sf.jabref.model.event;
 
+import java.util.List;
+
+import net.sf.jabref.model.database.event.EntriesAddedEvent;
 import net.sf.jabref.model.database.event.EntryAddedEvent;
 import net.sf.jabref.model.database.event.EntryRemovedEvent;
 import net.sf.jabref.model.entry.BibEntry;
@@ -10,6 +13,7 @@ import com.google.common.eventbus.Subscribe;
 public class TestEventListener {
 
     private BibEntry bibEntry;
+    private List<BibEntry> bibEntries;
 
 
     @Subscribe
@@ -17,6 +21,11 @@ public class TestEventListener {
         this.bibEntry = event.getBibEntry();
     }
 
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        this.bibEntries = event.getBibEntries();
+    }
+
     @Subscribe
     public void listen(EntryRemovedEvent event) {
         this.bibEntry = event.getBibEntry();
@@ -31,4 +40,8 @@ public class TestEventListener {
         return this.bibEntry;
     }
 
+    public List<BibEntry> getBibEntries() {
+        return this.bibEntries;
+    }
+
 }
@@ -0,0 +1,137 @@
+package net.sf.jabref.model.groups;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import net.sf.jabref.model.database.BibDatabase;
+import net.sf.jabref.model.entry.BibEntry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibEntry first;
+    private BibEntry second;
+    private BibEntry third;
+    private GroupTreeNode root;
+    private GroupMembershipIndex index;
+
+
+    @Before
+    public void setUp() {
+        database = new BibDatabase();
+        first = new BibEntry().withField("author", "author1 and author2");
+        second = new BibEntry().withField("author", "author1");
+        third = new BibEntry().withField("author", "author3");
+        database.insertEntry(first);
+        database.insertEntry(second);
+        database.insertEntry(third);
+
+        root = new GroupTreeNode(new AllEntriesGroup("All entries"));
+        index = new GroupMembershipIndex(database);
+    }
+
+    private static KeywordGroup getKeywordGroup(String author, GroupHierarchyType context) {
+        return new KeywordGroup(author, "author", author, true, false, context, ',');
+    }
+
+    @Test
+    public void numberOfHitsOfIndependentGroup() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author1", GroupHierarchyType.INDEPENDENT));
+
+        assertEquals(2, node.numberOfHits(index));
+        assertEquals(3, root.numberOfHits(index));
+    }
+
+    @Test
+    public void numberOfHitsOfRefiningGroupIsIntersectionWithParent() {
+        GroupTreeNode parent = root.addSubgroup(getKeywordGroup("author2", GroupHierarchyType.INDEPENDENT));
+        GroupTreeNode node = parent.addSubgroup(getKeywordGroup("author1", GroupHierarchyType.REFINING));
+
+        assertEquals(1, node.numberOfHits(index));
+    }
+
+    @Test
+    public void numberOfHitsOfIncludingGroupIsUnionWithChildren() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author2", GroupHierarchyType.INCLUDING));
+        node.addSubgroup(getKeywordGroup("author3", GroupHierarchyType.INDEPENDENT));
+
+        assertEquals(2, node.numberOfHits(index));
+    }
+
+    @Test
+    public void matchesAgreeWithSearchRule() {
+        GroupTreeNode parent = root.addSubgroup(getKeywordGroup("author1", GroupHierarchyType.INCLUDING));
+        GroupTreeNode node = parent.addSubgroup(getKeywordGroup("author2", GroupHierarchyType.REFINING));
+        parent.addSubgroup(getKeywordGroup("author3", GroupHierarchyType.INCLUDING));
+
+        for (GroupTreeNode groupNode : Arrays.asList(root, parent, node)) {
+            assertEquals(groupNode.numberOfHits(database.getEntries()), groupNode.numberOfHits(index));
+        }
+    }
+
+    @Test
+    public void changedEntryIsMatchedAgain() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author3", GroupHierarchyType.INDEPENDENT));
+        assertEquals(1, node.numberOfHits(index));
+
+        first.setField("author", "author3");
+
+        assertEquals(2, node.numberOfHits(index));
+        assertTrue(index.contains(index.getMatches(node), first));
+    }
+
+    @Test
+    public void addedEntryIsMatched() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author3", GroupHierarchyType.INDEPENDENT));
+        assertEquals(1, node.numberOfHits(index));
+
+        BibEntry added = new BibEntry().withField("author", "author3");
+        database.insertEntry(added);
+
+        assertEquals(2, node.numberOfHits(index));
+        assertTrue(index.contains(index.getMatches(node), added));
+    }
+
+    @Test
+    public void removedEntryIsNotMatchedAnyMore() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author1", GroupHierarchyType.INDEPENDENT));
+        assertEquals(2, node.numberOfHits(index));
+
+        database.removeEntry(second);
+        second.setField("author", "author1 and author3");
+
+        assertEquals(1, node.numberOfHits(index));
+        assertEquals(Collections.singletonList(first), index.getEntries(index.getMatches(node)));
+    }
+
+    @Test
+    public void ordinalOfRemovedEntryIsReused() {
+        GroupTreeNode node = root.addSubgroup(getKeywordGroup("author1", GroupHierarchyType.INDEPENDENT));
+        node.numberOfHits(index);
+
+        database.removeEntry(second);
+        BibEntry added = new BibEntry().withField("author", "author4");
+        database.insertEntry(added);
+
+        assertEquals(3, index.getAllEntries().cardinality());
+        assertFalse(index.contains(index.getMatches(node), added));
+        assertEquals(Collections.singletonList(first), index.getEntries(index.getMatches(node)));
+    }
+
+    @Test
+    public void getMatchingGroupsReturnsGroupsContainingAnyEntry() {
+        GroupTreeNode author2 = root.addSubgroup(getKeywordGroup("author2", GroupHierarchyType.INDEPENDENT));
+        root.addSubgroup(getKeywordGroup("author3", GroupHierarchyType.INDEPENDENT));
+
+        assertEquals(Arrays.asList(root, author2), root.getMatchingGroups(index, Collections.singletonList(first)));
+        assertEquals(root.getMatchingGroups(Collections.singletonList(first)),
+                root.getMatchingGroups(index, Collections.singletonList(first)));
+    }
+}